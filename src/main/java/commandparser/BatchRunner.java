@@ -0,0 +1,114 @@
+package commandparser;
+
+import data.TaskManager;
+import data.exceptions.TaskManagerException;
+
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The BatchRunner class runs commands non-interactively, one per line, from a file or a pipe.
+ * No view is printed between commands, and saving to the save file is deferred until the end of the batch,
+ * or until every checkpoint interval of commands if one is given.
+ * Each command is reported as "ok" or "error" along with its number in the batch, followed by a summary.
+ * Blank lines and lines starting with '#' are skipped.
+ * An "update" that leaves out new dates keeps the current ones, as the next line is the next command.
+ * A transaction that is still open when the batch ends is rolled back, as it was never committed.
+ */
+public class BatchRunner {
+    private static final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    private static final String COMMENT_PREFIX = "#";
+
+    private final Scanner scanner;
+    private final CommandHandler commandHandler;
+    private final int checkpointInterval;
+    private int commandCount;
+    private int errorCount;
+    private int checkpointCount;
+
+    /**
+     * Constructs a BatchRunner reading commands from the given scanner.
+     * The command handler should read the further details of a command, such as the dates of an event,
+     * from the same scanner, so that they can follow the command on the next lines.
+     *
+     * @param scanner            the Scanner to read commands from.
+     * @param commandHandler     the CommandHandler to run the commands with.
+     * @param checkpointInterval the number of commands after which unsaved changes are saved,
+     *                           or 0 to save only at the end of the batch.
+     */
+    public BatchRunner(Scanner scanner, CommandHandler commandHandler, int checkpointInterval) {
+        assert checkpointInterval >= 0 : "Checkpoint interval cannot be negative";
+        this.scanner = scanner;
+        this.commandHandler = commandHandler;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * Runs all commands until the input runs out or the "quit" command is given, then saves any unsaved changes.
+     *
+     * @return the number of commands that failed.
+     */
+    public int run() {
+        TaskManager taskManager = commandHandler.getTaskManager();
+        commandHandler.setPromptingAllowed(false);
+        taskManager.deferSaving();
+        try {
+            while (!commandHandler.isExitRequested() && scanner.hasNextLine()) {
+                String input = scanner.nextLine();
+                if (input.isBlank() || input.trim().startsWith(COMMENT_PREFIX)) {
+                    continue;
+                }
+                runCommand(input);
+                saveIfCheckpointReached();
+            }
+            commandHandler.rollBackUnfinishedTransaction();
+        } finally {
+            taskManager.resumeSaving();
+        }
+        printSummary();
+        return errorCount;
+    }
+
+    /**
+     * Runs a single command and reports whether it succeeded.
+     * Unexpected errors are reported as well, so that one bad line does not stop the rest of the batch.
+     *
+     * @param input the command to run.
+     */
+    private void runCommand(String input) {
+        commandCount++;
+        long startTime = System.nanoTime();
+        try {
+            commandHandler.executeCommand(input);
+            System.out.println("ok " + commandCount + ": " + input.trim());
+        } catch (TaskManagerException e) {
+            reportError(input, e.getMessage());
+        } catch (NoSuchElementException e) {
+            reportError(input, "Input ended before the command was complete.");
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Batch command failed: " + input, e);
+            reportError(input, "Invalid input (" + e.getClass().getSimpleName() + ").");
+        } finally {
+            commandHandler.getCommandLatency().record(System.nanoTime() - startTime);
+        }
+    }
+
+    private void reportError(String input, String message) {
+        errorCount++;
+        System.out.println("error " + commandCount + ": " + input.trim() + ": " + message);
+    }
+
+    private void saveIfCheckpointReached() {
+        if (checkpointInterval > 0 && commandCount % checkpointInterval == 0
+                && commandHandler.getTaskManager().flushUnsavedChanges()) {
+            checkpointCount++;
+        }
+    }
+
+    private void printSummary() {
+        System.out.println("Batch finished: " + commandCount + " commands, " + errorCount + " errors, "
+                + checkpointCount + " checkpoints.");
+    }
+}
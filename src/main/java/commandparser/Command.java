@@ -0,0 +1,19 @@
+package commandparser;
+
+import data.exceptions.TaskManagerException;
+
+/**
+ * A Command is a fully parsed user command that is ready to run.
+ * All arguments have already been validated and converted to their types when the command was parsed,
+ * so running it only carries out the action.
+ */
+@FunctionalInterface
+public interface Command {
+
+    /**
+     * Runs the command.
+     *
+     * @throws TaskManagerException if the command cannot be carried out.
+     */
+    void execute() throws TaskManagerException;
+}
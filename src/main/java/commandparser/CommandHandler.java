@@ -1,25 +1,64 @@
 package commandparser;
 
+import csv.CsvExporter;
+import csv.CsvImporter;
+import data.CalendarOverlay;
+import data.TaskFilter;
 import data.TaskManager;
+import data.TaskPriorityLevel;
+import data.TaskType;
 import data.exceptions.TaskManagerException;
+import ics.IcsExporter;
+import ics.IcsImporter;
+import storage.Storage;
 import time.MonthView;
 import time.WeekView;
+import time.YearView;
 import ui.AvatarUi;
+import ui.OutputProfile;
+import ui.UiRenderer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 /**
- * The CommandHandler class handles user commands by delegating to appropriate methods based on the command type.
+ * The CommandHandler class handles user commands by parsing them through a CommandRegistry into Command objects
+ * and running them.
  * It provides methods to handle various commands such as "next", "prev", "update", "add", "delete", "mark", "free",
- * "priority", "month", "week", "help", and "quit".
+ * "priority", "bulk", "month", "week", "year", "stats", "window", "scroll", "output", "show", "begin",
+ * "commit", "rollback", "undo", "redo", "latency", "help" and "quit".
  * The class uses a Scanner object for user input, a TaskManager object for managing tasks, a WeekView object for
- * displaying weekly tasks, and a MonthView object for displaying monthly tasks.
+ * displaying weekly tasks, a MonthView object for displaying monthly tasks and a YearView object for displaying
+ * a yearly overview.
+ * How much is printed around each command is controlled by its OutputProfile.
  */
 public class CommandHandler {
+    private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     private final Scanner scanner;
     private final TaskManager taskManager;
     private final WeekView weekView;
     private final MonthView monthView;
+    private final YearView yearView;
+    private final UiRenderer uiRenderer;
+    private CalendarOverlay overlay;
     private boolean inMonthView;
+    private boolean inYearView;
+    private OutputProfile outputProfile;
+    private boolean isExitRequested;
+    private boolean isPromptingAllowed;
+    private boolean isRunningSeveralCommands;
+    private final CommandRegistry commandRegistry = new CommandRegistry();
+    private final LatencyStats commandLatency = new LatencyStats();
 
     /**
      * Constructs a CommandHandler with the specified dependencies.
@@ -28,78 +67,262 @@ public class CommandHandler {
      * @param taskManager the TaskManager object for managing tasks.
      * @param weekView   the WeekView object for displaying weekly tasks.
      * @param monthView  the MonthView object for displaying monthly tasks.
+     * @param yearView   the YearView object for displaying the yearly overview.
      */
-    public CommandHandler(Scanner scanner, TaskManager taskManager, WeekView weekView, MonthView monthView) {
+    public CommandHandler(Scanner scanner, TaskManager taskManager, WeekView weekView, MonthView monthView,
+            YearView yearView) {
         this.scanner = scanner;
         this.taskManager = taskManager;
         this.weekView = weekView;
         this.monthView = monthView;
+        this.yearView = yearView;
+        this.uiRenderer = monthView.getUiRenderer();
+        weekView.setUiRenderer(uiRenderer);
         this.inMonthView = false;
+        this.inYearView = false;
+        this.outputProfile = OutputProfile.FULL;
+        this.isExitRequested = false;
+        this.isPromptingAllowed = true;
+        registerCommands();
+    }
+
+    /**
+     * Registers the parser of every command.
+     */
+    private void registerCommands() {
+        commandRegistry.register("next", parts -> this::handleNextCommand);
+        commandRegistry.register("prev", parts -> this::handlePreviousCommand);
+        commandRegistry.register("update", this::parseUpdateCommand);
+        commandRegistry.register("add", this::parseAddCommand);
+        commandRegistry.register("delete", this::parseDeleteCommand);
+        commandRegistry.register("mark", this::parseMarkCommand);
+        commandRegistry.register("free", this::parseFreeCommand);
+        commandRegistry.register("priority", this::parsePriorityCommand);
+        commandRegistry.register("bulk", this::parseBulkCommand);
+        commandRegistry.register("month", parts -> this::handleMonthCommand);
+        commandRegistry.register("week", parts -> this::handleWeekCommand);
+        commandRegistry.register("year", parts -> this::handleYearCommand);
+        commandRegistry.register("stats", parts -> this::handleStatsCommand);
+        commandRegistry.register("window", this::parseWindowCommand);
+        commandRegistry.register("scroll", this::parseScrollCommand);
+        commandRegistry.register("output", this::parseOutputCommand);
+        commandRegistry.register("overlay", this::parseOverlayCommand);
+        commandRegistry.register("ics", this::parseIcsCommand);
+        commandRegistry.register("csv", this::parseCsvCommand);
+        commandRegistry.register("show", parts -> this::printCurrentView);
+        commandRegistry.register("begin", parts -> this::handleBeginCommand);
+        commandRegistry.register("commit", parts -> this::handleCommitCommand);
+        commandRegistry.register("rollback", parts -> this::handleRollbackCommand);
+        commandRegistry.register("undo", parts -> this::handleUndoCommand);
+        commandRegistry.register("redo", parts -> this::handleRedoCommand);
+        commandRegistry.register("latency", parts -> this::handleLatencyCommand);
+        commandRegistry.register("help", parts -> CommandHandler::printHelp);
+        commandRegistry.register("quit", parts -> this::handleQuitCommand);
+    }
+
+    /**
+     * Returns the registry of commands understood by this handler.
+     *
+     * @return the command registry.
+     */
+    public CommandRegistry getCommandRegistry() {
+        return commandRegistry;
+    }
+
+    /**
+     * Sets the output profile controlling the avatar, calendar view and help hint printed before each prompt.
+     *
+     * @param outputProfile the output profile to use.
+     */
+    public void setOutputProfile(OutputProfile outputProfile) {
+        assert outputProfile != null : "Output profile missing!";
+        this.outputProfile = outputProfile;
+    }
+
+    /**
+     * Returns the output profile currently in use.
+     *
+     * @return the current output profile.
+     */
+    public OutputProfile getOutputProfile() {
+        return outputProfile;
+    }
+
+    /**
+     * Sets whether a command may ask for details that were left out of it, such as the new dates of an updated
+     * deadline. When reading commands from a file, the next line is another command rather than an answer.
+     *
+     * @param isPromptingAllowed true to ask for left out details, false to keep the current ones.
+     */
+    public void setPromptingAllowed(boolean isPromptingAllowed) {
+        this.isPromptingAllowed = isPromptingAllowed;
+    }
+
+    /**
+     * Returns the task manager holding the calendar that the commands change.
+     *
+     * @return the task manager.
+     */
+    public TaskManager getTaskManager() {
+        return taskManager;
+    }
+
+    /**
+     * Returns the latencies recorded for the commands run, which are printed by the "latency" command.
+     *
+     * @return the command latency statistics.
+     */
+    public LatencyStats getCommandLatency() {
+        return commandLatency;
+    }
+
+    /**
+     * Checks if the "quit" command has been given.
+     *
+     * @return true if the application should exit, false otherwise.
+     */
+    public boolean isExitRequested() {
+        return isExitRequested;
     }
 
     /**
      * Handles user commands by delegating to appropriate methods based on the command type.
      */
     public void handleCommand() {
-        AvatarUi.printAvatar();
-        if (!inMonthView) {
-            weekView.printView(taskManager);
+        printPrompt();
+        handleInput(scanner.nextLine());
+    }
+
+    /**
+     * Prints the avatar, the current view and the help hint before a command is read,
+     * as far as the output profile allows.
+     */
+    public void printPrompt() {
+        if (outputProfile.showsAvatar()) {
+            AvatarUi.printAvatar();
+        }
+        if (outputProfile.showsView()) {
+            printCurrentView();
+        }
+        if (outputProfile.showsHelpHint()) {
+            System.out.println("Enter help to learn commands");
+        }
+    }
+
+    /**
+     * Runs the commands in a line typed by the user, printing any error instead of throwing it.
+     *
+     * @param input the line typed by the user.
+     */
+    public void handleInput(String input) {
+        try {
+            executeCommand(input);
+        } catch (TaskManagerException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Runs the commands in a line without printing the view, the avatar or the help hint.
+     * A line can hold several commands separated by semicolons. All of them are parsed before any is run,
+     * so a mistake in any command stops the whole line. They are then run in order, saving the tasks
+     * only once after the last command. If a command fails, the commands after it are skipped.
+     * Task commands that need more details, such as adding an event, read them from the scanner.
+     * An "update" without new dates keeps the current ones instead when prompting is not allowed
+     * or when the line holds several commands.
+     *
+     * @param input the line as typed by the user.
+     * @throws TaskManagerException if a command is invalid or cannot be carried out.
+     */
+    public void executeCommand(String input) throws TaskManagerException {
+        List<String> commandLines = CommandTokenizer.splitCommands(input);
+        if (commandLines.size() <= 1) {
+            runUndoably(commandRegistry.parse(input), input.trim());
+            return;
+        }
+
+        List<Command> commands = new ArrayList<>();
+        for (int i = 0; i < commandLines.size(); i++) {
+            try {
+                commands.add(commandRegistry.parse(commandLines.get(i)));
+            } catch (TaskManagerException e) {
+                throw new TaskManagerException(describeFailure(i, commandLines, e) + " No commands were run.");
+            }
+        }
+
+        taskManager.deferSaving();
+        isRunningSeveralCommands = true;
+        try {
+            for (int i = 0; i < commands.size(); i++) {
+                try {
+                    runUndoably(commands.get(i), commandLines.get(i).trim());
+                } catch (TaskManagerException e) {
+                    String skipped = i + 1 < commands.size() ? " The commands after it were skipped." : "";
+                    throw new TaskManagerException(describeFailure(i, commandLines, e) + skipped);
+                }
+            }
+        } finally {
+            isRunningSeveralCommands = false;
+            taskManager.resumeSaving();
+        }
+    }
+
+    /**
+     * Runs a command, grouping the changes it makes to the tasks so that "undo" undoes them together.
+     *
+     * @param command     the command to run.
+     * @param commandLine the command as typed, describing the changes.
+     * @throws TaskManagerException if the command cannot be carried out.
+     */
+    private void runUndoably(Command command, String commandLine) throws TaskManagerException {
+        taskManager.beginUndoableChange(commandLine);
+        try {
+            command.execute();
+        } finally {
+            taskManager.endUndoableChange();
+        }
+    }
+
+    private static String describeFailure(int commandIndex, List<String> commandLines, TaskManagerException e) {
+        return "Command " + (commandIndex + 1) + " of " + commandLines.size() + " ("
+                + commandLines.get(commandIndex).trim() + ") failed: " + e.getMessage();
+    }
+
+    /**
+     * Prints the calendar view that is currently selected.
+     */
+    private void printCurrentView() {
+        if (inYearView) {
+            LocalDate startOfYear = yearView.getStartOfView();
+            yearView.printView(getShownTasks(startOfYear, startOfYear.plusYears(1).minusDays(1)));
+        } else if (!inMonthView) {
+            LocalDate startOfWeek = weekView.getStartOfWeek();
+            weekView.printView(getShownTasks(startOfWeek, startOfWeek.plusDays(6)));
         } else {
-            monthView.printView(taskManager);
-        }
-
-        System.out.println("Enter help to learn commands");
-        String input = scanner.nextLine().trim().toLowerCase();
-        String[] parts = input.split(",\\s*");
-        String command = parts[0];
-
-        switch (command) {
-        case "next":
-            handleNextCommand();
-            break;
-        case "prev":
-            handlePreviousCommand();
-            break;
-        case "update":
-            handleUpdateCommand(parts);
-            break;
-        case "add":
-            handleAddCommand(parts);
-            break;
-        case "delete":
-            handleDeleteCommand(parts);
-            break;
-        case "mark":
-            handleMarkCommand(parts);
-            break;
-        case "free":
-            handleFreeCommand(parts);
-            break;
-        case "priority":
-            handlePriorityCommand(parts);
-            break;
-        case "month":
-            handleMonthCommand();
-            break;
-        case "week":
-            handleWeekCommand();
-            break;
-        case "help":
-            printHelp();
-            break;
-        case "quit":
-            handleQuitCommand();
-            break;
-        default:
-            System.out.println("Invalid input. Please try again.");
+            // The weeks of the month view can start before the month and end after it
+            YearMonth month = YearMonth.from(monthView.getStartOfMonth());
+            monthView.printView(getShownTasks(month.atDay(1).minusDays(6), month.atEndOfMonth().plusDays(6)));
         }
     }
 
+    /**
+     * Returns the tasks to show between two dates: the user's own, or those of every overlaid calendar.
+     *
+     * @param startDate the first date shown.
+     * @param endDate   the last date shown.
+     * @return the task manager to print the view from.
+     */
+    private TaskManager getShownTasks(LocalDate startDate, LocalDate endDate) {
+        return overlay == null ? taskManager : overlay.combineTasksInRange(startDate, endDate);
+    }
+
     /**
      * Handles the "next" command to navigate to the next week or month.
      */
     private void handleNextCommand() {
-        if (inMonthView) {
+        if (inYearView) {
+            yearView.next();
+        } else if (inMonthView) {
             monthView.next();
         } else {
             weekView.next();
@@ -110,7 +333,9 @@ public class CommandHandler {
      * Handles the "prev" command to navigate to the previous week or month.
      */
     private void handlePreviousCommand() {
-        if (inMonthView) {
+        if (inYearView) {
+            yearView.previous();
+        } else if (inMonthView) {
             monthView.previous();
         } else {
             weekView.previous();
@@ -118,103 +343,144 @@ public class CommandHandler {
     }
 
     /**
-     * Handles the "update" command to update task descriptions.
+     * Parses the "update" command to update task descriptions.
+     * New dates that are left out are asked for only when prompting is allowed and the command runs on its own.
      *
      * @param parts the array of command parts.
+     * @return the parsed command.
+     * @throws TaskManagerException if the command is invalid.
      */
-    private void handleUpdateCommand(String[] parts) {
-        try {
-            StringParser.validateUpdateCommand(parts);
-            int day = StringParser.parseTaskIndex(parts[1]);
-            int taskIndex = StringParser.parseTaskIndex(parts[2]);
-            String newDescription = StringParser.parseTaskDescription(parts[3]);
-            taskManager.updateManager(scanner, weekView, monthView, inMonthView, taskManager, day,
-                    taskIndex, newDescription);
-        } catch (TaskManagerException e) {
-            System.out.println(e.getMessage());
-        }
+    private Command parseUpdateCommand(String[] parts) throws TaskManagerException {
+        StringParser.validateUpdateCommand(parts);
+        int day = StringParser.parseTaskIndex(parts[1]);
+        int taskIndex = StringParser.parseTaskIndex(parts[2]);
+        String newDescription = StringParser.parseTaskDescription(parts[3]);
+        List<String> dateTimes = StringParser.parseDateTimes(parts, 4);
+        return () -> taskManager.updateManager(canPrompt() ? scanner : null, weekView, monthView, inMonthView,
+                taskManager, day, taskIndex, newDescription, dateTimes);
+    }
+
+    private boolean canPrompt() {
+        return isPromptingAllowed && !isRunningSeveralCommands;
     }
 
     /**
-     * Handles the "add" command to add new tasks.
+     * Parses the "add" command to add new tasks.
      *
      * @param parts the array of command parts.
+     * @return the parsed command.
+     * @throws TaskManagerException if the command is invalid.
      */
-    private void handleAddCommand(String[] parts) {
-        try {
-            StringParser.validateAddCommand(parts);
-            String day = parts[1].trim();
-            String taskTypeString = parts[2].trim();
-            String taskDescription = StringParser.parseTaskDescription(parts[3]);
-            int dayIndex = StringParser.parseTaskIndex(day);
-            taskManager.addManager(scanner, weekView, monthView, inMonthView, "add", day,
-                    taskTypeString, taskDescription);
-        } catch (TaskManagerException e) {
-            System.out.println(e.getMessage());
-        }
+    private Command parseAddCommand(String[] parts) throws TaskManagerException {
+        StringParser.validateAddCommand(parts);
+        int day = StringParser.parseTaskIndex(parts[1]);
+        TaskType taskType = StringParser.parseTaskType(parts[2]);
+        String taskDescription = StringParser.parseTaskDescription(parts[3]);
+        List<String> dateTimes = StringParser.parseDateTimes(parts, 4);
+        TaskManagerException.checkIfDateTimeCountIsValid(taskType, dateTimes.size());
+        return () -> taskManager.addManager(scanner, weekView, monthView, inMonthView, day, taskType,
+                taskDescription, dateTimes);
     }
 
     /**
-     * Handles the "delete" command to delete tasks.
+     * Parses the "delete" command to delete tasks.
      *
      * @param parts the array of command parts.
+     * @return the parsed command.
+     * @throws TaskManagerException if the command is invalid.
      */
-    private void handleDeleteCommand(String[] parts) {
-        try {
-            StringParser.validateDeleteCommand(parts);
-            String day = parts[1].trim();
-            int taskIndex = StringParser.parseTaskIndex(parts[2]);
-            int dayIndex = StringParser.parseTaskIndex(day);
-            TaskManager.deleteManager(weekView, monthView, inMonthView, taskManager, day, taskIndex);
-        } catch (TaskManagerException e) {
-            System.out.println(e.getMessage());
-        }
+    private Command parseDeleteCommand(String[] parts) throws TaskManagerException {
+        StringParser.validateDeleteCommand(parts);
+        int day = StringParser.parseTaskIndex(parts[1]);
+        int taskIndex = StringParser.parseTaskIndex(parts[2]);
+        return () -> TaskManager.deleteManager(weekView, monthView, inMonthView, taskManager, day, taskIndex);
     }
 
     /**
-     * Handles the "mark" command to mark tasks as completed.
+     * Parses the "mark" command to mark tasks as completed.
      *
      * @param parts the array of command parts.
+     * @return the parsed command.
+     * @throws TaskManagerException if the command is invalid.
      */
-    private void handleMarkCommand(String[] parts) {
-        try {
-            StringParser.validateMarkCommand(parts);
-            String day = parts[1].trim();
-            int taskIndex = StringParser.parseTaskIndex(parts[2]);
-            int dayIndex = StringParser.parseTaskIndex(day);
-            taskManager.markManager(weekView, monthView, inMonthView, day, taskIndex);
-        } catch (TaskManagerException e) {
-            System.out.println(e.getMessage());
-        }
+    private Command parseMarkCommand(String[] parts) throws TaskManagerException {
+        StringParser.validateMarkCommand(parts);
+        int day = StringParser.parseTaskIndex(parts[1]);
+        int taskIndex = StringParser.parseTaskIndex(parts[2]);
+        return () -> taskManager.markManager(weekView, monthView, inMonthView, day, taskIndex);
     }
 
-    private void handleFreeCommand(String[] parts) {
-        try {
-            StringParser.validateFreeCommand(parts);
-
-            String day = parts[1].trim();
-            taskManager.freeTimesManager(weekView, monthView, inMonthView, day);
+    /**
+     * Parses the "free" command to show the free time slots of a day.
+     *
+     * @param parts the array of command parts.
+     * @return the parsed command.
+     * @throws TaskManagerException if the command is invalid.
+     */
+    private Command parseFreeCommand(String[] parts) throws TaskManagerException {
+        StringParser.validateFreeCommand(parts);
+        int day = StringParser.parseTaskIndex(parts[1]);
+        return () -> {
+            if (overlay == null) {
+                taskManager.freeTimesManager(weekView, monthView, inMonthView, day);
+                return;
+            }
+            LocalDate date = TaskManager.findDateFromDayNumber(weekView, monthView, inMonthView, day);
+            taskManager.printFreeTimeSlots(overlay.getFreeTimeSlots(date), date);
+        };
+    }
 
-        } catch (TaskManagerException e) {
-            System.out.println(e.getMessage());
-        }
+    /**
+     * Parses the "priority" command to set task priorities.
+     *
+     * @param parts the array of command parts.
+     * @return the parsed command.
+     * @throws TaskManagerException if the command is invalid.
+     */
+    private Command parsePriorityCommand(String[] parts) throws TaskManagerException {
+        StringParser.validatePriorityCommand(parts);
+        int day = StringParser.parseTaskIndex(parts[1]);
+        int taskIndex = StringParser.parseTaskIndex(parts[2]);
+        String priorityLevel = StringParser.parsePriorityLevel(parts[3]);
+        return () -> taskManager.priorityManager(weekView, monthView, inMonthView, day, taskIndex, priorityLevel);
     }
 
     /**
-     * Handles the "priority" command to set task priorities.
+     * Parses the "bulk" command to delete, mark, unmark or set the priority of all matching tasks in a date range.
+     * All matching tasks are changed in one pass and saved once.
      *
      * @param parts the array of command parts.
+     * @return the parsed command.
+     * @throws TaskManagerException if the command is invalid.
      */
-    private void handlePriorityCommand(String[] parts) {
-        try {
-            StringParser.validatePriorityCommand(parts);
-            String day = parts[1].trim();
-            int taskIndex = StringParser.parseTaskIndex(parts[2]);
-            String priorityLevel = StringParser.parsePriorityLevel(parts[3]);
-            int dayIndex = StringParser.parseTaskIndex(day);
-            taskManager.priorityManager(weekView, monthView, inMonthView, day, taskIndex, priorityLevel);
-        } catch (TaskManagerException e) {
-            System.out.println(e.getMessage());
+    private Command parseBulkCommand(String[] parts) throws TaskManagerException {
+        StringParser.validateBulkCommand(parts);
+        String action = parts[1].toLowerCase();
+        LocalDate startDate = StringParser.parseDate(parts[2]);
+        LocalDate endDate = StringParser.parseDate(parts[3]);
+        if (endDate.isBefore(startDate)) {
+            throw new TaskManagerException("The end date cannot be before the start date.");
+        }
+        TaskFilter filter = StringParser.parseTaskFilter(parts, 4);
+        String range = " between " + dateFormatter.format(startDate) + " and " + dateFormatter.format(endDate) + ".";
+
+        if (action.equals("delete")) {
+            return () -> System.out.println("Deleted " + taskManager.deleteTasksInRange(startDate, endDate, filter)
+                    + " tasks" + range);
+        } else if (action.equals("mark") || action.equals("unmark")) {
+            boolean isCompleted = action.equals("mark");
+            return () -> System.out.println((isCompleted ? "Marked " : "Unmarked ")
+                    + taskManager.setCompletenessOfTasksInRange(startDate, endDate, filter, isCompleted)
+                    + " tasks" + range);
+        } else if (action.startsWith("priority=")) {
+            TaskPriorityLevel priorityLevel = TaskManager.parsePriorityLevel(
+                    StringParser.parsePriorityLevel(action.substring("priority=".length())));
+            return () -> System.out.println("Set priority of "
+                    + taskManager.setPriorityLevelOfTasksInRange(startDate, endDate, filter, priorityLevel)
+                    + " tasks" + range);
+        } else {
+            throw new TaskManagerException("Invalid bulk action. Please use delete, mark, unmark or "
+                    + "priority=<H/M/L>.");
         }
     }
 
@@ -223,6 +489,7 @@ public class CommandHandler {
      */
     private void handleMonthCommand() {
         inMonthView = true;
+        inYearView = false;
     }
 
     /**
@@ -230,6 +497,331 @@ public class CommandHandler {
      */
     private void handleWeekCommand() {
         inMonthView = false;
+        inYearView = false;
+    }
+
+    /**
+     * Handles the "year" command to switch to the year view.
+     * Day numbers in other commands keep referring to the week or month view that was shown last.
+     */
+    private void handleYearCommand() {
+        inYearView = true;
+    }
+
+    /**
+     * Handles the "stats" command to show task statistics for the period in the current view.
+     */
+    private void handleStatsCommand() {
+        if (inYearView) {
+            int year = yearView.getStartOfView().getYear();
+            UiRenderer.printStatistics("year " + year, taskManager.getTaskCountsForYear(year));
+        } else if (inMonthView) {
+            YearMonth yearMonth = YearMonth.from(monthView.getStartOfMonth());
+            UiRenderer.printStatistics(yearMonth.getMonth() + " " + yearMonth.getYear(),
+                    taskManager.getTaskCountsForMonth(yearMonth));
+        } else {
+            UiRenderer.printStatistics("week starting " + dateFormatter.format(weekView.getStartOfWeek()),
+                    taskManager.getTaskCountsForWeek(weekView.getStartOfWeek()));
+        }
+    }
+
+    /**
+     * Parses the "window" command to set how many tasks are shown for each day.
+     *
+     * @param parts the array of command parts.
+     * @return the parsed command.
+     * @throws TaskManagerException if the command is invalid.
+     */
+    private Command parseWindowCommand(String[] parts) throws TaskManagerException {
+        StringParser.validateWindowCommand(parts);
+        int tasksPerDay = StringParser.parseTaskIndex(parts[1]);
+        if (tasksPerDay < 1) {
+            throw new TaskManagerException("The number of tasks shown per day must be at least 1.");
+        }
+        return () -> {
+            uiRenderer.setTasksPerDay(tasksPerDay);
+            System.out.println("Showing up to " + tasksPerDay + " tasks per day.");
+        };
+    }
+
+    /**
+     * Parses the "scroll" command to scroll through the tasks of a busy day.
+     *
+     * @param parts the array of command parts.
+     * @return the parsed command.
+     * @throws TaskManagerException if the command is invalid.
+     */
+    private Command parseScrollCommand(String[] parts) throws TaskManagerException {
+        StringParser.validateScrollCommand(parts);
+        int day = StringParser.parseTaskIndex(parts[1]);
+        int numberOfTasks = StringParser.parseTaskIndex(parts[2]);
+        return () -> handleScrollCommand(day, numberOfTasks);
+    }
+
+    /**
+     * Handles the "scroll" command to scroll through the tasks of a busy day.
+     *
+     * @param day           the day number of the day to scroll.
+     * @param numberOfTasks the number of tasks to scroll by, negative to scroll up.
+     * @throws TaskManagerException if the day is not in the current view.
+     */
+    private void handleScrollCommand(int day, int numberOfTasks) throws TaskManagerException {
+        LocalDate date = TaskManager.findDateFromDayNumber(weekView, monthView, inMonthView, day);
+        int taskCount = taskManager.getTaskCountForDate(date);
+        int firstVisibleTaskIndex = uiRenderer.scrollDay(date, numberOfTasks, taskCount);
+        System.out.println("Showing tasks from " + (firstVisibleTaskIndex + 1) + " of " + taskCount
+                + " on " + dateFormatter.format(date) + ".");
+    }
+
+    /**
+     * Parses the "output" command to switch between the full, compact and quiet output profiles.
+     *
+     * @param parts the array of command parts.
+     * @return the parsed command.
+     * @throws TaskManagerException if the command is invalid.
+     */
+    private Command parseOutputCommand(String[] parts) throws TaskManagerException {
+        StringParser.validateOutputCommand(parts);
+        OutputProfile newOutputProfile = OutputProfile.fromName(parts[1]);
+        if (newOutputProfile == null) {
+            throw new TaskManagerException("Invalid output profile. Please use full, compact or quiet.");
+        }
+        return () -> {
+            setOutputProfile(newOutputProfile);
+            System.out.println("Output profile set to " + newOutputProfile.name().toLowerCase() + ".");
+        };
+    }
+
+    /**
+     * Parses the "overlay" command to show and query other calendars together with the user's own,
+     * or to stop doing so with "overlay, off".
+     *
+     * @param parts the array of command parts.
+     * @return the parsed command.
+     * @throws TaskManagerException if the command is invalid.
+     */
+    private Command parseOverlayCommand(String[] parts) throws TaskManagerException {
+        StringParser.validateOverlayCommand(parts);
+        if (parts.length == 2 && parts[1].equalsIgnoreCase("off")) {
+            return () -> {
+                overlay = null;
+                System.out.println("Showing only your own calendar.");
+            };
+        }
+        List<Path> saveFiles = new ArrayList<>();
+        for (int i = 1; i < parts.length; i++) {
+            saveFiles.add(Path.of(parts[i]));
+        }
+        return () -> handleOverlayCommand(saveFiles);
+    }
+
+    /**
+     * Handles the "overlay" command by loading the given calendars to show and query with the user's own.
+     * Free times then only include times at which no calendar has an event.
+     *
+     * @param saveFiles the save files of the calendars to overlay.
+     * @throws TaskManagerException if a save file does not exist.
+     */
+    private void handleOverlayCommand(List<Path> saveFiles) throws TaskManagerException {
+        CalendarOverlay newOverlay = new CalendarOverlay(taskManager);
+        for (Path saveFile : saveFiles) {
+            if (!Files.isRegularFile(saveFile)) {
+                throw new TaskManagerException("No calendar found at " + saveFile + ".");
+            }
+            String name = saveFile.getFileName().toString().replaceFirst("\\.txt$", "");
+            newOverlay.addCalendar(name, Storage.loadCalendar(saveFile));
+        }
+        overlay = newOverlay;
+        System.out.println("Overlaying " + String.join(", ", newOverlay.getOtherCalendarNames())
+                + " on your calendar. Free times now count every calendar.");
+    }
+
+    /**
+     * Parses the "ics" command to export the events and deadlines of all dates, or of the dates between
+     * two dates, to an ICS file, or to import the events and to-dos of an ICS file.
+     *
+     * @param parts the array of command parts.
+     * @return the parsed command.
+     * @throws TaskManagerException if the command is invalid.
+     */
+    private Command parseIcsCommand(String[] parts) throws TaskManagerException {
+        StringParser.validateIcsCommand(parts);
+        Path icsFile = Path.of(parts[2]);
+        if (parts[1].equalsIgnoreCase("import")) {
+            return () -> handleIcsImportCommand(icsFile);
+        }
+        LocalDate startDate = parts.length == 5 ? StringParser.parseDate(parts[3]) : LocalDate.MIN;
+        LocalDate endDate = parts.length == 5 ? StringParser.parseDate(parts[4]) : LocalDate.MAX;
+        if (endDate.isBefore(startDate)) {
+            throw new TaskManagerException("The end date cannot be before the start date.");
+        }
+        return () -> handleIcsExportCommand(icsFile, startDate, endDate);
+    }
+
+    /**
+     * Handles the "ics, export" command by writing the events and deadlines between two dates to an ICS file.
+     *
+     * @param icsFile   the file to write.
+     * @param startDate the first date to export.
+     * @param endDate   the last date to export.
+     * @throws TaskManagerException if the file cannot be written.
+     */
+    private void handleIcsExportCommand(Path icsFile, LocalDate startDate, LocalDate endDate)
+            throws TaskManagerException {
+        try (OutputStream outputStream = Files.newOutputStream(icsFile)) {
+            int exportedCount = IcsExporter.export(taskManager, startDate, endDate, outputStream);
+            System.out.println("Exported " + exportedCount + " events and deadlines to " + icsFile + ".");
+        } catch (IOException e) {
+            throw new TaskManagerException("Could not write to " + icsFile + ".");
+        }
+    }
+
+    /**
+     * Handles the "ics, import" command by adding the events and to-dos of an ICS file to the tasks.
+     * The tasks are added in batches and saved once at the end.
+     *
+     * @param icsFile the file to read.
+     * @throws TaskManagerException if the file cannot be read or the calendar becomes full.
+     */
+    private void handleIcsImportCommand(Path icsFile) throws TaskManagerException {
+        IcsImporter importer = new IcsImporter(taskManager, ZoneId.systemDefault());
+        try (InputStream inputStream = Files.newInputStream(icsFile)) {
+            importer.importFrom(inputStream);
+        } catch (IOException e) {
+            throw new TaskManagerException("Could not read " + icsFile + ".");
+        }
+        System.out.println("Imported " + importer.getImportedCount() + " tasks from " + icsFile + ". Skipped "
+                + importer.getSkippedCount() + " components that are not events or to-dos with a due date, and "
+                + importer.getInvalidCount() + " invalid components.");
+    }
+
+    /**
+     * Parses the "csv" command to export the tasks of all dates, or of the dates between two dates, to a CSV
+     * file, or to import the tasks of a CSV file.
+     *
+     * @param parts the array of command parts.
+     * @return the parsed command.
+     * @throws TaskManagerException if the command is invalid.
+     */
+    private Command parseCsvCommand(String[] parts) throws TaskManagerException {
+        StringParser.validateCsvCommand(parts);
+        Path csvFile = Path.of(parts[2]);
+        if (parts[1].equalsIgnoreCase("import")) {
+            return () -> handleCsvImportCommand(csvFile);
+        }
+        LocalDate startDate = parts.length == 5 ? StringParser.parseDate(parts[3]) : LocalDate.MIN;
+        LocalDate endDate = parts.length == 5 ? StringParser.parseDate(parts[4]) : LocalDate.MAX;
+        if (endDate.isBefore(startDate)) {
+            throw new TaskManagerException("The end date cannot be before the start date.");
+        }
+        return () -> handleCsvExportCommand(csvFile, startDate, endDate);
+    }
+
+    /**
+     * Handles the "csv, export" command by writing the tasks between two dates to a CSV file.
+     *
+     * @param csvFile   the file to write.
+     * @param startDate the first date to export.
+     * @param endDate   the last date to export.
+     * @throws TaskManagerException if the file cannot be written.
+     */
+    private void handleCsvExportCommand(Path csvFile, LocalDate startDate, LocalDate endDate)
+            throws TaskManagerException {
+        try (OutputStream outputStream = Files.newOutputStream(csvFile)) {
+            int exportedCount = CsvExporter.export(taskManager, startDate, endDate, outputStream);
+            System.out.println("Exported " + exportedCount + " tasks to " + csvFile + ".");
+        } catch (IOException e) {
+            throw new TaskManagerException("Could not write to " + csvFile + ".");
+        }
+    }
+
+    /**
+     * Handles the "csv, import" command by adding the tasks of a CSV file to the tasks.
+     * The file is parsed in chunks on several threads, and the tasks are saved once at the end.
+     *
+     * @param csvFile the file to read.
+     * @throws TaskManagerException if the file cannot be read or the calendar becomes full.
+     */
+    private void handleCsvImportCommand(Path csvFile) throws TaskManagerException {
+        CsvImporter importer = new CsvImporter(taskManager);
+        try (InputStream inputStream = Files.newInputStream(csvFile)) {
+            importer.importFrom(inputStream);
+        } catch (IOException e) {
+            throw new TaskManagerException("Could not read " + csvFile + ".");
+        }
+        System.out.println("Imported " + importer.getImportedCount() + " tasks from " + csvFile + ". Skipped "
+                + importer.getInvalidCount() + " invalid records.");
+    }
+
+    /**
+     * Handles the "begin" command to start a transaction.
+     *
+     * @throws TaskManagerException if a transaction is already in progress.
+     */
+    private void handleBeginCommand() throws TaskManagerException {
+        taskManager.beginTransaction();
+        System.out.println("Transaction begun. Changes will be saved on 'commit' or undone on 'rollback'.");
+    }
+
+    /**
+     * Handles the "commit" command to save the changes of the transaction in progress.
+     *
+     * @throws TaskManagerException if no transaction is in progress.
+     */
+    private void handleCommitCommand() throws TaskManagerException {
+        int changedDateCount = taskManager.commitTransaction();
+        System.out.println("Transaction committed. Changes to " + changedDateCount + " dates saved.");
+    }
+
+    /**
+     * Handles the "rollback" command to undo the changes of the transaction in progress.
+     *
+     * @throws TaskManagerException if no transaction is in progress.
+     */
+    private void handleRollbackCommand() throws TaskManagerException {
+        int restoredDateCount = taskManager.rollbackTransaction();
+        System.out.println("Transaction rolled back. Tasks on " + restoredDateCount + " dates restored.");
+    }
+
+    /**
+     * Handles the "undo" command to undo the changes made by the most recent command that changed any task.
+     *
+     * @throws TaskManagerException if there is nothing to undo.
+     */
+    private void handleUndoCommand() throws TaskManagerException {
+        System.out.println("Undone: " + taskManager.undo());
+    }
+
+    /**
+     * Handles the "redo" command to make the most recently undone changes again.
+     *
+     * @throws TaskManagerException if there is nothing to redo.
+     */
+    private void handleRedoCommand() throws TaskManagerException {
+        System.out.println("Redone: " + taskManager.redo());
+    }
+
+    /**
+     * Handles the "latency" command to print how long commands have taken to run.
+     */
+    private void handleLatencyCommand() {
+        System.out.println(commandLatency.getSummary());
+    }
+
+    /**
+     * Rolls back a transaction that was never committed, such as when the application exits
+     * or a batch runs out of commands in the middle of one.
+     */
+    public void rollBackUnfinishedTransaction() {
+        if (!taskManager.isInTransaction()) {
+            return;
+        }
+        try {
+            taskManager.rollbackTransaction();
+            System.out.println("The transaction was not committed, so its changes were rolled back.");
+        } catch (TaskManagerException e) {
+            assert false : "A transaction in progress should always roll back";
+        }
     }
 
     /**
@@ -243,7 +835,8 @@ public class CommandHandler {
      * Handles the "quit" command to exit the calendar application.
      */
     private void handleQuitCommand() {
+        rollBackUnfinishedTransaction();
         System.out.println("Exiting Calendar...");
-        System.exit(0);
+        isExitRequested = true;
     }
 }
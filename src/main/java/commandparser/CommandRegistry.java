@@ -0,0 +1,118 @@
+package commandparser;
+
+import data.exceptions.TaskManagerException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The CommandRegistry class maps command words to the parsers that turn them into Command objects.
+ * A command line is tokenized once, looked up by its command word and parsed into a Command with typed arguments.
+ * The time spent parsing each kind of command is recorded, so that parse costs can be compared.
+ */
+public class CommandRegistry {
+    private static final String INVALID_COMMAND_MESSAGE = "Invalid input. Please try again.";
+
+    private final Map<String, CommandParser> parsers = new LinkedHashMap<>();
+    private final Map<String, ParseCost> parseCosts = new LinkedHashMap<>();
+
+    /**
+     * A CommandParser validates the parts of a command line and converts them into a Command.
+     */
+    @FunctionalInterface
+    public interface CommandParser {
+
+        /**
+         * Parses the parts of a command line.
+         *
+         * @param parts the parts of the command line, starting with the command word.
+         * @return the parsed command.
+         * @throws TaskManagerException if the parts are not a valid command.
+         */
+        Command parse(String[] parts) throws TaskManagerException;
+    }
+
+    /**
+     * Registers the parser for a command word, replacing any parser registered for it before.
+     *
+     * @param commandWord the word that starts the command, in lower case.
+     * @param parser      the parser for the command.
+     */
+    public void register(String commandWord, CommandParser parser) {
+        parsers.put(commandWord, parser);
+        parseCosts.put(commandWord, new ParseCost());
+    }
+
+    /**
+     * Parses a command line into a Command.
+     *
+     * @param input the command line as typed by the user.
+     * @return the parsed command.
+     * @throws TaskManagerException if the command word is unknown or the command is invalid.
+     */
+    public Command parse(String input) throws TaskManagerException {
+        long startTime = System.nanoTime();
+        String[] parts = CommandTokenizer.tokenize(input);
+        CommandParser parser = parsers.get(parts[0]);
+        if (parser == null) {
+            throw new TaskManagerException(INVALID_COMMAND_MESSAGE);
+        }
+        try {
+            return parser.parse(parts);
+        } finally {
+            parseCosts.get(parts[0]).record(System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Returns the command words that have been registered, in the order they were registered.
+     *
+     * @return the registered command words.
+     */
+    public Set<String> getCommandWords() {
+        return Collections.unmodifiableSet(parsers.keySet());
+    }
+
+    /**
+     * Returns the recorded parse cost of a command.
+     *
+     * @param commandWord the command word to get the parse cost of.
+     * @return the parse cost of the command, or null if the command is not registered.
+     */
+    public ParseCost getParseCost(String commandWord) {
+        return parseCosts.get(commandWord);
+    }
+
+    /**
+     * The ParseCost class keeps the number of times a command was parsed and the total time taken.
+     */
+    public static class ParseCost {
+        private long parseCount;
+        private long totalNanos;
+
+        private void record(long nanos) {
+            parseCount++;
+            totalNanos += nanos;
+        }
+
+        /**
+         * Returns the number of times the command was parsed, including attempts that failed.
+         *
+         * @return the number of parses.
+         */
+        public long getParseCount() {
+            return parseCount;
+        }
+
+        /**
+         * Returns the average time taken to tokenize and parse the command.
+         *
+         * @return the average parse time in nanoseconds, or 0 if the command has not been parsed.
+         */
+        public long getAverageNanos() {
+            return parseCount == 0 ? 0 : totalNanos / parseCount;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package commandparser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The CommandTokenizer class splits a command line into its comma separated parts in a single pass,
+ * trimming the whitespace around each part as it goes. Only the command word is converted to lower case, so that
+ * arguments such as file names and task descriptions keep their case, and parsers compare keywords ignoring case.
+ * Empty parts at the end of the line are dropped, so "delete, 3, 1," has the same parts as "delete, 3, 1".
+ * A line can also hold several commands separated by semicolons.
+ */
+public class CommandTokenizer {
+    private static final char SEPARATOR = ',';
+    private static final char COMMAND_SEPARATOR = ';';
+
+    /**
+     * Splits a line into the commands it holds, separated by semicolons. Blank commands are skipped.
+     *
+     * @param input the line to split.
+     * @return the commands in the line, in order.
+     */
+    public static List<String> splitCommands(String input) {
+        List<String> commands = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= input.length(); i++) {
+            if (i == input.length() || input.charAt(i) == COMMAND_SEPARATOR) {
+                String command = input.substring(start, i);
+                if (!command.isBlank()) {
+                    commands.add(command);
+                }
+                start = i + 1;
+            }
+        }
+        return commands;
+    }
+
+    /**
+     * Splits a command line into its parts. The first part is the command word, in lower case.
+     *
+     * @param input the command line to split.
+     * @return the parts of the command, which always contains at least the (possibly empty) command word.
+     */
+    public static String[] tokenize(String input) {
+        List<String> parts = new ArrayList<>();
+        StringBuilder part = new StringBuilder();
+        int length = input.length();
+        for (int i = 0; i <= length; i++) {
+            if (i == length || input.charAt(i) == SEPARATOR) {
+                parts.add(trimTrailingWhitespace(part));
+                part.setLength(0);
+                continue;
+            }
+            char c = input.charAt(i);
+            if (part.length() == 0 && Character.isWhitespace(c)) {
+                continue;
+            }
+            part.append(parts.isEmpty() ? Character.toLowerCase(c) : c);
+        }
+        int lastPart = parts.size() - 1;
+        while (lastPart > 0 && parts.get(lastPart).isEmpty()) {
+            parts.remove(lastPart--);
+        }
+        return parts.toArray(new String[0]);
+    }
+
+    private static String trimTrailingWhitespace(StringBuilder part) {
+        int end = part.length();
+        while (end > 0 && Character.isWhitespace(part.charAt(end - 1))) {
+            end--;
+        }
+        return part.substring(0, end);
+    }
+}
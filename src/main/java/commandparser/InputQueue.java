@@ -0,0 +1,159 @@
+package commandparser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The InputQueue class reads lines of input on a separate thread and queues them until they are needed.
+ * As lines are read as soon as they are typed, input typed while a command is still running or the view is
+ * still being printed is kept in order instead of waiting on the slower work.
+ * Each line is timestamped when it is read, so the time taken to respond to it can be measured.
+ * Commands that ask for more details can read the following lines through a Scanner over asReader().
+ */
+public class InputQueue {
+    private static final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    private static final ReceivedLine END_OF_INPUT = new ReceivedLine(null, 0);
+
+    private final BufferedReader reader;
+    private final BlockingQueue<ReceivedLine> lines = new LinkedBlockingQueue<>();
+    private Thread readerThread;
+
+    /**
+     * Constructs an InputQueue reading lines from the given input.
+     *
+     * @param input the input to read lines from, such as standard input.
+     */
+    public InputQueue(InputStream input) {
+        this.reader = new BufferedReader(new InputStreamReader(input));
+    }
+
+    /**
+     * Starts reading lines on a background thread, if it has not been started yet.
+     * The thread does not keep the application running once everything else has finished.
+     */
+    public synchronized void start() {
+        if (readerThread != null) {
+            return;
+        }
+        readerThread = new Thread(this::readLines, "input-reader");
+        readerThread.setDaemon(true);
+        readerThread.start();
+    }
+
+    private void readLines() {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.put(new ReceivedLine(line, System.nanoTime()));
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to read input", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lines.add(END_OF_INPUT);
+    }
+
+    /**
+     * Takes the next line, waiting for one to be typed if none is queued.
+     *
+     * @return the next line, or null if the input has ended.
+     */
+    public ReceivedLine take() {
+        try {
+            ReceivedLine line = lines.take();
+            if (line == END_OF_INPUT) {
+                lines.add(END_OF_INPUT);
+                return null;
+            }
+            return line;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Returns the number of lines typed ahead that are waiting to be taken.
+     *
+     * @return the number of queued lines.
+     */
+    public int getQueuedLineCount() {
+        return (int) lines.stream().filter(line -> line != END_OF_INPUT).count();
+    }
+
+    /**
+     * Returns a Reader that takes its characters from the queued lines, one line at a time, so that a Scanner
+     * over it reads the same lines as take() without reading ahead of them.
+     *
+     * @return a Reader over the queued lines.
+     */
+    public Reader asReader() {
+        return new QueueReader();
+    }
+
+    /**
+     * The ReceivedLine class is a line of input along with the time it was read.
+     */
+    public static class ReceivedLine {
+        private final String text;
+        private final long receivedNanos;
+
+        private ReceivedLine(String text, long receivedNanos) {
+            this.text = text;
+            this.receivedNanos = receivedNanos;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * Returns the time the line was read, as given by System.nanoTime().
+         *
+         * @return the time the line was read, in nanoseconds.
+         */
+        public long getReceivedNanos() {
+            return receivedNanos;
+        }
+    }
+
+    /**
+     * The QueueReader class hands out the characters of one queued line at a time, ending each with a newline.
+     */
+    private class QueueReader extends Reader {
+        private String currentLine = "";
+        private int position;
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (position == currentLine.length()) {
+                ReceivedLine line = take();
+                if (line == null) {
+                    return -1;
+                }
+                currentLine = line.getText() + "\n";
+                position = 0;
+            }
+            int count = Math.min(length, currentLine.length() - position);
+            currentLine.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+            // The queue is shared with take(), so it stays open.
+        }
+    }
+}
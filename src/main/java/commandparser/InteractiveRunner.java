@@ -0,0 +1,54 @@
+package commandparser;
+
+import commandparser.InputQueue.ReceivedLine;
+
+/**
+ * The InteractiveRunner class runs commands as they are typed.
+ * Lines are read by the InputQueue on its own thread, while this runner prints the view, runs each command
+ * and saves the tasks on the calling thread, so typing ahead is never held up by a slow command.
+ * The latency of each command is recorded from when its line was read until the view after it has been printed.
+ * The runner stops on the "quit" command or when the input ends.
+ */
+public class InteractiveRunner {
+    private final InputQueue inputQueue;
+    private final CommandHandler commandHandler;
+
+    /**
+     * Constructs an InteractiveRunner.
+     * The command handler should read the further details of a command from a Scanner over the
+     * input queue's reader, so that they are taken from the same queue in order.
+     *
+     * @param inputQueue     the queue of lines typed.
+     * @param commandHandler the CommandHandler to run the commands with.
+     */
+    public InteractiveRunner(InputQueue inputQueue, CommandHandler commandHandler) {
+        this.inputQueue = inputQueue;
+        this.commandHandler = commandHandler;
+    }
+
+    /**
+     * Runs commands until the "quit" command is given or the input ends.
+     */
+    public void run() {
+        inputQueue.start();
+        ReceivedLine previousLine = null;
+        while (!commandHandler.isExitRequested()) {
+            commandHandler.printPrompt();
+            recordLatency(previousLine);
+            ReceivedLine line = inputQueue.take();
+            if (line == null) {
+                commandHandler.rollBackUnfinishedTransaction();
+                return;
+            }
+            commandHandler.handleInput(line.getText());
+            previousLine = line;
+        }
+        recordLatency(previousLine);
+    }
+
+    private void recordLatency(ReceivedLine line) {
+        if (line != null) {
+            commandHandler.getCommandLatency().record(System.nanoTime() - line.getReceivedNanos());
+        }
+    }
+}
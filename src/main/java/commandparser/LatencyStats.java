@@ -0,0 +1,83 @@
+package commandparser;
+
+import java.util.Arrays;
+
+/**
+ * The LatencyStats class keeps track of how long commands take, from when a command is typed
+ * until its result has been printed.
+ * The average and maximum cover every command, while percentiles are taken over the most recent commands only,
+ * so that the memory used stays fixed.
+ */
+public class LatencyStats {
+    private static final int RECENT_SAMPLE_COUNT = 1000;
+
+    private final long[] recentSamples = new long[RECENT_SAMPLE_COUNT];
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    /**
+     * Records the latency of one command.
+     *
+     * @param nanos the time taken by the command, in nanoseconds.
+     */
+    public synchronized void record(long nanos) {
+        recentSamples[(int) (count % RECENT_SAMPLE_COUNT)] = nanos;
+        count++;
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the average latency of all recorded commands.
+     *
+     * @return the average latency in nanoseconds, or 0 if no command has been recorded.
+     */
+    public synchronized long getAverageNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    public synchronized long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Returns the latency that the given percentage of the most recent commands took at most.
+     *
+     * @param percentile the percentage of commands, from 0 to 100.
+     * @return the latency in nanoseconds, or 0 if no command has been recorded.
+     */
+    public synchronized long getPercentileNanos(double percentile) {
+        assert percentile >= 0 && percentile <= 100 : "Percentile must be between 0 and 100";
+        int sampleCount = (int) Math.min(count, RECENT_SAMPLE_COUNT);
+        if (sampleCount == 0) {
+            return 0;
+        }
+        long[] samples = Arrays.copyOf(recentSamples, sampleCount);
+        Arrays.sort(samples);
+        int index = (int) Math.ceil(percentile / 100 * sampleCount) - 1;
+        return samples[Math.max(0, index)];
+    }
+
+    /**
+     * Returns a one line summary of the recorded latencies, in milliseconds.
+     *
+     * @return the summary.
+     */
+    public String getSummary() {
+        if (getCount() == 0) {
+            return "No command latency recorded yet.";
+        }
+        return String.format("Command latency over %d commands: average %.2f ms, median %.2f ms, "
+                + "95th percentile %.2f ms, max %.2f ms.", getCount(), toMillis(getAverageNanos()),
+                toMillis(getPercentileNanos(50)), toMillis(getPercentileNanos(95)), toMillis(getMaxNanos()));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -1,13 +1,20 @@
 package commandparser;
 
+import data.TaskFilter;
+import data.TaskManager;
+import data.TaskPriorityLevel;
+import data.TaskType;
 import data.exceptions.TaskManagerException;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
 
 public class StringParser {
     private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final String FILTER_SEPARATOR = "=";
 
     /**
      * Parses a date string into a LocalDate object.
@@ -49,6 +56,25 @@ public class StringParser {
         return descriptionString.trim();
     }
 
+    /**
+     * Parses the dates and times given at the end of an "add" or "update" command, each in the format
+     * dd/MM/yyyy HHmm.
+     *
+     * @param parts the array of command parts.
+     * @param firstIndex the index of the first date and time in the parts.
+     * @return the dates and times, which are empty if none were given.
+     * @throws TaskManagerException if a date and time is not in the expected format.
+     */
+    public static List<String> parseDateTimes(String[] parts, int firstIndex) throws TaskManagerException {
+        List<String> dateTimes = new ArrayList<>();
+        for (int i = firstIndex; i < parts.length; i++) {
+            String dateTime = parts[i].trim();
+            TaskManagerException.checkIfDateTimeInFormat(dateTime);
+            dateTimes.add(dateTime);
+        }
+        return dateTimes;
+    }
+
     /**
      * Parses a priority level string.
      *
@@ -65,6 +91,22 @@ public class StringParser {
         }
     }
 
+    /**
+     * Parses a task type string into a TaskType.
+     *
+     * @param taskTypeString the string representing the task type: T, E or D.
+     * @return the parsed task type.
+     * @throws TaskManagerException if the task type string is not valid.
+     */
+    public static TaskType parseTaskType(String taskTypeString) throws TaskManagerException {
+        TaskType taskType = TaskManager.parseTaskType(taskTypeString.trim().toUpperCase());
+        if (taskType == null) {
+            throw new TaskManagerException("Invalid task type. Please provide valid task type: " +
+                    "T for Todo, E for event, D for deadline.");
+        }
+        return taskType;
+    }
+
     /**
      * Validates the format of an "add" command.
      *
@@ -73,9 +115,9 @@ public class StringParser {
      */
     public static void validateAddCommand(String[] parts)
             throws TaskManagerException {
-        if (parts.length != 4) {
+        if (parts.length < 4 || parts.length > 6) {
             throw new TaskManagerException("Invalid input format. Please provide input in the format: " +
-                    "add, <day>, <taskType>, <taskDescription>");
+                    "add, <day>, <taskType>, <taskDescription>, [<dateAndTime>...]");
         }
     }
 
@@ -86,9 +128,9 @@ public class StringParser {
      * @throws TaskManagerException if the command format is invalid.
      */
     public static void validateUpdateCommand(String[] parts) throws TaskManagerException {
-        if (parts.length != 4) {
+        if (parts.length < 4 || parts.length > 6) {
             throw new TaskManagerException("Invalid input format. Please provide input in the format: " +
-                    "update, <day>, <taskIndex>, <newDescription>");
+                    "update, <day>, <taskIndex>, <newDescription>, [<dateAndTime>...]");
         }
     }
 
@@ -137,4 +179,163 @@ public class StringParser {
                     "priority, <day>, <taskIndex>, <priorityLevel>");
         }
     }
+
+    /**
+     * Validates the format of a command setting the number of tasks shown per day.
+     *
+     * @param parts the array of command parts.
+     * @throws TaskManagerException if the command format is invalid.
+     */
+    public static void validateWindowCommand(String[] parts) throws TaskManagerException {
+        if (parts.length != 2) {
+            throw new TaskManagerException("Invalid input format. Please provide input in the format: " +
+                    "window, <tasksPerDay>");
+        }
+    }
+
+    /**
+     * Validates the format of a command overlaying other calendars on the user's own.
+     *
+     * @param parts the array of command parts.
+     * @throws TaskManagerException if the command format is invalid.
+     */
+    public static void validateOverlayCommand(String[] parts) throws TaskManagerException {
+        if (parts.length < 2) {
+            throw new TaskManagerException("Invalid input format. Please provide input in the format: " +
+                    "overlay, <saveFile>, [<saveFile>...] or overlay, off");
+        }
+    }
+
+    /**
+     * Validates the format of a command exporting tasks to a CSV file or importing them from one.
+     *
+     * @param parts the array of command parts.
+     * @throws TaskManagerException if the command format is invalid.
+     */
+    public static void validateCsvCommand(String[] parts) throws TaskManagerException {
+        boolean isExport = parts.length > 1 && parts[1].equalsIgnoreCase("export")
+                && (parts.length == 3 || parts.length == 5);
+        boolean isImport = parts.length == 3 && parts[1].equalsIgnoreCase("import");
+        if (!isExport && !isImport) {
+            throw new TaskManagerException("Invalid input format. Please provide input in the format: " +
+                    "csv, export, <fileName>, [<startDate>, <endDate>] or csv, import, <fileName>");
+        }
+    }
+
+    /**
+     * Validates the format of a command exporting tasks to an ICS file or importing them from one.
+     *
+     * @param parts the array of command parts.
+     * @throws TaskManagerException if the command format is invalid.
+     */
+    public static void validateIcsCommand(String[] parts) throws TaskManagerException {
+        boolean isExport = parts.length > 1 && parts[1].equalsIgnoreCase("export")
+                && (parts.length == 3 || parts.length == 5);
+        boolean isImport = parts.length == 3 && parts[1].equalsIgnoreCase("import");
+        if (!isExport && !isImport) {
+            throw new TaskManagerException("Invalid input format. Please provide input in the format: " +
+                    "ics, export, <fileName>, [<startDate>, <endDate>] or ics, import, <fileName>");
+        }
+    }
+
+    /**
+     * Validates the format of a command scrolling the tasks of a day.
+     *
+     * @param parts the array of command parts.
+     * @throws TaskManagerException if the command format is invalid.
+     */
+    public static void validateScrollCommand(String[] parts) throws TaskManagerException {
+        if (parts.length != 3) {
+            throw new TaskManagerException("Invalid input format. Please provide input in the format: " +
+                    "scroll, <day>, <numberOfTasks>");
+        }
+    }
+
+    /**
+     * Validates the format of a command switching the output profile.
+     *
+     * @param parts the array of command parts.
+     * @throws TaskManagerException if the command format is invalid.
+     */
+    public static void validateOutputCommand(String[] parts) throws TaskManagerException {
+        if (parts.length != 2) {
+            throw new TaskManagerException("Invalid input format. Please provide input in the format: " +
+                    "output, <full/compact/quiet>");
+        }
+    }
+
+    /**
+     * Validates the format of a command acting on all matching tasks in a date range.
+     *
+     * @param parts the array of command parts.
+     * @throws TaskManagerException if the command format is invalid.
+     */
+    public static void validateBulkCommand(String[] parts) throws TaskManagerException {
+        if (parts.length < 4) {
+            throw new TaskManagerException("Invalid input format. Please provide input in the format: " +
+                    "bulk, <delete/mark/unmark/priority=H/M/L>, <startDate>, <endDate>, [<filter>...]");
+        }
+    }
+
+    /**
+     * Parses the filters at the end of a command, each in the form "key=value".
+     * The keys are "type" (T, E or D), "priority" (H, M or L), "done" (yes or no) and "name"
+     * (text that the task name contains). Filters that are not given match every task.
+     *
+     * @param parts the array of command parts.
+     * @param firstFilterIndex the index of the first filter in the command parts.
+     * @return the filter matching all given conditions.
+     * @throws TaskManagerException if a filter is not valid.
+     */
+    public static TaskFilter parseTaskFilter(String[] parts, int firstFilterIndex) throws TaskManagerException {
+        TaskType taskType = null;
+        TaskPriorityLevel priorityLevel = null;
+        Boolean isCompleted = null;
+        String nameFragment = null;
+
+        for (int i = firstFilterIndex; i < parts.length; i++) {
+            String[] keyAndValue = parts[i].split(FILTER_SEPARATOR, 2);
+            if (keyAndValue.length != 2 || keyAndValue[1].isBlank()) {
+                throw new TaskManagerException("Invalid filter '" + parts[i].trim() + "'. Please use the format " +
+                        "type=<T/E/D>, priority=<H/M/L>, done=<yes/no> or name=<text>.");
+            }
+            String value = keyAndValue[1].trim();
+            switch (keyAndValue[0].trim().toLowerCase()) {
+            case "type":
+                taskType = parseTaskType(value);
+                break;
+            case "priority":
+                priorityLevel = TaskManager.parsePriorityLevel(parsePriorityLevel(value));
+                break;
+            case "done":
+                isCompleted = parseYesOrNo(value);
+                break;
+            case "name":
+                nameFragment = value;
+                break;
+            default:
+                throw new TaskManagerException("Unknown filter '" + keyAndValue[0].trim() + "'. Please use " +
+                        "type, priority, done or name.");
+            }
+        }
+        return new TaskFilter(taskType, priorityLevel, isCompleted, nameFragment);
+    }
+
+    /**
+     * Parses a "yes" or "no" answer.
+     *
+     * @param answer the answer to parse.
+     * @return true for "yes", false for "no".
+     * @throws TaskManagerException if the answer is neither "yes" nor "no".
+     */
+    public static boolean parseYesOrNo(String answer) throws TaskManagerException {
+        switch (answer.trim().toLowerCase()) {
+        case "yes":
+            return true;
+        case "no":
+            return false;
+        default:
+            throw new TaskManagerException("Invalid answer. Please enter yes or no.");
+        }
+    }
 }
@@ -0,0 +1,76 @@
+package csv;
+
+import data.Task;
+import data.TaskManager;
+import data.TaskType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * The CsvExporter class exports the tasks between two dates as a CSV stream that spreadsheets can open,
+ * with one record for each task. Each task is written to the stream as soon as the store reaches it,
+ * without building the file in memory first.
+ */
+public class CsvExporter {
+    static final String[] HEADER = {"Date", "Type", "Name", "Completed", "Priority",
+        "Start Date", "Start Time", "End Date", "End Time", "Due Date", "Due Time"};
+    static final DateTimeFormatter TASK_DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final CsvWriter csvWriter;
+    private int exportedCount;
+
+    private CsvExporter(OutputStream outputStream) {
+        this.csvWriter = new CsvWriter(outputStream);
+    }
+
+    /**
+     * Writes the tasks between two dates, inclusive, to a stream as CSV, after a header record naming the
+     * fields. The stream is flushed but not closed.
+     *
+     * @param taskManager The calendar to export.
+     * @param startDate The first date to export.
+     * @param endDate The last date to export.
+     * @param outputStream The stream to write to.
+     * @return The number of tasks exported.
+     * @throws IOException If the stream cannot be written to.
+     */
+    public static int export(TaskManager taskManager, LocalDate startDate, LocalDate endDate,
+            OutputStream outputStream) throws IOException {
+        CsvExporter exporter = new CsvExporter(outputStream);
+        exporter.csvWriter.writeRecord(HEADER);
+        try {
+            taskManager.forEachTaskInRange(startDate, endDate, exporter::exportTaskUnchecked);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        exporter.csvWriter.flush();
+        return exporter.exportedCount;
+    }
+
+    private void exportTaskUnchecked(LocalDate date, Task task) {
+        try {
+            csvWriter.writeRecord(TASK_DATE_FORMATTER.format(date), toTaskType(task).name(), task.getName(),
+                    Boolean.toString(task.isCompleted()), task.getPriorityLevel().name(),
+                    task.getStartDate(), task.getStartTime(), task.getEndDate(), task.getEndTime(),
+                    task.getByDate(), task.getByTime());
+            exportedCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static TaskType toTaskType(Task task) {
+        switch (task.getTaskType()) {
+        case "E":
+            return TaskType.EVENT;
+        case "D":
+            return TaskType.DEADLINE;
+        default:
+            return TaskType.TODO;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package csv;
+
+import data.Deadline;
+import data.Event;
+import data.Task;
+import data.TaskManager;
+import data.TaskPriorityLevel;
+import data.TaskType;
+import data.Todo;
+import data.exceptions.TaskManagerException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static data.exceptions.TaskManagerException.checkIfDateInFormat;
+import static data.exceptions.TaskManagerException.checkIfTimeInFormat;
+
+/**
+ * The CsvImporter class imports the tasks of a CSV stream, such as one exported by CsvExporter and edited in
+ * a spreadsheet. The records are read in chunks, and the chunks are parsed into tasks on several threads at
+ * once while the next chunks are read. The parsed chunks are added to the calendar in the order they were read
+ * through TaskManager.addTasksInBulk, and the calendar is saved once at the end.
+ */
+public class CsvImporter {
+    public static final int CHUNK_SIZE = 1000;
+    private static final int MAX_CHUNKS_IN_FLIGHT = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    private final TaskManager taskManager;
+    private final Queue<CompletableFuture<ParsedChunk>> chunksInFlight = new ArrayDeque<>();
+    private int importedCount = 0;
+    private int invalidCount = 0;
+
+    /**
+     * Constructs a CsvImporter adding tasks to the given calendar.
+     *
+     * @param taskManager The calendar to import into.
+     */
+    public CsvImporter(TaskManager taskManager) {
+        this.taskManager = taskManager;
+    }
+
+    /**
+     * Imports the tasks of a CSV stream. The stream is not closed.
+     * A first record naming the fields is skipped, as are empty records, and records that cannot be read
+     * are counted as invalid, without stopping the import.
+     *
+     * @param inputStream The stream to read.
+     * @throws IOException If the stream cannot be read.
+     * @throws TaskManagerException If the calendar becomes full.
+     */
+    public void importFrom(InputStream inputStream) throws IOException, TaskManagerException {
+        CsvReader csvReader = new CsvReader(inputStream);
+        taskManager.deferSaving();
+        try {
+            List<String> chunk = new ArrayList<>(CHUNK_SIZE);
+            int recordNumber = 0;
+            int chunkStartRecordNumber = 1;
+            String record;
+            while ((record = csvReader.nextRecord()) != null) {
+                recordNumber++;
+                if (recordNumber == 1 && isHeader(record)) {
+                    chunkStartRecordNumber++;
+                    continue;
+                }
+                chunk.add(record);
+                if (chunk.size() == CHUNK_SIZE) {
+                    parseInBackground(chunk, chunkStartRecordNumber);
+                    chunkStartRecordNumber = recordNumber + 1;
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            parseInBackground(chunk, chunkStartRecordNumber);
+            while (!chunksInFlight.isEmpty()) {
+                addOldestChunk();
+            }
+        } finally {
+            chunksInFlight.forEach(parsedChunk -> parsedChunk.cancel(false));
+            chunksInFlight.clear();
+            taskManager.resumeSaving();
+        }
+        logger.log(Level.INFO, "Imported " + importedCount + " tasks and found " + invalidCount + " invalid records");
+    }
+
+    /**
+     * Starts parsing a chunk of records on another thread. Once as many chunks as there are processors are
+     * being parsed, waits for the oldest of them and adds its tasks first, so that only a few chunks are held
+     * in memory however large the stream is.
+     *
+     * @param chunk The records to parse.
+     * @param firstRecordNumber The number of the first record in the stream, counting from 1.
+     * @throws TaskManagerException If the calendar becomes full.
+     */
+    private void parseInBackground(List<String> chunk, int firstRecordNumber) throws TaskManagerException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        if (chunksInFlight.size() >= MAX_CHUNKS_IN_FLIGHT) {
+            addOldestChunk();
+        }
+        chunksInFlight.add(CompletableFuture.supplyAsync(() -> parseChunk(chunk, firstRecordNumber)));
+    }
+
+    private void addOldestChunk() throws TaskManagerException {
+        ParsedChunk parsedChunk = chunksInFlight.remove().join();
+        invalidCount += parsedChunk.invalidCount;
+        importedCount += taskManager.addTasksInBulk(parsedChunk.tasksByDate);
+    }
+
+    private static ParsedChunk parseChunk(List<String> chunk, int firstRecordNumber) {
+        ParsedChunk parsedChunk = new ParsedChunk();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (chunk.get(i).isBlank()) {
+                continue;
+            }
+            List<String> fields = CsvReader.splitFields(chunk.get(i));
+            try {
+                LocalDate date = parseDate(getField(fields, 0));
+                Task task = toTask(fields);
+                parsedChunk.tasksByDate.computeIfAbsent(date, k -> new ArrayList<>()).add(task);
+            } catch (TaskManagerException | DateTimeException e) {
+                logger.log(Level.FINE, "Invalid record " + (firstRecordNumber + i) + ": " + e.getMessage());
+                parsedChunk.invalidCount++;
+            }
+        }
+        return parsedChunk;
+    }
+
+    /**
+     * Converts the fields of a record to a task, with the fields in the order of CsvExporter.HEADER.
+     *
+     * @param fields The fields of the record.
+     * @return The task.
+     * @throws TaskManagerException If a field is missing or not in its format.
+     */
+    private static Task toTask(List<String> fields) throws TaskManagerException {
+        String name = getField(fields, 2).replace('|', '/').replace('\n', ' ').trim();
+        if (name.isEmpty()) {
+            throw new TaskManagerException("The task has no name");
+        }
+        Task task;
+        switch (parseTaskType(getField(fields, 1))) {
+        case EVENT:
+            String startDate = getDateField(fields, 5);
+            String startTime = getTimeField(fields, 6);
+            String endDate = getDateField(fields, 7);
+            String endTime = getTimeField(fields, 8);
+            task = new Event(name, startDate, endDate, startTime, endTime);
+            break;
+        case DEADLINE:
+            task = new Deadline(name, getDateField(fields, 9), getTimeField(fields, 10));
+            break;
+        default:
+            task = new Todo(name);
+            break;
+        }
+        task.setCompleteness(parseCompleteness(getField(fields, 3)));
+        task.setPriorityLevel(parsePriorityLevel(getField(fields, 4)));
+        return task;
+    }
+
+    private static boolean isHeader(String record) {
+        return CsvReader.splitFields(record).get(0).trim().equalsIgnoreCase(CsvExporter.HEADER[0]);
+    }
+
+    private static String getField(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index).trim() : "";
+    }
+
+    private static String getDateField(List<String> fields, int index) throws TaskManagerException {
+        String date = getField(fields, index);
+        parseDate(date);
+        return date;
+    }
+
+    private static String getTimeField(List<String> fields, int index) throws TaskManagerException {
+        String time = getField(fields, index);
+        checkIfTimeInFormat(time);
+        return time;
+    }
+
+    private static LocalDate parseDate(String date) throws TaskManagerException {
+        checkIfDateInFormat(date);
+        return LocalDate.parse(date, CsvExporter.TASK_DATE_FORMATTER);
+    }
+
+    /**
+     * Parses the type of a task, written either in full, such as "EVENT", or as its first letter.
+     *
+     * @param type The type as written in the record.
+     * @return The type of task.
+     * @throws TaskManagerException If the type is not a type of task.
+     */
+    private static TaskType parseTaskType(String type) throws TaskManagerException {
+        switch (type.toUpperCase(Locale.ROOT)) {
+        case "T":
+        case "TODO":
+            return TaskType.TODO;
+        case "E":
+        case "EVENT":
+            return TaskType.EVENT;
+        case "D":
+        case "DEADLINE":
+            return TaskType.DEADLINE;
+        default:
+            throw new TaskManagerException("Invalid task type " + type);
+        }
+    }
+
+    private static boolean parseCompleteness(String completed) throws TaskManagerException {
+        switch (completed.toUpperCase(Locale.ROOT)) {
+        case "TRUE":
+        case "X":
+            return true;
+        case "FALSE":
+        case "":
+            return false;
+        default:
+            throw new TaskManagerException("Invalid completion " + completed);
+        }
+    }
+
+    /**
+     * Parses the priority level of a task, written either in full, such as "HIGH", or as its first letter.
+     * A task without one has a low priority.
+     *
+     * @param priority The priority level as written in the record.
+     * @return The priority level.
+     * @throws TaskManagerException If the priority is not a priority level.
+     */
+    private static TaskPriorityLevel parsePriorityLevel(String priority) throws TaskManagerException {
+        switch (priority.toUpperCase(Locale.ROOT)) {
+        case "H":
+        case "HIGH":
+            return TaskPriorityLevel.HIGH;
+        case "M":
+        case "MEDIUM":
+            return TaskPriorityLevel.MEDIUM;
+        case "L":
+        case "LOW":
+        case "":
+            return TaskPriorityLevel.LOW;
+        default:
+            throw new TaskManagerException("Invalid priority level " + priority);
+        }
+    }
+
+    public int getImportedCount() {
+        return importedCount;
+    }
+
+    public int getInvalidCount() {
+        return invalidCount;
+    }
+
+    /**
+     * The ParsedChunk class holds the tasks parsed from a chunk of records, by date in the order they were
+     * read, and the number of records that could not be read.
+     */
+    private static class ParsedChunk {
+        private final Map<LocalDate, List<Task>> tasksByDate = new LinkedHashMap<>();
+        private int invalidCount = 0;
+    }
+}
@@ -0,0 +1,105 @@
+package csv;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The CsvReader class reads a CSV (RFC 4180) stream one record at a time.
+ * Finding where a record ends only needs the quotes to be counted, so it is cheap and done as the stream is
+ * read, while splitting records into fields is left to splitFields, which can run on many records at once.
+ */
+public class CsvReader {
+    private static final char QUOTE = '"';
+
+    private final BufferedReader reader;
+    private boolean isAtStart = true;
+
+    /**
+     * Constructs a CsvReader reading UTF-8 from the given stream. The stream is not closed by the reader.
+     *
+     * @param inputStream The stream to read from.
+     */
+    public CsvReader(InputStream inputStream) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the next record, joining the lines of quoted fields that span several lines.
+     * A byte order mark at the start of the stream, as written by some spreadsheets, is dropped.
+     *
+     * @return The record as it is written in the stream, or null at the end of the stream.
+     * @throws IOException If the stream cannot be read.
+     */
+    public String nextRecord() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        if (isAtStart && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+            line = line.substring(1);
+        }
+        isAtStart = false;
+        if (!hasOpenQuote(line)) {
+            return line;
+        }
+        StringBuilder record = new StringBuilder(line);
+        String nextLine;
+        while ((nextLine = reader.readLine()) != null) {
+            record.append('\n').append(nextLine);
+            if (!hasOpenQuote(record)) {
+                break;
+            }
+        }
+        return record.toString();
+    }
+
+    private static boolean hasOpenQuote(CharSequence text) {
+        boolean isInQuotes = false;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == QUOTE) {
+                isInQuotes = !isInQuotes;
+            }
+        }
+        return isInQuotes;
+    }
+
+    /**
+     * Splits a record into its fields, removing the quotes around quoted fields and undoubling the quotes
+     * in them.
+     *
+     * @param record The record as it is written in the stream.
+     * @return The fields of the record.
+     */
+    public static List<String> splitFields(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean isInQuotes = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (isInQuotes) {
+                if (c != QUOTE) {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == QUOTE) {
+                    field.append(QUOTE);
+                    i++;
+                } else {
+                    isInQuotes = false;
+                }
+            } else if (c == QUOTE) {
+                isInQuotes = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,65 @@
+package csv;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The CsvWriter class writes a CSV (RFC 4180) stream one record at a time, so that nothing but the record
+ * being written is kept in memory.
+ * Fields containing commas, quotes or line breaks are quoted.
+ */
+public class CsvWriter {
+    private static final String LINE_BREAK = "\r\n";
+
+    private final Writer writer;
+
+    /**
+     * Constructs a CsvWriter writing UTF-8 to the given stream. The stream is not closed by the writer.
+     *
+     * @param outputStream The stream to write to.
+     */
+    public CsvWriter(OutputStream outputStream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes a record. A null field is written as an empty field.
+     *
+     * @param fields The fields of the record.
+     * @throws IOException If the stream cannot be written to.
+     */
+    public void writeRecord(String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeField(fields[i] == null ? "" : fields[i]);
+        }
+        writer.write(LINE_BREAK);
+    }
+
+    /**
+     * Flushes everything written to the stream.
+     *
+     * @throws IOException If the stream cannot be written to.
+     */
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeField(String field) throws IOException {
+        boolean needsQuotes = field.indexOf(',') >= 0 || field.indexOf('"') >= 0
+                || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,125 @@
+package data;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The BusyTime class is a period of a day taken up by an event, from which the free time of the day is found.
+ * Busy times of several calendars are merged without sorting them all again, since each calendar's own busy times
+ * are already sorted.
+ */
+class BusyTime {
+    static final LocalTime START_OF_DAY = LocalTime.of(0, 0);
+    static final LocalTime END_OF_DAY = LocalTime.of(23, 59);
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HHmm");
+
+    private final LocalTime start;
+    private final LocalTime end;
+
+    BusyTime(LocalTime start, LocalTime end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    LocalTime getStart() {
+        return start;
+    }
+
+    LocalTime getEnd() {
+        return end;
+    }
+
+    /**
+     * Returns the busy times of the events that start on a date, sorted by start time.
+     * An event that ends on a later date keeps the rest of the day busy.
+     *
+     * @param events The events to take the busy times from.
+     * @param date The date to find the busy times of.
+     * @return The busy times of the date, sorted by start time.
+     */
+    static List<BusyTime> fromEvents(List<Task> events, LocalDate date) {
+        List<BusyTime> busyTimes = new ArrayList<>(events.size());
+        for (Task event : events) {
+            if (!LocalDate.parse(event.getStartDate(), DATE_FORMATTER).isEqual(date)) {
+                continue;
+            }
+            LocalTime start = LocalTime.parse(event.getStartTime(), TIME_FORMATTER);
+            LocalTime end = LocalDate.parse(event.getEndDate(), DATE_FORMATTER).isEqual(date)
+                    ? LocalTime.parse(event.getEndTime(), TIME_FORMATTER)
+                    : END_OF_DAY;
+            busyTimes.add(new BusyTime(start, end.isBefore(start) ? start : end));
+        }
+        busyTimes.sort(Comparator.comparing(BusyTime::getStart));
+        return busyTimes;
+    }
+
+    /**
+     * Merges several lists of busy times, each sorted by start time, into one sorted list in which overlapping
+     * busy times are joined together.
+     * The lists are merged by always taking the earliest next busy time of any list, so merging n busy times
+     * from k calendars takes O(n log k) time.
+     *
+     * @param sortedBusyTimes The lists of busy times to merge, each sorted by start time.
+     * @return The merged busy times, sorted by start time and without overlaps.
+     */
+    static List<BusyTime> merge(List<List<BusyTime>> sortedBusyTimes) {
+        int[] positions = new int[sortedBusyTimes.size()];
+        PriorityQueue<Integer> listsByNextStart = new PriorityQueue<>(Math.max(1, sortedBusyTimes.size()),
+                Comparator.comparing(list -> sortedBusyTimes.get(list).get(positions[list]).getStart()));
+        for (int list = 0; list < sortedBusyTimes.size(); list++) {
+            if (!sortedBusyTimes.get(list).isEmpty()) {
+                listsByNextStart.add(list);
+            }
+        }
+
+        List<BusyTime> merged = new ArrayList<>();
+        while (!listsByNextStart.isEmpty()) {
+            int list = listsByNextStart.poll();
+            BusyTime next = sortedBusyTimes.get(list).get(positions[list]++);
+            if (positions[list] < sortedBusyTimes.get(list).size()) {
+                listsByNextStart.add(list);
+            }
+
+            int lastIndex = merged.size() - 1;
+            if (lastIndex >= 0 && !next.start.isAfter(merged.get(lastIndex).end)) {
+                BusyTime last = merged.get(lastIndex);
+                if (next.end.isAfter(last.end)) {
+                    merged.set(lastIndex, new BusyTime(last.start, next.end));
+                }
+            } else {
+                merged.add(next);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Returns the free time slots of a day around its busy times.
+     *
+     * @param mergedBusyTimes The busy times of the day, sorted by start time and without overlaps.
+     * @return The free time slots, each written as "HH:mm - HH:mm".
+     */
+    static List<String> toFreeTimeSlots(List<BusyTime> mergedBusyTimes) {
+        List<String> freeTimeSlots = new ArrayList<>();
+        LocalTime lastEndTime = START_OF_DAY;
+        for (BusyTime busyTime : mergedBusyTimes) {
+            if (Duration.between(lastEndTime, busyTime.start).toMinutes() > 0) {
+                freeTimeSlots.add(lastEndTime + " - " + busyTime.start);
+            }
+            if (busyTime.end.isAfter(lastEndTime)) {
+                lastEndTime = busyTime.end;
+            }
+        }
+        if (Duration.between(lastEndTime, END_OF_DAY).toMinutes() > 0) {
+            freeTimeSlots.add(lastEndTime + " - " + END_OF_DAY);
+        }
+        return freeTimeSlots;
+    }
+}
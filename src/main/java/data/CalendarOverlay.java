@@ -0,0 +1,99 @@
+package data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The CalendarOverlay class views and queries several calendars as one, such as the calendars of a team
+ * when looking for a meeting slot.
+ * The first calendar is the user's own and is shown as it is, so its task numbers stay the same. The other
+ * calendars are only read, and their tasks are shown after the user's own with the name of their calendar.
+ */
+public class CalendarOverlay {
+    private final TaskManager ownCalendar;
+    private final List<String> otherCalendarNames = new ArrayList<>();
+    private final List<TaskManager> otherCalendars = new ArrayList<>();
+    private final TaskManager combinedCalendar;
+
+    /**
+     * Constructs a CalendarOverlay over the user's own calendar, to which other calendars can be added.
+     * The calendar the combined tasks are shown from is made once here and refilled for every view. It has no save
+     * file or journal, so neither showing a view nor anything done to that calendar can overwrite saved tasks.
+     *
+     * @param ownCalendar The user's own calendar.
+     */
+    public CalendarOverlay(TaskManager ownCalendar) {
+        this.ownCalendar = ownCalendar;
+        this.combinedCalendar = TaskManager.createForDisplay();
+    }
+
+    /**
+     * Adds a calendar to the overlay.
+     *
+     * @param name The name shown with the tasks of the calendar.
+     * @param calendar The calendar to add.
+     */
+    public void addCalendar(String name, TaskManager calendar) {
+        otherCalendarNames.add(name);
+        otherCalendars.add(calendar);
+    }
+
+    /**
+     * Returns the names of the calendars added to the user's own calendar.
+     *
+     * @return The names of the other calendars.
+     */
+    public List<String> getOtherCalendarNames() {
+        return Collections.unmodifiableList(otherCalendarNames);
+    }
+
+    /**
+     * Returns the free time slots of a date across all calendars, that is the times at which no calendar
+     * has an event.
+     * The busy times of each calendar are sorted on their own and then merged, rather than sorting the events
+     * of all calendars together.
+     *
+     * @param date The date to find free times for.
+     * @return The free time slots, each written as "HH:mm - HH:mm".
+     */
+    public List<String> getFreeTimeSlots(LocalDate date) {
+        List<List<BusyTime>> busyTimesOfCalendars = new ArrayList<>(otherCalendars.size() + 1);
+        busyTimesOfCalendars.add(BusyTime.fromEvents(ownCalendar.getEventsForDate(date), date));
+        for (TaskManager calendar : otherCalendars) {
+            busyTimesOfCalendars.add(BusyTime.fromEvents(calendar.getEventsForDate(date), date));
+        }
+        return BusyTime.toFreeTimeSlots(BusyTime.merge(busyTimesOfCalendars));
+    }
+
+    /**
+     * Returns a read-only calendar holding the tasks of all calendars between two dates, for the views to print.
+     * The user's own tasks come first on each date, followed by copies of the other calendars' tasks with the name
+     * of their calendar in front. The same calendar is returned every time, holding only the latest range.
+     *
+     * @param startDate The first date to include.
+     * @param endDate The last date to include.
+     * @return The combined calendar, which is never saved.
+     */
+    public TaskManager combineTasksInRange(LocalDate startDate, LocalDate endDate) {
+        TaskManager combined = combinedCalendar;
+        combined.clearTasksForDisplay();
+        for (LocalDate date : ownCalendar.getDatesWithTasksInRange(startDate, endDate)) {
+            for (Task task : ownCalendar.getTasksForDate(date)) {
+                combined.addTaskForDisplay(date, task);
+            }
+        }
+        for (int i = 0; i < otherCalendars.size(); i++) {
+            TaskManager calendar = otherCalendars.get(i);
+            for (LocalDate date : calendar.getDatesWithTasksInRange(startDate, endDate)) {
+                for (Task task : calendar.getTasksForDate(date)) {
+                    Task copy = task.copy();
+                    copy.setName(otherCalendarNames.get(i) + ": " + task.getName());
+                    combined.addTaskForDisplay(date, copy);
+                }
+            }
+        }
+        return combined;
+    }
+}
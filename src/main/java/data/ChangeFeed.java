@@ -0,0 +1,185 @@
+package data;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The ChangeFeed class publishes every change to the tasks of a calendar to its subscribers, in the order the
+ * changes were made, so that caches, indexes and exports can keep up with the tasks instead of reading them all
+ * again.
+ * Each subscriber is handed the changes on a thread of its own through a queue of limited size. A subscriber that
+ * falls behind holds up whoever changes the tasks until its queue has room again, but only once the tasks are
+ * unlocked, so reading the tasks is never held up by a slow subscriber.
+ */
+public class ChangeFeed {
+    private static final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    private static final long OFFER_WAIT_MILLIS = 100;
+    private static final AtomicInteger threadCount = new AtomicInteger();
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final Queue<TaskChange> undeliveredChanges = new ConcurrentLinkedQueue<>();
+    private final Object deliveryLock = new Object();
+    private long lastSequenceNumber = 0;
+
+    /**
+     * Adds a subscriber that is handed every change published from now on.
+     * The caller must hold the write lock of the tasks, so that no change is published halfway through.
+     *
+     * @param listener The subscriber, which must not change the tasks of the same calendar.
+     * @param capacity The largest number of changes waiting to be handed to the subscriber.
+     * @return The subscription, to be closed once the subscriber no longer needs changes.
+     */
+    Subscription subscribe(Consumer<TaskChange> listener, int capacity) {
+        assert capacity > 0 : "Subscription capacity must be positive";
+        Subscription subscription = new Subscription(listener, capacity, lastSequenceNumber);
+        subscriptions.add(subscription);
+        subscription.deliveryThread.start();
+        return subscription;
+    }
+
+    /**
+     * Numbers a change and keeps it to be handed to the subscribers by deliver.
+     * The caller must hold the write lock of the tasks.
+     *
+     * @param operation The operation that was carried out.
+     */
+    void publish(TaskOperation operation) {
+        lastSequenceNumber++;
+        if (!subscriptions.isEmpty()) {
+            undeliveredChanges.add(new TaskChange(lastSequenceNumber, operation));
+        }
+    }
+
+    /**
+     * Returns the sequence number of the latest change published.
+     * The caller must hold a lock of the tasks.
+     *
+     * @return The sequence number, or 0 if no change has been published.
+     */
+    long getLastSequenceNumber() {
+        return lastSequenceNumber;
+    }
+
+    /**
+     * Hands the published changes to the queues of the subscribers, in order, waiting for room in a full queue.
+     * The caller must not hold a lock of the tasks.
+     */
+    void deliver() {
+        if (undeliveredChanges.isEmpty()) {
+            return;
+        }
+        synchronized (deliveryLock) {
+            TaskChange change;
+            while ((change = undeliveredChanges.poll()) != null) {
+                for (Subscription subscription : subscriptions) {
+                    subscription.offer(change);
+                }
+            }
+        }
+    }
+
+    /**
+     * The Subscription class hands the changes of a ChangeFeed to one subscriber on a thread of its own.
+     */
+    public class Subscription implements AutoCloseable {
+        private final Consumer<TaskChange> listener;
+        private final BlockingQueue<TaskChange> queue;
+        private final long startSequenceNumber;
+        private final Thread deliveryThread;
+        private volatile boolean isClosed = false;
+        private long lastDeliveredSequenceNumber;
+
+        private Subscription(Consumer<TaskChange> listener, int capacity, long startSequenceNumber) {
+            this.listener = listener;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.startSequenceNumber = startSequenceNumber;
+            this.lastDeliveredSequenceNumber = startSequenceNumber;
+            this.deliveryThread = new Thread(this::deliverChanges, "change-feed-" + threadCount.incrementAndGet());
+            deliveryThread.setDaemon(true);
+        }
+
+        /**
+         * Puts a change in the queue, waiting for room while the subscription is open.
+         *
+         * @param change The change to hand to the subscriber.
+         */
+        private void offer(TaskChange change) {
+            if (change.getSequenceNumber() <= startSequenceNumber) {
+                return;
+            }
+            try {
+                while (!isClosed && !queue.offer(change, OFFER_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    logger.log(Level.FINE, "Waiting for a slow change feed subscriber");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Hands the queued changes to the subscriber until the subscription is closed.
+         */
+        private void deliverChanges() {
+            try {
+                while (!isClosed) {
+                    TaskChange change = queue.take();
+                    try {
+                        listener.accept(change);
+                    } catch (RuntimeException e) {
+                        logger.log(Level.WARNING, "Change feed subscriber failed on change "
+                                + change.getSequenceNumber(), e);
+                    }
+                    synchronized (this) {
+                        lastDeliveredSequenceNumber = change.getSequenceNumber();
+                        notifyAll();
+                    }
+                }
+            } catch (InterruptedException e) {
+                logger.log(Level.FINE, "Change feed subscription closed");
+            }
+        }
+
+        /**
+         * Waits until the subscriber has been handed every change up to the given sequence number.
+         *
+         * @param sequenceNumber The sequence number of the change to wait for.
+         * @param timeoutMillis The longest time to wait, in milliseconds.
+         * @return True if the change was handed to the subscriber in time, false otherwise.
+         * @throws InterruptedException If the waiting thread is interrupted.
+         */
+        public synchronized boolean awaitDelivery(long sequenceNumber, long timeoutMillis)
+                throws InterruptedException {
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            while (lastDeliveredSequenceNumber < sequenceNumber && !isClosed) {
+                long remainingMillis = deadline - System.currentTimeMillis();
+                if (remainingMillis <= 0) {
+                    return false;
+                }
+                wait(remainingMillis);
+            }
+            return lastDeliveredSequenceNumber >= sequenceNumber;
+        }
+
+        /**
+         * Stops handing changes to the subscriber. Changes still in its queue are dropped.
+         */
+        @Override
+        public void close() {
+            isClosed = true;
+            subscriptions.remove(this);
+            deliveryThread.interrupt();
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+}
@@ -40,6 +40,17 @@ public class Deadline extends Task {
         return byTime;
     }
 
+    /**
+     * Returns a copy of this Deadline task with the same details and statuses.
+     * Overrides the function of superclass Task.
+     *
+     * @return A new Deadline task equal to this one.
+     */
+    @Override
+    public Task copy() {
+        return copyStatusesTo(new Deadline(name, byDate, byTime));
+    }
+
     /**
      * Returns the task type of the specified task.
      * Override function of superclass Task.
@@ -68,6 +68,17 @@ public class Event extends Task {
         return endDate;
     }
 
+    /**
+     * Returns a copy of this Event task with the same details and statuses.
+     * Overrides the function of superclass Task.
+     *
+     * @return A new Event task equal to this one.
+     */
+    @Override
+    public Task copy() {
+        return copyStatusesTo(new Event(name, startDate, endDate, startTime, endTime));
+    }
+
     /**
      * Returns the task type of the specified task.
      * Override function of superclass Task.
@@ -0,0 +1,184 @@
+package data;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * The OperationLog class keeps the recent changes to the tasks so that they can be undone and redone.
+ * The TaskOperations recorded while one command runs are grouped into one entry, so that a command is
+ * undone as a whole. Only the operations themselves are kept, not copies of all tasks, so the memory used
+ * grows with the number of changes, and only up to a fixed number of entries are kept.
+ * Operations are only recorded while an entry is open, so changes such as loading the save file are not logged.
+ */
+public class OperationLog {
+    public static final int DEFAULT_CAPACITY = 100;
+
+    private final int capacity;
+    private final Deque<Entry> undoEntries = new ArrayDeque<>();
+    private final Deque<Entry> redoEntries = new ArrayDeque<>();
+    private Entry openEntry;
+    private long lastSequenceNumber;
+
+    /**
+     * Constructs an OperationLog keeping up to the given number of entries to undo.
+     *
+     * @param capacity The largest number of entries kept. The oldest entry is dropped when it is exceeded.
+     */
+    public OperationLog(int capacity) {
+        assert capacity > 0 : "Operation log capacity must be positive";
+        this.capacity = capacity;
+    }
+
+    /**
+     * Opens a new entry, such as when a command starts running.
+     *
+     * @param description A description of the change, such as the command that makes it.
+     */
+    public void openEntry(String description) {
+        assert openEntry == null : "An entry is already open";
+        openEntry = new Entry(++lastSequenceNumber, description);
+    }
+
+    /**
+     * Closes the open entry. An entry with operations can be undone from then on and clears the entries
+     * that could be redone, while an entry without any operations is dropped.
+     */
+    public void closeEntry() {
+        assert openEntry != null : "No entry is open";
+        Entry entry = openEntry;
+        openEntry = null;
+        if (entry.operations.isEmpty()) {
+            return;
+        }
+        redoEntries.clear();
+        undoEntries.push(entry);
+        if (undoEntries.size() > capacity) {
+            undoEntries.removeLast();
+        }
+    }
+
+    /**
+     * Checks if an entry is open, which means operations are being recorded.
+     *
+     * @return True if an entry is open, false otherwise.
+     */
+    public boolean isRecording() {
+        return openEntry != null;
+    }
+
+    /**
+     * Records an operation in the open entry, if there is one.
+     *
+     * @param operation The operation that was carried out.
+     */
+    public void record(TaskOperation operation) {
+        if (openEntry != null) {
+            openEntry.operations.add(operation);
+        }
+    }
+
+    /**
+     * Returns the most recent entry that can be undone without removing it.
+     *
+     * @return The entry, or null if there is nothing to undo.
+     */
+    public Entry peekUndo() {
+        return undoEntries.peek();
+    }
+
+    /**
+     * Removes the most recent entry that can be undone and keeps it to be redone.
+     * The caller should then carry out the inverse of its operations.
+     *
+     * @return The entry, or null if there is nothing to undo.
+     */
+    public Entry takeUndo() {
+        Entry entry = undoEntries.poll();
+        if (entry != null) {
+            redoEntries.push(entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Returns the most recently undone entry without removing it.
+     *
+     * @return The entry, or null if there is nothing to redo.
+     */
+    public Entry peekRedo() {
+        return redoEntries.peek();
+    }
+
+    /**
+     * Removes the most recently undone entry and keeps it to be undone again.
+     * The caller should then carry out its operations again.
+     *
+     * @return The entry, or null if there is nothing to redo.
+     */
+    public Entry takeRedo() {
+        Entry entry = redoEntries.poll();
+        if (entry != null) {
+            undoEntries.push(entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Returns the sequence number of the most recently opened entry, which later entries are numbered after.
+     *
+     * @return The last sequence number given out.
+     */
+    public long getLastSequenceNumber() {
+        return lastSequenceNumber;
+    }
+
+    /**
+     * Drops every entry opened after the given sequence number, along with all entries to redo,
+     * such as when the changes they made were rolled back by other means.
+     *
+     * @param sequenceNumber The sequence number of the last entry to keep.
+     */
+    public void discardEntriesAfter(long sequenceNumber) {
+        while (!undoEntries.isEmpty() && undoEntries.peek().sequenceNumber > sequenceNumber) {
+            undoEntries.pop();
+        }
+        redoEntries.clear();
+    }
+
+    public int getUndoCount() {
+        return undoEntries.size();
+    }
+
+    public int getRedoCount() {
+        return redoEntries.size();
+    }
+
+    /**
+     * The Entry class holds the operations carried out by one command, in the order they were carried out.
+     */
+    public static class Entry {
+        private final long sequenceNumber;
+        private final String description;
+        private final List<TaskOperation> operations = new ArrayList<>();
+
+        private Entry(long sequenceNumber, String description) {
+            this.sequenceNumber = sequenceNumber;
+            this.description = description;
+        }
+
+        public long getSequenceNumber() {
+            return sequenceNumber;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public List<TaskOperation> getOperations() {
+            return Collections.unmodifiableList(operations);
+        }
+    }
+}
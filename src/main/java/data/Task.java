@@ -1,6 +1,9 @@
 package data;
 
 public class Task {
+    private static final String[] TASK_TYPE_ICONS = {"T", "E", "D", "?"};
+    private static final String[][][] DISPLAY_FORMATS = buildDisplayFormats();
+
     protected String name;
     protected TaskPriorityLevel priorityLevel;
     protected boolean isCompleted;
@@ -18,6 +21,28 @@ public class Task {
         this.priorityLevel = TaskPriorityLevel.LOW;
     }
 
+    /**
+     * Returns a copy of this task with the same name, completeness and priority level.
+     * Subclasses override this to copy their own details as well.
+     *
+     * @return A new task equal to this one.
+     */
+    public Task copy() {
+        return copyStatusesTo(new Task(name));
+    }
+
+    /**
+     * Gives another task the same completeness and priority level as this task.
+     *
+     * @param copy The task to update.
+     * @return The updated task.
+     */
+    protected Task copyStatusesTo(Task copy) {
+        copy.isCompleted = isCompleted;
+        copy.priorityLevel = priorityLevel;
+        return copy;
+    }
+
     /**
      * Returns the name of the task that invokes this function.
      *
@@ -74,6 +99,15 @@ public class Task {
         this.priorityLevel = priorityLevelOfTask;
     }
 
+    /**
+     * Returns the priority level of the task.
+     *
+     * @return The TaskPriorityLevel of the task.
+     */
+    public TaskPriorityLevel getPriorityLevel() {
+        return priorityLevel;
+    }
+
     /**
      * Gets the icon representation of the priority level of the task.
      * "H" for high, "M" for medium, "L" for low.
@@ -166,13 +200,51 @@ public class Task {
 
     /**
      * Method that creates the display format for a task.
+     * The display formats for every combination of task type, completeness and priority level are built once,
+     * so this only looks up the matching one.
      * 
      * @return The String representation of the display format for this task.
      */
     public String getDisplayFormat() {
-        String displayFormat = String.format(
-                "[%s][%s][%s] ", getTaskType(), getMarkedStatusIcon(), getPriorityLevelIcon());
+        return DISPLAY_FORMATS[getTaskTypeIndex()][isCompleted ? 1 : 0][priorityLevel.ordinal()];
+    }
+
+    /**
+     * Returns the position of this task's type in the table of display formats.
+     *
+     * @return The index of the task type icon.
+     */
+    private int getTaskTypeIndex() {
+        switch (getTaskType()) {
+        case "T":
+            return 0;
+        case "E":
+            return 1;
+        case "D":
+            return 2;
+        default:
+            return 3;
+        }
+    }
 
-        return displayFormat;
+    /**
+     * Builds the display format for every combination of task type, completeness and priority level.
+     *
+     * @return The display formats, indexed by task type, completeness and priority level.
+     */
+    private static String[][][] buildDisplayFormats() {
+        TaskPriorityLevel[] priorityLevels = TaskPriorityLevel.values();
+        String[][][] displayFormats = new String[TASK_TYPE_ICONS.length][2][priorityLevels.length];
+        for (int typeIndex = 0; typeIndex < TASK_TYPE_ICONS.length; typeIndex++) {
+            for (int completed = 0; completed < 2; completed++) {
+                for (TaskPriorityLevel priorityLevel : priorityLevels) {
+                    String markedStatusIcon = completed == 1 ? "X" : "O";
+                    String priorityLevelIcon = priorityLevel.name().substring(0, 1);
+                    displayFormats[typeIndex][completed][priorityLevel.ordinal()] = String.format(
+                            "[%s][%s][%s] ", TASK_TYPE_ICONS[typeIndex], markedStatusIcon, priorityLevelIcon);
+                }
+            }
+        }
+        return displayFormats;
     }
 }
@@ -0,0 +1,100 @@
+package data;
+
+import java.time.LocalDate;
+
+/**
+ * The TaskChange class is a change to the tasks of a calendar as published by its ChangeFeed.
+ * Each change carries the TaskOperation that was carried out, what kind of change it was, and a sequence number
+ * that is one higher than that of the change before it, so subscribers can tell that they have seen every change.
+ */
+public class TaskChange {
+    /**
+     * The kinds of change made to a task.
+     */
+    public enum Kind {
+        ADDED,
+        UPDATED,
+        DELETED,
+        MARKED,
+        REPRIORITIZED
+    }
+
+    private final long sequenceNumber;
+    private final Kind kind;
+    private final TaskOperation operation;
+
+    TaskChange(long sequenceNumber, TaskOperation operation) {
+        this.sequenceNumber = sequenceNumber;
+        this.kind = findKind(operation);
+        this.operation = operation;
+    }
+
+    /**
+     * Finds the kind of a change. A replaced task counts as marked or reprioritized only if nothing else
+     * about it changed.
+     *
+     * @param operation The operation that was carried out.
+     * @return The kind of change.
+     */
+    private static Kind findKind(TaskOperation operation) {
+        if (operation.isAddition()) {
+            return Kind.ADDED;
+        }
+        if (operation.isRemoval()) {
+            return Kind.DELETED;
+        }
+        Task before = operation.getTaskBefore();
+        Task after = operation.getTaskAfter();
+        boolean isCompletenessChanged = before.isCompleted() != after.isCompleted();
+        boolean isPriorityChanged = before.getPriorityLevel() != after.getPriorityLevel();
+        before.setCompleteness(after.isCompleted());
+        before.setPriorityLevel(after.getPriorityLevel());
+        if (!before.getSaveFormat().equals(after.getSaveFormat()) || isCompletenessChanged == isPriorityChanged) {
+            return Kind.UPDATED;
+        }
+        return isCompletenessChanged ? Kind.MARKED : Kind.REPRIORITIZED;
+    }
+
+    public long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public LocalDate getDate() {
+        return operation.getDate();
+    }
+
+    public int getTaskIndex() {
+        return operation.getTaskIndex();
+    }
+
+    /**
+     * Returns the operation that was carried out, which can be applied to a copy of the tasks to keep it in step.
+     *
+     * @return The operation.
+     */
+    public TaskOperation getOperation() {
+        return operation;
+    }
+
+    /**
+     * Returns a copy of the task before the change.
+     *
+     * @return The task before the change, or null if a task was added.
+     */
+    public Task getTaskBefore() {
+        return operation.getTaskBefore();
+    }
+
+    /**
+     * Returns a copy of the task after the change.
+     *
+     * @return The task after the change, or null if a task was deleted.
+     */
+    public Task getTaskAfter() {
+        return operation.getTaskAfter();
+    }
+}
@@ -0,0 +1,157 @@
+package data;
+
+/**
+ * The TaskCounts class holds the number of tasks in a period, broken down by completion, task type and priority.
+ * Instances are kept up to date by TaskStatistics and are read-only outside of the data package.
+ */
+public class TaskCounts {
+    private int total;
+    private int completed;
+    private int todos;
+    private int events;
+    private int deadlines;
+    private int highPriority;
+    private int mediumPriority;
+    private int lowPriority;
+
+    /**
+     * Adds the given task to the counts.
+     *
+     * @param task The task to count.
+     */
+    void add(Task task) {
+        update(task, 1);
+    }
+
+    /**
+     * Removes the given task from the counts.
+     *
+     * @param task The task to stop counting.
+     */
+    void remove(Task task) {
+        update(task, -1);
+    }
+
+    /**
+     * Returns a copy of these counts that is not changed by later changes to them.
+     *
+     * @return The copy.
+     */
+    TaskCounts copy() {
+        TaskCounts counts = new TaskCounts();
+        counts.addAll(this);
+        return counts;
+    }
+
+    /**
+     * Adds all counts from another TaskCounts object to this one.
+     *
+     * @param other The counts to add.
+     */
+    void addAll(TaskCounts other) {
+        total += other.total;
+        completed += other.completed;
+        todos += other.todos;
+        events += other.events;
+        deadlines += other.deadlines;
+        highPriority += other.highPriority;
+        mediumPriority += other.mediumPriority;
+        lowPriority += other.lowPriority;
+    }
+
+    private void update(Task task, int delta) {
+        total += delta;
+        if (task.isCompleted()) {
+            completed += delta;
+        }
+
+        switch (task.getTaskType()) {
+        case "T":
+            todos += delta;
+            break;
+        case "E":
+            events += delta;
+            break;
+        case "D":
+            deadlines += delta;
+            break;
+        default:
+            break;
+        }
+
+        switch (task.getPriorityLevel()) {
+        case HIGH:
+            highPriority += delta;
+            break;
+        case MEDIUM:
+            mediumPriority += delta;
+            break;
+        default:
+            lowPriority += delta;
+            break;
+        }
+    }
+
+    /**
+     * Checks if no tasks are being counted.
+     *
+     * @return True if the counts are all zero, false otherwise.
+     */
+    public boolean isEmpty() {
+        return total == 0;
+    }
+
+    /**
+     * Returns the total number of tasks.
+     *
+     * @return The number of tasks counted.
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the number of completed tasks.
+     *
+     * @return The number of tasks marked as completed.
+     */
+    public int getCompleted() {
+        return completed;
+    }
+
+    /**
+     * Returns the number of tasks of the given type.
+     *
+     * @param taskType The type of task to count.
+     * @return The number of tasks of that type.
+     */
+    public int getCountOfType(TaskType taskType) {
+        switch (taskType) {
+        case TODO:
+            return todos;
+        case EVENT:
+            return events;
+        case DEADLINE:
+            return deadlines;
+        default:
+            return 0;
+        }
+    }
+
+    /**
+     * Returns the number of tasks with the given priority level.
+     *
+     * @param priorityLevel The priority level to count.
+     * @return The number of tasks with that priority level.
+     */
+    public int getCountOfPriority(TaskPriorityLevel priorityLevel) {
+        switch (priorityLevel) {
+        case HIGH:
+            return highPriority;
+        case MEDIUM:
+            return mediumPriority;
+        default:
+            return lowPriority;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package data;
+
+import java.util.function.Predicate;
+
+/**
+ * The TaskFilter class selects tasks by type, priority level, completion and name.
+ * Conditions that are left as null match every task, so an empty filter matches all tasks.
+ * Names are matched ignoring case.
+ */
+public class TaskFilter implements Predicate<Task> {
+    private final TaskType taskType;
+    private final TaskPriorityLevel priorityLevel;
+    private final Boolean isCompleted;
+    private final String nameFragment;
+
+    /**
+     * Constructs a TaskFilter with the given conditions.
+     *
+     * @param taskType The type of task to match, or null to match every type.
+     * @param priorityLevel The priority level to match, or null to match every priority level.
+     * @param isCompleted Whether to match completed or incomplete tasks, or null to match both.
+     * @param nameFragment Text that the task name must contain, or null to match every name.
+     */
+    public TaskFilter(TaskType taskType, TaskPriorityLevel priorityLevel, Boolean isCompleted, String nameFragment) {
+        this.taskType = taskType;
+        this.priorityLevel = priorityLevel;
+        this.isCompleted = isCompleted;
+        this.nameFragment = nameFragment == null ? null : nameFragment.toLowerCase();
+    }
+
+    /**
+     * Returns a filter that matches every task.
+     *
+     * @return A filter without any conditions.
+     */
+    public static TaskFilter matchingAll() {
+        return new TaskFilter(null, null, null, null);
+    }
+
+    /**
+     * Checks if a task meets all conditions of the filter.
+     *
+     * @param task The task to check.
+     * @return True if the task matches, false otherwise.
+     */
+    @Override
+    public boolean test(Task task) {
+        if (taskType != null && !task.getTaskType().equals(getTaskTypeIcon(taskType))) {
+            return false;
+        }
+        if (priorityLevel != null && task.getPriorityLevel() != priorityLevel) {
+            return false;
+        }
+        if (isCompleted != null && task.isCompleted() != isCompleted) {
+            return false;
+        }
+        return nameFragment == null || task.getName().toLowerCase().contains(nameFragment);
+    }
+
+    private static String getTaskTypeIcon(TaskType taskType) {
+        switch (taskType) {
+        case TODO:
+            return "T";
+        case EVENT:
+            return "E";
+        case DEADLINE:
+            return "D";
+        default:
+            return "?";
+        }
+    }
+}
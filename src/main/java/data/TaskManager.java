@@ -1,28 +1,56 @@
 package data;
 
+import data.exceptions.CalendarBusyException;
 import data.exceptions.MarkTaskException;
 import data.exceptions.SetPriorityException;
+import data.exceptions.StorageFileException;
 import data.exceptions.TaskManagerException;
+import storage.Journal;
 import storage.Storage;
 import time.MonthView;
 import time.WeekView;
 
-import java.time.Duration;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDate;
-import java.time.LocalTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import static data.exceptions.TaskManagerException.checkIfDateHasTasks;
+import static data.exceptions.TaskManagerException.checkIfDateTimeCountIsValid;
+import static data.exceptions.TaskManagerException.checkIfDescriptionIsSavable;
 import static data.exceptions.MarkTaskException.checkIfTaskIndexIsValidForMarkingTask;
 import static data.exceptions.SetPriorityException.checkIfPriorityIsValid;
 import static data.exceptions.SetPriorityException.checkIfTaskIndexIsValidForPriority;
@@ -32,7 +60,9 @@ import static data.TaskType.TODO;
 import static data.exceptions.TaskManagerException.checkIfDateTimeInFormat;
 import static data.exceptions.TaskManagerException.checkIfTaskExistsInCurrentDate;
 import static data.exceptions.TaskManagerException.checkIfTimeInFormat;
-import static storage.Storage.saveTasksToFile;
+import static storage.Storage.discardShards;
+import static storage.Storage.installShards;
+import static storage.Storage.writeShards;
 
 /**
  * The TaskManager class manages tasks by providing functionalities to add, delete, and update tasks.
@@ -40,11 +70,940 @@ import static storage.Storage.saveTasksToFile;
  * mark tasks as completed or not completed, set priority levels for tasks, and retrieve tasks for a specific date.
  * It also provides methods to add tasks from a file and print free time slots for a specific date.
  * The class uses a Logger to log information and warnings related to task management.
+ * Each TaskManager is a calendar of its own, with its own tasks, save file and undo history, so one process
+ * can hold the calendars of many users.
+ * Tasks may be read and changed from several threads at once, such as by the API server alongside the user.
+ * Changes are made one at a time under a write lock, while the tasks of a day are kept in copy-on-write lists
+ * so that they can be read without locking, and task counts are read optimistically.
+ * Saving appends the changes made since the last save to the journal of the save file, and once the journal grows
+ * long, the files of the months it changed are rewritten on a background thread to replace it.
+ * Months older than the archive age are saved compressed and are not loaded with the rest of the tasks, but only
+ * once a task of theirs is looked at or changed, so that years of old tasks neither slow down starting up nor
+ * take up memory.
  */
 public class TaskManager {
+    public static final int NO_TASK_LIMIT = Integer.MAX_VALUE;
+    public static final int DEFAULT_ARCHIVE_AGE_IN_MONTHS = 12;
     private static final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HHmm");
+    private static final ExecutorService compactionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "journal-compaction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ConcurrentNavigableMap<LocalDate, List<Task>> tasks = new ConcurrentSkipListMap<>();
+    private final TaskStatistics statistics = new TaskStatistics();
+    private final StampedLock taskLock = new StampedLock();
+    private final Path saveFilePath;
+    private final int maxTaskCount;
+    private volatile Thread writeLockOwner = null;
+    private int savingDeferredDepth = 0;
+    private volatile boolean hasUnsavedChanges = false;
+    private volatile Map<LocalDate, List<Task>> transactionBeforeImages = null;
+    private boolean hadUnsavedChangesBeforeTransaction = false;
+    private long transactionStartSequenceNumber = 0;
+    private final OperationLog operationLog = new OperationLog(OperationLog.DEFAULT_CAPACITY);
+    private final ChangeFeed changeFeed = new ChangeFeed();
+    private final Journal journal;
+    private final List<TaskOperation> unjournaledOperations = new ArrayList<>();
+    private final Set<YearMonth> unsnapshottedMonths = ConcurrentHashMap.newKeySet();
+    private int unjournaledCountBeforeTransaction = 0;
+    private final AtomicBoolean isCompactionScheduled = new AtomicBoolean(false);
+    private final Object compactionLock = new Object();
+    private final ConcurrentNavigableMap<YearMonth, Integer> unloadedMonths = new ConcurrentSkipListMap<>();
+    private final Set<YearMonth> archivedMonths = ConcurrentHashMap.newKeySet();
+    private volatile int archiveAgeInMonths = DEFAULT_ARCHIVE_AGE_IN_MONTHS;
 
-    private static final Map<LocalDate, List<Task>> tasks = new HashMap<>();
+    /**
+     * Constructs an empty calendar saved to the default save file, with no limit on its number of tasks.
+     */
+    public TaskManager() {
+        this(Storage.FILE_PATH, NO_TASK_LIMIT);
+    }
+
+    /**
+     * Constructs an empty calendar saved to the given file. Limiting the number of tasks bounds the memory
+     * the calendar can take up, which keeps one user from crowding out the others when many calendars
+     * are held in one process.
+     *
+     * @param saveFilePath The file the tasks are saved to.
+     * @param maxTaskCount The largest number of tasks the calendar may hold, or NO_TASK_LIMIT.
+     */
+    public TaskManager(Path saveFilePath, int maxTaskCount) {
+        assert maxTaskCount > 0 : "Task limit must be positive";
+        this.saveFilePath = saveFilePath;
+        this.maxTaskCount = maxTaskCount;
+        this.journal = new Journal(saveFilePath);
+    }
+
+    /**
+     * Constructs an empty calendar that is only shown and never saved, such as the combined calendar of an overlay.
+     * It has no save file or journal, so nothing it holds can overwrite a user's saved tasks.
+     *
+     * @param maxTaskCount The largest number of tasks the calendar may hold, or NO_TASK_LIMIT.
+     */
+    private TaskManager(int maxTaskCount) {
+        assert maxTaskCount > 0 : "Task limit must be positive";
+        this.saveFilePath = null;
+        this.maxTaskCount = maxTaskCount;
+        this.journal = null;
+    }
+
+    /**
+     * Returns a new calendar that is only shown and never saved.
+     *
+     * @return The calendar, with no save file or journal.
+     */
+    static TaskManager createForDisplay() {
+        return new TaskManager(NO_TASK_LIMIT);
+    }
+
+    public Path getSaveFilePath() {
+        return saveFilePath;
+    }
+
+    public Journal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Sets how many months old a month must be for its tasks to be saved compressed and only loaded on demand.
+     *
+     * @param archiveAgeInMonths The age in months, or 0 to never archive a month.
+     */
+    public void setArchiveAge(int archiveAgeInMonths) {
+        assert archiveAgeInMonths >= 0 : "Archive age must not be negative";
+        this.archiveAgeInMonths = archiveAgeInMonths;
+    }
+
+    /**
+     * Returns the archived months whose tasks have not been loaded yet, with their number of tasks.
+     *
+     * @return The months not loaded, in month order.
+     */
+    public SortedMap<YearMonth, Integer> getUnloadedMonths() {
+        return new TreeMap<>(unloadedMonths);
+    }
+
+    private boolean shouldArchive(YearMonth month) {
+        int archiveAge = archiveAgeInMonths;
+        return archiveAge > 0 && month.isBefore(YearMonth.now().minusMonths(archiveAge));
+    }
+
+    /**
+     * Loads the tasks of the archived months between two dates, inclusive, that have not been loaded yet.
+     * Nothing is locked if there are none, so looking at months already loaded stays as quick as before.
+     * The tasks are not published, recorded for undo or saved again, as they are already in the archive.
+     * If an archive cannot be read, its month stays unloaded, so that it is read again the next time it is
+     * looked at and is never dropped from the save file.
+     *
+     * @param startDate The first date about to be looked at or changed.
+     * @param endDate The last date about to be looked at or changed.
+     */
+    private void loadArchivedMonths(LocalDate startDate, LocalDate endDate) {
+        if (unloadedMonths.isEmpty() || endDate.isBefore(startDate)
+                || unloadedMonths.subMap(YearMonth.from(startDate), true, YearMonth.from(endDate), true).isEmpty()) {
+            return;
+        }
+        long stamp = lockForWriting();
+        try {
+            for (YearMonth month : new ArrayList<>(unloadedMonths
+                    .subMap(YearMonth.from(startDate), true, YearMonth.from(endDate), true).keySet())) {
+                try {
+                    for (Map.Entry<LocalDate, List<Task>> entry
+                            : Storage.readArchivedMonth(saveFilePath, month).entrySet()) {
+                        getOrCreateDayTasks(entry.getKey()).addAll(entry.getValue());
+                        for (Task task : entry.getValue()) {
+                            statistics.recordTaskAdded(entry.getKey(), task);
+                        }
+                    }
+                    unloadedMonths.remove(month);
+                } catch (IOException | StorageFileException e) {
+                    System.out.println("I/O exception occurred during file handling");
+                    logger.log(Level.WARNING, "The archive of " + month + " could not be read: " + e.getMessage());
+                }
+            }
+        } finally {
+            unlockForWriting(stamp);
+        }
+    }
+
+    private void loadArchivedMonths(LocalDate date) {
+        loadArchivedMonths(date, date);
+    }
+
+    private int getUnloadedTaskCount() {
+        int unloadedTaskCount = 0;
+        for (int monthTaskCount : unloadedMonths.values()) {
+            unloadedTaskCount += monthTaskCount;
+        }
+        return unloadedTaskCount;
+    }
+
+    /**
+     * Marks the loaded months that have grown older than the archive age since they were saved, so that the next
+     * compaction of the journal saves them compressed, and starts that compaction if the journal is open.
+     *
+     * @return The number of months to be archived.
+     */
+    public int archiveOldMonths() {
+        Set<YearMonth> monthsToArchive = new TreeSet<>();
+        long stamp = lockForWriting();
+        try {
+            for (LocalDate date : tasks.keySet()) {
+                YearMonth month = YearMonth.from(date);
+                if (shouldArchive(month) && !archivedMonths.contains(month)) {
+                    monthsToArchive.add(month);
+                }
+            }
+            unsnapshottedMonths.addAll(monthsToArchive);
+        } finally {
+            unlockForWriting(stamp);
+        }
+        if (!monthsToArchive.isEmpty() && journal != null && journal.isOpen()) {
+            compactInBackground();
+        }
+        logger.log(Level.INFO, monthsToArchive.size() + " months to archive");
+        return monthsToArchive.size();
+    }
+
+    /**
+     * Takes the write lock on the tasks, so that no other thread reads or changes them halfway through a change.
+     * As changes are often made up of smaller changes, a thread that already holds the lock keeps it instead.
+     *
+     * @return The stamp to pass to unlockForWriting, or 0 if the calling thread already held the lock.
+     */
+    private long lockForWriting() {
+        if (writeLockOwner == Thread.currentThread()) {
+            return 0;
+        }
+        long stamp = taskLock.writeLock();
+        writeLockOwner = Thread.currentThread();
+        return stamp;
+    }
+
+    /**
+     * Releases the write lock taken by lockForWriting, unless it was already held before.
+     * The changes made while it was held are then handed to the subscribers of the change feed.
+     *
+     * @param stamp The stamp returned by lockForWriting.
+     */
+    private void unlockForWriting(long stamp) {
+        if (stamp == 0) {
+            return;
+        }
+        writeLockOwner = null;
+        taskLock.unlockWrite(stamp);
+        changeFeed.deliver();
+    }
+
+    /**
+     * Reads from the tasks or their counts without locking, reading again under the read lock only if a change
+     * was made in the meantime. The reader must not change anything and must copy what it returns.
+     *
+     * @param reader The read to make.
+     * @return What the reader returned.
+     */
+    private <T> T readOptimistically(Supplier<T> reader) {
+        if (writeLockOwner == Thread.currentThread()) {
+            return reader.get();
+        }
+        long stamp = taskLock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = reader.get();
+                if (taskLock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // The read saw a change halfway through, so it is made again under the read lock below.
+            }
+        }
+        stamp = taskLock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            taskLock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the tasks of a date, creating an empty list for them if the date has none yet.
+     *
+     * @param date The date to get the tasks of.
+     * @return The tasks of the date.
+     */
+    private List<Task> getOrCreateDayTasks(LocalDate date) {
+        return tasks.computeIfAbsent(date, k -> new CopyOnWriteArrayList<>());
+    }
+
+    /**
+     * Saves the changes made since the last save, or only notes that there are unsaved changes while saving
+     * is deferred.
+     */
+    private void saveTasks() {
+        long stamp = lockForWriting();
+        try {
+            if (savingDeferredDepth > 0) {
+                hasUnsavedChanges = true;
+                return;
+            }
+            writeUnsavedChanges();
+        } finally {
+            unlockForWriting(stamp);
+        }
+    }
+
+    /**
+     * Appends the changes made since the last save to the journal, starting a compaction of the journal once
+     * it is long enough. If the journal is not open, such as before the tasks were first saved, every task is
+     * written to the save file instead. The calling thread must hold the write lock.
+     */
+    private void writeUnsavedChanges() {
+        assert saveFilePath != null : "A calendar only for display is never saved";
+        if (saveFilePath == null) {
+            return;
+        }
+        try {
+            if (journal.isOpen()) {
+                journal.append(unjournaledOperations);
+                unjournaledOperations.clear();
+                if (journal.needsCompaction()) {
+                    compactInBackground();
+                }
+            } else {
+                YearMonth unreadMonth = findChangedUnloadedMonth();
+                if (unreadMonth != null) {
+                    throw new IOException("The archive of " + unreadMonth + " could not be read to save its changes");
+                }
+                Journal.Checkpoint checkpoint = journal.checkpoint();
+                SortedMap<YearMonth, Integer> monthTaskCounts = countTasksByMonth();
+                Set<YearMonth> months = new TreeSet<>(monthTaskCounts.keySet());
+                months.addAll(unsnapshottedMonths);
+                months.removeAll(unloadedMonths.keySet());
+                Set<YearMonth> compressedMonths = selectMonthsToArchive(months);
+                Map<YearMonth, Path> writtenShards = writeShards(saveFilePath, checkpoint.getSequenceNumber(),
+                        takeTaskIterators(months), compressedMonths);
+                Set<YearMonth> archivedMonthsAfter = findArchivedMonthsAfter(writtenShards, compressedMonths,
+                        monthTaskCounts);
+                installShards(saveFilePath, checkpoint.getSequenceNumber(), writtenShards, monthTaskCounts,
+                        archivedMonthsAfter);
+                archivedMonths.retainAll(archivedMonthsAfter);
+                archivedMonths.addAll(archivedMonthsAfter);
+                journal.truncate(checkpoint);
+                unsnapshottedMonths.clear();
+                unjournaledOperations.clear();
+            }
+        } catch (IOException e) {
+            System.out.println("I/O exception occurred during file handling");
+            logger.log(Level.WARNING, "Tasks could not be saved: " + e.getMessage());
+            journal.close();
+        }
+        hasUnsavedChanges = false;
+    }
+
+    /**
+     * Finds a month changed since its file was last written whose archive could not be read. Its file cannot be
+     * written again without the tasks in the archive, so the changes to it are left in the journal until it is.
+     * The calling thread must hold the read or write lock.
+     *
+     * @return The month, or null if every changed month is loaded.
+     */
+    private YearMonth findChangedUnloadedMonth() {
+        for (YearMonth month : unsnapshottedMonths) {
+            if (unloadedMonths.containsKey(month)) {
+                return month;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Takes an iterator over the tasks of each date of the given months, in date order. As the tasks of a date
+     * are kept in a copy-on-write list, each iterator goes over the tasks as they are now, however they are
+     * changed later. The calling thread must hold the read or write lock, so that the iterators are all taken
+     * at one moment.
+     *
+     * @param months The months to take iterators for.
+     * @return The iterators, by date within each month.
+     */
+    private Map<YearMonth, Map<LocalDate, Iterator<Task>>> takeTaskIterators(Set<YearMonth> months) {
+        Map<YearMonth, Map<LocalDate, Iterator<Task>>> taskIterators = new TreeMap<>();
+        for (YearMonth month : months) {
+            Map<LocalDate, Iterator<Task>> monthTaskIterators = new LinkedHashMap<>();
+            for (Map.Entry<LocalDate, List<Task>> entry
+                    : tasks.subMap(month.atDay(1), true, month.atEndOfMonth(), true).entrySet()) {
+                monthTaskIterators.put(entry.getKey(), entry.getValue().iterator());
+            }
+            taskIterators.put(month, monthTaskIterators);
+        }
+        return taskIterators;
+    }
+
+    private Set<YearMonth> selectMonthsToArchive(Set<YearMonth> months) {
+        Set<YearMonth> monthsToArchive = new HashSet<>();
+        for (YearMonth month : months) {
+            if (shouldArchive(month)) {
+                monthsToArchive.add(month);
+            }
+        }
+        return monthsToArchive;
+    }
+
+    /**
+     * Works out which months will be archived once the given files are put in place: the months already archived
+     * that were not written again, along with the months written compressed, as long as they still have tasks.
+     *
+     * @param writtenShards The files written by month.
+     * @param compressedMonths The months written compressed.
+     * @param monthTaskCounts The number of tasks of every month with tasks.
+     * @return The months archived afterwards.
+     */
+    private Set<YearMonth> findArchivedMonthsAfter(Map<YearMonth, Path> writtenShards,
+            Set<YearMonth> compressedMonths, Map<YearMonth, Integer> monthTaskCounts) {
+        Set<YearMonth> archivedMonthsAfter = new HashSet<>(archivedMonths);
+        archivedMonthsAfter.removeAll(writtenShards.keySet());
+        archivedMonthsAfter.addAll(compressedMonths);
+        archivedMonthsAfter.retainAll(monthTaskCounts.keySet());
+        return archivedMonthsAfter;
+    }
+
+    /**
+     * Counts the tasks of every month with tasks, including the archived months not loaded yet.
+     * The calling thread must hold the read or write lock.
+     *
+     * @return The number of tasks by month, in month order.
+     */
+    private SortedMap<YearMonth, Integer> countTasksByMonth() {
+        SortedMap<YearMonth, Integer> monthTaskCounts = new TreeMap<>(unloadedMonths);
+        for (Map.Entry<LocalDate, List<Task>> entry : tasks.entrySet()) {
+            monthTaskCounts.merge(YearMonth.from(entry.getKey()), entry.getValue().size(), Integer::sum);
+        }
+        return monthTaskCounts;
+    }
+
+    /**
+     * Starts compacting the journal on the background thread, unless a compaction is already waiting to run.
+     */
+    private void compactInBackground() {
+        if (!isCompactionScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        compactionExecutor.execute(() -> {
+            isCompactionScheduled.set(false);
+            try {
+                compactJournal();
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "The journal could not be compacted: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Rewrites the files of the months changed since they were last written, and cuts the changes they hold from
+     * the journal. The tasks are only locked while iterators over them are taken and while the files are put in
+     * place, so they can go on being changed and saved while the files are written, and the changes saved in the
+     * meantime are kept in the journal.
+     * Nothing is compacted while there are changes not yet journaled, such as during a transaction, as the
+     * files would hold changes the journal does not know of. Nor is anything compacted while a changed month's
+     * archive cannot be read, as the journal must keep the changes to it.
+     *
+     * @return True if the journal was compacted, false if it was not open, had unsaved changes or holds changes
+     *     to a month that could not be read.
+     * @throws IOException If the files cannot be written or put in place.
+     */
+    public boolean compactJournal() throws IOException {
+        assert writeLockOwner != Thread.currentThread() : "compactJournal called while holding the write lock";
+        synchronized (compactionLock) {
+            Journal.Checkpoint checkpoint;
+            Set<YearMonth> months;
+            SortedMap<YearMonth, Integer> monthTaskCounts;
+            Map<YearMonth, Map<LocalDate, Iterator<Task>>> taskIterators;
+            Set<YearMonth> compressedMonths;
+            long stamp = taskLock.readLock();
+            try {
+                if (journal == null || !journal.isOpen() || !unjournaledOperations.isEmpty()
+                        || findChangedUnloadedMonth() != null) {
+                    return false;
+                }
+                checkpoint = journal.checkpoint();
+                months = new TreeSet<>(unsnapshottedMonths);
+                unsnapshottedMonths.removeAll(months);
+                monthTaskCounts = countTasksByMonth();
+                taskIterators = takeTaskIterators(months);
+                compressedMonths = selectMonthsToArchive(months);
+            } finally {
+                taskLock.unlockRead(stamp);
+            }
+            boolean isCompacted = false;
+            try {
+                Map<YearMonth, Path> writtenShards = writeShards(saveFilePath, checkpoint.getSequenceNumber(),
+                        taskIterators, compressedMonths);
+                stamp = taskLock.readLock();
+                try {
+                    if (!journal.isCurrent(checkpoint)) {
+                        discardShards(writtenShards);
+                        return false;
+                    }
+                    Set<YearMonth> archivedMonthsAfter = findArchivedMonthsAfter(writtenShards, compressedMonths,
+                            monthTaskCounts);
+                    installShards(saveFilePath, checkpoint.getSequenceNumber(), writtenShards, monthTaskCounts,
+                            archivedMonthsAfter);
+                    archivedMonths.retainAll(archivedMonthsAfter);
+                    archivedMonths.addAll(archivedMonthsAfter);
+                    journal.truncate(checkpoint);
+                    isCompacted = true;
+                    return true;
+                } finally {
+                    taskLock.unlockRead(stamp);
+                }
+            } finally {
+                if (!isCompacted) {
+                    unsnapshottedMonths.addAll(months);
+                }
+            }
+        }
+    }
+
+    /**
+     * Defers saving to the save file until a matching call to resumeSaving, so that many changes
+     * can be written out at once. Calls may be nested.
+     */
+    public void deferSaving() {
+        long stamp = lockForWriting();
+        savingDeferredDepth++;
+        unlockForWriting(stamp);
+    }
+
+    /**
+     * Ends a matching call to deferSaving. Once no caller is deferring saving any more,
+     * any unsaved changes are written to the save file.
+     */
+    public void resumeSaving() {
+        long stamp = lockForWriting();
+        try {
+            assert savingDeferredDepth > 0 : "resumeSaving called without deferSaving";
+            savingDeferredDepth = Math.max(0, savingDeferredDepth - 1);
+            if (savingDeferredDepth == 0 && hasUnsavedChanges) {
+                saveTasks();
+            }
+        } finally {
+            unlockForWriting(stamp);
+        }
+    }
+
+    /**
+     * Writes any unsaved changes to the save file, even while saving is deferred.
+     * Nothing is written while a transaction is in progress, as its changes are only saved once it is committed.
+     *
+     * @return True if there were unsaved changes to write, false otherwise.
+     */
+    public boolean flushUnsavedChanges() {
+        long stamp = lockForWriting();
+        try {
+            if (!hasUnsavedChanges || isInTransaction()) {
+                return false;
+            }
+            writeUnsavedChanges();
+            return true;
+        } finally {
+            unlockForWriting(stamp);
+        }
+    }
+
+    /**
+     * Checks if there are changes that have not been written to the save file yet.
+     *
+     * @return True if there are unsaved changes, false otherwise.
+     */
+    public boolean hasUnsavedChanges() {
+        return hasUnsavedChanges;
+    }
+
+    /**
+     * Begins a transaction. Changes made during the transaction are not saved until it is committed.
+     * The tasks of each date are copied the first time the date is changed, so that the transaction
+     * can be rolled back by putting the copies back.
+     *
+     * @throws TaskManagerException If a transaction is already in progress.
+     */
+    public void beginTransaction() throws TaskManagerException {
+        long stamp = lockForWriting();
+        try {
+            if (isInTransaction()) {
+                throw new TaskManagerException("A transaction is already in progress. "
+                        + "Commit or roll it back first.");
+            }
+            transactionBeforeImages = new HashMap<>();
+            hadUnsavedChangesBeforeTransaction = hasUnsavedChanges;
+            unjournaledCountBeforeTransaction = unjournaledOperations.size();
+            transactionStartSequenceNumber = operationLog.getLastSequenceNumber();
+            deferSaving();
+        } finally {
+            unlockForWriting(stamp);
+        }
+        logger.log(Level.INFO, "Transaction begun");
+    }
+
+    /**
+     * Commits the transaction in progress, saving all of its changes at once.
+     *
+     * @return The number of dates changed by the transaction.
+     * @throws TaskManagerException If no transaction is in progress.
+     */
+    public int commitTransaction() throws TaskManagerException {
+        long stamp = lockForWriting();
+        int changedDateCount;
+        try {
+            checkIfInTransaction();
+            changedDateCount = transactionBeforeImages.size();
+            transactionBeforeImages = null;
+            resumeSaving();
+        } finally {
+            unlockForWriting(stamp);
+        }
+        logger.log(Level.INFO, "Transaction committed, " + changedDateCount + " dates changed");
+        return changedDateCount;
+    }
+
+    /**
+     * Rolls back the transaction in progress, restoring the tasks of every date it changed.
+     * Since the changes were never saved, the save file is left as it was.
+     * The changes made during the transaction can no longer be undone or redone.
+     *
+     * @return The number of dates restored.
+     * @throws TaskManagerException If no transaction is in progress.
+     */
+    public int rollbackTransaction() throws TaskManagerException {
+        long stamp = lockForWriting();
+        int restoredDateCount;
+        try {
+            checkIfInTransaction();
+            restoredDateCount = transactionBeforeImages.size();
+            for (Map.Entry<LocalDate, List<Task>> entry : transactionBeforeImages.entrySet()) {
+                restoreDayTasks(entry.getKey(), entry.getValue());
+            }
+            transactionBeforeImages = null;
+            operationLog.discardEntriesAfter(transactionStartSequenceNumber);
+            unjournaledOperations.subList(unjournaledCountBeforeTransaction, unjournaledOperations.size()).clear();
+            hasUnsavedChanges = hadUnsavedChangesBeforeTransaction;
+            resumeSaving();
+        } finally {
+            unlockForWriting(stamp);
+        }
+        logger.log(Level.INFO, "Transaction rolled back, " + restoredDateCount + " dates restored");
+        return restoredDateCount;
+    }
+
+    /**
+     * Checks if a transaction is in progress.
+     *
+     * @return True if a transaction has begun and has not been committed or rolled back yet, false otherwise.
+     */
+    public boolean isInTransaction() {
+        return transactionBeforeImages != null;
+    }
+
+    private void checkIfInTransaction() throws TaskManagerException {
+        if (!isInTransaction()) {
+            throw new TaskManagerException("No transaction is in progress. Use 'begin' to start one.");
+        }
+    }
+
+    /**
+     * Copies the tasks of a date before the date is first changed during a transaction.
+     * Dates without tasks are recorded as an empty list, so that tasks added to them can be removed on rollback.
+     *
+     * @param date The date about to be changed.
+     */
+    private void recordBeforeImage(LocalDate date) {
+        if (!isInTransaction() || transactionBeforeImages.containsKey(date)) {
+            return;
+        }
+        List<Task> beforeImage = new ArrayList<>();
+        for (Task task : tasks.getOrDefault(date, Collections.emptyList())) {
+            beforeImage.add(task.copy());
+        }
+        transactionBeforeImages.put(date, beforeImage);
+    }
+
+    /**
+     * Replaces the tasks of a date with the given tasks and keeps the task statistics in step.
+     *
+     * @param date The date to restore.
+     * @param dayTasks The tasks the date should have.
+     */
+    private void restoreDayTasks(LocalDate date, List<Task> dayTasks) {
+        List<Task> currentTasks = tasks.remove(date);
+        if (currentTasks != null) {
+            for (Task task : currentTasks) {
+                statistics.recordTaskRemoved(date, task);
+                publishChange(TaskOperation.removed(date, 0, task));
+            }
+        }
+        if (!dayTasks.isEmpty()) {
+            tasks.put(date, new CopyOnWriteArrayList<>(dayTasks));
+            for (int taskIndex = 0; taskIndex < dayTasks.size(); taskIndex++) {
+                statistics.recordTaskAdded(date, dayTasks.get(taskIndex));
+                publishChange(TaskOperation.added(date, taskIndex, dayTasks.get(taskIndex)));
+            }
+        }
+    }
+
+    /**
+     * Starts grouping the changes made to the tasks, so that they can be undone together.
+     *
+     * @param description A description of the change, such as the command that makes it.
+     */
+    public void beginUndoableChange(String description) {
+        long stamp = lockForWriting();
+        try {
+            operationLog.openEntry(description);
+        } finally {
+            unlockForWriting(stamp);
+        }
+    }
+
+    /**
+     * Stops grouping the changes started by beginUndoableChange.
+     * If any task was changed, the group becomes the most recent change to undo.
+     */
+    public void endUndoableChange() {
+        long stamp = lockForWriting();
+        try {
+            operationLog.closeEntry();
+        } finally {
+            unlockForWriting(stamp);
+        }
+    }
+
+    /**
+     * Undoes the most recent group of changes by carrying out the inverse of its operations in reverse order.
+     *
+     * @return The description of the changes undone.
+     * @throws TaskManagerException If there is nothing to undo, or the changes were made before the
+     *     transaction in progress began.
+     */
+    public String undo() throws TaskManagerException {
+        long stamp = lockForWriting();
+        try {
+            OperationLog.Entry entry = operationLog.peekUndo();
+            if (entry == null) {
+                throw new TaskManagerException("There is nothing to undo.");
+            }
+            checkIfChangeIsInTransaction(entry);
+            operationLog.takeUndo();
+            List<TaskOperation> operations = entry.getOperations();
+            for (int i = operations.size() - 1; i >= 0; i--) {
+                applyOperation(operations.get(i).inverse());
+            }
+            logger.log(Level.INFO, "Undid " + operations.size() + " operations of: " + entry.getDescription());
+            saveTasks();
+            return entry.getDescription();
+        } finally {
+            unlockForWriting(stamp);
+        }
+    }
+
+    /**
+     * Redoes the most recently undone group of changes by carrying out its operations again.
+     *
+     * @return The description of the changes redone.
+     * @throws TaskManagerException If there is nothing to redo, or the changes were undone before the
+     *     transaction in progress began.
+     */
+    public String redo() throws TaskManagerException {
+        long stamp = lockForWriting();
+        try {
+            OperationLog.Entry entry = operationLog.peekRedo();
+            if (entry == null) {
+                throw new TaskManagerException("There is nothing to redo.");
+            }
+            checkIfChangeIsInTransaction(entry);
+            operationLog.takeRedo();
+            for (TaskOperation operation : entry.getOperations()) {
+                applyOperation(operation);
+            }
+            logger.log(Level.INFO, "Redid " + entry.getOperations().size() + " operations of: "
+                    + entry.getDescription());
+            saveTasks();
+            return entry.getDescription();
+        } finally {
+            unlockForWriting(stamp);
+        }
+    }
+
+    /**
+     * Checks that a group of changes does not come from before the transaction in progress, if there is one,
+     * as undoing or redoing it could not be rolled back along with the transaction.
+     *
+     * @param entry The group of changes to undo or redo.
+     * @throws TaskManagerException If the changes were made before the transaction in progress began.
+     */
+    private void checkIfChangeIsInTransaction(OperationLog.Entry entry) throws TaskManagerException {
+        if (isInTransaction() && entry.getSequenceNumber() <= transactionStartSequenceNumber) {
+            throw new TaskManagerException("Changes from before the transaction began cannot be undone or redone "
+                    + "until it is committed or rolled back.");
+        }
+    }
+
+    /**
+     * Carries out an operation on the tasks and keeps the task statistics in step, without recording it for undo.
+     * The operation is still published to the change feed, as subscribers must see every change.
+     *
+     * @param operation The operation to carry out.
+     */
+    private void applyOperation(TaskOperation operation) {
+        recordBeforeImage(operation.getDate());
+        applyToTasks(operation);
+        publishChange(operation);
+    }
+
+    /**
+     * Carries out an operation on the tasks and keeps the task statistics in step, and nothing else.
+     *
+     * @param operation The operation to carry out.
+     */
+    private void applyToTasks(TaskOperation operation) {
+        LocalDate date = operation.getDate();
+        int taskIndex = operation.getTaskIndex();
+        List<Task> dayTasks = getOrCreateDayTasks(date);
+        if (!operation.isAddition()) {
+            statistics.recordTaskRemoved(date, dayTasks.remove(taskIndex));
+        }
+        if (!operation.isRemoval()) {
+            Task task = operation.getTaskAfter();
+            dayTasks.add(taskIndex, task);
+            statistics.recordTaskAdded(date, task);
+        }
+        if (dayTasks.isEmpty()) {
+            tasks.remove(date);
+        }
+    }
+
+    /**
+     * Starts a group of changes for a change made outside of any command, such as through the API server.
+     * The change is refused while a command is being run or a transaction is in progress, as it would otherwise
+     * be undone or rolled back along with changes it has nothing to do with. The change is still recorded,
+     * so that the task numbers kept for undoing stay correct.
+     * The calling thread must hold the write lock.
+     *
+     * @param description A description of the change.
+     * @throws CalendarBusyException If a command is being run or a transaction is in progress.
+     */
+    private void beginChangeOutsideCommand(String description) throws CalendarBusyException {
+        if (operationLog.isRecording() || isInTransaction()) {
+            throw new CalendarBusyException();
+        }
+        operationLog.openEntry(description);
+    }
+
+    /**
+     * Ends a group of changes started by beginChangeOutsideCommand.
+     *
+     * @param isChangeBegun True if beginChangeOutsideCommand started the group.
+     */
+    private void endChangeOutsideCommand(boolean isChangeBegun) {
+        if (isChangeBegun) {
+            operationLog.closeEntry();
+        }
+    }
+
+    /**
+     * Records a change in the group of changes being made, so that it can be undone.
+     *
+     * @param operation The operation that was carried out.
+     */
+    private void recordOperation(TaskOperation operation) {
+        operationLog.record(operation);
+        publishChange(operation);
+    }
+
+    /**
+     * Publishes a change to the change feed, and keeps it to be appended to the journal the next time the tasks
+     * are saved.
+     *
+     * @param operation The operation that was carried out.
+     */
+    private void publishChange(TaskOperation operation) {
+        changeFeed.publish(operation);
+        unjournaledOperations.add(operation);
+        unsnapshottedMonths.add(YearMonth.from(operation.getDate()));
+    }
+
+    /**
+     * Restores the tasks loaded from the save file, then replays the changes journaled since it was written.
+     * Neither is published, recorded for undo or saved again, as they are already in the save file. Loaded tasks
+     * are restored even beyond the task limit, so that none are lost.
+     * If a journaled change does not fit the tasks, the changes after it are dropped and the journal is closed,
+     * so that the tasks are saved in full the next time.
+     *
+     * @param savedTasks The tasks of the save file, by date.
+     * @param journaledOperations The changes journaled since, in order.
+     * @param unloadedMonthTaskCounts The number of tasks of each archived month left to load on demand.
+     * @param savedArchivedMonths The months whose tasks are saved compressed, loaded or not.
+     * @param legacyMonths The months whose tasks were saved straight into the save file, as older versions did,
+     *     which the next compaction gives files of their own.
+     */
+    public void restoreSavedTasks(Map<LocalDate, List<Task>> savedTasks, List<TaskOperation> journaledOperations,
+            Map<YearMonth, Integer> unloadedMonthTaskCounts, Set<YearMonth> savedArchivedMonths,
+            Set<YearMonth> legacyMonths) {
+        long stamp = lockForWriting();
+        try {
+            unloadedMonths.putAll(unloadedMonthTaskCounts);
+            archivedMonths.addAll(savedArchivedMonths);
+            unsnapshottedMonths.addAll(legacyMonths);
+            for (Map.Entry<LocalDate, List<Task>> entry : savedTasks.entrySet()) {
+                LocalDate date = entry.getKey();
+                getOrCreateDayTasks(date).addAll(entry.getValue());
+                for (Task task : entry.getValue()) {
+                    statistics.recordTaskAdded(date, task);
+                }
+            }
+            int replayedCount = 0;
+            try {
+                for (TaskOperation operation : journaledOperations) {
+                    applyToTasks(operation);
+                    replayedCount++;
+                }
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Journaled change " + (replayedCount + 1) + " does not fit the tasks");
+                tasks.values().removeIf(List::isEmpty);
+                journal.close();
+            }
+        } finally {
+            unlockForWriting(stamp);
+        }
+    }
+
+    /**
+     * Subscribes to every change made to the tasks from now on, including changes undone, redone or rolled back.
+     * Changes are handed to the listener in order on a thread of its own. Once the given number of changes are
+     * waiting for the listener, further changes wait for it to catch up.
+     *
+     * @param listener The listener, which must not change the tasks of this calendar itself.
+     * @param capacity The largest number of changes waiting to be handed to the listener.
+     * @return The subscription, to be closed once the listener no longer needs changes.
+     */
+    public ChangeFeed.Subscription subscribe(Consumer<TaskChange> listener, int capacity) {
+        long stamp = lockForWriting();
+        try {
+            return changeFeed.subscribe(listener, capacity);
+        } finally {
+            unlockForWriting(stamp);
+        }
+    }
+
+    /**
+     * Returns the sequence number of the latest change made to the tasks, which subscribers can wait for.
+     *
+     * @return The sequence number, or 0 if no change has been made.
+     */
+    public long getLastChangeSequenceNumber() {
+        return readOptimistically(changeFeed::getLastSequenceNumber);
+    }
 
     /**
      * Adds a task for a specific date.
@@ -54,7 +1013,7 @@ public class TaskManager {
      * @param taskType The TaskType of the task to be added.
      * @param dates A String array that contains the relevant dates for the task to be added.
      */
-    public static void addTask(LocalDate date, String taskDescription, TaskType taskType,
+    public void addTask(LocalDate date, String taskDescription, TaskType taskType,
             String[] dates, String[] times)
             throws TaskManagerException {
         Task taskToAdd;
@@ -87,7 +1046,67 @@ public class TaskManager {
             throw new TaskManagerException("Invalid task type given. T for Todo, E for event, D for deadline.");
         }
 
-        tasks.computeIfAbsent(date, k -> new ArrayList<>()).add(taskToAdd);
+        loadArchivedMonths(date);
+        long stamp = lockForWriting();
+        try {
+            if ((long) statistics.getTotalTaskCount() + getUnloadedTaskCount() >= maxTaskCount) {
+                throw new TaskManagerException("This calendar is full. It can hold at most " + maxTaskCount
+                        + " tasks, so delete some tasks first.");
+            }
+            recordBeforeImage(date);
+            List<Task> dayTasks = getOrCreateDayTasks(date);
+            dayTasks.add(taskToAdd);
+            statistics.recordTaskAdded(date, taskToAdd);
+            recordOperation(TaskOperation.added(date, dayTasks.size() - 1, taskToAdd));
+        } finally {
+            unlockForWriting(stamp);
+        }
+    }
+
+    /**
+     * Adds many tasks at once, such as when importing them from another calendar, taking the lock once for all
+     * of them and adding the tasks of each date to its list in one step.
+     * The tasks are recorded for undo like any other change, and saved once afterwards.
+     *
+     * @param tasksByDate The tasks to add, by the date to add them to.
+     * @return The number of tasks added.
+     * @throws TaskManagerException If the tasks do not all fit within the task limit, in which case none are added.
+     */
+    public int addTasksInBulk(Map<LocalDate, List<Task>> tasksByDate) throws TaskManagerException {
+        for (LocalDate date : tasksByDate.keySet()) {
+            loadArchivedMonths(date);
+        }
+        long stamp = lockForWriting();
+        try {
+            int addedCount = 0;
+            for (List<Task> dayTasksToAdd : tasksByDate.values()) {
+                addedCount += dayTasksToAdd.size();
+            }
+            if ((long) statistics.getTotalTaskCount() + getUnloadedTaskCount() + addedCount > maxTaskCount) {
+                throw new TaskManagerException("This calendar is full. It can hold at most " + maxTaskCount
+                        + " tasks, so delete some tasks first.");
+            }
+            for (Map.Entry<LocalDate, List<Task>> entry : tasksByDate.entrySet()) {
+                LocalDate date = entry.getKey();
+                List<Task> dayTasksToAdd = entry.getValue();
+                if (dayTasksToAdd.isEmpty()) {
+                    continue;
+                }
+                recordBeforeImage(date);
+                List<Task> dayTasks = getOrCreateDayTasks(date);
+                int firstTaskIndex = dayTasks.size();
+                dayTasks.addAll(dayTasksToAdd);
+                for (int i = 0; i < dayTasksToAdd.size(); i++) {
+                    statistics.recordTaskAdded(date, dayTasksToAdd.get(i));
+                    recordOperation(TaskOperation.added(date, firstTaskIndex + i, dayTasksToAdd.get(i)));
+                }
+            }
+            logger.log(Level.INFO, "Added " + addedCount + " tasks in bulk");
+            saveTasks();
+            return addedCount;
+        } finally {
+            unlockForWriting(stamp);
+        }
     }
 
     /**
@@ -99,12 +1118,25 @@ public class TaskManager {
      * @param isMuted Whether system outputs are muted.
      */
     public void deleteTask(LocalDate date, int taskIndex, boolean isMuted) {
-        List<Task> dayTasks = tasks.get(date);
-        if (dayTasks != null && taskIndex >= 0 && taskIndex < dayTasks.size()) {
-            dayTasks.remove(taskIndex);
-            if (dayTasks.isEmpty()) {
-                tasks.remove(date);
+        loadArchivedMonths(date);
+        long stamp = lockForWriting();
+        boolean isDeleted = false;
+        try {
+            List<Task> dayTasks = tasks.get(date);
+            if (dayTasks != null && taskIndex >= 0 && taskIndex < dayTasks.size()) {
+                recordBeforeImage(date);
+                Task removedTask = dayTasks.remove(taskIndex);
+                statistics.recordTaskRemoved(date, removedTask);
+                recordOperation(TaskOperation.removed(date, taskIndex, removedTask));
+                if (dayTasks.isEmpty()) {
+                    tasks.remove(date);
+                }
+                isDeleted = true;
             }
+        } finally {
+            unlockForWriting(stamp);
+        }
+        if (isDeleted) {
             if (!isMuted) {
                 System.out.println("Task deleted.");
             }
@@ -117,16 +1149,19 @@ public class TaskManager {
 
 
     /**
-     * Updates a task for a specific date and task index.
+     * Updates a task for a specific date and task index, along with its dates and times if any are given.
+     * If none are given for an Event or a Deadline, the user is asked whether to change them.
      *
      * @param date              The date of the task.
      * @param taskIndex         The index of the task to update.
      * @param newTaskDescription The updated description of the task.
+     * @param dateTimes         The new dates and times of the task, each in the format dd/MM/yyyy HHmm.
+     * @param scanner           Scanner object to read the dates and times from if none are given, or null
+     *                          to keep the current dates and times instead.
      * @throws IndexOutOfBoundsException If the task index is out of bounds.
      */
-    public static void updateTask(LocalDate date, int taskIndex, String newTaskDescription, Scanner scanner,
-            boolean inMonthView, WeekView weekView)
-            throws IndexOutOfBoundsException, TaskManagerException {
+    public void updateTask(LocalDate date, int taskIndex, String newTaskDescription, List<String> dateTimes,
+            Scanner scanner) throws IndexOutOfBoundsException, TaskManagerException {
         try {
             List<Task> dayTasks = getDayTasks(date);
             boolean dayHasTasks = dayTasks != null;
@@ -134,8 +1169,9 @@ public class TaskManager {
             assert dayHasTasks;
             assert taskIndexExists;
 
-            String oldDescription = dayTasks.get(taskIndex).getName();
-            String currentTaskType = dayTasks.get(taskIndex).getTaskType();
+            Task oldTask = dayTasks.get(taskIndex);
+            String oldDescription = oldTask.getName();
+            String currentTaskType = oldTask.getTaskType();
             boolean startDateChanged = false;
 
             Task task;
@@ -146,39 +1182,54 @@ public class TaskManager {
                         oldDescription + " to: " + newTaskDescription);
                 break;
             case "E":
-                task = updateEventTask(scanner, dayTasks, taskIndex, newTaskDescription, oldDescription);
+                task = updateEventTask(scanner, dayTasks, taskIndex, newTaskDescription, oldDescription, dateTimes);
                 break;
             case "D":
-                task = updateDeadlineTask(scanner, dayTasks, taskIndex, newTaskDescription, oldDescription);
+                task = updateDeadlineTask(scanner, dayTasks, taskIndex, newTaskDescription, oldDescription,
+                        dateTimes);
                 break;
             default:
                 throw new IllegalArgumentException("Invalid task type");
             }
 
             if (!startDateChanged) {
-                dayTasks.set(taskIndex, task);
+                replaceTask(date, taskIndex, oldTask, task);
             }
 
         } catch (IndexOutOfBoundsException e) {
             throw new IndexOutOfBoundsException("Task index is out of bounds.");
+        } catch (IllegalStateException e) {
+            throw new TaskManagerException(e.getMessage() + " Please try again.");
         }
     }
 
     /**
      * Updates the details of an Event task.
      *
-     * @param scanner Scanner object to read user input for updating task details.
+     * @param scanner Scanner object to read user input for updating task details, or null to keep the
+     *     current dates and times when no new ones are given.
      * @param dayTasks List of tasks for the day.
      * @param taskIndex Index of the task to be updated.
      * @param newTaskDescription New description for the task.
      * @param oldDescription Old description of the task.
+     * @param dateTimes The new start and end, or an empty list to ask the user instead.
      * @return Updated Task object.
      */
     public static Task updateEventTask(Scanner scanner, List<Task> dayTasks,
-            int taskIndex, String newTaskDescription, String oldDescription) {
+            int taskIndex, String newTaskDescription, String oldDescription, List<String> dateTimes) {
         Event oldEvent = (Event) dayTasks.get(taskIndex);
-        System.out.println("Do you want to update the start and end dates and times? (yes/no)");
-        String eventResponse = scanner.nextLine().trim().toLowerCase();
+        if (dateTimes.size() == 2) {
+            String[] start = dateTimes.get(0).split(" ");
+            String[] end = dateTimes.get(1).split(" ");
+            String[] newDatesAndTimes = {start[0], end[0], start[1], end[1]};
+            updateEventLogging(newTaskDescription, oldDescription, oldEvent, newDatesAndTimes);
+            return new Event(newTaskDescription, start[0], end[0], start[1], end[1]);
+        }
+        String eventResponse = "no";
+        if (scanner != null) {
+            System.out.println("Do you want to update the start and end dates and times? (yes/no)");
+            eventResponse = scanner.nextLine().trim().toLowerCase();
+        }
         if (eventResponse.equals("yes")) {
             System.out.println("Enter the new start date, end date, start time and end time, " +
                     "separated by spaces:");
@@ -202,29 +1253,34 @@ public class TaskManager {
     /**
      * Updates the details of a Deadline task.
      *
-     * @param scanner Scanner object to read user input for updating task details.
+     * @param scanner Scanner object to read user input for updating task details, or null to keep the
+     *     current dates and times when no new ones are given.
      * @param dayTasks List of tasks for the day.
      * @param taskIndex Index of the task to be updated.
      * @param newTaskDescription New description for the task.
      * @param oldDescription Old description of the task.
+     * @param dateTimes The new deadline, or an empty list to ask the user instead.
      * @return Updated Task object.
      */
     public static Task updateDeadlineTask(Scanner scanner, List<Task> dayTasks,
-            int taskIndex, String newTaskDescription, String oldDescription) {
+            int taskIndex, String newTaskDescription, String oldDescription, List<String> dateTimes) {
         Deadline oldDeadline = (Deadline) dayTasks.get(taskIndex);
-        System.out.println("Do you want to update the deadline date and time? (yes/no)");
-        String deadlineResponse = scanner.nextLine().trim().toLowerCase();
+        if (dateTimes.size() == 1) {
+            String[] newDateAndTime = dateTimes.get(0).split(" ");
+            updateDeadlineLogging(newTaskDescription, oldDescription, oldDeadline, newDateAndTime);
+            return new Deadline(newTaskDescription, newDateAndTime[0], newDateAndTime[1]);
+        }
+        String deadlineResponse = "no";
+        if (scanner != null) {
+            System.out.println("Do you want to update the deadline date and time? (yes/no)");
+            deadlineResponse = scanner.nextLine().trim().toLowerCase();
+        }
         if (deadlineResponse.equals("yes")) {
             System.out.println("Enter the new deadline date and time, separated by a space:");
             String[] newDatesAndTimes = scanner.nextLine().trim().split(" ");
             Task task = new Deadline(newTaskDescription, newDatesAndTimes[0], newDatesAndTimes[1]);
 
-            logger.log(Level.INFO, "Updating task description from " +
-                    oldDescription + " to: " + newTaskDescription);
-            logger.log(Level.INFO, "Updating task deadline date from " + oldDeadline.getByDate() + " to: "
-                    + newDatesAndTimes[0]);
-            logger.log(Level.INFO, "Updating task deadline time from " + oldDeadline.getByTime() + " to: "
-                    + newDatesAndTimes[1]);
+            updateDeadlineLogging(newTaskDescription, oldDescription, oldDeadline, newDatesAndTimes);
             return task;
         } else {
             Task task = new Deadline(newTaskDescription, oldDeadline.getByDate(), oldDeadline.getByTime());
@@ -235,6 +1291,24 @@ public class TaskManager {
         }
     }
 
+    /**
+     * Logs the updates made to a Deadline task.
+     *
+     * @param newTaskDescription New description for the task.
+     * @param oldDescription Old description of the task.
+     * @param oldDeadline The old Deadline task that is being updated.
+     * @param newDateAndTime Array containing the new deadline date and time for the task.
+     */
+    private static void updateDeadlineLogging(String newTaskDescription, String oldDescription,
+            Deadline oldDeadline, String[] newDateAndTime) {
+        logger.log(Level.INFO, "Updating task description from " +
+                oldDescription + " to: " + newTaskDescription);
+        logger.log(Level.INFO, "Updating task deadline date from " + oldDeadline.getByDate() + " to: "
+                + newDateAndTime[0]);
+        logger.log(Level.INFO, "Updating task deadline time from " + oldDeadline.getByTime() + " to: "
+                + newDateAndTime[1]);
+    }
+
     /**
      * Logs the updates made to an Event task.
      *
@@ -258,58 +1332,241 @@ public class TaskManager {
     }
 
     /**
-     * Method to get the tasks for a specified date.
+     * Method to get the tasks for a specified date.
+     *
+     * @param date The date to be checked.
+     * @return An ArrayList of Tasks containing the tasks on the specified date.
+     */
+
+    public List<Task> getDayTasks(LocalDate date) {
+        loadArchivedMonths(date);
+        return tasks.get(date);
+    }
+
+    /**
+     * Marks a task as completed.
+     *
+     * @param date The date of the task.
+     * @param taskIndex The index of the task to mark.
+     */
+    public void markTaskAsCompleted(LocalDate date, int taskIndex) {
+        try {
+            updateCompletenessOfTask(date, taskIndex, true);
+            System.out.println("Task marked as done.");
+        } catch (IndexOutOfBoundsException e) {
+            throw new IndexOutOfBoundsException("Task index is out of bounds.");
+        }
+    }
+
+    /**
+     * Marks a task as not completed.
+     *
+     * @param date The date of the task.
+     * @param taskIndex The index of the task to mark.
+     */
+    public void markTaskAsNotCompleted(LocalDate date, int taskIndex) {
+        try {
+            updateCompletenessOfTask(date, taskIndex, false);
+            System.out.println("Unmarked task.");
+        } catch (IndexOutOfBoundsException e) {
+            throw new IndexOutOfBoundsException("Task index is out of bounds.");
+        }
+    }
+
+    /**
+     * Sets the completeness of a task and keeps the task statistics in step.
+     *
+     * @param date The date of the task.
+     * @param taskIndex The zero-based index of the task on that date.
+     * @param isCompleted Whether the task is completed.
+     */
+    private void updateCompletenessOfTask(LocalDate date, int taskIndex, boolean isCompleted) {
+        loadArchivedMonths(date);
+        long stamp = lockForWriting();
+        try {
+            Task task = tasks.get(date).get(taskIndex);
+            Task updatedTask = task.copy();
+            updatedTask.setCompleteness(isCompleted);
+            replaceTask(date, taskIndex, task, updatedTask);
+        } finally {
+            unlockForWriting(stamp);
+        }
+    }
+
+    /**
+     * Sets the priority level of a task and keeps the task statistics in step.
+     *
+     * @param date The date of the task.
+     * @param taskIndex The zero-based index of the task on that date.
+     * @param priorityLevel The priority level to set the task to.
+     */
+    private void updatePriorityLevelOfTask(LocalDate date, int taskIndex, TaskPriorityLevel priorityLevel) {
+        loadArchivedMonths(date);
+        long stamp = lockForWriting();
+        try {
+            Task task = tasks.get(date).get(taskIndex);
+            Task updatedTask = task.copy();
+            updatedTask.setPriorityLevel(priorityLevel);
+            replaceTask(date, taskIndex, task, updatedTask);
+        } finally {
+            unlockForWriting(stamp);
+        }
+    }
+
+    /**
+     * Restores the completeness and priority level of a task, such as one that was just loaded from the save file.
+     *
+     * @param date The date of the task.
+     * @param taskIndex The zero-based index of the task on that date.
+     * @param isCompleted Whether the task is completed.
+     * @param priorityLevel The priority level of the task.
+     */
+    public void setTaskStatuses(LocalDate date, int taskIndex, boolean isCompleted,
+            TaskPriorityLevel priorityLevel) {
+        loadArchivedMonths(date);
+        long stamp = lockForWriting();
+        try {
+            Task task = tasks.get(date).get(taskIndex);
+            Task updatedTask = task.copy();
+            updatedTask.setCompleteness(isCompleted);
+            updatedTask.setPriorityLevel(priorityLevel);
+            replaceTask(date, taskIndex, task, updatedTask);
+        } finally {
+            unlockForWriting(stamp);
+        }
+    }
+
+    /**
+     * Replaces a task with an updated copy of it and keeps the task statistics in step.
+     * Tasks are replaced rather than changed in place, so that threads reading the tasks without locking
+     * never see a task halfway through a change.
+     *
+     * @param date The date of the task.
+     * @param taskIndex The zero-based index of the task on that date.
+     * @param task The task being replaced.
+     * @param updatedTask The task to put in its place.
+     * @throws IllegalStateException If the task was changed or moved by another thread in the meantime.
+     */
+    private void replaceTask(LocalDate date, int taskIndex, Task task, Task updatedTask) {
+        long stamp = lockForWriting();
+        try {
+            List<Task> dayTasks = tasks.get(date);
+            if (dayTasks == null || taskIndex >= dayTasks.size() || dayTasks.get(taskIndex) != task) {
+                throw new IllegalStateException("The task was changed while it was being updated.");
+            }
+            recordBeforeImage(date);
+            dayTasks.set(taskIndex, updatedTask);
+            statistics.recordTaskRemoved(date, task);
+            statistics.recordTaskAdded(date, updatedTask);
+            recordOperation(TaskOperation.replaced(date, taskIndex, task, updatedTask));
+        } finally {
+            unlockForWriting(stamp);
+        }
+    }
+
+    /**
+     * Retrieves tasks for a specific date.
+     *
+     * @param date The date to retrieve tasks for.
+     * @return A list of tasks for the given date.
+     */
+    public List<Task> getTasksForDate(LocalDate date) {
+        loadArchivedMonths(date);
+        return tasks.getOrDefault(date, Collections.emptyList());
+    }
+
+    /**
+     * Returns the tasks of a date as they are at this moment, for printing a view. Later changes do not reach the
+     * list, so its size and its tasks agree for the whole frame even while other threads change the tasks.
+     * Only the array behind the copy-on-write list is copied, without taking any lock.
+     *
+     * @param date The date to retrieve tasks for.
+     * @return An unmodifiable list of the tasks of the date.
+     */
+    public List<Task> getTaskSnapshotForDate(LocalDate date) {
+        loadArchivedMonths(date);
+        List<Task> dayTasks = tasks.get(date);
+        if (dayTasks == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(Arrays.asList(dayTasks.toArray(new Task[0])));
+    }
+
+    /**
+     * Retrieves the number of tasks on a specific date without walking the task list.
      *
-     * @param date The date to be checked.
-     * @return An ArrayList of Tasks containing the tasks on the specified date.
+     * @param date The date to count tasks for.
+     * @return The number of tasks on the given date.
      */
+    public int getTaskCountForDate(LocalDate date) {
+        loadArchivedMonths(date);
+        return readOptimistically(() -> statistics.getTaskCountForDay(date));
+    }
 
-    public static List<Task> getDayTasks(LocalDate date) {
-        return tasks.get(date);
+    /**
+     * Retrieves the number of tasks in a specific month without walking the task lists.
+     *
+     * @param yearMonth The month to count tasks for.
+     * @return The number of tasks in the given month.
+     */
+    public int getTaskCountForMonth(YearMonth yearMonth) {
+        loadArchivedMonths(yearMonth.atDay(1), yearMonth.atEndOfMonth());
+        return readOptimistically(() -> statistics.getTaskCountForMonth(yearMonth));
     }
 
     /**
-     * Marks a task as completed.
+     * Retrieves the largest number of tasks on a single day within the seven days from the given date.
      *
-     * @param date The date of the task.
-     * @param taskIndex The index of the task to mark.
+     * @param startOfWeek The first day of the week.
+     * @return The number of tasks on the busiest day of the week.
      */
-    public void markTaskAsCompleted(LocalDate date, int taskIndex) {
-        List<Task> dayTasks = tasks.get(date);
+    public int getMaxTaskCountForDayInWeek(LocalDate startOfWeek) {
+        loadArchivedMonths(startOfWeek, startOfWeek.plusDays(6));
+        return readOptimistically(() -> statistics.getMaxTaskCountForDayInWeek(startOfWeek));
+    }
 
-        try {
-            dayTasks.get(taskIndex).setCompleteness(true);
-            System.out.println("Task marked as done.");
-        } catch (IndexOutOfBoundsException e) {
-            throw new IndexOutOfBoundsException("Task index is out of bounds.");
-        }
+    /**
+     * Retrieves the task counts for a specific date.
+     *
+     * @param date The date to get the counts for.
+     * @return The task counts for the date.
+     */
+    public TaskCounts getTaskCountsForDate(LocalDate date) {
+        loadArchivedMonths(date);
+        return readOptimistically(() -> statistics.getCountsForDay(date).copy());
     }
 
     /**
-     * Marks a task as not completed.
+     * Retrieves the task counts for the seven days from the given date.
      *
-     * @param date The date of the task.
-     * @param taskIndex The index of the task to mark.
+     * @param startOfWeek The first day of the week.
+     * @return The task counts for the week.
      */
-    public void markTaskAsNotCompleted(LocalDate date, int taskIndex) {
-        List<Task> dayTasks = tasks.get(date);
+    public TaskCounts getTaskCountsForWeek(LocalDate startOfWeek) {
+        loadArchivedMonths(startOfWeek, startOfWeek.plusDays(6));
+        return readOptimistically(() -> statistics.getCountsForWeek(startOfWeek).copy());
+    }
 
-        try {
-            dayTasks.get(taskIndex).setCompleteness(false);
-            System.out.println("Unmarked task.");
-        } catch (IndexOutOfBoundsException e) {
-            throw new IndexOutOfBoundsException("Task index is out of bounds.");
-        }
+    /**
+     * Retrieves the task counts for a specific month.
+     *
+     * @param yearMonth The month to get the counts for.
+     * @return The task counts for the month.
+     */
+    public TaskCounts getTaskCountsForMonth(YearMonth yearMonth) {
+        loadArchivedMonths(yearMonth.atDay(1), yearMonth.atEndOfMonth());
+        return readOptimistically(() -> statistics.getCountsForMonth(yearMonth).copy());
     }
 
     /**
-     * Retrieves tasks for a specific date.
+     * Retrieves the task counts for a specific year.
      *
-     * @param date The date to retrieve tasks for.
-     * @return A list of tasks for the given date.
+     * @param year The year to get the counts for.
+     * @return The task counts for the year.
      */
-    public List<Task> getTasksForDate(LocalDate date) {
-        return tasks.getOrDefault(date, new ArrayList<>());
+    public TaskCounts getTaskCountsForYear(int year) {
+        loadArchivedMonths(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+        return readOptimistically(() -> statistics.getCountsForYear(year));
     }
 
     /**
@@ -319,40 +1576,31 @@ public class TaskManager {
      * @param weekView WeekView object to validate the date.
      * @param monthView MonthView object to validate the date.
      * @param inMonthView A boolean indicating whether the view is in month view or not.
-     * @param day The String representing the date to add the task in.
-     * @param taskTypeString The String representing the taskType of the task to be added.
+     * @param day The day number of the date to add the task in.
+     * @param taskType The TaskType of the task to be added.
      * @param taskDescription The String representing the description of the task to be added.
+     * @param dateTimes The dates and times given with the command, or an empty list to ask the user for them.
      * @throws TaskManagerException If there is an error in managing tasks.
      * @throws DateTimeParseException If there is an error parsing the date.
      */
-    public void addManager(Scanner scanner, WeekView weekView, MonthView monthView, boolean inMonthView, String action,
-            String day, String taskTypeString, String taskDescription)
+    public void addManager(Scanner scanner, WeekView weekView, MonthView monthView, boolean inMonthView,
+            int day, TaskType taskType, String taskDescription, List<String> dateTimes)
             throws TaskManagerException,DateTimeParseException {
 
         // Convert the day to a LocalDate
-        LocalDate date;
-        // Convert the dayString to date range
-        String[] dates = new String[2];
-        if (day.contains("-")) {
-            dates = day.split("-");
-        } else {
-            dates[0] = day;
-        }
+        LocalDate date = findDateFromDayNumber(weekView, monthView, inMonthView, day);
 
-        // Convert dayString to int
-        int dayInt = Integer.parseInt(day);
-
-        date = findDateFromDayNumber(weekView, monthView, inMonthView, dayInt);
-
-        // Parse the task type
-        TaskType taskType = parseTaskType(taskTypeString.toUpperCase());
+        if (taskType == null) {
+            throw new TaskManagerException("Invalid task type. Please provide valid task type: " +
+                    "T for Todo, E for event, D for deadline.");
+        }
         String typeName = taskType.equals(TODO) ? "Todo" : taskType.equals(DEADLINE) ? "Deadline" : "Event";
 
         //Add task based on type
-        addTaskBasedOnType(scanner, taskDescription, taskType, date);
+        addTaskBasedOnType(scanner, taskDescription, taskType, date, dateTimes);
 
         // Save tasks to file
-        saveTasksToFile(tasks, Storage.FILE_PATH); // Update tasks.txt file
+        saveTasks(); // Update tasks.txt file
         System.out.println(typeName + " added.");
     }
 
@@ -363,17 +1611,18 @@ public class TaskManager {
      * @param taskDescription Description of the task.
      * @param taskType Type of the task (TODO, EVENT, DEADLINE).
      * @param date Date for the task.
+     * @param dateTimes Dates and times given with the command, or an empty list to ask the user for them.
      * @throws TaskManagerException If an invalid task type is provided.
      */
-    private static void addTaskBasedOnType(Scanner scanner, String taskDescription,
-            TaskType taskType, LocalDate date) throws TaskManagerException {
+    private void addTaskBasedOnType(Scanner scanner, String taskDescription,
+            TaskType taskType, LocalDate date, List<String> dateTimes) throws TaskManagerException {
         if (taskType == null) {
             throw new TaskManagerException("Invalid task type. Please provide valid task type: " +
                     "T for Todo, E for event, D for deadline.");
         } else if (taskType == DEADLINE) {
-            parseAndAddDeadline(scanner, taskDescription, taskType, date);
+            parseAndAddDeadline(scanner, taskDescription, taskType, date, dateTimes);
         } else if (taskType == EVENT) {
-            parseAndAddEvent(scanner, taskDescription, taskType, date);
+            parseAndAddEvent(scanner, taskDescription, taskType, date, dateTimes);
         } else {
             // dummy String array to pass into function call
             String[] dummyDates = {null};
@@ -384,6 +1633,29 @@ public class TaskManager {
         }
     }
 
+    /**
+     * Returns a date and time given with a command, or asks the user for it if it was not given.
+     *
+     * @param scanner Scanner object to read the date and time from if it was not given.
+     * @param dateTimes The dates and times given with the command.
+     * @param position The position of the date and time wanted among those given.
+     * @param prompt The message asking the user for the date and time.
+     * @return The date and time, in the format dd/MM/yyyy HHmm.
+     * @throws TaskManagerException If the date and time is not in the expected format.
+     */
+    private static String readDateTime(Scanner scanner, List<String> dateTimes, int position, String prompt)
+            throws TaskManagerException {
+        String dateTime;
+        if (position < dateTimes.size()) {
+            dateTime = dateTimes.get(position);
+        } else {
+            System.out.println(prompt);
+            dateTime = scanner.nextLine().trim();
+        }
+        checkIfDateTimeInFormat(dateTime);
+        return dateTime;
+    }
+
     /**
      * Parses and adds an Event task.
      *
@@ -391,20 +1663,19 @@ public class TaskManager {
      * @param taskDescription Description of the task.
      * @param taskType Type of the task (EVENT).
      * @param date Date for the task.
+     * @param dateTimes The start and end given with the command, or an empty list to ask the user for them.
      * @throws TaskManagerException If an invalid task type is provided or if there is an error in date/time format.
      */
-    private static void parseAndAddEvent(Scanner scanner, String taskDescription,
-            TaskType taskType, LocalDate date) throws TaskManagerException {
-        System.out.println("Enter the start date of this task, along with the start time separated by a space:");
-        String inputStartDateAndTime = scanner.nextLine().trim();
-        checkIfDateTimeInFormat(inputStartDateAndTime);
+    private void parseAndAddEvent(Scanner scanner, String taskDescription,
+            TaskType taskType, LocalDate date, List<String> dateTimes) throws TaskManagerException {
+        String inputStartDateAndTime = readDateTime(scanner, dateTimes, 0,
+                "Enter the start date of this task, along with the start time separated by a space:");
         String[] startDateAndTime = inputStartDateAndTime.split(" ");
         String startDate = startDateAndTime[0];
         String startTime = startDateAndTime[1];
 
-        System.out.println("Enter the end date of this task, along with the end time separated by a space:");
-        String inputEndDateAndTime = scanner.nextLine().trim();
-        checkIfDateTimeInFormat(inputEndDateAndTime);
+        String inputEndDateAndTime = readDateTime(scanner, dateTimes, 1,
+                "Enter the end date of this task, along with the end time separated by a space:");
         String[] endDateAndTime = inputEndDateAndTime.split(" ");
         String endDate = endDateAndTime[0];
         String endTime = endDateAndTime[1];
@@ -422,13 +1693,13 @@ public class TaskManager {
      * @param taskDescription Description of the task.
      * @param taskType Type of the task (DEADLINE).
      * @param date Date for the task.
+     * @param dateTimes The deadline given with the command, or an empty list to ask the user for it.
      * @throws TaskManagerException If an invalid task type is provided or if there is an error in date/time format.
      */
-    private static void parseAndAddDeadline(Scanner scanner, String taskDescription,
-            TaskType taskType, LocalDate date) throws TaskManagerException {
-        System.out.println("Enter the deadline date and time of this task, separated by a space:");
-        String inputDeadlineDateAndTime = scanner.nextLine().trim();
-        checkIfDateTimeInFormat(inputDeadlineDateAndTime);
+    private void parseAndAddDeadline(Scanner scanner, String taskDescription,
+            TaskType taskType, LocalDate date, List<String> dateTimes) throws TaskManagerException {
+        String inputDeadlineDateAndTime = readDateTime(scanner, dateTimes, 0,
+                "Enter the deadline date and time of this task, separated by a space:");
         String[] deadlineDateAndTime = inputDeadlineDateAndTime.split(" ");
         String[] deadlineDate = new String[]{deadlineDateAndTime[0]};
         String[] deadlineTime = new String[]{deadlineDateAndTime[1]};
@@ -441,15 +1712,13 @@ public class TaskManager {
      * @param weekView The WeekView object for finding the date.
      * @param monthView The MonthView object for finding the date.
      * @param inMonthView A boolean indicating whether the view is in month view or not.
-     * @param day The day of the task to show free times for.
+     * @param day The day number of the date to show free times for.
      * @throws TaskManagerException If there is an error in managing tasks.
      * @throws DateTimeParseException If there is an error parsing the date.
      */
-    public void freeTimesManager(WeekView weekView, MonthView monthView, boolean inMonthView, String day)
+    public void freeTimesManager(WeekView weekView, MonthView monthView, boolean inMonthView, int day)
             throws TaskManagerException, DateTimeParseException {
-        LocalDate date;
-        int dayInt = Integer.parseInt(day);
-        date = findDateFromDayNumber(weekView, monthView, inMonthView, dayInt);
+        LocalDate date = findDateFromDayNumber(weekView, monthView, inMonthView, day);
 
         List<Task> eventsForDate = getEventsForDate(date);
         List<String> freeTimes = getFreeTimeSlots(eventsForDate, date);
@@ -463,22 +1732,26 @@ public class TaskManager {
      * @param weekView WeekView object for finding the date.
      * @param monthView MonthView object for finding the date.
      * @param inMonthView A boolean indicating whether the view is in month view or not.
-     * @param day The day of the task to be marked.
+     * @param day The day number of the task to be marked.
      * @param taskIndex The index of the task to be marked.
      * @throws TaskManagerException If the date given is not in the current month or week being viewed.
      * @throws DateTimeParseException If there is an error parsing the date.
      */
-    public void markManager(WeekView weekView, MonthView monthView, boolean inMonthView, String day, int taskIndex)
+    public void markManager(WeekView weekView, MonthView monthView, boolean inMonthView, int day, int taskIndex)
             throws TaskManagerException, DateTimeParseException, MarkTaskException {
-        LocalDate date;
-        int dayInt = Integer.parseInt(day);
-        date = findDateFromDayNumber(weekView, monthView, inMonthView, dayInt);
+        LocalDate date = findDateFromDayNumber(weekView, monthView, inMonthView, day);
+        loadArchivedMonths(date);
 
-        List<Task> dayTasks = tasks.get(date);
-        checkIfTaskIndexIsValidForMarkingTask(dayTasks, taskIndex);
+        long stamp = lockForWriting();
+        try {
+            List<Task> dayTasks = tasks.get(date);
+            checkIfTaskIndexIsValidForMarkingTask(dayTasks, taskIndex);
 
-        handleMarkingOfTask(taskIndex, date);
-        saveTasksToFile(tasks, Storage.FILE_PATH);
+            handleMarkingOfTask(taskIndex, date);
+            saveTasks();
+        } finally {
+            unlockForWriting(stamp);
+        }
     }
 
     /**
@@ -491,7 +1764,7 @@ public class TaskManager {
      * @return The date corresponding to the day number.
      * @throws TaskManagerException If the date is not in the current month or week being viewed.
      */
-    private static LocalDate findDateFromDayNumber(WeekView weekView, MonthView monthView,
+    public static LocalDate findDateFromDayNumber(WeekView weekView, MonthView monthView,
             boolean inMonthView, int dayInt) throws TaskManagerException {
       
         if (dayInt < 1 || dayInt > 31) {
@@ -556,26 +1829,29 @@ public class TaskManager {
      * @param weekView WeekView object for finding the date.
      * @param monthView MonthView object for finding the date.
      * @param inMonthView A boolean indicating whether the view is in month view or not.
-     * @param day The day of the task to be marked.
+     * @param day The day number of the task to set the priority level for.
      * @param taskIndex The index of the task to be marked.
      * @param priorityLevelString The priority level to set the task to.
      * @throws TaskManagerException If there is an error in managing tasks.
      * @throws DateTimeParseException If there is an error parsing the date.
      */
-    public void priorityManager(WeekView weekView, MonthView monthView, boolean inMonthView, String day,
+    public void priorityManager(WeekView weekView, MonthView monthView, boolean inMonthView, int day,
             int taskIndex, String priorityLevelString)
             throws TaskManagerException, DateTimeParseException, SetPriorityException {
-        LocalDate date;
-        int dayInt = Integer.parseInt(day);
+        LocalDate date = findDateFromDayNumber(weekView, monthView, inMonthView, day);
+        loadArchivedMonths(date);
 
-        date = findDateFromDayNumber(weekView, monthView, inMonthView, dayInt);
-
-        List<Task> dayTasks = tasks.get(date);
-        checkIfTaskIndexIsValidForPriority(dayTasks, taskIndex);
-        checkIfPriorityIsValid(priorityLevelString);
-
-        setPriorityLevelOfTask(taskIndex, date, priorityLevelString);
-        saveTasksToFile(tasks, Storage.FILE_PATH);
+        long stamp = lockForWriting();
+        try {
+            List<Task> dayTasks = tasks.get(date);
+            checkIfTaskIndexIsValidForPriority(dayTasks, taskIndex);
+            checkIfPriorityIsValid(priorityLevelString);
+
+            setPriorityLevelOfTask(taskIndex, date, priorityLevelString);
+            saveTasks();
+        } finally {
+            unlockForWriting(stamp);
+        }
     }
 
     /**
@@ -588,13 +1864,25 @@ public class TaskManager {
     private void setPriorityLevelOfTask(int taskIndex, LocalDate date, String priorityLevelString) {
         logger.log(Level.INFO, "Setting priority level of task at index " + taskIndex + " for date " + date);
         assert tasks.get(date) != null;
-        List<Task> dayTasks = tasks.get(date);
-        Task task = dayTasks.get(taskIndex - 1);
-        TaskPriorityLevel priorityLevelToSet =
-                priorityLevelString.equals("H") ? TaskPriorityLevel.HIGH :
-                priorityLevelString.equals("M") ? TaskPriorityLevel.MEDIUM :
-                TaskPriorityLevel.LOW;
-        task.setPriorityLevel(priorityLevelToSet);
+        updatePriorityLevelOfTask(date, taskIndex - 1, parsePriorityLevel(priorityLevelString));
+    }
+
+    /**
+     * Method that parses the TaskPriorityLevel from its icon representation.
+     * Anything other than "H" or "M" is treated as low priority.
+     *
+     * @param priorityLevelString The String containing the priority level icon.
+     * @return The matching TaskPriorityLevel.
+     */
+    public static TaskPriorityLevel parsePriorityLevel(String priorityLevelString) {
+        switch (priorityLevelString) {
+        case "H":
+            return TaskPriorityLevel.HIGH;
+        case "M":
+            return TaskPriorityLevel.MEDIUM;
+        default:
+            return TaskPriorityLevel.LOW;
+        }
     }
 
 
@@ -638,11 +1926,12 @@ public class TaskManager {
      * @param day The int representing the day containing the task to be updated.
      * @param taskIndex The int representing the task index to be updated.
      * @param newDescription The String with the new task description.
+     * @param dateTimes The new dates and times given with the command, or an empty list to ask the user instead.
      * @throws TaskManagerException If not in correct week/month view.
      * @throws DateTimeParseException If there is an error parsing the date.
      */
     public void updateManager(Scanner scanner, WeekView weekView, MonthView monthView, boolean inMonthView,
-            TaskManager taskManager,int day, int taskIndex, String newDescription)
+            TaskManager taskManager, int day, int taskIndex, String newDescription, List<String> dateTimes)
             throws TaskManagerException, DateTimeParseException {
 
         // Convert the day to a LocalDate
@@ -656,68 +1945,15 @@ public class TaskManager {
 
         String currentTaskType = taskManager.getTasksForDate(date).get(taskIndex - 1).getTaskType();
         String typeName = currentTaskType.equals("T") ? "Todo" : currentTaskType.equals("D") ? "Deadline" : "Event";
+        checkIfDateTimeCountIsValid(parseTaskType(currentTaskType), dateTimes.size());
 
-        updateTask(date, taskIndex - 1, newDescription, scanner, inMonthView, weekView);
-        saveTasksToFile(tasks,Storage.FILE_PATH); //Update tasks.txt file
+        updateTask(date, taskIndex - 1, newDescription, dateTimes, scanner);
+        saveTasks(); //Update tasks.txt file
         System.out.println(typeName + " updated.");
 
     }
 
 
-    //@@author kyhjonathan
-    /**
-     * Adds tasks from a file to the TaskManager.
-     *
-     * @param tasksFromFile A map containing tasks read from a file.
-     * @throws TaskManagerException If there is an error adding tasks.
-     */
-    public void addTasksFromFile(Map<LocalDate, List<Task>> tasksFromFile) throws TaskManagerException {
-        for (Map.Entry<LocalDate, List<Task>> entry : tasksFromFile.entrySet()) {
-            LocalDate date = entry.getKey();
-            List<Task> tasksList = entry.getValue();
-
-            for (Task task : tasksList) {
-                String taskDescription = task.getName();
-                TaskType taskType = parseTaskType(task.getTaskType());
-                String[] dates = new String[]{null, null};
-                String[] times = new String[]{null, null};
-
-                switch (taskType) {
-                case TODO:
-                    dates[0] = taskDescription;
-                    break;
-
-                case EVENT:
-                    String startDate = task.getStartDate();
-                    String endDate = task.getEndDate();
-
-                    String startTime = task.getStartTime();
-                    String endTime = task.getEndTime();
-
-                    dates[0] = startDate;
-                    dates[1] = endDate;
-
-                    times[0] = startTime;
-                    times[1] = endTime;
-                    break;
-
-                case DEADLINE:
-                    String deadlineDate = task.getByDate();
-                    String deadlineTime = task.getByTime();
-
-                    dates[0] = deadlineDate;
-                    times[0] = deadlineTime;
-                    break;
-
-                default:
-                    logger.log(Level.INFO, "Task to add was invalid. Task in question: " + taskDescription);
-                }
-
-                addTask(date, taskDescription, taskType, dates, times);
-            }
-        }
-    }
-
     //@@author
     /**
      * Lists task of the input date.
@@ -744,21 +1980,18 @@ public class TaskManager {
      * @param weekView Current week being viewed.
      * @param inMonthView Whether month is being viewed.
      * @param taskManager The taskManager class being used.
-     * @param day The String containing the day being viewed.
+     * @param day The day number of the task to delete.
      * @param monthView The MonthView instance being used.
      * @param taskIndex The int representing the task index.
      * @throws TaskManagerException If not in correct week/month view
      * @throws DateTimeParseException If there is an error parsing the date.
      */
     public static void deleteManager(WeekView weekView,MonthView monthView, boolean inMonthView,
-            TaskManager taskManager,String day, int taskIndex)
+            TaskManager taskManager, int day, int taskIndex)
             throws TaskManagerException, DateTimeParseException {
 
         // Convert the day to a LocalDate
-        LocalDate date;
-
-        int dayInt = Integer.parseInt(day);
-        date = findDateFromDayNumber(weekView, monthView, inMonthView, dayInt);
+        LocalDate date = findDateFromDayNumber(weekView, monthView, inMonthView, day);
 
         // Delete the task based on the parsed inputs
         taskManager.deleteTask(date, taskIndex - 1, false);
@@ -766,7 +1999,7 @@ public class TaskManager {
         //System.out.println("Task deleted.");
 
         // Save tasks to file
-        saveTasksToFile(tasks, Storage.FILE_PATH); // Update tasks.txt file
+        taskManager.saveTasks(); // Update tasks.txt file
     }
 
     /**
@@ -778,12 +2011,461 @@ public class TaskManager {
      */
 
     public static void deleteAllTasksOnDate (TaskManager taskManager, LocalDate specifiedDate) {
-        List<Task> dayTasks = tasks.get(specifiedDate);
-        if (dayTasks != null) {
-            int numOfTasks = dayTasks.size();
-            for (int i = numOfTasks; i >= 0; i--) {
-                taskManager.deleteTask(specifiedDate, i - 1, true);
+        taskManager.loadArchivedMonths(specifiedDate);
+        long stamp = taskManager.lockForWriting();
+        try {
+            List<Task> dayTasks = taskManager.tasks.get(specifiedDate);
+            if (dayTasks != null) {
+                int numOfTasks = dayTasks.size();
+                for (int i = numOfTasks; i >= 0; i--) {
+                    taskManager.deleteTask(specifiedDate, i - 1, true);
+                }
+            }
+        } finally {
+            taskManager.unlockForWriting(stamp);
+        }
+    }
+
+    /**
+     * Deletes every task between two dates, inclusive, that matches the given filter.
+     * The tasks are saved once after all matching tasks have been deleted.
+     *
+     * @param startDate The first date to delete tasks from.
+     * @param endDate The last date to delete tasks from.
+     * @param filter The condition a task must meet to be deleted.
+     * @return The number of tasks deleted.
+     */
+    public int deleteTasksInRange(LocalDate startDate, LocalDate endDate, Predicate<Task> filter) {
+        long stamp = lockForWriting();
+        try {
+            int deletedCount = 0;
+            for (LocalDate date : getDatesWithTasksInRange(startDate, endDate)) {
+                List<Task> keptTasks = new ArrayList<>();
+                List<TaskOperation> operations = new ArrayList<>();
+                for (Task task : tasks.get(date)) {
+                    if (filter.test(task)) {
+                        statistics.recordTaskRemoved(date, task);
+                        operations.add(TaskOperation.removed(date, keptTasks.size(), task));
+                    } else {
+                        keptTasks.add(task);
+                    }
+                }
+                replaceDayTasks(date, keptTasks, operations);
+                deletedCount += operations.size();
+            }
+            logger.log(Level.INFO, "Deleted " + deletedCount + " tasks from " + startDate + " to " + endDate);
+            if (deletedCount > 0) {
+                saveTasks();
+            }
+            return deletedCount;
+        } finally {
+            unlockForWriting(stamp);
+        }
+    }
+
+    /**
+     * Installs the tasks of a date after a change to many of its tasks in one step, instead of changing the date's
+     * tasks one at a time, and records the operations that make up the change.
+     * The calling thread must hold the write lock.
+     *
+     * @param date The date changed.
+     * @param dayTasks The tasks the date should have.
+     * @param operations The operations that turn the date's current tasks into the given tasks, in order.
+     */
+    private void replaceDayTasks(LocalDate date, List<Task> dayTasks, List<TaskOperation> operations) {
+        if (operations.isEmpty()) {
+            return;
+        }
+        recordBeforeImage(date);
+        if (dayTasks.isEmpty()) {
+            tasks.remove(date);
+        } else {
+            tasks.put(date, new CopyOnWriteArrayList<>(dayTasks));
+        }
+        for (TaskOperation operation : operations) {
+            recordOperation(operation);
+        }
+    }
+
+    /**
+     * Marks every task between two dates, inclusive, that matches the given filter as completed or not completed.
+     * The tasks are saved once after all matching tasks have been updated.
+     *
+     * @param startDate The first date to update tasks on.
+     * @param endDate The last date to update tasks on.
+     * @param filter The condition a task must meet to be updated.
+     * @param isCompleted Whether the tasks should be marked as completed.
+     * @return The number of tasks whose completeness changed.
+     */
+    public int setCompletenessOfTasksInRange(LocalDate startDate, LocalDate endDate, Predicate<Task> filter,
+            boolean isCompleted) {
+        long stamp = lockForWriting();
+        try {
+            int updatedCount = 0;
+            for (LocalDate date : getDatesWithTasksInRange(startDate, endDate)) {
+                List<Task> updatedTasks = new ArrayList<>(tasks.get(date));
+                List<TaskOperation> operations = new ArrayList<>();
+                for (int taskIndex = 0; taskIndex < updatedTasks.size(); taskIndex++) {
+                    Task task = updatedTasks.get(taskIndex);
+                    if (task.isCompleted() != isCompleted && filter.test(task)) {
+                        Task updatedTask = task.copy();
+                        updatedTask.setCompleteness(isCompleted);
+                        updatedTasks.set(taskIndex, updatedTask);
+                        statistics.recordTaskRemoved(date, task);
+                        statistics.recordTaskAdded(date, updatedTask);
+                        operations.add(TaskOperation.replaced(date, taskIndex, task, updatedTask));
+                    }
+                }
+                replaceDayTasks(date, updatedTasks, operations);
+                updatedCount += operations.size();
+            }
+            logger.log(Level.INFO, "Set completeness of " + updatedCount + " tasks from " + startDate + " to "
+                    + endDate);
+            if (updatedCount > 0) {
+                saveTasks();
+            }
+            return updatedCount;
+        } finally {
+            unlockForWriting(stamp);
+        }
+    }
+
+    /**
+     * Sets the priority level of every task between two dates, inclusive, that matches the given filter.
+     * The tasks are saved once after all matching tasks have been updated.
+     *
+     * @param startDate The first date to update tasks on.
+     * @param endDate The last date to update tasks on.
+     * @param filter The condition a task must meet to be updated.
+     * @param priorityLevel The priority level to set the tasks to.
+     * @return The number of tasks whose priority level changed.
+     */
+    public int setPriorityLevelOfTasksInRange(LocalDate startDate, LocalDate endDate, Predicate<Task> filter,
+            TaskPriorityLevel priorityLevel) {
+        long stamp = lockForWriting();
+        try {
+            int updatedCount = 0;
+            for (LocalDate date : getDatesWithTasksInRange(startDate, endDate)) {
+                List<Task> updatedTasks = new ArrayList<>(tasks.get(date));
+                List<TaskOperation> operations = new ArrayList<>();
+                for (int taskIndex = 0; taskIndex < updatedTasks.size(); taskIndex++) {
+                    Task task = updatedTasks.get(taskIndex);
+                    if (task.getPriorityLevel() != priorityLevel && filter.test(task)) {
+                        Task updatedTask = task.copy();
+                        updatedTask.setPriorityLevel(priorityLevel);
+                        updatedTasks.set(taskIndex, updatedTask);
+                        statistics.recordTaskRemoved(date, task);
+                        statistics.recordTaskAdded(date, updatedTask);
+                        operations.add(TaskOperation.replaced(date, taskIndex, task, updatedTask));
+                    }
+                }
+                replaceDayTasks(date, updatedTasks, operations);
+                updatedCount += operations.size();
+            }
+            logger.log(Level.INFO, "Set priority level of " + updatedCount + " tasks from " + startDate + " to "
+                    + endDate);
+            if (updatedCount > 0) {
+                saveTasks();
+            }
+            return updatedCount;
+        } finally {
+            unlockForWriting(stamp);
+        }
+    }
+
+    /**
+     * Adds a task on a date with all of its details given at once, for callers that cannot be asked
+     * for more details, such as the HTTP API. The tasks are saved afterwards.
+     *
+     * @param date The date to add the task on.
+     * @param taskType The type of the task.
+     * @param taskDescription The description of the task.
+     * @param dateTimes The deadline of a Deadline, or the start and end of an Event, in the format dd/MM/yyyy HHmm.
+     * @return The task added.
+     * @throws TaskManagerException If the description cannot be saved, or the dates and times are missing or not in
+     *     the expected format.
+     */
+    public Task addTaskOnDate(LocalDate date, TaskType taskType, String taskDescription, List<String> dateTimes)
+            throws TaskManagerException {
+        long stamp = lockForWriting();
+        boolean isChangeBegun = false;
+        try {
+            beginChangeOutsideCommand("add on " + date);
+            isChangeBegun = true;
+            checkIfDescriptionIsSavable(taskDescription);
+            if (taskType != TODO && dateTimes.isEmpty()) {
+                throw new TaskManagerException("A deadline needs its date and time, and an event needs its start "
+                        + "and end, in the format dd/MM/yyyy HHmm.");
+            }
+            checkIfDateTimeCountIsValid(taskType, dateTimes.size());
+            String[] dates = new String[Math.max(1, dateTimes.size())];
+            String[] times = new String[Math.max(1, dateTimes.size())];
+            for (int i = 0; i < dateTimes.size(); i++) {
+                checkIfDateTimeInFormat(dateTimes.get(i));
+                String[] dateAndTime = dateTimes.get(i).split(" ");
+                dates[i] = dateAndTime[0];
+                times[i] = dateAndTime[1];
+            }
+            addTask(date, taskDescription, taskType, dates, times);
+            saveTasks();
+            List<Task> dayTasks = tasks.get(date);
+            return dayTasks.get(dayTasks.size() - 1);
+        } finally {
+            endChangeOutsideCommand(isChangeBegun);
+            unlockForWriting(stamp);
+        }
+    }
+
+    /**
+     * Updates the description of a task on a date, along with its dates and times if any are given.
+     * The dates and times are kept if none are given. The tasks are saved afterwards.
+     *
+     * @param date The date of the task.
+     * @param taskNumber The one-based number of the task on that date.
+     * @param newDescription The new description of the task.
+     * @param dateTimes The new dates and times of the task, in the format dd/MM/yyyy HHmm, or an empty list.
+     * @return The task as it is after the update.
+     * @throws TaskManagerException If the description cannot be saved, the task does not exist or the dates and
+     *     times do not suit it.
+     */
+    public Task updateTaskOnDate(LocalDate date, int taskNumber, String newDescription, List<String> dateTimes)
+            throws TaskManagerException {
+        long stamp = lockForWriting();
+        boolean isChangeBegun = false;
+        try {
+            beginChangeOutsideCommand("update on " + date);
+            isChangeBegun = true;
+            checkIfDescriptionIsSavable(newDescription);
+            checkIfTaskExistsInCurrentDate(getTasksForDate(date), taskNumber);
+            Task task = getTasksForDate(date).get(taskNumber - 1);
+            checkIfDateTimeCountIsValid(parseTaskType(task.getTaskType()), dateTimes.size());
+            for (String dateTime : dateTimes) {
+                checkIfDateTimeInFormat(dateTime);
+            }
+            updateTask(date, taskNumber - 1, newDescription, dateTimes, null);
+            saveTasks();
+            return tasks.get(date).get(taskNumber - 1);
+        } finally {
+            endChangeOutsideCommand(isChangeBegun);
+            unlockForWriting(stamp);
+        }
+    }
+
+    /**
+     * Deletes a task on a date. The tasks are saved afterwards.
+     *
+     * @param date The date of the task.
+     * @param taskNumber The one-based number of the task on that date.
+     * @throws TaskManagerException If the task does not exist.
+     */
+    public void deleteTaskOnDate(LocalDate date, int taskNumber) throws TaskManagerException {
+        long stamp = lockForWriting();
+        boolean isChangeBegun = false;
+        try {
+            beginChangeOutsideCommand("delete on " + date);
+            isChangeBegun = true;
+            checkIfTaskExistsInCurrentDate(getTasksForDate(date), taskNumber);
+            deleteTask(date, taskNumber - 1, true);
+            saveTasks();
+        } finally {
+            endChangeOutsideCommand(isChangeBegun);
+            unlockForWriting(stamp);
+        }
+    }
+
+    /**
+     * Marks a task on a date as completed or not completed. The tasks are saved afterwards.
+     *
+     * @param date The date of the task.
+     * @param taskNumber The one-based number of the task on that date.
+     * @param isCompleted Whether the task is completed.
+     * @return The task as it is after the change.
+     * @throws TaskManagerException If the task does not exist.
+     */
+    public Task setCompletenessOfTaskOnDate(LocalDate date, int taskNumber, boolean isCompleted)
+            throws TaskManagerException {
+        long stamp = lockForWriting();
+        boolean isChangeBegun = false;
+        try {
+            beginChangeOutsideCommand("mark on " + date);
+            isChangeBegun = true;
+            checkIfTaskExistsInCurrentDate(getTasksForDate(date), taskNumber);
+            updateCompletenessOfTask(date, taskNumber - 1, isCompleted);
+            saveTasks();
+            return tasks.get(date).get(taskNumber - 1);
+        } finally {
+            endChangeOutsideCommand(isChangeBegun);
+            unlockForWriting(stamp);
+        }
+    }
+
+    /**
+     * Sets the priority level of a task on a date. The tasks are saved afterwards.
+     *
+     * @param date The date of the task.
+     * @param taskNumber The one-based number of the task on that date.
+     * @param priorityLevel The priority level to set the task to.
+     * @return The task as it is after the change.
+     * @throws TaskManagerException If the task does not exist.
+     */
+    public Task setPriorityLevelOfTaskOnDate(LocalDate date, int taskNumber, TaskPriorityLevel priorityLevel)
+            throws TaskManagerException {
+        long stamp = lockForWriting();
+        boolean isChangeBegun = false;
+        try {
+            beginChangeOutsideCommand("priority on " + date);
+            isChangeBegun = true;
+            checkIfTaskExistsInCurrentDate(getTasksForDate(date), taskNumber);
+            updatePriorityLevelOfTask(date, taskNumber - 1, priorityLevel);
+            saveTasks();
+            return tasks.get(date).get(taskNumber - 1);
+        } finally {
+            endChangeOutsideCommand(isChangeBegun);
+            unlockForWriting(stamp);
+        }
+    }
+
+    /**
+     * Returns the dates between two dates, inclusive, that have tasks.
+     * As the tasks are kept sorted by date, only the dates with tasks within the range are gone through.
+     *
+     * @param startDate The first date of the range.
+     * @param endDate The last date of the range.
+     * @return The dates in the range that have tasks.
+     */
+    List<LocalDate> getDatesWithTasksInRange(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return new ArrayList<>();
+        }
+        loadArchivedMonths(startDate, endDate);
+        return new ArrayList<>(tasks.subMap(startDate, true, endDate, true).keySet());
+    }
+
+    /**
+     * Hands every task between two dates, inclusive, to the given action in date order, without copying the tasks
+     * or the dates first, so that walking years of tasks takes little memory.
+     * The tasks are not locked while they are walked: each date's tasks are seen as they were when it was reached,
+     * and changes made to dates not yet reached are seen as well. Archived months not loaded yet are read from
+     * their archives as they are reached, without being kept loaded.
+     *
+     * @param startDate The first date to walk.
+     * @param endDate The last date to walk.
+     * @param action The action to hand each date and task to.
+     */
+    public void forEachTaskInRange(LocalDate startDate, LocalDate endDate, BiConsumer<LocalDate, Task> action) {
+        if (endDate.isBefore(startDate)) {
+            return;
+        }
+        LocalDate nextDate = startDate;
+        for (YearMonth month : new ArrayList<>(unloadedMonths
+                .subMap(YearMonth.from(startDate), true, YearMonth.from(endDate), true).keySet())) {
+            LocalDate monthStart = month.atDay(1).isBefore(startDate) ? startDate : month.atDay(1);
+            LocalDate monthEnd = month.atEndOfMonth().isAfter(endDate) ? endDate : month.atEndOfMonth();
+            forEachLoadedTaskInRange(nextDate, monthStart.minusDays(1), action);
+            forEachTaskInArchivedMonth(month, monthStart, monthEnd, action);
+            nextDate = monthEnd.plusDays(1);
+        }
+        forEachLoadedTaskInRange(nextDate, endDate, action);
+    }
+
+    private void forEachLoadedTaskInRange(LocalDate startDate, LocalDate endDate,
+            BiConsumer<LocalDate, Task> action) {
+        if (endDate.isBefore(startDate)) {
+            return;
+        }
+        for (Map.Entry<LocalDate, List<Task>> entry : tasks.subMap(startDate, true, endDate, true).entrySet()) {
+            for (Task task : entry.getValue()) {
+                action.accept(entry.getKey(), task);
+            }
+        }
+    }
+
+    /**
+     * Hands the tasks of an archived month between two dates to the given action, reading them from its archive
+     * without loading the month. Tasks added to the month while its archive could not be read come first on their
+     * date, as they do once the month is loaded. If the month is loaded in the meantime, its loaded tasks are
+     * walked instead.
+     */
+    private void forEachTaskInArchivedMonth(YearMonth month, LocalDate startDate, LocalDate endDate,
+            BiConsumer<LocalDate, Task> action) {
+        Map<LocalDate, List<Task>> archivedTasks;
+        try {
+            archivedTasks = Storage.readArchivedMonth(saveFilePath, month);
+        } catch (IOException | StorageFileException e) {
+            logger.log(Level.WARNING, "The archive of " + month + " could not be read: " + e.getMessage());
+            archivedTasks = Collections.emptyMap();
+        }
+        SortedMap<LocalDate, List<Task>> loadedTasks = readOptimistically(() -> unloadedMonths.containsKey(month)
+                ? new TreeMap<>(tasks.subMap(startDate, true, endDate, true)) : null);
+        if (loadedTasks == null) {
+            forEachLoadedTaskInRange(startDate, endDate, action);
+            return;
+        }
+        Set<LocalDate> dates = new TreeSet<>(loadedTasks.keySet());
+        for (LocalDate date : archivedTasks.keySet()) {
+            if (!date.isBefore(startDate) && !date.isAfter(endDate)) {
+                dates.add(date);
+            }
+        }
+        for (LocalDate date : dates) {
+            for (Task task : loadedTasks.getOrDefault(date, Collections.emptyList())) {
+                action.accept(date, task);
+            }
+            for (Task task : archivedTasks.getOrDefault(date, Collections.emptyList())) {
+                action.accept(date, task);
+            }
+        }
+    }
+
+    /**
+     * Returns every month with tasks, including the archived months not loaded yet, without loading them.
+     *
+     * @return The months with tasks, in month order.
+     */
+    public SortedSet<YearMonth> getMonthsWithTasks() {
+        return readOptimistically(() -> {
+            SortedSet<YearMonth> months = new TreeSet<>();
+            for (Map.Entry<YearMonth, Integer> entry : countTasksByMonth().entrySet()) {
+                if (entry.getValue() > 0) {
+                    months.add(entry.getKey());
+                }
+            }
+            return months;
+        });
+    }
+
+    /**
+     * Adds a task of another calendar to this one only to show it, without checking the task limit, recording it
+     * for undo or saving it. Used to build the read-only overlay of several calendars.
+     *
+     * @param date The date of the task.
+     * @param task The task to show.
+     */
+    void addTaskForDisplay(LocalDate date, Task task) {
+        long stamp = lockForWriting();
+        try {
+            getOrCreateDayTasks(date).add(task);
+            statistics.recordTaskAdded(date, task);
+        } finally {
+            unlockForWriting(stamp);
+        }
+    }
+
+    /**
+     * Removes every task added by addTaskForDisplay, so that the overlay can show another range of dates without
+     * making a new calendar.
+     */
+    void clearTasksForDisplay() {
+        long stamp = lockForWriting();
+        try {
+            for (Map.Entry<LocalDate, List<Task>> entry : tasks.entrySet()) {
+                for (Task task : entry.getValue()) {
+                    statistics.recordTaskRemoved(entry.getKey(), task);
+                }
             }
+            tasks.clear();
+        } finally {
+            unlockForWriting(stamp);
         }
     }
 
@@ -793,8 +2475,9 @@ public class TaskManager {
      * @param date The date to retrieve Event tasks for.
      * @return A list of Event tasks for the given date.
      */
-    public static List<Task> getEventsForDate(LocalDate date) {
+    public List<Task> getEventsForDate(LocalDate date) {
         List<Task> events = new ArrayList<>();
+        loadArchivedMonths(date);
         List<Task> taskList = tasks.get(date);
         if (taskList != null) {
             for (Task task : taskList) {
@@ -807,61 +2490,14 @@ public class TaskManager {
     }
 
     /**
-     * Retrieves all free time slots for a specific date.
+     * Retrieves all free time slots for a specific date. Overlapping events are joined into one busy time.
      *
      * @param events A list of Event tasks for the date.
      * @param currentDate The date to show free times for.
      * @return A list of free time slots for the given date.
      */
     public List<String> getFreeTimeSlots(List<Task> events, LocalDate currentDate) {
-        List<String> freeTimeSlots = new ArrayList<>();
-        LocalTime startOfDay = LocalTime.of(0, 0);
-        LocalTime endOfDay = LocalTime.of(23, 59);
-
-        // Sort events by start time and date
-        events.sort((e1, e2) -> {
-            if (e1.getStartDate().equals(e2.getStartDate())) {
-                return LocalTime.parse(e1.getStartTime(), DateTimeFormatter.ofPattern("HHmm"))
-                        .compareTo(LocalTime.parse(e2.getStartTime(), DateTimeFormatter.ofPattern("HHmm")));
-            } else {
-                return e1.getStartDate().compareTo(e2.getStartDate());
-            }
-        });
-
-        // Initialize the last end time to the start of the day for the first day
-        // Initialize the last end time to the start of the day for the first day
-        LocalTime lastEndTime = startOfDay;
-
-        for (Task event : events) {
-            // Parse the start and end dates and times of the event as LocalDate and LocalTime
-            LocalDate eventStartDate = LocalDate.parse(event.getStartDate(), DateTimeFormatter.ofPattern("dd/MM/yyyy"));
-            LocalDate eventEndDate = LocalDate.parse(event.getEndDate(), DateTimeFormatter.ofPattern("dd/MM/yyyy"));
-            LocalTime eventStartTime = LocalTime.parse(event.getStartTime(), DateTimeFormatter.ofPattern("HHmm"));
-            LocalTime eventEndTime = LocalTime.parse(event.getEndTime(), DateTimeFormatter.ofPattern("HHmm"));
-
-            // Only process events that start on the current date
-            if (eventStartDate.isEqual(currentDate)) {
-                // If the event ends on a different day, adjust the end time to the end of the current day
-                if (!eventEndDate.isEqual(currentDate)) {
-                    eventEndTime = endOfDay;
-                }
-
-                // Add free time slot before the event
-                if (Duration.between(lastEndTime, eventStartTime).toMinutes() > 0) {
-                    freeTimeSlots.add(lastEndTime.toString() + " - " + eventStartTime.toString());
-                }
-
-                // Update the last end time
-                lastEndTime = eventEndTime;
-            }
-        }
-
-        // Add remaining time of the day to free slots only if lastEndTime is not endOfDay
-        if (!lastEndTime.equals(endOfDay) && Duration.between(lastEndTime, endOfDay).toMinutes() > 0) {
-            freeTimeSlots.add(lastEndTime.toString() + " - " + endOfDay.toString());
-        }
-
-        return freeTimeSlots;
+        return BusyTime.toFreeTimeSlots(BusyTime.merge(List.of(BusyTime.fromEvents(events, currentDate))));
     }
 
     /**
@@ -0,0 +1,117 @@
+package data;
+
+import java.time.LocalDate;
+
+/**
+ * The TaskOperation class records a single change to the tasks of one date: a task added at an index,
+ * a task removed from an index, or the task at an index replaced by another.
+ * The task before and after the change are kept as copies, so an operation can be applied again
+ * or reversed at any time without depending on the tasks currently in memory.
+ * As every operation only refers to a date and an index, a list of operations can also be written out
+ * and replayed later, such as by a storage journal.
+ */
+public class TaskOperation {
+    private final LocalDate date;
+    private final int taskIndex;
+    private final Task taskBefore;
+    private final Task taskAfter;
+
+    private TaskOperation(LocalDate date, int taskIndex, Task taskBefore, Task taskAfter) {
+        assert taskBefore != null || taskAfter != null : "An operation must have a task before or after it";
+        this.date = date;
+        this.taskIndex = taskIndex;
+        this.taskBefore = taskBefore;
+        this.taskAfter = taskAfter;
+    }
+
+    /**
+     * Creates an operation that adds a task.
+     *
+     * @param date The date the task is added to.
+     * @param taskIndex The index the task is added at.
+     * @param task The task added.
+     * @return The operation.
+     */
+    public static TaskOperation added(LocalDate date, int taskIndex, Task task) {
+        return new TaskOperation(date, taskIndex, null, task.copy());
+    }
+
+    /**
+     * Creates an operation that removes a task.
+     *
+     * @param date The date the task is removed from.
+     * @param taskIndex The index the task is removed from.
+     * @param task The task removed.
+     * @return The operation.
+     */
+    public static TaskOperation removed(LocalDate date, int taskIndex, Task task) {
+        return new TaskOperation(date, taskIndex, task.copy(), null);
+    }
+
+    /**
+     * Creates an operation that replaces a task, such as by changing its description, completeness
+     * or priority level.
+     *
+     * @param date The date of the task.
+     * @param taskIndex The index of the task.
+     * @param taskBefore The task before the change.
+     * @param taskAfter The task after the change.
+     * @return The operation.
+     */
+    public static TaskOperation replaced(LocalDate date, int taskIndex, Task taskBefore, Task taskAfter) {
+        return new TaskOperation(date, taskIndex, taskBefore.copy(), taskAfter.copy());
+    }
+
+    /**
+     * Returns the operation that undoes this operation.
+     *
+     * @return The inverse operation.
+     */
+    public TaskOperation inverse() {
+        return new TaskOperation(date, taskIndex, taskAfter, taskBefore);
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public int getTaskIndex() {
+        return taskIndex;
+    }
+
+    /**
+     * Returns a copy of the task before the operation.
+     *
+     * @return The task before the operation, or null if the operation adds a task.
+     */
+    public Task getTaskBefore() {
+        return taskBefore == null ? null : taskBefore.copy();
+    }
+
+    /**
+     * Returns a copy of the task after the operation.
+     *
+     * @return The task after the operation, or null if the operation removes a task.
+     */
+    public Task getTaskAfter() {
+        return taskAfter == null ? null : taskAfter.copy();
+    }
+
+    /**
+     * Checks if the operation removes a task without putting another in its place.
+     *
+     * @return True if the operation removes a task, false otherwise.
+     */
+    public boolean isRemoval() {
+        return taskAfter == null;
+    }
+
+    /**
+     * Checks if the operation adds a task without replacing another.
+     *
+     * @return True if the operation adds a task, false otherwise.
+     */
+    public boolean isAddition() {
+        return taskBefore == null;
+    }
+}
@@ -0,0 +1,160 @@
+package data;
+
+import time.DateUtils;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The TaskStatistics class keeps running task counts per day, per week and per month.
+ * The counts are updated by TaskManager whenever a task is added, removed or changed,
+ * so views and the stats command can read them directly instead of walking the task lists.
+ * Weeks are keyed by their starting Sunday, matching the week view.
+ * The counts are only changed under TaskManager's write lock, but may be read from other threads at the same time.
+ */
+public class TaskStatistics {
+    private static final TaskCounts NO_TASKS = new TaskCounts();
+    private static final int NUMBER_OF_DAYS_IN_WEEK = 7;
+    private static final int NUMBER_OF_MONTHS_IN_YEAR = 12;
+
+    private final Map<LocalDate, TaskCounts> dayCounts = new ConcurrentHashMap<>();
+    private final Map<LocalDate, TaskCounts> weekCounts = new ConcurrentHashMap<>();
+    private final Map<YearMonth, TaskCounts> monthCounts = new ConcurrentHashMap<>();
+    private volatile int totalTaskCount;
+
+    /**
+     * Records that a task has been added on the given date.
+     *
+     * @param date The date the task was added to.
+     * @param task The task that was added.
+     */
+    public void recordTaskAdded(LocalDate date, Task task) {
+        dayCounts.computeIfAbsent(date, key -> new TaskCounts()).add(task);
+        weekCounts.computeIfAbsent(DateUtils.getStartOfWeek(date), key -> new TaskCounts()).add(task);
+        monthCounts.computeIfAbsent(YearMonth.from(date), key -> new TaskCounts()).add(task);
+        totalTaskCount++;
+    }
+
+    /**
+     * Records that a task has been removed from the given date.
+     * Entries that drop to zero are removed so that the maps only hold periods with tasks.
+     * The task must still be in the state it was counted in.
+     *
+     * @param date The date the task was removed from.
+     * @param task The task that was removed.
+     */
+    public void recordTaskRemoved(LocalDate date, Task task) {
+        removeFrom(dayCounts, date, task);
+        removeFrom(weekCounts, DateUtils.getStartOfWeek(date), task);
+        removeFrom(monthCounts, YearMonth.from(date), task);
+        totalTaskCount--;
+    }
+
+    private static <K> void removeFrom(Map<K, TaskCounts> countsByPeriod, K period, Task task) {
+        TaskCounts counts = countsByPeriod.get(period);
+        if (counts == null) {
+            return;
+        }
+        counts.remove(task);
+        if (counts.isEmpty()) {
+            countsByPeriod.remove(period);
+        }
+    }
+
+    /**
+     * Returns the number of tasks on all dates.
+     *
+     * @return The total number of tasks.
+     */
+    public int getTotalTaskCount() {
+        return totalTaskCount;
+    }
+
+    /**
+     * Returns the task counts for the given date.
+     *
+     * @param date The date to get the counts for.
+     * @return The counts for the date.
+     */
+    public TaskCounts getCountsForDay(LocalDate date) {
+        return dayCounts.getOrDefault(date, NO_TASKS);
+    }
+
+    /**
+     * Returns the task counts for the seven days starting from the given date.
+     * Weeks starting on a Sunday are read directly; other starting days are summed from the day counts.
+     *
+     * @param startOfWeek The first day of the week.
+     * @return The counts for the week.
+     */
+    public TaskCounts getCountsForWeek(LocalDate startOfWeek) {
+        if (startOfWeek.equals(DateUtils.getStartOfWeek(startOfWeek))) {
+            return weekCounts.getOrDefault(startOfWeek, NO_TASKS);
+        }
+        TaskCounts counts = new TaskCounts();
+        for (int i = 0; i < NUMBER_OF_DAYS_IN_WEEK; i++) {
+            counts.addAll(getCountsForDay(startOfWeek.plusDays(i)));
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the task counts for the given month.
+     *
+     * @param yearMonth The month to get the counts for.
+     * @return The counts for the month.
+     */
+    public TaskCounts getCountsForMonth(YearMonth yearMonth) {
+        return monthCounts.getOrDefault(yearMonth, NO_TASKS);
+    }
+
+    /**
+     * Returns the task counts for the given year, summed from the twelve month counts.
+     *
+     * @param year The year to get the counts for.
+     * @return The counts for the year.
+     */
+    public TaskCounts getCountsForYear(int year) {
+        TaskCounts counts = new TaskCounts();
+        for (int month = 1; month <= NUMBER_OF_MONTHS_IN_YEAR; month++) {
+            counts.addAll(getCountsForMonth(YearMonth.of(year, month)));
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the number of tasks on the given date.
+     *
+     * @param date The date to get the task count for.
+     * @return The number of tasks on the date.
+     */
+    public int getTaskCountForDay(LocalDate date) {
+        return getCountsForDay(date).getTotal();
+    }
+
+    /**
+     * Returns the number of tasks in the given month.
+     *
+     * @param yearMonth The month to get the task count for.
+     * @return The number of tasks in the month.
+     */
+    public int getTaskCountForMonth(YearMonth yearMonth) {
+        return getCountsForMonth(yearMonth).getTotal();
+    }
+
+    /**
+     * Returns the largest number of tasks on any single day of the seven days starting from the given date.
+     *
+     * @param startOfWeek The first day of the week.
+     * @return The number of tasks on the busiest day of the week.
+     */
+    public int getMaxTaskCountForDayInWeek(LocalDate startOfWeek) {
+        int maxTasks = 0;
+        for (int i = 0; i < NUMBER_OF_DAYS_IN_WEEK; i++) {
+            maxTasks = Math.max(maxTasks, getTaskCountForDay(startOfWeek.plusDays(i)));
+        }
+        return maxTasks;
+    }
+}
@@ -13,6 +13,17 @@ public class Todo extends Task {
         super(name);
     }
 
+    /**
+     * Returns a copy of this Todo task with the same details and statuses.
+     * Overrides the function of superclass Task.
+     *
+     * @return A new Todo task equal to this one.
+     */
+    @Override
+    public Task copy() {
+        return copyStatusesTo(new Todo(name));
+    }
+
     /**
      * Returns the task type of the specified task.
      * Override function of superclass Task.
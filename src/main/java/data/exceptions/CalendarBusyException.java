@@ -0,0 +1,19 @@
+package data.exceptions;
+
+/**
+ * Represents an exception that occurs when a change is made from outside the calendar's own commands, such as
+ * through the API server, while a command or a transaction is still changing the tasks.
+ * Inherits from TaskManagerException class.
+ */
+public class CalendarBusyException extends TaskManagerException {
+
+    public static final String CALENDAR_BUSY_MESSAGE =
+            "The calendar is being changed by a command or a transaction. Please try again once it is done.";
+
+    /**
+     * Constructor for CalendarBusyException class.
+     */
+    public CalendarBusyException() {
+        super(CALENDAR_BUSY_MESSAGE);
+    }
+}
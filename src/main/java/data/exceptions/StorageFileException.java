@@ -8,15 +8,15 @@ public class StorageFileException extends Exception{
 
     public static final String INVALID_STORAGE_TEXT_DATE_FORMAT_MESSAGE =
             "Invalid date format in tasks.txt file. Please use the format yyyy-MM-dd for dates.";
+    private static final DateTimeFormatter STORAGE_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     public StorageFileException(String errorMessage) {
         super(errorMessage);
     }
 
     public static void checkStorageTextDateFormat(String date) throws StorageFileException {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
         try {
-            LocalDate.parse(date, formatter);
+            LocalDate.parse(date, STORAGE_DATE_FORMATTER);
         } catch (DateTimeParseException e) {
             throw new StorageFileException(INVALID_STORAGE_TEXT_DATE_FORMAT_MESSAGE);
         }
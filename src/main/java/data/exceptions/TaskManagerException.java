@@ -1,12 +1,14 @@
 package data.exceptions;
 
 import data.Task;
+import data.TaskType;
 import time.WeekView;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.regex.Pattern;
 
 public class TaskManagerException extends Exception {
 
@@ -20,6 +22,13 @@ public class TaskManagerException extends Exception {
             "Invalid time format. Please enter a valid time in the format: HH:mm";
     public static final String NO_TASKS_MESSAGE =
             "There are no tasks on this date. Please try again.";
+    public static final String INVALID_DESCRIPTION_MESSAGE =
+            "Task descriptions cannot contain '|' or line breaks. Please try again.";
+
+    private static final Pattern DATE_TIME_PATTERN = Pattern.compile("\\d{2}/\\d{2}/\\d{4} \\d{4}");
+    private static final Pattern DATE_PATTERN = Pattern.compile("\\d{2}/\\d{2}/\\d{4}");
+    private static final Pattern TIME_PATTERN = Pattern.compile("(0[0-9]|1[0-9]|2[0-3])[0-5][0-9]");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
 
     /**
@@ -34,15 +43,46 @@ public class TaskManagerException extends Exception {
 
     public static void checkIfDateTimeInFormat(String dateTime) throws TaskManagerException {
         // Validate start date and time format
-        if (!dateTime.matches("\\d{2}/\\d{2}/\\d{4} \\d{4}")) {
+        if (!DATE_TIME_PATTERN.matcher(dateTime).matches()) {
             throw new TaskManagerException("Invalid start date and time format. " +
                     "Please use the format dd/MM/yyyy HHmm");
         }
     }
 
+    /**
+     * Checks that the number of dates and times given along with a command suits the type of task.
+     * A Todo takes none, a Deadline takes its deadline and an Event takes its start and its end.
+     * Giving none is always allowed, as the dates and times are then asked for instead.
+     *
+     * @param taskType The type of the task.
+     * @param dateTimeCount The number of dates and times given.
+     * @throws TaskManagerException If the number of dates and times does not suit the type of task.
+     */
+    public static void checkIfDateTimeCountIsValid(TaskType taskType, int dateTimeCount)
+            throws TaskManagerException {
+        if (dateTimeCount == 0) {
+            return;
+        }
+        switch (taskType) {
+        case DEADLINE:
+            if (dateTimeCount != 1) {
+                throw new TaskManagerException("A deadline takes one date and time: <dd/MM/yyyy HHmm>");
+            }
+            break;
+        case EVENT:
+            if (dateTimeCount != 2) {
+                throw new TaskManagerException("An event takes a start and an end date and time: "
+                        + "<dd/MM/yyyy HHmm>, <dd/MM/yyyy HHmm>");
+            }
+            break;
+        default:
+            throw new TaskManagerException("A todo does not take any dates or times.");
+        }
+    }
+
     public static void checkIfDateInFormat(String date) throws TaskManagerException {
         // Validate start date format
-        if (!date.matches("\\d{2}/\\d{2}/\\d{4}")) {
+        if (!DATE_PATTERN.matcher(date).matches()) {
             throw new TaskManagerException("Invalid start date format. " +
                     "Please use the format dd/MM/yyyy");
         }
@@ -60,7 +100,7 @@ public class TaskManagerException extends Exception {
     }
 
     public static void checkIfTimeInFormat(String time) throws TaskManagerException {
-        if (!time.matches("(0[0-9]|1[0-9]|2[0-3])[0-5][0-9]")) {
+        if (!TIME_PATTERN.matcher(time).matches()) {
             throw new TaskManagerException("Invalid time format." +
                     " Please use the format HHmm");
         }
@@ -90,8 +130,7 @@ public class TaskManagerException extends Exception {
      */
     public static void checkIfValidDate(String date) throws TaskManagerException {
         try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-            LocalDate.parse(date, formatter);
+            LocalDate.parse(date, DATE_FORMATTER);
         } catch (DateTimeParseException e) {
             throw new TaskManagerException(INVALID_DATE_FORMAT_MESSAGE);
         }
@@ -130,4 +169,17 @@ public class TaskManagerException extends Exception {
         }
     }
 
+    /**
+     * Checks that a task description can be saved, as '|' separates the fields of a saved task and each saved
+     * task takes up one line.
+     *
+     * @param description The description of the task.
+     * @throws TaskManagerException if the description holds a '|' or a line break.
+     */
+    public static void checkIfDescriptionIsSavable(String description) throws TaskManagerException {
+        if (description.indexOf('|') >= 0 || description.indexOf('\n') >= 0 || description.indexOf('\r') >= 0) {
+            throw new TaskManagerException(INVALID_DESCRIPTION_MESSAGE);
+        }
+    }
+
 }
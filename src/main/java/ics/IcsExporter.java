@@ -0,0 +1,154 @@
+package ics;
+
+import data.Task;
+import data.TaskManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * The IcsExporter class exports the events and deadlines between two dates as an iCalendar stream.
+ * Events become VEVENTs and deadlines become VTODOs. Each task is written to the stream as soon as the store
+ * reaches it, without building a calendar in memory first, so exporting years of tasks takes little memory.
+ * Times are written as local times without a time zone, as the tasks have none.
+ */
+public class IcsExporter {
+    public static final String PRODUCT_ID = "-//CLI-nton//Calendar//EN";
+    static final DateTimeFormatter TASK_DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    static final DateTimeFormatter TASK_TIME_FORMATTER = DateTimeFormatter.ofPattern("HHmm");
+    static final DateTimeFormatter ICS_DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UID_DATE_FORMATTER = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final IcsWriter icsWriter;
+    private final String timestamp;
+    private LocalDate currentDate;
+    private int taskIndexOnDate;
+    private int exportedCount;
+
+    private IcsExporter(IcsWriter icsWriter) {
+        this.icsWriter = icsWriter;
+        this.timestamp = ICS_DATE_TIME_FORMATTER.format(Instant.now().atOffset(ZoneOffset.UTC)) + "Z";
+    }
+
+    /**
+     * Writes the events and deadlines between two dates, inclusive, to a stream as an iCalendar.
+     * The stream is flushed but not closed.
+     *
+     * @param taskManager The calendar to export.
+     * @param startDate The first date to export.
+     * @param endDate The last date to export.
+     * @param outputStream The stream to write to.
+     * @return The number of events and deadlines exported.
+     * @throws IOException If the stream cannot be written to.
+     */
+    public static int export(TaskManager taskManager, LocalDate startDate, LocalDate endDate,
+            OutputStream outputStream) throws IOException {
+        IcsWriter icsWriter = new IcsWriter(outputStream);
+        icsWriter.beginCalendar(PRODUCT_ID);
+        int exportedCount = exportComponents(taskManager, startDate, endDate, icsWriter);
+        icsWriter.endCalendar();
+        return exportedCount;
+    }
+
+    /**
+     * Writes the events and deadlines between two dates, inclusive, as components of a calendar whose start
+     * and end are written by the caller, such as one segment of a feed.
+     *
+     * @param taskManager The calendar to export.
+     * @param startDate The first date to export.
+     * @param endDate The last date to export.
+     * @param icsWriter The writer to write the components with.
+     * @return The number of events and deadlines exported.
+     * @throws IOException If the stream cannot be written to.
+     */
+    static int exportComponents(TaskManager taskManager, LocalDate startDate, LocalDate endDate,
+            IcsWriter icsWriter) throws IOException {
+        IcsExporter exporter = new IcsExporter(icsWriter);
+        try {
+            taskManager.forEachTaskInRange(startDate, endDate, exporter::exportTaskUnchecked);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return exporter.exportedCount;
+    }
+
+    private void exportTaskUnchecked(LocalDate date, Task task) {
+        try {
+            exportTask(date, task);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a task as a component of the calendar if it is an event or a deadline.
+     * The UID of the component is made of its date and its number on that date.
+     *
+     * @param date The date the task is kept under.
+     * @param task The task to write.
+     * @throws IOException If the stream cannot be written to.
+     */
+    private void exportTask(LocalDate date, Task task) throws IOException {
+        if (!date.equals(currentDate)) {
+            currentDate = date;
+            taskIndexOnDate = 0;
+        }
+        taskIndexOnDate++;
+
+        String componentName;
+        switch (task.getTaskType()) {
+        case "E":
+            componentName = "VEVENT";
+            break;
+        case "D":
+            componentName = "VTODO";
+            break;
+        default:
+            return;
+        }
+
+        icsWriter.beginComponent(componentName);
+        icsWriter.writeProperty("UID", UID_DATE_FORMATTER.format(date) + "-" + taskIndexOnDate + "@clinton");
+        icsWriter.writeProperty("DTSTAMP", timestamp);
+        if (componentName.equals("VEVENT")) {
+            icsWriter.writeProperty("DTSTART", toIcsDateTime(task.getStartDate(), task.getStartTime()));
+            icsWriter.writeProperty("DTEND", toIcsDateTime(task.getEndDate(), task.getEndTime()));
+        } else {
+            icsWriter.writeProperty("DUE", toIcsDateTime(task.getByDate(), task.getByTime()));
+            icsWriter.writeProperty("STATUS", task.isCompleted() ? "COMPLETED" : "NEEDS-ACTION");
+        }
+        icsWriter.writeTextProperty("SUMMARY", task.getName());
+        icsWriter.writeProperty("PRIORITY", toIcsPriority(task));
+        icsWriter.endComponent(componentName);
+        exportedCount++;
+    }
+
+    private static String toIcsDateTime(String taskDate, String taskTime) {
+        LocalDate date = LocalDate.parse(taskDate, TASK_DATE_FORMATTER);
+        LocalTime time = LocalTime.parse(taskTime, TASK_TIME_FORMATTER);
+        return ICS_DATE_TIME_FORMATTER.format(date.atTime(time));
+    }
+
+    /**
+     * Returns the iCalendar priority of a task, where 1 is the highest priority and 9 the lowest.
+     *
+     * @param task The task.
+     * @return The priority as written in the calendar.
+     */
+    private static String toIcsPriority(Task task) {
+        switch (task.getPriorityLevel()) {
+        case HIGH:
+            return "1";
+        case MEDIUM:
+            return "5";
+        default:
+            return "9";
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package ics;
+
+import data.ChangeFeed;
+import data.TaskManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The IcsFeed class keeps an iCalendar feed of the events and deadlines of a calendar, for calendar applications
+ * to subscribe to. The feed is made of one segment for each month with tasks, and the months changed since the
+ * feed was last rendered are found from the change feed of the calendar, so a single edit only renders its
+ * own month again. A rendered feed is kept along with an entity tag made of the sequence number of the latest
+ * change, so polls made while the tasks are unchanged are answered without rendering anything.
+ * Archived months are rendered from their archives without being loaded into the calendar.
+ */
+public class IcsFeed implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    private static final int CHANGE_QUEUE_CAPACITY = 1024;
+    private static final long CHANGE_WAIT_MILLIS = 1000;
+
+    private final TaskManager taskManager;
+    private final ChangeFeed.Subscription subscription;
+    private final Set<YearMonth> changedMonths = ConcurrentHashMap.newKeySet();
+    private final NavigableMap<YearMonth, byte[]> segments = new TreeMap<>();
+    private final String feedId = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final byte[] header;
+    private final byte[] footer;
+    private Snapshot snapshot;
+    private long renderedSequenceNumber;
+    private int renderedSegmentCount = 0;
+
+    /**
+     * Constructs an IcsFeed of the given calendar, which follows the changes made to the calendar until it is
+     * closed. Nothing is rendered until the feed is first asked for.
+     *
+     * @param taskManager The calendar to serve.
+     */
+    public IcsFeed(TaskManager taskManager) {
+        this.taskManager = taskManager;
+        this.subscription = taskManager.subscribe(change -> changedMonths.add(YearMonth.from(change.getDate())),
+                CHANGE_QUEUE_CAPACITY);
+        try {
+            ByteArrayOutputStream headerStream = new ByteArrayOutputStream();
+            IcsWriter headerWriter = new IcsWriter(headerStream);
+            headerWriter.beginCalendar(IcsExporter.PRODUCT_ID);
+            headerWriter.flush();
+            ByteArrayOutputStream footerStream = new ByteArrayOutputStream();
+            new IcsWriter(footerStream).endCalendar();
+            this.header = headerStream.toByteArray();
+            this.footer = footerStream.toByteArray();
+        } catch (IOException e) {
+            throw new AssertionError("Writing to memory cannot fail", e);
+        }
+    }
+
+    /**
+     * Returns the feed as of the latest change to the tasks, rendering again only the months changed since the
+     * feed was last asked for.
+     *
+     * @return The feed and its entity tag.
+     */
+    public synchronized Snapshot getSnapshot() {
+        long sequenceNumber = taskManager.getLastChangeSequenceNumber();
+        if (snapshot != null && sequenceNumber == renderedSequenceNumber) {
+            return snapshot;
+        }
+        try {
+            if (snapshot == null || !awaitChanges(sequenceNumber)) {
+                renderAllMonths();
+            } else {
+                renderChangedMonths();
+            }
+        } catch (IOException e) {
+            throw new AssertionError("Writing to memory cannot fail", e);
+        }
+        renderedSequenceNumber = sequenceNumber;
+        snapshot = new Snapshot("\"" + feedId + "-" + sequenceNumber + "\"", joinSegments());
+        return snapshot;
+    }
+
+    /**
+     * Waits until every change up to the given sequence number has marked its month as changed.
+     *
+     * @param sequenceNumber The sequence number of the latest change.
+     * @return True if the changes arrived in time, false if the whole feed should be rendered instead.
+     */
+    private boolean awaitChanges(long sequenceNumber) {
+        try {
+            if (subscription.awaitDelivery(sequenceNumber, CHANGE_WAIT_MILLIS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.log(Level.WARNING, "Changes did not reach the ICS feed in time, rendering the whole feed");
+        return false;
+    }
+
+    private void renderAllMonths() throws IOException {
+        changedMonths.clear();
+        segments.clear();
+        for (YearMonth month : taskManager.getMonthsWithTasks()) {
+            renderMonth(month);
+        }
+    }
+
+    private void renderChangedMonths() throws IOException {
+        List<YearMonth> months = new ArrayList<>(changedMonths);
+        changedMonths.removeAll(months);
+        for (YearMonth month : months) {
+            renderMonth(month);
+        }
+    }
+
+    private void renderMonth(YearMonth month) throws IOException {
+        ByteArrayOutputStream segmentStream = new ByteArrayOutputStream();
+        IcsWriter icsWriter = new IcsWriter(segmentStream);
+        IcsExporter.exportComponents(taskManager, month.atDay(1), month.atEndOfMonth(), icsWriter);
+        icsWriter.flush();
+        if (segmentStream.size() == 0) {
+            segments.remove(month);
+        } else {
+            segments.put(month, segmentStream.toByteArray());
+        }
+        renderedSegmentCount++;
+    }
+
+    private byte[] joinSegments() {
+        int length = header.length + footer.length;
+        for (byte[] segment : segments.values()) {
+            length += segment.length;
+        }
+        byte[] feed = new byte[length];
+        System.arraycopy(header, 0, feed, 0, header.length);
+        int offset = header.length;
+        for (byte[] segment : segments.values()) {
+            System.arraycopy(segment, 0, feed, offset, segment.length);
+            offset += segment.length;
+        }
+        System.arraycopy(footer, 0, feed, offset, footer.length);
+        return feed;
+    }
+
+    /**
+     * Returns the number of month segments rendered since the feed was made, to show how much work polls take.
+     *
+     * @return The number of segments rendered.
+     */
+    synchronized int getRenderedSegmentCount() {
+        return renderedSegmentCount;
+    }
+
+    /**
+     * Stops following the changes made to the calendar.
+     */
+    @Override
+    public void close() {
+        subscription.close();
+    }
+
+    /**
+     * The Snapshot class holds the feed as it was rendered for one version of the tasks.
+     */
+    public static class Snapshot {
+        private final String entityTag;
+        private final byte[] body;
+
+        private Snapshot(String entityTag, byte[] body) {
+            this.entityTag = entityTag;
+            this.body = body;
+        }
+
+        /**
+         * Returns the entity tag of the feed, quoted as in an HTTP ETag header. The tag changes whenever the tasks do.
+         *
+         * @return The entity tag.
+         */
+        public String getEntityTag() {
+            return entityTag;
+        }
+
+        /**
+         * Returns the feed as UTF-8. The array is shared by every request for this version and must not be changed.
+         *
+         * @return The feed.
+         */
+        public byte[] getBody() {
+            return body;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package ics;
+
+import data.Deadline;
+import data.Event;
+import data.Task;
+import data.TaskManager;
+import data.TaskPriorityLevel;
+import data.exceptions.TaskManagerException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The IcsImporter class imports the events and to-dos of an iCalendar stream, such as one exported by another
+ * calendar application. VEVENTs become events and VTODOs with a due date become deadlines.
+ * Components are read one at a time and added to the calendar in batches through TaskManager.addTasksInBulk,
+ * and the calendar is saved once at the end, so large exports import quickly and in little memory.
+ * Times in UTC or another time zone are converted to the local time zone.
+ */
+public class IcsImporter {
+    public static final int BATCH_SIZE = 1000;
+    private static final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    private static final DateTimeFormatter ICS_DATE_FORMATTER = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final String UNTITLED = "Untitled";
+
+    private final TaskManager taskManager;
+    private final ZoneId localZone;
+    private final Map<LocalDate, List<Task>> batch = new HashMap<>();
+    private int batchSize = 0;
+    private int importedCount = 0;
+    private int skippedCount = 0;
+    private int invalidCount = 0;
+
+    /**
+     * Constructs an IcsImporter adding tasks to the given calendar, with times converted to the given time zone.
+     *
+     * @param taskManager The calendar to import into.
+     * @param localZone The time zone of the tasks.
+     */
+    public IcsImporter(TaskManager taskManager, ZoneId localZone) {
+        this.taskManager = taskManager;
+        this.localZone = localZone;
+    }
+
+    /**
+     * Imports the events and to-dos of an iCalendar stream. The stream is not closed.
+     * Components that are neither events nor to-dos with a due date are skipped, and components that cannot
+     * be read are counted as invalid, without stopping the import.
+     *
+     * @param inputStream The stream to read.
+     * @throws IOException If the stream cannot be read.
+     * @throws TaskManagerException If the calendar becomes full.
+     */
+    public void importFrom(InputStream inputStream) throws IOException, TaskManagerException {
+        IcsReader icsReader = new IcsReader(inputStream);
+        taskManager.deferSaving();
+        try {
+            IcsReader.Component component;
+            while ((component = icsReader.nextComponent()) != null) {
+                importComponent(component);
+                if (batchSize >= BATCH_SIZE) {
+                    addBatch();
+                }
+            }
+            addBatch();
+        } finally {
+            taskManager.resumeSaving();
+        }
+        logger.log(Level.INFO, "Imported " + importedCount + " tasks, skipped " + skippedCount
+                + " components and found " + invalidCount + " invalid components");
+    }
+
+    private void importComponent(IcsReader.Component component) {
+        boolean isEvent = component.getName().equals("VEVENT");
+        boolean isDeadline = component.getName().equals("VTODO") && component.getValue("DUE") != null;
+        if (!isEvent && !isDeadline) {
+            skippedCount++;
+            return;
+        }
+        if (component.isMalformed()) {
+            invalidCount++;
+            return;
+        }
+        try {
+            Task task = isEvent ? toEvent(component) : toDeadline(component);
+            setPriorityLevel(task, component);
+            LocalDate date = isEvent
+                    ? LocalDate.parse(task.getStartDate(), IcsExporter.TASK_DATE_FORMATTER)
+                    : LocalDate.parse(task.getByDate(), IcsExporter.TASK_DATE_FORMATTER);
+            batch.computeIfAbsent(date, k -> new ArrayList<>()).add(task);
+            batchSize++;
+        } catch (DateTimeException | IllegalArgumentException e) {
+            logger.log(Level.FINE, "Invalid " + component.getName() + ": " + e.getMessage());
+            invalidCount++;
+        }
+    }
+
+    private void addBatch() throws TaskManagerException {
+        if (batchSize == 0) {
+            return;
+        }
+        importedCount += taskManager.addTasksInBulk(batch);
+        batch.clear();
+        batchSize = 0;
+    }
+
+    /**
+     * Converts a VEVENT to an event. An event without an end lasts for its DURATION if it has one,
+     * for the whole day if it starts on a date without a time, and has no length otherwise.
+     *
+     * @param component The VEVENT.
+     * @return The event.
+     */
+    private Task toEvent(IcsReader.Component component) {
+        LocalDateTime start = parseDateTime(component, "DTSTART");
+        boolean isAllDay = isDateOnly(component, "DTSTART");
+        LocalDateTime end;
+        if (component.getValue("DTEND") != null) {
+            end = parseDateTime(component, "DTEND");
+            if (isDateOnly(component, "DTEND")) {
+                // The end date of an all-day event is the day after it ends
+                end = end.minusMinutes(1);
+            }
+        } else if (component.getValue("DURATION") != null) {
+            end = start.plus(parseDuration(component.getValue("DURATION")));
+        } else {
+            end = isAllDay ? start.with(LocalTime.of(23, 59)) : start;
+        }
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("The event ends before it starts");
+        }
+        return new Event(getName(component), formatDate(start), formatDate(end), formatTime(start), formatTime(end));
+    }
+
+    private Task toDeadline(IcsReader.Component component) {
+        LocalDateTime due = parseDateTime(component, "DUE");
+        if (isDateOnly(component, "DUE")) {
+            due = due.with(LocalTime.of(23, 59));
+        }
+        Task deadline = new Deadline(getName(component), formatDate(due), formatTime(due));
+        deadline.setCompleteness("COMPLETED".equalsIgnoreCase(component.getValue("STATUS")));
+        return deadline;
+    }
+
+    /**
+     * Sets the priority level of a task from the iCalendar priority, where 1 to 4 is high, 5 is medium
+     * and 6 to 9 or none is low.
+     *
+     * @param task The task to set the priority level of.
+     * @param component The component the task was read from.
+     */
+    private static void setPriorityLevel(Task task, IcsReader.Component component) {
+        String priority = component.getValue("PRIORITY");
+        int level = priority == null ? 0 : Integer.parseInt(priority.trim());
+        if (level >= 1 && level <= 4) {
+            task.setPriorityLevel(TaskPriorityLevel.HIGH);
+        } else if (level == 5) {
+            task.setPriorityLevel(TaskPriorityLevel.MEDIUM);
+        } else {
+            task.setPriorityLevel(TaskPriorityLevel.LOW);
+        }
+    }
+
+    /**
+     * Returns the summary of a component as a task name. The "|" character separates the fields of the save
+     * file, so it is replaced.
+     *
+     * @param component The component.
+     * @return The task name.
+     */
+    private static String getName(IcsReader.Component component) {
+        String summary = component.getValue("SUMMARY");
+        if (summary == null || summary.isBlank()) {
+            return UNTITLED;
+        }
+        return unescapeText(summary).replace('|', '/').replace('\n', ' ').trim();
+    }
+
+    static String unescapeText(String text) {
+        StringBuilder unescaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                char next = text.charAt(++i);
+                unescaped.append(next == 'n' || next == 'N' ? '\n' : next);
+            } else {
+                unescaped.append(c);
+            }
+        }
+        return unescaped.toString();
+    }
+
+    private static boolean isDateOnly(IcsReader.Component component, String propertyName) {
+        return "DATE".equalsIgnoreCase(component.getParameter(propertyName, "VALUE"))
+                || component.getValue(propertyName).trim().length() == 8;
+    }
+
+    /**
+     * Parses a date or date-time property into a local date-time. A date-time in UTC or with a known TZID
+     * is converted to the local time zone, and any other is taken as a local time.
+     *
+     * @param component The component.
+     * @param propertyName The name of the property.
+     * @return The local date-time.
+     */
+    private LocalDateTime parseDateTime(IcsReader.Component component, String propertyName) {
+        if (component.getValue(propertyName) == null) {
+            throw new IllegalArgumentException("Missing " + propertyName);
+        }
+        String value = component.getValue(propertyName).trim();
+        if (isDateOnly(component, propertyName)) {
+            return LocalDate.parse(value.substring(0, 8), ICS_DATE_FORMATTER).atStartOfDay();
+        }
+        boolean isUtc = value.endsWith("Z");
+        LocalDateTime dateTime = LocalDateTime.parse(isUtc ? value.substring(0, value.length() - 1) : value,
+                IcsExporter.ICS_DATE_TIME_FORMATTER);
+        String timeZone = component.getParameter(propertyName, "TZID");
+        if (isUtc) {
+            return dateTime.atOffset(ZoneOffset.UTC).atZoneSameInstant(localZone).toLocalDateTime();
+        } else if (timeZone != null) {
+            try {
+                return dateTime.atZone(ZoneId.of(timeZone)).withZoneSameInstant(localZone).toLocalDateTime();
+            } catch (DateTimeException e) {
+                logger.log(Level.FINE, "Unknown time zone " + timeZone + ", taking the time as local");
+            }
+        }
+        return dateTime;
+    }
+
+    /**
+     * Parses an iCalendar duration such as "PT1H30M", "P1D" or "P2W".
+     *
+     * @param value The duration.
+     * @return The duration.
+     */
+    private static Duration parseDuration(String value) {
+        String duration = value.trim();
+        if (duration.endsWith("W")) {
+            String weeks = duration.substring(duration.indexOf('P') + 1, duration.length() - 1);
+            return Duration.ofDays(7L * Integer.parseInt(weeks));
+        }
+        return Duration.parse(duration);
+    }
+
+    private static String formatDate(LocalDateTime dateTime) {
+        return IcsExporter.TASK_DATE_FORMATTER.format(dateTime);
+    }
+
+    private static String formatTime(LocalDateTime dateTime) {
+        return IcsExporter.TASK_TIME_FORMATTER.format(dateTime);
+    }
+
+    public int getImportedCount() {
+        return importedCount;
+    }
+
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
+    public int getInvalidCount() {
+        return invalidCount;
+    }
+}
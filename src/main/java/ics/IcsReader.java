@@ -0,0 +1,205 @@
+package ics;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The IcsReader class reads an iCalendar (RFC 5545) stream one component at a time, such as one VEVENT,
+ * so that only the component being read is kept in memory however large the stream is.
+ * Folded lines are unfolded, and the components nested in another, such as a VALARM in a VEVENT, are skipped.
+ */
+public class IcsReader {
+    private static final String CALENDAR = "VCALENDAR";
+
+    private final BufferedReader reader;
+    private String lookaheadLine;
+
+    /**
+     * Constructs an IcsReader reading UTF-8 from the given stream. The stream is not closed by the reader.
+     *
+     * @param inputStream The stream to read from.
+     */
+    public IcsReader(InputStream inputStream) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the next component of the calendar.
+     *
+     * @return The component, or null at the end of the stream.
+     * @throws IOException If the stream cannot be read.
+     */
+    public Component nextComponent() throws IOException {
+        String line;
+        while ((line = readContentLine()) != null) {
+            if (startsWithIgnoreCase(line, "BEGIN:") && !isCalendarLine(line)) {
+                return readComponent(line.substring("BEGIN:".length()).trim().toUpperCase(Locale.ROOT));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the properties of a component up to its end, skipping the components nested in it.
+     *
+     * @param name The name of the component.
+     * @return The component.
+     * @throws IOException If the stream cannot be read.
+     */
+    private Component readComponent(String name) throws IOException {
+        Component component = new Component(name);
+        int nestingDepth = 0;
+        String line;
+        while ((line = readContentLine()) != null) {
+            if (startsWithIgnoreCase(line, "BEGIN:")) {
+                nestingDepth++;
+            } else if (startsWithIgnoreCase(line, "END:")) {
+                if (nestingDepth == 0) {
+                    return component;
+                }
+                nestingDepth--;
+            } else if (nestingDepth == 0) {
+                component.addProperty(line);
+            }
+        }
+        component.isMalformed = true;
+        return component;
+    }
+
+    /**
+     * Reads a content line, joining the lines folded onto continuation lines.
+     *
+     * @return The unfolded line, or null at the end of the stream.
+     * @throws IOException If the stream cannot be read.
+     */
+    private String readContentLine() throws IOException {
+        String line = lookaheadLine != null ? lookaheadLine : reader.readLine();
+        lookaheadLine = null;
+        if (line == null) {
+            return null;
+        }
+        StringBuilder contentLine = null;
+        String nextLine;
+        while ((nextLine = reader.readLine()) != null
+                && !nextLine.isEmpty() && (nextLine.charAt(0) == ' ' || nextLine.charAt(0) == '\t')) {
+            if (contentLine == null) {
+                contentLine = new StringBuilder(line);
+            }
+            contentLine.append(nextLine, 1, nextLine.length());
+        }
+        lookaheadLine = nextLine;
+        return contentLine == null ? line : contentLine.toString();
+    }
+
+    private static boolean isCalendarLine(String line) {
+        return line.substring(line.indexOf(':') + 1).trim().equalsIgnoreCase(CALENDAR);
+    }
+
+    private static boolean startsWithIgnoreCase(String line, String prefix) {
+        return line.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+
+    /**
+     * The Component class holds the properties of one component of a calendar.
+     * Only the first value of each property is kept.
+     */
+    public static class Component {
+        private final String name;
+        private final Map<String, String> values = new HashMap<>();
+        private final Map<String, Map<String, String>> parameters = new HashMap<>();
+        private boolean isMalformed = false;
+
+        private Component(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Adds a property from its content line, such as "DTSTART;TZID=Europe/London:20240405T090000".
+         * A line without a value marks the component as malformed.
+         *
+         * @param line The content line of the property.
+         */
+        private void addProperty(String line) {
+            int valueStart = findValueStart(line);
+            if (valueStart < 0) {
+                isMalformed = true;
+                return;
+            }
+            String[] nameAndParameters = line.substring(0, valueStart).split(";");
+            String propertyName = nameAndParameters[0].trim().toUpperCase(Locale.ROOT);
+            if (values.containsKey(propertyName)) {
+                return;
+            }
+            values.put(propertyName, line.substring(valueStart + 1));
+            Map<String, String> propertyParameters = new HashMap<>();
+            for (int i = 1; i < nameAndParameters.length; i++) {
+                String[] parameter = nameAndParameters[i].split("=", 2);
+                if (parameter.length == 2) {
+                    propertyParameters.put(parameter[0].trim().toUpperCase(Locale.ROOT),
+                            parameter[1].replace("\"", ""));
+                }
+            }
+            parameters.put(propertyName, propertyParameters);
+        }
+
+        /**
+         * Finds the colon separating the name and parameters of a property from its value,
+         * ignoring colons in quoted parameter values.
+         *
+         * @param line The content line of the property.
+         * @return The index of the colon, or -1 if there is none.
+         */
+        private static int findValueStart(String line) {
+            boolean isInQuotes = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c == '"') {
+                    isInQuotes = !isInQuotes;
+                } else if (c == ':' && !isInQuotes) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the value of a property.
+         *
+         * @param propertyName The name of the property, such as "DTSTART".
+         * @return The value, or null if the component does not have the property.
+         */
+        public String getValue(String propertyName) {
+            return values.get(propertyName);
+        }
+
+        /**
+         * Returns the value of a parameter of a property.
+         *
+         * @param propertyName The name of the property, such as "DTSTART".
+         * @param parameterName The name of the parameter, such as "TZID".
+         * @return The value, or null if the property does not have the parameter.
+         */
+        public String getParameter(String propertyName, String parameterName) {
+            return parameters.getOrDefault(propertyName, Map.of()).get(parameterName);
+        }
+
+        /**
+         * Checks if a line of the component could not be read, or the stream ended before the component did.
+         *
+         * @return True if the component is malformed, false otherwise.
+         */
+        public boolean isMalformed() {
+            return isMalformed;
+        }
+    }
+}
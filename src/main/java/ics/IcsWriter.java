@@ -0,0 +1,155 @@
+package ics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The IcsWriter class writes an iCalendar (RFC 5545) stream line by line as it is given each component,
+ * so that nothing but the line being written is kept in memory.
+ * Lines longer than 75 bytes are folded, and text values are escaped.
+ */
+public class IcsWriter {
+    private static final String LINE_BREAK = "\r\n";
+    private static final int MAX_LINE_BYTES = 75;
+
+    private final Writer writer;
+
+    /**
+     * Constructs an IcsWriter writing UTF-8 to the given stream. The stream is not closed by the writer.
+     *
+     * @param outputStream The stream to write to.
+     */
+    public IcsWriter(OutputStream outputStream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes the start of the calendar.
+     *
+     * @param productId The name of the product that wrote the calendar.
+     * @throws IOException If the stream cannot be written to.
+     */
+    public void beginCalendar(String productId) throws IOException {
+        beginComponent("VCALENDAR");
+        writeProperty("VERSION", "2.0");
+        writeProperty("PRODID", productId);
+        writeProperty("CALSCALE", "GREGORIAN");
+    }
+
+    /**
+     * Writes the end of the calendar and flushes everything written to the stream.
+     *
+     * @throws IOException If the stream cannot be written to.
+     */
+    public void endCalendar() throws IOException {
+        endComponent("VCALENDAR");
+        flush();
+    }
+
+    /**
+     * Flushes everything written so far to the stream.
+     *
+     * @throws IOException If the stream cannot be written to.
+     */
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    public void beginComponent(String name) throws IOException {
+        writeLine("BEGIN:" + name);
+    }
+
+    public void endComponent(String name) throws IOException {
+        writeLine("END:" + name);
+    }
+
+    /**
+     * Writes a property whose value is written as it is, such as a date-time.
+     *
+     * @param name The name of the property, with any parameters.
+     * @param value The value of the property.
+     * @throws IOException If the stream cannot be written to.
+     */
+    public void writeProperty(String name, String value) throws IOException {
+        writeLine(name + ":" + value);
+    }
+
+    /**
+     * Writes a property whose value is text, escaping the characters that have a meaning in iCalendar.
+     *
+     * @param name The name of the property.
+     * @param text The text of the property.
+     * @throws IOException If the stream cannot be written to.
+     */
+    public void writeTextProperty(String name, String text) throws IOException {
+        writeLine(name + ":" + escapeText(text));
+    }
+
+    /**
+     * Escapes backslashes, semicolons, commas and line breaks in a text value.
+     *
+     * @param text The text to escape.
+     * @return The escaped text.
+     */
+    static String escapeText(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+            case '\\':
+            case ';':
+            case ',':
+                escaped.append('\\').append(c);
+                break;
+            case '\n':
+                escaped.append("\\n");
+                break;
+            case '\r':
+                break;
+            default:
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Writes a content line, folding it onto continuation lines starting with a space once it is longer than
+     * 75 bytes. Characters are never split across lines.
+     *
+     * @param line The content line to write.
+     * @throws IOException If the stream cannot be written to.
+     */
+    private void writeLine(String line) throws IOException {
+        int lineBytes = 0;
+        int i = 0;
+        while (i < line.length()) {
+            int codePoint = line.codePointAt(i);
+            int codePointBytes = utf8Length(codePoint);
+            if (lineBytes + codePointBytes > MAX_LINE_BYTES) {
+                writer.write(LINE_BREAK);
+                writer.write(' ');
+                lineBytes = 1;
+            }
+            writer.write(line, i, Character.charCount(codePoint));
+            lineBytes += codePointBytes;
+            i += Character.charCount(codePoint);
+        }
+        writer.write(LINE_BREAK);
+    }
+
+    private static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        } else if (codePoint < 0x800) {
+            return 2;
+        } else if (codePoint < 0x10000) {
+            return 3;
+        }
+        return 4;
+    }
+}
@@ -1,52 +1,194 @@
 package seedu.duke;
 
+import commandparser.BatchRunner;
 import commandparser.CommandHandler;
-import data.Task;
+import commandparser.InputQueue;
+import commandparser.InteractiveRunner;
 import data.TaskManager;
 import data.exceptions.TaskManagerException;
 import log.FileLogger;
+import server.ApiServer;
 import storage.Storage;
 import time.DateUtils;
 import time.MonthView;
 import time.WeekView;
+import time.YearView;
 import ui.AvatarUi;
+import ui.OutputProfile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
-import java.util.Map;
 import java.util.Scanner;
 
 import static storage.Storage.createNewFile;
 
 public class Main {
     private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final String OUTPUT_OPTION = "--output";
+    private static final String BATCH_OPTION = "--batch";
+    private static final String CHECKPOINT_OPTION = "--checkpoint";
+    private static final String SERVER_OPTION = "--server";
+    private static final String ARCHIVE_OPTION = "--archive-after";
+    private static final String STANDARD_INPUT = "-";
 
     public static void main(String[] args) throws IOException, TaskManagerException{
         FileLogger.setupLogger();
-        Scanner scanner = new Scanner(System.in);
+        String batchFile = getOptionValue(args, BATCH_OPTION);
+        InputQueue inputQueue = batchFile == null ? new InputQueue(System.in) : null;
+        Scanner scanner = inputQueue == null ? new Scanner(openInput(batchFile)) : new Scanner(inputQueue.asReader());
         LocalDate today = LocalDate.now();
         LocalDate startOfWeek = DateUtils.getStartOfWeek(today);
         WeekView weekView = new WeekView(startOfWeek, dateFormatter);
         TaskManager taskManager = new TaskManager();
+        taskManager.setArchiveAge(parseArchiveAge(args));
         LocalDate startOfMonth = today.withDayOfMonth(1);
         MonthView monthView = new MonthView(startOfMonth, dateFormatter);
+        YearView yearView = new YearView(today, dateFormatter);
 
         //Creates directory and tasks.txt file if it does not exist
-        createNewFile(Storage.FILE_PATH);
-        //Reads tasks from txt file
-        Map<LocalDate, List<Task>> tasksFromFile =
-                Storage.loadTasksFromFile(Storage.FILE_PATH);
+        createNewFile(taskManager.getSaveFilePath());
         //Loads tasks from txt file
-        taskManager.addTasksFromFile(tasksFromFile);
+        Storage.loadTasksFromFile(taskManager.getSaveFilePath(), taskManager);
+        //Compresses months that have grown old since the last run
+        taskManager.archiveOldMonths();
 
-        AvatarUi.printWelcomeMessage();
+        CommandHandler commandHandler = new CommandHandler(scanner, taskManager, weekView, monthView, yearView);
+        if (batchFile != null) {
+            int errorCount = new BatchRunner(scanner, commandHandler, parseCheckpointInterval(args)).run();
+            System.exit(errorCount == 0 ? 0 : 1);
+        }
+
+        OutputProfile outputProfile = parseOutputProfile(args);
+        if (outputProfile.showsAvatar()) {
+            AvatarUi.printWelcomeMessage();
+        }
+        commandHandler.setOutputProfile(outputProfile);
+        startApiServer(args, taskManager);
+
+        new InteractiveRunner(inputQueue, commandHandler).run();
+    }
+
+    /**
+     * Starts the local API server if a port is given with the "--server" option.
+     * The server is stopped when the application exits.
+     *
+     * @param args        the command line arguments.
+     * @param taskManager the TaskManager for the server to serve.
+     */
+    static void startApiServer(String[] args, TaskManager taskManager) {
+        String port = getOptionValue(args, SERVER_OPTION);
+        if (port == null) {
+            return;
+        }
+        try {
+            ApiServer apiServer = new ApiServer(taskManager, Integer.parseInt(port.trim()));
+            apiServer.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> apiServer.stop(1), "api-server-shutdown"));
+            System.out.println("API server listening on http://localhost:" + apiServer.getPort());
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid server port '" + port + "', not starting the API server.");
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Could not start the API server on port " + port + ": " + e.getMessage());
+        }
+    }
 
-        CommandHandler commandHandler = new CommandHandler(scanner, taskManager, weekView, monthView);
+    /**
+     * Opens the input to read commands from: the given batch file, or standard input if there is none
+     * or if the file is given as "-".
+     *
+     * @param batchFile the path of the batch file, or null when running interactively.
+     * @return the input stream to read commands from.
+     * @throws IOException if the batch file cannot be opened.
+     */
+    private static InputStream openInput(String batchFile) throws IOException {
+        if (batchFile == null || batchFile.equals(STANDARD_INPUT)) {
+            return System.in;
+        }
+        return Files.newInputStream(Path.of(batchFile));
+    }
 
-        while (true) {
-            commandHandler.handleCommand();
+    /**
+     * Returns the value given for an option, as either "--option value" or "--option=value".
+     *
+     * @param args   the command line arguments.
+     * @param option the name of the option, including the leading dashes.
+     * @return the value of the option, or null if the option is not given.
+     */
+    static String getOptionValue(String[] args, String option) {
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].startsWith(option + "=")) {
+                return args[i].substring(option.length() + 1);
+            } else if (args[i].equals(option) && i + 1 < args.length) {
+                return args[i + 1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the number of batch commands between saves from the command line arguments.
+     * Without a valid "--checkpoint" option, tasks are only saved at the end of the batch.
+     *
+     * @param args the command line arguments.
+     * @return the checkpoint interval, or 0 to save only at the end.
+     */
+    static int parseCheckpointInterval(String[] args) {
+        String checkpointInterval = getOptionValue(args, CHECKPOINT_OPTION);
+        if (checkpointInterval == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(checkpointInterval.trim()));
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid checkpoint interval '" + checkpointInterval
+                    + "', saving only at the end of the batch instead.");
+            return 0;
+        }
+    }
+
+    /**
+     * Reads how many months old a month must be to be archived from the command line arguments.
+     * Without a valid "--archive-after" option, months older than a year are archived, and "0" turns
+     * archiving off.
+     *
+     * @param args the command line arguments.
+     * @return the archive age in months, or 0 to never archive.
+     */
+    static int parseArchiveAge(String[] args) {
+        String archiveAge = getOptionValue(args, ARCHIVE_OPTION);
+        if (archiveAge == null) {
+            return TaskManager.DEFAULT_ARCHIVE_AGE_IN_MONTHS;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(archiveAge.trim()));
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid archive age '" + archiveAge + "', archiving months older than "
+                    + TaskManager.DEFAULT_ARCHIVE_AGE_IN_MONTHS + " months instead.");
+            return TaskManager.DEFAULT_ARCHIVE_AGE_IN_MONTHS;
+        }
+    }
+
+    /**
+     * Reads the output profile from the command line arguments, given as "--output quiet" or "--output=quiet".
+     * The full profile is used if no profile, or an unknown profile, is given.
+     *
+     * @param args the command line arguments.
+     * @return the output profile to start with.
+     */
+    static OutputProfile parseOutputProfile(String[] args) {
+        String profileName = getOptionValue(args, OUTPUT_OPTION);
+        if (profileName == null) {
+            return OutputProfile.FULL;
+        }
+        OutputProfile outputProfile = OutputProfile.fromName(profileName);
+        if (outputProfile == null) {
+            System.out.println("Unknown output profile '" + profileName + "', using full output instead.");
+            return OutputProfile.FULL;
         }
+        return outputProfile;
     }
 }
@@ -0,0 +1,413 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import commandparser.StringParser;
+import data.Task;
+import data.TaskManager;
+import data.TaskPriorityLevel;
+import data.TaskType;
+import data.exceptions.CalendarBusyException;
+import data.exceptions.TaskManagerException;
+import ics.IcsFeed;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The ApiServer class serves the calendar over HTTP on the local machine, so that other programs can use it.
+ * Requests take their parameters from the query string or a form-encoded body, refer to dates as yyyy-MM-dd
+ * and to tasks by their one-based number on a date, and get JSON back. The endpoints are:
+ * <ul>
+ *     <li>GET /tasks?from=&amp;to= lists the tasks between two dates, inclusive.</li>
+ *     <li>POST /tasks/add?date=&amp;type=&amp;name=[&amp;by=|&amp;start=&amp;end=] adds a task.</li>
+ *     <li>POST /tasks/update?date=&amp;task=&amp;name=[&amp;by=|&amp;start=&amp;end=] updates a task.</li>
+ *     <li>POST /tasks/delete?date=&amp;task= deletes a task.</li>
+ *     <li>POST /tasks/mark?date=&amp;task=&amp;done=yes|no marks a task as completed or not.</li>
+ *     <li>POST /tasks/priority?date=&amp;task=&amp;level=H|M|L sets the priority level of a task.</li>
+ *     <li>GET /free?date= lists the free time slots on a date.</li>
+ *     <li>GET /calendar.ics serves the events and deadlines as an iCalendar feed for calendar applications
+ *     to subscribe to, along with an ETag so that polls made while the tasks are unchanged get 304 back.</li>
+ * </ul>
+ * Each request is handled on its own virtual thread when the JDK supports them, or on a pooled thread otherwise.
+ * As the TaskManager can be used from many threads at once, requests are not made to wait for one another here.
+ * A change requested while a command or a transaction of the calendar is changing the tasks gets 409 back.
+ */
+public class ApiServer {
+    private static final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    private static final int BACKLOG = 4096;
+    private static final int MAX_LISTED_DAYS = 3660;
+    private static final String GET = "GET";
+    private static final String POST = "POST";
+    private static final String ICS_FEED_PATH = "/calendar.ics";
+
+    private final HttpServer httpServer;
+    private final ExecutorService executor;
+    private final TaskManager taskManager;
+    private final IcsFeed icsFeed;
+
+    /**
+     * An Endpoint reads the parameters of a request and writes its JSON response.
+     */
+    @FunctionalInterface
+    private interface Endpoint {
+        void respond(Map<String, String> parameters, JsonWriter json) throws TaskManagerException;
+    }
+
+    /**
+     * Constructs an ApiServer listening on the loopback address. The server does not accept requests
+     * until it is started.
+     *
+     * @param taskManager the TaskManager to serve.
+     * @param port        the port to listen on, or 0 to use any free port.
+     * @throws IOException if the port cannot be bound.
+     */
+    public ApiServer(TaskManager taskManager, int port) throws IOException {
+        this.taskManager = taskManager;
+        this.httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        this.executor = createExecutor();
+        httpServer.setExecutor(executor);
+        route("/tasks", GET, this::listTasks);
+        route("/tasks/add", POST, this::addTask);
+        route("/tasks/update", POST, this::updateTask);
+        route("/tasks/delete", POST, this::deleteTask);
+        route("/tasks/mark", POST, this::markTask);
+        route("/tasks/priority", POST, this::setPriority);
+        route("/free", GET, this::listFreeTimes);
+        this.icsFeed = new IcsFeed(taskManager);
+        httpServer.createContext(ICS_FEED_PATH, this::serveIcsFeed);
+    }
+
+    /**
+     * Creates an executor that runs every request on a new virtual thread, so that thousands of clients
+     * can wait on the server at once. Virtual threads are looked up at runtime, so the server still runs,
+     * on a pool of platform threads, on JDKs without them.
+     *
+     * @return the executor for requests.
+     */
+    static ExecutorService createExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            logger.log(Level.INFO, "Virtual threads are not available, using a thread pool instead");
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        httpServer.start();
+        logger.log(Level.INFO, "API server started on port " + getPort());
+    }
+
+    /**
+     * Stops accepting requests, waiting up to the given number of seconds for requests in progress to finish.
+     *
+     * @param delaySeconds the longest time to wait, in seconds.
+     */
+    public void stop(int delaySeconds) {
+        httpServer.stop(delaySeconds);
+        executor.shutdown();
+        icsFeed.close();
+        logger.log(Level.INFO, "API server stopped");
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    private void route(String path, String method, Endpoint endpoint) {
+        httpServer.createContext(path, exchange -> handle(exchange, path, method, endpoint));
+    }
+
+    /**
+     * Handles a request, turning invalid requests into JSON error responses.
+     */
+    private void handle(HttpExchange exchange, String path, String method, Endpoint endpoint) throws IOException {
+        try {
+            if (!exchange.getRequestURI().getPath().equals(path)) {
+                sendError(exchange, 404, "Unknown endpoint.");
+                return;
+            }
+            if (!exchange.getRequestMethod().equals(method)) {
+                exchange.getResponseHeaders().set("Allow", method);
+                sendError(exchange, 405, "Use " + method + " for " + path + ".");
+                return;
+            }
+            Map<String, String> parameters = readParameters(exchange);
+            JsonWriter json = new JsonWriter();
+            endpoint.respond(parameters, json);
+            send(exchange, 200, json.toString());
+        } catch (CalendarBusyException e) {
+            sendError(exchange, 409, e.getMessage());
+        } catch (TaskManagerException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "API request failed: " + exchange.getRequestURI(), e);
+            sendError(exchange, 500, "The request could not be handled.");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Serves the iCalendar feed, or only a 304 reply if the caller already has the current version of it.
+     */
+    private void serveIcsFeed(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestURI().getPath().equals(ICS_FEED_PATH)) {
+                sendError(exchange, 404, "Unknown endpoint.");
+                return;
+            }
+            if (!exchange.getRequestMethod().equals(GET)) {
+                exchange.getResponseHeaders().set("Allow", GET);
+                sendError(exchange, 405, "Use " + GET + " for " + ICS_FEED_PATH + ".");
+                return;
+            }
+            IcsFeed.Snapshot snapshot = icsFeed.getSnapshot();
+            exchange.getResponseHeaders().set("ETag", snapshot.getEntityTag());
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            if (matchesEntityTag(exchange.getRequestHeaders().getFirst("If-None-Match"), snapshot.getEntityTag())) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            byte[] body = snapshot.getBody();
+            exchange.getResponseHeaders().set("Content-Type", "text/calendar; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "ICS feed request failed", e);
+            sendError(exchange, 500, "The request could not be handled.");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Checks if an If-None-Match header names the given entity tag, ignoring whether the tags are weak.
+     */
+    private static boolean matchesEntityTag(String ifNoneMatch, String entityTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String trimmedTag = tag.trim();
+            if (trimmedTag.startsWith("W/")) {
+                trimmedTag = trimmedTag.substring(2);
+            }
+            if (trimmedTag.equals("*") || trimmedTag.equals(entityTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void listTasks(Map<String, String> parameters, JsonWriter json) throws TaskManagerException {
+        LocalDate from = getDate(parameters, "from");
+        LocalDate to = parameters.containsKey("to") ? getDate(parameters, "to") : from;
+        if (to.isBefore(from)) {
+            throw new TaskManagerException("The end date cannot be before the start date.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_LISTED_DAYS) {
+            throw new TaskManagerException("At most " + MAX_LISTED_DAYS + " days can be listed at once.");
+        }
+        json.beginObject().name("days").beginArray();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            List<Task> dayTasks = taskManager.getTasksForDate(date);
+            if (dayTasks.isEmpty()) {
+                continue;
+            }
+            json.beginObject().name("date").value(date.toString()).name("tasks").beginArray();
+            for (int i = 0; i < dayTasks.size(); i++) {
+                writeTask(json, i + 1, dayTasks.get(i));
+            }
+            json.endArray().endObject();
+        }
+        json.endArray().endObject();
+    }
+
+    private void addTask(Map<String, String> parameters, JsonWriter json) throws TaskManagerException {
+        LocalDate date = getDate(parameters, "date");
+        TaskType taskType = StringParser.parseTaskType(getParameter(parameters, "type"));
+        Task task = taskManager.addTaskOnDate(date, taskType, getParameter(parameters, "name").trim(),
+                getDateTimes(parameters));
+        writeChangedTask(json, date, task);
+    }
+
+    private void updateTask(Map<String, String> parameters, JsonWriter json) throws TaskManagerException {
+        LocalDate date = getDate(parameters, "date");
+        int taskNumber = getTaskNumber(parameters);
+        Task task = taskManager.updateTaskOnDate(date, taskNumber, getParameter(parameters, "name").trim(),
+                getDateTimes(parameters));
+        writeChangedTask(json, date, task);
+    }
+
+    private void deleteTask(Map<String, String> parameters, JsonWriter json) throws TaskManagerException {
+        LocalDate date = getDate(parameters, "date");
+        taskManager.deleteTaskOnDate(date, getTaskNumber(parameters));
+        json.beginObject().name("date").value(date.toString())
+                .name("remaining").value(taskManager.getTaskCountForDate(date)).endObject();
+    }
+
+    private void markTask(Map<String, String> parameters, JsonWriter json) throws TaskManagerException {
+        LocalDate date = getDate(parameters, "date");
+        int taskNumber = getTaskNumber(parameters);
+        boolean isCompleted = StringParser.parseYesOrNo(getParameter(parameters, "done"));
+        writeChangedTask(json, date, taskManager.setCompletenessOfTaskOnDate(date, taskNumber, isCompleted));
+    }
+
+    private void setPriority(Map<String, String> parameters, JsonWriter json) throws TaskManagerException {
+        LocalDate date = getDate(parameters, "date");
+        int taskNumber = getTaskNumber(parameters);
+        TaskPriorityLevel priorityLevel = TaskManager.parsePriorityLevel(
+                StringParser.parsePriorityLevel(getParameter(parameters, "level")));
+        writeChangedTask(json, date, taskManager.setPriorityLevelOfTaskOnDate(date, taskNumber, priorityLevel));
+    }
+
+    private void listFreeTimes(Map<String, String> parameters, JsonWriter json) throws TaskManagerException {
+        LocalDate date = getDate(parameters, "date");
+        List<String> freeTimeSlots = taskManager.getFreeTimeSlots(taskManager.getEventsForDate(date), date);
+        json.beginObject().name("date").value(date.toString()).name("free").beginArray();
+        for (String freeTimeSlot : freeTimeSlots) {
+            json.value(freeTimeSlot);
+        }
+        json.endArray().endObject();
+    }
+
+    /**
+     * Writes a task that was just changed. Its number is looked up again, as other requests may have moved it
+     * since, and is left out if the task has already been changed again or deleted.
+     */
+    private void writeChangedTask(JsonWriter json, LocalDate date, Task task) {
+        json.beginObject().name("date").value(date.toString()).name("task");
+        writeTask(json, taskManager.getTasksForDate(date).indexOf(task) + 1, task);
+        json.endObject();
+    }
+
+    private static void writeTask(JsonWriter json, int taskNumber, Task task) {
+        json.beginObject();
+        if (taskNumber > 0) {
+            json.name("number").value(taskNumber);
+        }
+        json.name("type").value(task.getTaskType())
+                .name("name").value(task.getName())
+                .name("done").value(task.isCompleted())
+                .name("priority").value(task.getPriorityLevelIcon());
+        switch (task.getTaskType()) {
+        case "D":
+            json.name("by").value(task.getByDate() + " " + task.getByTime());
+            break;
+        case "E":
+            json.name("start").value(task.getStartDate() + " " + task.getStartTime())
+                    .name("end").value(task.getEndDate() + " " + task.getEndTime());
+            break;
+        default:
+            break;
+        }
+        json.endObject();
+    }
+
+    private static String getParameter(Map<String, String> parameters, String name) throws TaskManagerException {
+        String value = parameters.get(name);
+        if (value == null || value.isBlank()) {
+            throw new TaskManagerException("Missing parameter '" + name + "'.");
+        }
+        return value;
+    }
+
+    private static LocalDate getDate(Map<String, String> parameters, String name) throws TaskManagerException {
+        String value = getParameter(parameters, name);
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new TaskManagerException("Invalid date '" + value + "'. Please use the format yyyy-MM-dd.");
+        }
+    }
+
+    private static int getTaskNumber(Map<String, String> parameters) throws TaskManagerException {
+        return StringParser.parseTaskIndex(getParameter(parameters, "task").trim());
+    }
+
+    /**
+     * Returns the deadline, or the start and end, given with a request, each in the format dd/MM/yyyy HHmm.
+     */
+    private static List<String> getDateTimes(Map<String, String> parameters) {
+        List<String> dateTimes = new ArrayList<>();
+        for (String name : new String[]{"by", "start", "end"}) {
+            String value = parameters.get(name);
+            if (value != null && !value.isBlank()) {
+                dateTimes.add(value.trim());
+            }
+        }
+        return dateTimes;
+    }
+
+    /**
+     * Reads the parameters of a request from its query string and, for a form-encoded body, its body.
+     */
+    private static Map<String, String> readParameters(HttpExchange exchange)
+            throws IOException, TaskManagerException {
+        Map<String, String> parameters = new HashMap<>();
+        addParameters(parameters, exchange.getRequestURI().getRawQuery());
+        try (InputStream body = exchange.getRequestBody()) {
+            addParameters(parameters, new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    private static void addParameters(Map<String, String> parameters, String encodedParameters)
+            throws TaskManagerException {
+        if (encodedParameters == null || encodedParameters.isBlank()) {
+            return;
+        }
+        for (String pair : encodedParameters.trim().split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            parameters.put(decode(name), decode(value));
+        }
+    }
+
+    private static String decode(String encoded) throws TaskManagerException {
+        try {
+            return URLDecoder.decode(encoded, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new TaskManagerException("Invalid percent-encoding in '" + encoded + "'.");
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, new JsonWriter().beginObject().name("error").value(message).endObject().toString());
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+}
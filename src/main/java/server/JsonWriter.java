@@ -0,0 +1,155 @@
+package server;
+
+/**
+ * The JsonWriter class builds a JSON document one token at a time, adding the commas between values itself.
+ * It only covers what the API needs: objects, arrays, strings, numbers, booleans and null.
+ */
+public class JsonWriter {
+    private final StringBuilder json = new StringBuilder();
+    private boolean needsComma;
+
+    /**
+     * Starts an object.
+     *
+     * @return this writer.
+     */
+    public JsonWriter beginObject() {
+        separate();
+        json.append('{');
+        needsComma = false;
+        return this;
+    }
+
+    /**
+     * Ends the current object.
+     *
+     * @return this writer.
+     */
+    public JsonWriter endObject() {
+        json.append('}');
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Starts an array.
+     *
+     * @return this writer.
+     */
+    public JsonWriter beginArray() {
+        separate();
+        json.append('[');
+        needsComma = false;
+        return this;
+    }
+
+    /**
+     * Ends the current array.
+     *
+     * @return this writer.
+     */
+    public JsonWriter endArray() {
+        json.append(']');
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Writes the name of the next member of the current object.
+     *
+     * @param name the name of the member.
+     * @return this writer.
+     */
+    public JsonWriter name(String name) {
+        separate();
+        appendString(name);
+        json.append(':');
+        needsComma = false;
+        return this;
+    }
+
+    /**
+     * Writes a string value.
+     *
+     * @param value the string, or null to write null.
+     * @return this writer.
+     */
+    public JsonWriter value(String value) {
+        separate();
+        if (value == null) {
+            json.append("null");
+        } else {
+            appendString(value);
+        }
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Writes a number value.
+     *
+     * @param value the number.
+     * @return this writer.
+     */
+    public JsonWriter value(long value) {
+        separate();
+        json.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Writes a boolean value.
+     *
+     * @param value the boolean.
+     * @return this writer.
+     */
+    public JsonWriter value(boolean value) {
+        separate();
+        json.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    private void separate() {
+        if (needsComma) {
+            json.append(',');
+        }
+    }
+
+    private void appendString(String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '"':
+                json.append("\\\"");
+                break;
+            case '\\':
+                json.append("\\\\");
+                break;
+            case '\n':
+                json.append("\\n");
+                break;
+            case '\r':
+                json.append("\\r");
+                break;
+            case '\t':
+                json.append("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    json.append(String.format("\\u%04x", (int) c));
+                } else {
+                    json.append(c);
+                }
+            }
+        }
+        json.append('"');
+    }
+
+    @Override
+    public String toString() {
+        return json.toString();
+    }
+}
@@ -0,0 +1,297 @@
+package storage;
+
+import data.Task;
+import data.TaskOperation;
+import data.exceptions.StorageFileException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The Journal class appends the changes made to the tasks of a calendar to a file next to its save file, so that
+ * saving a change writes only that change instead of every task. The files of each month then hold a snapshot of
+ * their tasks as of a numbered change, and the tasks are restored by loading the snapshots and replaying the
+ * changes journaled after them.
+ * Once enough changes have been journaled, a new snapshot is written and the changes it covers are cut from the
+ * start of the journal, so the journal neither grows forever nor makes loading slow.
+ * Each line of the journal is a change: its number, A, R or U for a task added, removed or replaced, the date and
+ * index of the task, and the tasks before and after the change in the format of the save file.
+ */
+public class Journal {
+    public static final int COMPACTION_THRESHOLD = 1000;
+    private static final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    private static final String LINE_BREAK = "\n";
+
+    private final Path journalPath;
+    private boolean isOpen = false;
+    private long lastSequenceNumber = 0;
+    private long snapshotSequenceNumber = 0;
+    private long journalLength = 0;
+    private long generation = 0;
+
+    /**
+     * Constructs the journal of a save file. Nothing is read or written until the journal is opened by recover
+     * or by writing a snapshot.
+     *
+     * @param saveFilePath The save file the journal belongs to.
+     */
+    public Journal(Path saveFilePath) {
+        this.journalPath = saveFilePath.resolveSibling(saveFilePath.getFileName() + ".journal");
+    }
+
+    public Path getJournalPath() {
+        return journalPath;
+    }
+
+    /**
+     * Checks if the journal follows the save file, so that changes can be appended to it. A journal is only open
+     * once the tasks were loaded from the save file or written to it, as changes appended to a journal are only
+     * meaningful on top of the snapshot they were made to.
+     *
+     * @return True if changes can be appended, false if the tasks must be saved in full first.
+     */
+    public synchronized boolean isOpen() {
+        return isOpen;
+    }
+
+    /**
+     * Reads the changes journaled after a snapshot, and opens the journal to append further changes after them.
+     * The file of a month may hold later changes than the save file, if the application stopped while saving,
+     * so a change is only read if it is later than the snapshot of its month.
+     * A line that cannot be read, such as one cut short when the application stopped, ends the changes read,
+     * and the journal is then left closed so that the tasks are saved in full the next time instead.
+     *
+     * @param snapshotSequenceNumber The number of the last change the save file holds.
+     * @param shardSequenceNumbers Gives the number of the last change the file of a month holds, asked for each
+     *         month a change was made to.
+     * @return The changes to replay on top of the snapshot, in order.
+     * @throws IOException If the journal cannot be read.
+     */
+    public synchronized List<TaskOperation> recover(long snapshotSequenceNumber,
+            ToLongFunction<YearMonth> shardSequenceNumbers) throws IOException {
+        List<TaskOperation> operations = new ArrayList<>();
+        this.snapshotSequenceNumber = snapshotSequenceNumber;
+        this.lastSequenceNumber = snapshotSequenceNumber;
+        boolean isComplete = true;
+        if (Files.exists(journalPath)) {
+            try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] parts = line.split("\\|");
+                    long sequenceNumber = Long.parseLong(parts[0]);
+                    if (sequenceNumber <= snapshotSequenceNumber) {
+                        continue;
+                    }
+                    TaskOperation operation = parseOperation(parts);
+                    long shardSequenceNumber = Math.max(snapshotSequenceNumber,
+                            shardSequenceNumbers.applyAsLong(YearMonth.from(operation.getDate())));
+                    if (sequenceNumber > shardSequenceNumber) {
+                        operations.add(operation);
+                    }
+                    lastSequenceNumber = sequenceNumber;
+                }
+            } catch (StorageFileException | RuntimeException e) {
+                logger.log(Level.WARNING, "Stopped reading the journal after change " + lastSequenceNumber
+                        + ": " + e.getMessage());
+                isComplete = false;
+            }
+            journalLength = Files.size(journalPath);
+        }
+        isOpen = isComplete;
+        generation++;
+        logger.log(Level.INFO, "Recovered " + operations.size() + " journaled changes");
+        return operations;
+    }
+
+    /**
+     * Appends changes to the journal, numbering them after the changes already journaled.
+     *
+     * @param operations The changes to append, in the order they were made.
+     * @throws IOException If the journal cannot be written to.
+     */
+    public synchronized void append(List<TaskOperation> operations) throws IOException {
+        assert isOpen : "Changes can only be appended to an open journal";
+        if (operations.isEmpty()) {
+            return;
+        }
+        StringBuilder lines = new StringBuilder();
+        for (TaskOperation operation : operations) {
+            lines.append(formatOperation(++lastSequenceNumber, operation)).append(LINE_BREAK);
+        }
+        String text = lines.toString();
+        try (Writer writer = Files.newBufferedWriter(journalPath, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(text);
+        }
+        journalLength += text.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * Checks if enough changes have been journaled since the last snapshot for a new snapshot to be worth writing.
+     *
+     * @return True if the journal should be compacted, false otherwise.
+     */
+    public synchronized boolean needsCompaction() {
+        return isOpen && lastSequenceNumber - snapshotSequenceNumber >= COMPACTION_THRESHOLD;
+    }
+
+    /**
+     * Marks the point in the journal that a snapshot of the tasks as they are now will cover.
+     * The caller must make sure no change is made to the tasks between its snapshot and this call.
+     * If the journal is not open, the snapshot covers every change already in the journal file, as the tasks
+     * being saved in full replace whatever the file held.
+     *
+     * @return The point in the journal.
+     * @throws IOException If a journal that is not open cannot be read.
+     */
+    public synchronized Checkpoint checkpoint() throws IOException {
+        if (!isOpen && Files.exists(journalPath)) {
+            lastSequenceNumber = Math.max(lastSequenceNumber, findLastSequenceNumber());
+            journalLength = Files.size(journalPath);
+        }
+        return new Checkpoint(lastSequenceNumber, journalLength, generation);
+    }
+
+    /**
+     * Stops appending changes until the tasks are saved in full again, such as when the journal could not all
+     * be replayed, so that no change is appended on top of tasks that differ from the saved ones.
+     */
+    public synchronized void close() {
+        isOpen = false;
+        generation++;
+    }
+
+    private long findLastSequenceNumber() throws IOException {
+        long maxSequenceNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                try {
+                    maxSequenceNumber = Math.max(maxSequenceNumber, Long.parseLong(line.split("\\|", 2)[0]));
+                } catch (NumberFormatException e) {
+                    logger.log(Level.FINE, "Skipping an unreadable journal line");
+                }
+            }
+        }
+        return maxSequenceNumber;
+    }
+
+    /**
+     * Checks if a snapshot taken at a checkpoint can still be installed. A snapshot taken before another snapshot
+     * was installed, or before the journal was closed, is out of date.
+     *
+     * @param checkpoint The checkpoint the snapshot was taken at.
+     * @return True if the snapshot is up to date, false otherwise.
+     */
+    public synchronized boolean isCurrent(Checkpoint checkpoint) {
+        return checkpoint.generation == generation;
+    }
+
+    /**
+     * Cuts the changes up to a checkpoint from the start of the journal, once a snapshot holding them has been
+     * installed, and opens the journal to append further changes.
+     * Changes appended while the snapshot was written are kept, and only they are copied, so this is quick however
+     * long the journal was. As the snapshot names the last change it holds, loading stays correct even if the
+     * application stops before the journal is cut.
+     * The caller must make sure no change is appended meanwhile.
+     *
+     * @param checkpoint The checkpoint the installed snapshot was taken at.
+     * @throws IOException If the journal cannot be cut.
+     */
+    public synchronized void truncate(Checkpoint checkpoint) throws IOException {
+        assert isCurrent(checkpoint) : "Only an up-to-date snapshot can be installed";
+        long remainderLength = journalLength - checkpoint.journalLength;
+        if (remainderLength == 0) {
+            Files.deleteIfExists(journalPath);
+        } else {
+            Path remainderPath = journalPath.resolveSibling(journalPath.getFileName() + ".tmp");
+            try (FileChannel journal = FileChannel.open(journalPath, StandardOpenOption.READ);
+                    FileChannel remainder = FileChannel.open(remainderPath, StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                long copiedLength = 0;
+                while (copiedLength < remainderLength) {
+                    copiedLength += journal.transferTo(checkpoint.journalLength + copiedLength,
+                            remainderLength - copiedLength, remainder);
+                }
+            }
+            Storage.moveAtomically(remainderPath, journalPath);
+        }
+        journalLength = remainderLength;
+        snapshotSequenceNumber = checkpoint.sequenceNumber;
+        isOpen = true;
+        generation++;
+        logger.log(Level.INFO, "Journal cut up to change " + checkpoint.sequenceNumber);
+    }
+
+    private static String formatOperation(long sequenceNumber, TaskOperation operation) {
+        StringBuilder line = new StringBuilder().append(sequenceNumber).append('|');
+        if (operation.isAddition()) {
+            line.append('A');
+        } else if (operation.isRemoval()) {
+            line.append('R');
+        } else {
+            line.append('U');
+        }
+        line.append('|').append(operation.getDate()).append('|').append(operation.getTaskIndex());
+        if (!operation.isAddition()) {
+            line.append('|').append(operation.getTaskBefore().getSaveFormat());
+        }
+        if (!operation.isRemoval()) {
+            line.append('|').append(operation.getTaskAfter().getSaveFormat());
+        }
+        return line.toString();
+    }
+
+    private static TaskOperation parseOperation(String[] parts) throws StorageFileException {
+        if (parts.length < 5) {
+            throw new StorageFileException("Incomplete journal line.");
+        }
+        LocalDate date = LocalDate.parse(parts[2]);
+        int taskIndex = Integer.parseInt(parts[3]);
+        Task firstTask = Storage.parseTask(parts, 4);
+        switch (parts[1]) {
+        case "A":
+            return TaskOperation.added(date, taskIndex, firstTask);
+        case "R":
+            return TaskOperation.removed(date, taskIndex, firstTask);
+        case "U":
+            Task secondTask = Storage.parseTask(parts, 4 + Storage.countTaskFields(firstTask));
+            return TaskOperation.replaced(date, taskIndex, firstTask, secondTask);
+        default:
+            throw new StorageFileException("Unknown journal change " + parts[1] + ".");
+        }
+    }
+
+    /**
+     * The Checkpoint class marks the last change and the length of a journal at the time a snapshot was taken,
+     * along with how many times the journal had been opened, closed or compacted, to tell if it is out of date.
+     */
+    public static class Checkpoint {
+        private final long sequenceNumber;
+        private final long journalLength;
+        private final long generation;
+
+        private Checkpoint(long sequenceNumber, long journalLength, long generation) {
+            this.sequenceNumber = sequenceNumber;
+            this.journalLength = journalLength;
+            this.generation = generation;
+        }
+
+        public long getSequenceNumber() {
+            return sequenceNumber;
+        }
+    }
+}
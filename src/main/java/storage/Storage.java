@@ -1,42 +1,67 @@
 package storage;
 
+import data.Deadline;
+import data.Event;
 import data.exceptions.StorageFileException;
 import data.Task;
+import data.TaskManager;
+import data.TaskOperation;
 import data.exceptions.TaskManagerException;
-import data.TaskPriorityLevel;
 import data.TaskType;
+import data.Todo;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.DateTimeException;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import static data.exceptions.StorageFileException.checkStorageTextDateFormat;
-import static data.TaskManager.addTask;
-import static data.TaskManager.getDayTasks;
+import static data.TaskManager.parsePriorityLevel;
 import static data.TaskManager.parseTaskType;
-import static data.TaskType.DEADLINE;
-import static data.TaskType.EVENT;
+import static data.exceptions.TaskManagerException.checkIfTimeInFormat;
 
 
 /**
  * The Storage class handles all operations related to storing and retrieving tasks from a file.
  * It provides methods to create a new file, save tasks to a file, load tasks from a file, and check the file format.
- * It also provides methods to configure the statuses of tasks after they are loaded from the file.
+ * The tasks of each month are saved to a file of their own, listed in tasks.txt, so that saving a change only
+ * rewrites the files of the months it changed. Months older than the archive age of the calendar are compressed,
+ * and only read once they are looked at.
  * The class uses a Logger to log information and warnings related to file handling and task management.
  */
 public class Storage {
 
     public static final Path FILE_PATH = Path.of("./save/tasks.txt");
     private static Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    public static final String SNAPSHOT_HEADER = "#journal|";
+    private static final String SHARD_EXTENSION = ".tasks";
+    private static final String ARCHIVE_EXTENSION = ".gz";
+    private static final String ARCHIVED_FLAG = "|archived";
+    private static final Pattern SAVE_LINE_PATTERN = Pattern.compile("\\d{4}-\\d{2}-\\d{2}\\|.+");
+    private static final Pattern MONTH_LINE_PATTERN = Pattern.compile("\\d{4}-\\d{2}\\|\\d+(\\|archived)?");
 
     /**
      * Creates directory and tasks.txt if it does not exist.
@@ -55,123 +80,395 @@ public class Storage {
         }
     }
 
+    /**
+     * Returns the file holding the tasks of a month, such as "save/tasks/2026/10.tasks" for "save/tasks.txt".
+     *
+     * @param saveFilePath File Path of tests.txt file.
+     * @param month The month.
+     * @return The File Path of the month's file.
+     */
+    public static Path getShardPath(Path saveFilePath, YearMonth month) {
+        String fileName = saveFilePath.getFileName().toString();
+        int extensionStart = fileName.lastIndexOf('.');
+        String directoryName = extensionStart > 0 ? fileName.substring(0, extensionStart) : fileName + ".months";
+        return saveFilePath.resolveSibling(directoryName).resolve(Integer.toString(month.getYear()))
+                .resolve(String.format("%02d", month.getMonthValue()) + SHARD_EXTENSION);
+    }
+
+    /**
+     * Returns the compressed file holding the tasks of an archived month, such as "save/tasks/2024/10.tasks.gz".
+     *
+     * @param saveFilePath File Path of tests.txt file.
+     * @param month The month.
+     * @return The File Path of the month's archive.
+     */
+    public static Path getArchivePath(Path saveFilePath, YearMonth month) {
+        Path shardPath = getShardPath(saveFilePath, month);
+        return shardPath.resolveSibling(shardPath.getFileName() + ARCHIVE_EXTENSION);
+    }
+
     //@@author kyhjonathan
     /**
-     * Reads tasks in hashmap and writes it in formatted form to tests.txt.
+     * Writes the tasks of each month to a new file next to the month's file, for installShards to put in its
+     * place. Each file starts with the number of the last journaled change it holds. The tasks of each date are
+     * read through an iterator, so that the files can be written from iterators taken at one moment while the
+     * tasks go on being changed. The files of months to archive are compressed with GZIP.
      *
-     * @param tasks Hashmap of tasks.
-     * @param path File Path of tests.txt file.
+     * @param saveFilePath File Path of tests.txt file.
+     * @param sequenceNumber The number of the last journaled change the files hold.
+     * @param monthTasks The tasks of each month, by date in date order.
+     * @param archivedMonths The months to write compressed, for installShards to put in place of their archive.
+     * @return The files written by month, with no file for a month without tasks.
+     * @throws IOException If a file cannot be written, in which case none of the files are kept.
      */
-    public static void saveTasksToFile(Map<LocalDate, List<Task>> tasks, Path path) {
-        try (FileWriter writer = new FileWriter(path.toFile())) {
-            for (Map.Entry<LocalDate, List<Task>> entry : tasks.entrySet()) {
-                assert entry != null;
+    public static Map<YearMonth, Path> writeShards(Path saveFilePath, long sequenceNumber,
+            Map<YearMonth, Map<LocalDate, Iterator<Task>>> monthTasks, Set<YearMonth> archivedMonths)
+            throws IOException {
+        Map<YearMonth, Path> writtenShards = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<YearMonth, Map<LocalDate, Iterator<Task>>> entry : monthTasks.entrySet()) {
+                Path shardPath = getShardPath(saveFilePath, entry.getKey());
+                Files.createDirectories(shardPath.getParent());
+                Path writtenPath = Files.createTempFile(shardPath.getParent(), shardPath.getFileName().toString(),
+                        ".tmp");
+                writtenShards.put(entry.getKey(), writtenPath);
+                boolean isCompressed = archivedMonths.contains(entry.getKey());
+                if (writeSnapshot(writtenPath, sequenceNumber, entry.getValue(), isCompressed) == 0) {
+                    Files.delete(writtenPath);
+                    writtenShards.put(entry.getKey(), null);
+                }
+            }
+        } catch (IOException e) {
+            discardShards(writtenShards);
+            throw e;
+        }
+        return writtenShards;
+    }
+
+    private static int writeSnapshot(Path snapshotPath, long sequenceNumber, Map<LocalDate, Iterator<Task>> tasks,
+            boolean isCompressed) throws IOException {
+        int taskCount = 0;
+        try (BufferedWriter writer = isCompressed
+                ? new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(snapshotPath)),
+                        StandardCharsets.UTF_8))
+                : Files.newBufferedWriter(snapshotPath)) {
+            writer.write(SNAPSHOT_HEADER + sequenceNumber + System.lineSeparator());
+            for (Map.Entry<LocalDate, Iterator<Task>> entry : tasks.entrySet()) {
                 LocalDate date = entry.getKey();
                 assert date != null;
-                List<Task> taskList = entry.getValue();
-                assert taskList != null;
-                for (Task task : taskList) {
-                    String taskSaveFormat = task.getSaveFormat();
-                    writer.write(date + "|" + taskSaveFormat + System.lineSeparator());
-                    String taskDescription = task.getName();
-                    logger.log(Level.INFO, "task added: " + taskDescription);
+                Iterator<Task> dayTasks = entry.getValue();
+                while (dayTasks.hasNext()) {
+                    writer.write(date + "|" + dayTasks.next().getSaveFormat() + System.lineSeparator());
+                    taskCount++;
+                }
+            }
+        }
+        return taskCount;
+    }
+
+    /**
+     * Puts the files written by writeShards in place of the files of their months, then rewrites tests.txt to
+     * list the months with tasks and which of them are archived, and deletes the files the months no longer use.
+     * tests.txt is only rewritten once every month's file is in place, and a month's file names the last change
+     * it holds, so loading gives the same tasks however far this got.
+     *
+     * @param saveFilePath File Path of tests.txt file.
+     * @param sequenceNumber The number of the last journaled change the files hold.
+     * @param writtenShards The files returned by writeShards.
+     * @param monthTaskCounts The number of tasks of every month with tasks, in month order.
+     * @param archivedMonths The months kept in an archive, including those written compressed by writeShards.
+     * @throws IOException If a file cannot be moved or written, or a month with tasks has no file, in which case
+     *     nothing is changed.
+     */
+    public static void installShards(Path saveFilePath, long sequenceNumber, Map<YearMonth, Path> writtenShards,
+            Map<YearMonth, Integer> monthTaskCounts, Set<YearMonth> archivedMonths) throws IOException {
+        for (YearMonth month : monthTaskCounts.keySet()) {
+            Path monthPath = archivedMonths.contains(month)
+                    ? getArchivePath(saveFilePath, month) : getShardPath(saveFilePath, month);
+            if (writtenShards.get(month) == null && !Files.exists(monthPath)) {
+                discardShards(writtenShards);
+                throw new IOException("The tasks of " + month + " were never written to " + monthPath);
+            }
+        }
+        for (Map.Entry<YearMonth, Path> entry : writtenShards.entrySet()) {
+            YearMonth month = entry.getKey();
+            if (entry.getValue() != null) {
+                moveAtomically(entry.getValue(), archivedMonths.contains(month)
+                        ? getArchivePath(saveFilePath, month) : getShardPath(saveFilePath, month));
+            }
+        }
+        Path manifestPath = saveFilePath.resolveSibling(saveFilePath.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(manifestPath)) {
+            writer.write(SNAPSHOT_HEADER + sequenceNumber + System.lineSeparator());
+            for (Map.Entry<YearMonth, Integer> entry : monthTaskCounts.entrySet()) {
+                String archivedFlag = archivedMonths.contains(entry.getKey()) ? ARCHIVED_FLAG : "";
+                writer.write(entry.getKey() + "|" + entry.getValue() + archivedFlag + System.lineSeparator());
+            }
+        }
+        moveAtomically(manifestPath, saveFilePath);
+        for (Map.Entry<YearMonth, Path> entry : writtenShards.entrySet()) {
+            YearMonth month = entry.getKey();
+            boolean hasTasks = entry.getValue() != null;
+            if (!hasTasks || archivedMonths.contains(month)) {
+                Files.deleteIfExists(getShardPath(saveFilePath, month));
+            }
+            if (!hasTasks || !archivedMonths.contains(month)) {
+                Files.deleteIfExists(getArchivePath(saveFilePath, month));
+            }
+        }
+        logger.log(Level.INFO, writtenShards.size() + " months saved up to change " + sequenceNumber);
+    }
+
+    /**
+     * Deletes the files written by writeShards without installing them.
+     *
+     * @param writtenShards The files returned by writeShards.
+     */
+    public static void discardShards(Map<YearMonth, Path> writtenShards) {
+        for (Path writtenPath : writtenShards.values()) {
+            try {
+                if (writtenPath != null) {
+                    Files.deleteIfExists(writtenPath);
                 }
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Could not delete " + writtenPath);
             }
+        }
+    }
+
+    /**
+     * Moves a file in place of another in one step where the file system allows it, so that the other file is
+     * never seen half written.
+     *
+     * @param source The file to move.
+     * @param target The file to replace.
+     * @throws IOException If the file cannot be moved.
+     */
+    static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Loads tasks from test.txt and the files of the months it lists into a calendar, then replays the changes
+     * journaled since they were written. Tasks written straight into test.txt, as older versions did, are
+     * loaded too. Archived months are left compressed, for the calendar to load once they are looked at,
+     * unless a journaled change needs them.
+     * If a file cannot all be read, the tasks read up to the line in error are kept and the journal is not
+     * replayed, as its changes were made to the whole calendar.
+     *
+     * @param path File Path of tests.txt file.
+     * @param taskManager The calendar to add the tasks to.
+     */
+    public static void loadTasksFromFile(Path path, TaskManager taskManager) {
+        Map<LocalDate, List<Task>> savedTasks = new LinkedHashMap<>();
+        Map<YearMonth, Long> shardSequenceNumbers = new HashMap<>();
+        Map<YearMonth, Integer> unloadedMonthTaskCounts = new TreeMap<>();
+        Set<YearMonth> archivedMonths = new HashSet<>();
+        Set<YearMonth> legacyMonths = new HashSet<>();
+        long snapshotSequenceNumber = 0;
+        boolean isSnapshotComplete = false;
+        try {
+            Map<YearMonth, Integer> monthTaskCounts = new TreeMap<>();
+            snapshotSequenceNumber = readSnapshot(path, savedTasks, monthTaskCounts, archivedMonths);
+            for (LocalDate date : savedTasks.keySet()) {
+                legacyMonths.add(YearMonth.from(date));
+            }
+            for (Map.Entry<YearMonth, Integer> entry : monthTaskCounts.entrySet()) {
+                YearMonth month = entry.getKey();
+                if (archivedMonths.contains(month)) {
+                    unloadedMonthTaskCounts.put(month, entry.getValue());
+                } else {
+                    shardSequenceNumbers.put(month, readShard(getShardPath(path, month), savedTasks));
+                }
+            }
+            isSnapshotComplete = true;
         } catch (IOException e) {
             System.out.println("I/O exception occurred during file handling");
+            logger.log(Level.WARNING, "I/O exception occurred");
+        } catch (StorageFileException | DateTimeException | NumberFormatException e) {
+            logger.log(Level.WARNING, "Wrong tasks.txt format");
+        }
+        List<TaskOperation> journaledOperations = new ArrayList<>();
+        if (isSnapshotComplete) {
+            try {
+                long journalStart = snapshotSequenceNumber;
+                journaledOperations = taskManager.getJournal().recover(journalStart, month -> {
+                    if (unloadedMonthTaskCounts.containsKey(month)) {
+                        loadArchiveForJournal(path, month, savedTasks, shardSequenceNumbers);
+                        unloadedMonthTaskCounts.remove(month);
+                    }
+                    return shardSequenceNumbers.getOrDefault(month, journalStart);
+                });
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "The journal could not be read");
+            }
+        }
+        taskManager.restoreSavedTasks(savedTasks, journaledOperations, unloadedMonthTaskCounts, archivedMonths,
+                legacyMonths);
+        logger.log(Level.INFO, "tasks loaded");
+    }
+
+    /**
+     * Loads an archived month that a journaled change was made to, as the change must be replayed on top of it.
+     */
+    private static void loadArchiveForJournal(Path path, YearMonth month, Map<LocalDate, List<Task>> savedTasks,
+            Map<YearMonth, Long> shardSequenceNumbers) {
+        try {
+            shardSequenceNumbers.put(month, readShard(getArchivePath(path, month), savedTasks));
+        } catch (IOException | StorageFileException e) {
+            throw new IllegalStateException("The archive of " + month + " could not be read", e);
         }
     }
 
     /**
-     * Loads tasks from test.txt to hashmap.
+     * Reads the tasks of an archived month, decompressing its archive.
      *
-     * @param path File Path of tests.txt file.
-     * @return tasks hashmap of tasks read from test.txt.
+     * @param saveFilePath File Path of tests.txt file.
+     * @param month The month to read.
+     * @return The tasks of the month by date.
+     * @throws IOException If the archive cannot be read.
+     * @throws StorageFileException If the archive is not in the format of saved tasks.
      */
-    public static Map<LocalDate, List<Task>> loadTasksFromFile(Path path) {
-        Map<LocalDate, List<Task>> tasks = new HashMap<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(path.toFile()))) {
+    public static Map<LocalDate, List<Task>> readArchivedMonth(Path saveFilePath, YearMonth month)
+            throws IOException, StorageFileException {
+        Map<LocalDate, List<Task>> tasks = new LinkedHashMap<>();
+        readShard(getArchivePath(saveFilePath, month), tasks);
+        logger.log(Level.INFO, "archive of " + month + " loaded");
+        return tasks;
+    }
+
+    private static long readShard(Path path, Map<LocalDate, List<Task>> tasks)
+            throws IOException, StorageFileException {
+        return readSnapshot(path, tasks, new HashMap<>(), new HashSet<>());
+    }
+
+    /**
+     * Reads the tasks and months listed in test.txt or in the file of a month, decompressing the file if it is
+     * an archive.
+     *
+     * @param path File Path of the file to read.
+     * @param tasks The tasks read so far, to add the file's tasks to by date.
+     * @param monthTaskCounts The months listed so far, to add the file's months to.
+     * @param archivedMonths The archived months listed so far, to add the file's archived months to.
+     * @return The number of the last journaled change the file holds.
+     * @throws IOException If the file cannot be read.
+     * @throws StorageFileException If a line is not in the format of a saved task or month.
+     */
+    private static long readSnapshot(Path path, Map<LocalDate, List<Task>> tasks,
+            Map<YearMonth, Integer> monthTaskCounts, Set<YearMonth> archivedMonths)
+            throws IOException, StorageFileException {
+        long sequenceNumber = 0;
+        boolean isCompressed = path.getFileName().toString().endsWith(ARCHIVE_EXTENSION);
+        try (BufferedReader reader = isCompressed
+                ? new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(path)),
+                        StandardCharsets.UTF_8))
+                : Files.newBufferedReader(path)) {
             String line;
             while ((line = reader.readLine()) != null) {
+                if (line.startsWith(SNAPSHOT_HEADER)) {
+                    sequenceNumber = Long.parseLong(line.substring(SNAPSHOT_HEADER.length()).trim());
+                    continue;
+                }
+                if (MONTH_LINE_PATTERN.matcher(line).matches()) {
+                    String[] parts = line.split("\\|");
+                    YearMonth month = YearMonth.parse(parts[0]);
+                    monthTaskCounts.put(month, Integer.parseInt(parts[1]));
+                    if (line.endsWith(ARCHIVED_FLAG)) {
+                        archivedMonths.add(month);
+                    }
+                    continue;
+                }
                 if (!checkFileFormat(line)) {
                     throw new StorageFileException("Error in file format.");
                 }
                 String[] parts = line.split("\\|");
                 checkStorageTextDateFormat(parts[0]);
                 LocalDate date = LocalDate.parse(parts[0]);
-                TaskType taskType = parseTaskType(parts[1]);
-                String markedStatus = parts[2];
-                String priorityLevel = parts[3];
-                String taskDescription = parts[4];
-                String[] dates = {null, null};
-                String[] times = {null, null};
-                if (taskType == DEADLINE) {
-                    dates[0] = parts[5];
-                    times[0] = parts[6];
-                } else if (taskType == EVENT) {
-                    dates[0] = parts[5];
-                    dates[1] = parts[6];
-                    times[0] = parts[7];
-                    times[1] = parts[8];
-                }
-                addTask(date, taskDescription, taskType, dates, times);
-                configureStatuses(date, markedStatus, priorityLevel);
+                tasks.computeIfAbsent(date, k -> new ArrayList<>()).add(parseTask(parts, 1));
             }
-        } catch (IOException e) {
-            System.out.println("I/O exception occurred during file handling");
-            logger.log(Level.WARNING, "I/O exception occurred");
-        } catch (StorageFileException e) {
-            logger.log(Level.WARNING, "Wrong tasks.txt format");
-        } catch (TaskManagerException e) {
-            logger.log(Level.WARNING, "Invalid task type for task.");
         }
-        logger.log(Level.INFO, "tasks returned");
-        return tasks;
+        return sequenceNumber;
     }
     //@@author
 
     /**
-     * Configures the statuses of the tasks after they are loaded from the file.
-     * 
-     * @param date Date of the task.
-     * @param markedStatus Marked status of the task.
-     * @param priorityLevel Priority level of the task.
+     * Reads a task from its save format, such as "D|X|H|report|05/05/2024|2359", starting at the given field
+     * of a line split at "|".
+     *
+     * @param parts The fields of the line.
+     * @param offset The index of the field holding the type of the task.
+     * @return The task.
+     * @throws StorageFileException If the task is not in its save format.
      */
-    private static void configureStatuses(LocalDate date, String markedStatus, String priorityLevel) {
-
-        List<Task> allTasks = getDayTasks(date);
-        Task recentlyAddedTask = allTasks.get(allTasks.size() - 1);
-
-        setMarkedStatus(markedStatus, recentlyAddedTask);
-        setPriorityLevelStatus(priorityLevel, recentlyAddedTask);
+    static Task parseTask(String[] parts, int offset) throws StorageFileException {
+        if (parts.length < offset + 4) {
+            throw new StorageFileException("Error in file format.");
+        }
+        TaskType taskType = parseTaskType(parts[offset]);
+        if (taskType == null || parts.length < offset + countTaskFields(parts[offset])) {
+            throw new StorageFileException("Error in file format.");
+        }
+        String taskDescription = parts[offset + 3];
+        Task task;
+        try {
+            switch (taskType) {
+            case DEADLINE:
+                checkIfTimeInFormat(parts[offset + 5]);
+                task = new Deadline(taskDescription, parts[offset + 4], parts[offset + 5]);
+                break;
+            case EVENT:
+                checkIfTimeInFormat(parts[offset + 6]);
+                checkIfTimeInFormat(parts[offset + 7]);
+                task = new Event(taskDescription, parts[offset + 4], parts[offset + 5], parts[offset + 6],
+                        parts[offset + 7]);
+                break;
+            default:
+                task = new Todo(taskDescription);
+                break;
+            }
+        } catch (TaskManagerException e) {
+            throw new StorageFileException(e.getMessage());
+        }
+        task.setCompleteness(parts[offset + 1].equals("X"));
+        task.setPriorityLevel(parsePriorityLevel(parts[offset + 2]));
+        return task;
     }
 
     /**
-     * Sets the priority level status of the task.
-     * 
-     * @param priorityLevel Priority level of the task.
-     * @param recentlyAddedTask Task that was most recently added.
+     * Returns the number of fields the save format of a task takes up.
+     *
+     * @param task The task.
+     * @return The number of fields.
      */
-    private static void setPriorityLevelStatus(String priorityLevel, Task recentlyAddedTask) {
-        if (priorityLevel.equals("H")) {
-            recentlyAddedTask.setPriorityLevel(TaskPriorityLevel.HIGH);
-        } else if (priorityLevel.equals("M")) {
-            recentlyAddedTask.setPriorityLevel(TaskPriorityLevel.MEDIUM);
-        } else {
-            recentlyAddedTask.setPriorityLevel(TaskPriorityLevel.LOW);
+    static int countTaskFields(Task task) {
+        return countTaskFields(task.getTaskType());
+    }
+
+    private static int countTaskFields(String taskType) {
+        switch (taskType) {
+        case "D":
+            return 6;
+        case "E":
+            return 8;
+        default:
+            return 4;
         }
     }
 
     /**
-     * Sets the marked status of the task.
-     * 
-     * @param markedStatus Marked status of the task.
-     * @param recentlyAddedTask Task that was most recently added.
+     * Loads the calendar saved in a file, such as a teammate's, into a calendar of its own.
+     *
+     * @param path File Path of the saved calendar.
+     * @return The loaded calendar.
      */
-    private static void setMarkedStatus(String markedStatus, Task recentlyAddedTask) {
-        if (markedStatus.equals("X")) {
-            recentlyAddedTask.setCompleteness(true);
-        }
+    public static TaskManager loadCalendar(Path path) {
+        TaskManager calendar = new TaskManager(path, TaskManager.NO_TASK_LIMIT);
+        loadTasksFromFile(path, calendar);
+        return calendar;
     }
 
     /**
@@ -181,8 +478,7 @@ public class Storage {
      * @return True if the file format is correct, false otherwise.
      */
     public static boolean checkFileFormat(String line) {
-        String regex = "\\d{4}-\\d{2}-\\d{2}\\|.+";
-        return line.matches(regex);
+        return SAVE_LINE_PATTERN.matcher(line).matches();
     }
 
 }
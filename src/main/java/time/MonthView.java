@@ -2,26 +2,21 @@ package time;
 
 import data.Task;
 import data.TaskManager;
+import ui.RenderCache;
 import ui.UiRenderer;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import static ui.UiRenderer.TODO_ICON_COLOR;
-import static ui.UiRenderer.DEADLINE_ICON_COLOR;
-import static ui.UiRenderer.EVENT_ICON_COLOR;
-import static ui.UiRenderer.ESCAPE_COLOR;
-
 public class MonthView extends View {
     private static final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
     private static final int NUMBER_OF_DAYS_IN_WEEK = 7;
-    private final UiRenderer uiRenderer;
 
     /**
      * Constructs a MonthView with the specified start date and date formatter.
@@ -31,7 +26,6 @@ public class MonthView extends View {
      */
     public MonthView(LocalDate startOfMonth, DateTimeFormatter dateFormatter) {
         super(startOfMonth, dateFormatter);
-        this.uiRenderer = new UiRenderer();
     }
 
     /**
@@ -81,7 +75,7 @@ public class MonthView extends View {
         uiRenderer.printSeparator();
 
         int maxTasks = getMaxTasksForWeek(currentDate.minusDays(7), taskManager);
-        printTasksForWeek(currentDate.minusDays(7), maxTasks, taskManager);
+        printTasksForWeek(currentDate.minusDays(7), taskManager);
 
         if (maxTasks > 0) {
             uiRenderer.printSeparator();
@@ -95,7 +89,7 @@ public class MonthView extends View {
      * @param startOfMonth the start date of the current month.
      */
     private void printDay(LocalDate currentDate, LocalDate startOfMonth) {
-        if (currentDate.getMonth().equals(YearMonth.from(startOfMonth).getMonth())) {
+        if (currentDate.getMonth() == startOfMonth.getMonth()) {
             printDayNumber(currentDate);
         } else {
             System.out.print(uiRenderer.EMPTY_TASK_DISPLAY_FORMAT);
@@ -108,8 +102,7 @@ public class MonthView extends View {
      * @param currentDate the current date to print.
      */
     private void printDayNumber(LocalDate currentDate) {
-        DateTimeFormatter dayFormatter = DateTimeFormatter.ofPattern("d");
-        System.out.printf(uiRenderer.ENTRY_FORMAT, dayFormatter.format(currentDate));
+        System.out.print(RenderCache.getDayNumberEntry(currentDate.getDayOfMonth()));
     }
 
     /**
@@ -120,45 +113,47 @@ public class MonthView extends View {
      * @return the maximum number of tasks for the week.
      */
     private int getMaxTasksForWeek(LocalDate weekStart, TaskManager taskManager) {
-        int maxTasks = 0;
-        for (int i = 0; i < NUMBER_OF_DAYS_IN_WEEK; i++) {
-            LocalDate date = weekStart.plusDays(i);
-            maxTasks = Math.max(maxTasks, taskManager.getTasksForDate(date).size());
-        }
-        return maxTasks;
+        return taskManager.getMaxTaskCountForDayInWeek(weekStart);
     }
 
     /**
      * Prints tasks for each day of the week.
+     * Only the tasks inside each day's window are printed, with the rest counted in "+N more" rows.
+     * Each day's tasks are taken once, so that a change made meanwhile by another thread cannot leave the count
+     * and the tasks printed out of step.
      *
      * @param weekStart   the start date of the week.
-     * @param maxTasks    the maximum number of tasks for the week.
      * @param taskManager the TaskManager object containing tasks.
      */
-    private void printTasksForWeek(LocalDate weekStart, int maxTasks, TaskManager taskManager) {
-        for (int taskIndex = 0; taskIndex < maxTasks; taskIndex++) {
+    private void printTasksForWeek(LocalDate weekStart, TaskManager taskManager) {
+        List<List<Task>> dayTaskLists = new ArrayList<>(NUMBER_OF_DAYS_IN_WEEK);
+        int[] firstVisibleTaskIndexes = new int[NUMBER_OF_DAYS_IN_WEEK];
+        int[] visibleTaskCounts = new int[NUMBER_OF_DAYS_IN_WEEK];
+        int[] hiddenTasksBelow = new int[NUMBER_OF_DAYS_IN_WEEK];
+        int numberOfRows = 0;
+        for (int dayIndex = 0; dayIndex < NUMBER_OF_DAYS_IN_WEEK; dayIndex++) {
+            LocalDate date = weekStart.plusDays(dayIndex);
+            dayTaskLists.add(taskManager.getTaskSnapshotForDate(date));
+            int taskCount = dayTaskLists.get(dayIndex).size();
+            firstVisibleTaskIndexes[dayIndex] = uiRenderer.getFirstVisibleTaskIndex(date, taskCount);
+            visibleTaskCounts[dayIndex] = uiRenderer.getVisibleTaskCount(firstVisibleTaskIndexes[dayIndex], taskCount);
+            hiddenTasksBelow[dayIndex] = taskCount - firstVisibleTaskIndexes[dayIndex] - visibleTaskCounts[dayIndex];
+            numberOfRows = Math.max(numberOfRows, visibleTaskCounts[dayIndex]);
+        }
+
+        uiRenderer.printHiddenTasksRow(firstVisibleTaskIndexes, "^ %d more");
+        for (int rowIndex = 0; rowIndex < numberOfRows; rowIndex++) {
             for (int dayIndex = 0; dayIndex < NUMBER_OF_DAYS_IN_WEEK; dayIndex++) {
-                LocalDate date = weekStart.plusDays(dayIndex);
-                List<Task> dayTasks = taskManager.getTasksForDate(date);
-                printTaskForDay(dayTasks, taskIndex);
+                if (rowIndex < visibleTaskCounts[dayIndex]) {
+                    List<Task> dayTasks = dayTaskLists.get(dayIndex);
+                    printTaskIcon(dayTasks.get(firstVisibleTaskIndexes[dayIndex] + rowIndex));
+                } else {
+                    System.out.print(uiRenderer.EMPTY_TASK_DISPLAY_FORMAT);
+                }
             }
             System.out.println(uiRenderer.VERTICAL_DIVIDER);
         }
-    }
-
-    /**
-     * Prints the tasks for a specific day within a week.
-     *
-     * @param dayTasks  the list of tasks for the day.
-     * @param taskIndex the index of the task to print.
-     */
-    private void printTaskForDay(List<Task> dayTasks, int taskIndex) {
-        if (taskIndex < dayTasks.size()) {
-            Task task = dayTasks.get(taskIndex);
-            printTaskIcon(task);
-        } else {
-            System.out.print(uiRenderer.EMPTY_TASK_DISPLAY_FORMAT);
-        }
+        uiRenderer.printHiddenTasksRow(hiddenTasksBelow, "+%d more");
     }
 
     /**
@@ -167,50 +162,7 @@ public class MonthView extends View {
      * @param task the task to print.
      */
     private void printTaskIcon(Task task) {
-        String taskIcon = getTaskIcon(task);
-        System.out.printf(uiRenderer.ICON_DISPLAY_FORMAT, taskIcon);
-    }
-
-    /**
-     * Retrieves the task icon based on its type and status.
-     *
-     * @param task the task to retrieve the icon for.
-     * @return the task icon.
-     */
-    private String getTaskIcon(Task task) {
-        String taskIcon;
-        switch (task.getTaskType()) {
-        case "E":
-            taskIcon = getColoredTaskIcon(task, EVENT_ICON_COLOR);
-            break;
-        case "D":
-            taskIcon = getColoredTaskIcon(task, DEADLINE_ICON_COLOR);
-            break;
-        case "T":
-            taskIcon = getColoredTaskIcon(task, TODO_ICON_COLOR);
-            break;
-        default:
-            taskIcon = "";
-            break;
-        }
-        return taskIcon;
-    }
-
-    /**
-     * Retrieves a colored task icon.
-     *
-     * @param task  the task to retrieve the icon for.
-     * @param color the color of the task icon.
-     * @return the colored task icon.
-     */
-    private String getColoredTaskIcon(Task task, String color) {
-        String taskIcon;
-        if (Objects.equals(task.getMarkedStatusIcon(), "X")) {
-            taskIcon = color + "{*}" + ESCAPE_COLOR;
-        } else {
-            taskIcon = color + "{ }" + ESCAPE_COLOR;
-        }
-        return taskIcon;
+        System.out.print(RenderCache.getTaskIconEntry(task));
     }
 
     /**
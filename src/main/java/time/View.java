@@ -2,6 +2,7 @@ package time;
 
 import data.TaskManager;
 import data.exceptions.TaskManagerException;
+import ui.UiRenderer;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -9,6 +10,7 @@ import java.time.format.DateTimeFormatter;
 public abstract class View {
     protected LocalDate startOfView;
     protected final DateTimeFormatter dateFormatter;
+    protected UiRenderer uiRenderer = new UiRenderer();
 
     /**
      * Constructs a View with the specified start date and date formatter.
@@ -47,6 +49,25 @@ public abstract class View {
         return startOfView;
     }
 
+    /**
+     * Returns the renderer holding this view's task window and scroll positions.
+     *
+     * @return the renderer of the view
+     */
+    public UiRenderer getUiRenderer() {
+        return uiRenderer;
+    }
+
+    /**
+     * Sets the renderer of the view, so that views of the same calendar share one task window and scroll
+     * positions.
+     *
+     * @param uiRenderer the renderer to use
+     */
+    public void setUiRenderer(UiRenderer uiRenderer) {
+        this.uiRenderer = uiRenderer;
+    }
+
     /**
      * Returns the start date of the month associated with the view.
      *
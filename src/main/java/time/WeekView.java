@@ -5,7 +5,6 @@ import data.TaskManager;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
-import static ui.UiRenderer.printWeekBody;
 import static ui.UiRenderer.printWeekHeader;
 
 public class WeekView extends View {
@@ -33,7 +32,7 @@ public class WeekView extends View {
                 " - " + dateFormatter.format(endOfWeek));
 
         printWeekHeader(startOfView, dateFormatter, false);
-        printWeekBody(startOfView, taskManager);
+        uiRenderer.printWeekBody(startOfView, taskManager);
     }
 
     /**
@@ -0,0 +1,195 @@
+package time;
+
+import data.TaskManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The YearView class shows a whole year as twelve compact month grids, three to a row.
+ * Each day is followed by a heat marker showing how busy it is compared with the busiest day of the year.
+ * "next" and "prev" move the view a year at a time.
+ */
+public class YearView extends View {
+    private static final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    private static final int NUMBER_OF_DAYS_IN_WEEK = 7;
+    private static final int NUMBER_OF_MONTHS_IN_YEAR = 12;
+    private static final int MONTHS_PER_ROW = 3;
+    private static final int MAX_WEEKS_IN_MONTH = 6;
+    private static final int MONTH_GRID_WIDTH = 28;
+    private static final String MONTH_GAP = "  ";
+    private static final String DAY_HEADER = "Su  Mo  Tu  We  Th  Fr  Sa  ";
+    private static final String EMPTY_DAY_CELL = "    ";
+    private static final String[] HEAT_MARKERS = {" ", ".", "o", "O", "@"};
+
+    /**
+     * Constructs a YearView for the year containing the specified date.
+     *
+     * @param startOfYear   a date within the year to view.
+     * @param dateFormatter the date formatter for formatting dates.
+     */
+    public YearView(LocalDate startOfYear, DateTimeFormatter dateFormatter) {
+        super(startOfYear.withDayOfYear(1), dateFormatter);
+    }
+
+    /**
+     * Prints the year view as twelve compact month grids, with a heat marker beside each day
+     * showing how busy it is relative to the busiest day of the year.
+     * Only the task counters kept by the task manager are read, so the cost does not grow with the number of tasks.
+     *
+     * @param taskManager the TaskManager object containing tasks.
+     */
+    @Override
+    public void printView(TaskManager taskManager) {
+        logger.log(Level.INFO, "Printing calendar in year view");
+        assert startOfView != null : "Start of Year missing!";
+
+        int year = startOfView.getYear();
+        int busiestDayCount = getBusiestDayCount(year, taskManager);
+
+        System.out.println("\nYear View: " + year + " (" + getTaskCountForYear(year, taskManager) + " tasks)");
+        for (int firstMonth = 1; firstMonth <= NUMBER_OF_MONTHS_IN_YEAR; firstMonth += MONTHS_PER_ROW) {
+            printMonthRow(year, firstMonth, busiestDayCount, taskManager);
+        }
+        printLegend(busiestDayCount);
+    }
+
+    /**
+     * Prints a row of month grids side by side.
+     *
+     * @param year            the year being viewed.
+     * @param firstMonth      the month number of the leftmost grid in the row.
+     * @param busiestDayCount the number of tasks on the busiest day of the year.
+     * @param taskManager     the TaskManager object containing tasks.
+     */
+    private void printMonthRow(int year, int firstMonth, int busiestDayCount, TaskManager taskManager) {
+        StringBuilder titleLine = new StringBuilder();
+        StringBuilder headerLine = new StringBuilder();
+        for (int month = firstMonth; month < firstMonth + MONTHS_PER_ROW; month++) {
+            YearMonth yearMonth = YearMonth.of(year, month);
+            String title = yearMonth.getMonth() + " (" + taskManager.getTaskCountForMonth(yearMonth) + ")";
+            titleLine.append(String.format("%-" + MONTH_GRID_WIDTH + "s", title)).append(MONTH_GAP);
+            headerLine.append(DAY_HEADER).append(MONTH_GAP);
+        }
+        System.out.println();
+        System.out.println(titleLine.toString().stripTrailing());
+        System.out.println(headerLine.toString().stripTrailing());
+
+        for (int weekIndex = 0; weekIndex < MAX_WEEKS_IN_MONTH; weekIndex++) {
+            StringBuilder weekLine = new StringBuilder();
+            for (int month = firstMonth; month < firstMonth + MONTHS_PER_ROW; month++) {
+                appendWeekOfMonth(weekLine, YearMonth.of(year, month), weekIndex, busiestDayCount, taskManager);
+                weekLine.append(MONTH_GAP);
+            }
+            System.out.println(weekLine.toString().stripTrailing());
+        }
+    }
+
+    /**
+     * Appends one week of a month grid, with each day followed by its heat marker.
+     *
+     * @param weekLine        the line being built.
+     * @param yearMonth       the month of the grid.
+     * @param weekIndex       the index of the week within the grid, starting from 0.
+     * @param busiestDayCount the number of tasks on the busiest day of the year.
+     * @param taskManager     the TaskManager object containing tasks.
+     */
+    private void appendWeekOfMonth(StringBuilder weekLine, YearMonth yearMonth, int weekIndex,
+            int busiestDayCount, TaskManager taskManager) {
+        int firstDayOffset = yearMonth.atDay(1).getDayOfWeek().getValue() % NUMBER_OF_DAYS_IN_WEEK;
+        for (int dayIndex = 0; dayIndex < NUMBER_OF_DAYS_IN_WEEK; dayIndex++) {
+            int dayOfMonth = weekIndex * NUMBER_OF_DAYS_IN_WEEK + dayIndex - firstDayOffset + 1;
+            if (dayOfMonth < 1 || dayOfMonth > yearMonth.lengthOfMonth()) {
+                weekLine.append(EMPTY_DAY_CELL);
+                continue;
+            }
+            int taskCount = taskManager.getTaskCountForDate(yearMonth.atDay(dayOfMonth));
+            weekLine.append(String.format("%2d", dayOfMonth))
+                    .append(getHeatMarker(taskCount, busiestDayCount))
+                    .append(' ');
+        }
+    }
+
+    /**
+     * Returns the heat marker for a day, scaled against the busiest day of the year.
+     *
+     * @param taskCount       the number of tasks on the day.
+     * @param busiestDayCount the number of tasks on the busiest day of the year.
+     * @return the heat marker for the day.
+     */
+    static String getHeatMarker(int taskCount, int busiestDayCount) {
+        if (taskCount <= 0 || busiestDayCount <= 0) {
+            return HEAT_MARKERS[0];
+        }
+        int levels = HEAT_MARKERS.length - 1;
+        int level = (taskCount * levels + busiestDayCount - 1) / busiestDayCount;
+        return HEAT_MARKERS[Math.min(level, levels)];
+    }
+
+    /**
+     * Returns the number of tasks on the busiest day of the year.
+     *
+     * @param year        the year to check.
+     * @param taskManager the TaskManager object containing tasks.
+     * @return the largest number of tasks on a single day of the year.
+     */
+    private int getBusiestDayCount(int year, TaskManager taskManager) {
+        int busiestDayCount = 0;
+        for (int month = 1; month <= NUMBER_OF_MONTHS_IN_YEAR; month++) {
+            YearMonth yearMonth = YearMonth.of(year, month);
+            if (taskManager.getTaskCountForMonth(yearMonth) == 0) {
+                continue;
+            }
+            for (int day = 1; day <= yearMonth.lengthOfMonth(); day++) {
+                busiestDayCount = Math.max(busiestDayCount, taskManager.getTaskCountForDate(yearMonth.atDay(day)));
+            }
+        }
+        return busiestDayCount;
+    }
+
+    /**
+     * Returns the number of tasks in the year.
+     *
+     * @param year        the year to count tasks for.
+     * @param taskManager the TaskManager object containing tasks.
+     * @return the number of tasks in the year.
+     */
+    private int getTaskCountForYear(int year, TaskManager taskManager) {
+        int taskCount = 0;
+        for (int month = 1; month <= NUMBER_OF_MONTHS_IN_YEAR; month++) {
+            taskCount += taskManager.getTaskCountForMonth(YearMonth.of(year, month));
+        }
+        return taskCount;
+    }
+
+    /**
+     * Prints the legend explaining the heat markers.
+     *
+     * @param busiestDayCount the number of tasks on the busiest day of the year.
+     */
+    private void printLegend(int busiestDayCount) {
+        System.out.println();
+        System.out.println("Legend: " + HEAT_MARKERS[1] + " up to 25%  " + HEAT_MARKERS[2] + " up to 50%  "
+                + HEAT_MARKERS[3] + " up to 75%  " + HEAT_MARKERS[4] + " up to 100% of the busiest day ("
+                + busiestDayCount + " tasks)");
+    }
+
+    /**
+     * Moves the view to the next year.
+     */
+    @Override
+    public void next() {
+        startOfView = startOfView.plusYears(1);
+    }
+
+    /**
+     * Moves the view to the previous year.
+     */
+    @Override
+    public void previous() {
+        startOfView = startOfView.minusYears(1);
+    }
+}
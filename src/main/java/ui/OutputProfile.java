@@ -0,0 +1,65 @@
+package ui;
+
+/**
+ * The OutputProfile enum controls how much the application prints around each command.
+ * FULL shows the avatar, the calendar view and the help hint before every prompt.
+ * COMPACT shows only the calendar view.
+ * QUIET only prints the output of the commands themselves, which suits scripted and piped runs.
+ */
+public enum OutputProfile {
+    FULL(true, true, true),
+    COMPACT(false, true, false),
+    QUIET(false, false, false);
+
+    private final boolean showsAvatar;
+    private final boolean showsView;
+    private final boolean showsHelpHint;
+
+    OutputProfile(boolean showsAvatar, boolean showsView, boolean showsHelpHint) {
+        this.showsAvatar = showsAvatar;
+        this.showsView = showsView;
+        this.showsHelpHint = showsHelpHint;
+    }
+
+    /**
+     * Checks if the avatar and welcome message are printed.
+     *
+     * @return True if the avatar is printed, false otherwise.
+     */
+    public boolean showsAvatar() {
+        return showsAvatar;
+    }
+
+    /**
+     * Checks if the calendar view, including its headers, is printed before every prompt.
+     *
+     * @return True if the view is printed before every prompt, false otherwise.
+     */
+    public boolean showsView() {
+        return showsView;
+    }
+
+    /**
+     * Checks if the "Enter help to learn commands" hint is printed before every prompt.
+     *
+     * @return True if the help hint is printed, false otherwise.
+     */
+    public boolean showsHelpHint() {
+        return showsHelpHint;
+    }
+
+    /**
+     * Returns the output profile with the given name, ignoring case.
+     *
+     * @param name The name of the profile, such as "full", "compact" or "quiet".
+     * @return The matching output profile, or null if there is none.
+     */
+    public static OutputProfile fromName(String name) {
+        for (OutputProfile profile : values()) {
+            if (profile.name().equalsIgnoreCase(name.trim())) {
+                return profile;
+            }
+        }
+        return null;
+    }
+}
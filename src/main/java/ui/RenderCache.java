@@ -0,0 +1,114 @@
+package ui;
+
+import data.Task;
+
+import static ui.UiRenderer.DEADLINE_ICON_COLOR;
+import static ui.UiRenderer.ENTRY_FORMAT;
+import static ui.UiRenderer.ESCAPE_COLOR;
+import static ui.UiRenderer.EVENT_ICON_COLOR;
+import static ui.UiRenderer.ICON_DISPLAY_FORMAT;
+import static ui.UiRenderer.SPACE_COUNT;
+import static ui.UiRenderer.TODO_ICON_COLOR;
+import static ui.UiRenderer.VERTICAL_DIVIDER;
+
+/**
+ * The RenderCache class holds precomputed strings for the calendar views, so that rendering a frame
+ * prints existing strings instead of formatting new ones for every cell.
+ * It covers the day number cells, the coloured task icon cells and the padding of task cells.
+ */
+public class RenderCache {
+    private static final int MAX_DAY_OF_MONTH = 31;
+    private static final int MAX_CACHED_TASK_NUMBER = 100;
+    private static final String[] TASK_TYPES = {"T", "E", "D"};
+    private static final String[] TASK_ICON_COLORS = {TODO_ICON_COLOR, EVENT_ICON_COLOR, DEADLINE_ICON_COLOR};
+    private static final String UNKNOWN_TASK_ICON_ENTRY = String.format(ICON_DISPLAY_FORMAT, "");
+
+    private static final String[] DAY_NUMBER_ENTRIES = new String[MAX_DAY_OF_MONTH + 1];
+    private static final String[][] TASK_ICON_ENTRIES = new String[TASK_TYPES.length][2];
+    private static final String[] TASK_NUMBER_PREFIXES = new String[MAX_CACHED_TASK_NUMBER + 1];
+    private static final String[] PADDING = new String[SPACE_COUNT + 1];
+
+    static {
+        for (int day = 1; day <= MAX_DAY_OF_MONTH; day++) {
+            DAY_NUMBER_ENTRIES[day] = String.format(ENTRY_FORMAT, day);
+        }
+        for (int typeIndex = 0; typeIndex < TASK_TYPES.length; typeIndex++) {
+            String color = TASK_ICON_COLORS[typeIndex];
+            TASK_ICON_ENTRIES[typeIndex][0] = String.format(ICON_DISPLAY_FORMAT, color + "{ }" + ESCAPE_COLOR);
+            TASK_ICON_ENTRIES[typeIndex][1] = String.format(ICON_DISPLAY_FORMAT, color + "{*}" + ESCAPE_COLOR);
+        }
+        for (int taskNumber = 1; taskNumber <= MAX_CACHED_TASK_NUMBER; taskNumber++) {
+            TASK_NUMBER_PREFIXES[taskNumber] = taskNumber + ".";
+        }
+        for (int length = 0; length <= SPACE_COUNT; length++) {
+            PADDING[length] = " ".repeat(length);
+        }
+    }
+
+    /**
+     * Returns the month view cell for a day number.
+     *
+     * @param dayOfMonth The day of the month, from 1 to 31.
+     * @return The formatted cell containing the day number.
+     */
+    public static String getDayNumberEntry(int dayOfMonth) {
+        return DAY_NUMBER_ENTRIES[dayOfMonth];
+    }
+
+    /**
+     * Returns the month view cell for a task icon, coloured by task type and filled in if the task is completed.
+     * The priority level is not part of the icon, so it does not need its own entries.
+     *
+     * @param task The task to get the icon cell for.
+     * @return The formatted cell containing the task icon.
+     */
+    public static String getTaskIconEntry(Task task) {
+        int typeIndex = getTaskTypeIndex(task);
+        if (typeIndex < 0) {
+            return UNKNOWN_TASK_ICON_ENTRY;
+        }
+        return TASK_ICON_ENTRIES[typeIndex][task.isCompleted() ? 1 : 0];
+    }
+
+    /**
+     * Returns the number shown in front of a task in the week view, such as "3.".
+     *
+     * @param taskNumber The one-based number of the task within its day.
+     * @return The task number prefix.
+     */
+    public static String getTaskNumberPrefix(int taskNumber) {
+        if (taskNumber > 0 && taskNumber <= MAX_CACHED_TASK_NUMBER) {
+            return TASK_NUMBER_PREFIXES[taskNumber];
+        }
+        return taskNumber + ".";
+    }
+
+    /**
+     * Prints a task cell, padding or cutting off the text to fit the width of the cell.
+     * This matches printing with UiRenderer.TASK_DISPLAY_FORMAT without building a formatter for each cell.
+     *
+     * @param text The text to print in the cell.
+     */
+    public static void printTaskEntry(String text) {
+        System.out.print(VERTICAL_DIVIDER);
+        if (text.length() >= SPACE_COUNT) {
+            System.out.print(text.length() == SPACE_COUNT ? text : text.substring(0, SPACE_COUNT));
+        } else {
+            System.out.print(text);
+            System.out.print(PADDING[SPACE_COUNT - text.length()]);
+        }
+    }
+
+    private static int getTaskTypeIndex(Task task) {
+        switch (task.getTaskType()) {
+        case "T":
+            return 0;
+        case "E":
+            return 1;
+        case "D":
+            return 2;
+        default:
+            return -1;
+        }
+    }
+}
@@ -3,7 +3,6 @@ package ui;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -11,7 +10,10 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import data.Task;
+import data.TaskCounts;
 import data.TaskManager;
+import data.TaskPriorityLevel;
+import data.TaskType;
 
 public class UiRenderer {
 
@@ -27,12 +29,16 @@ public class UiRenderer {
     public static final String DEADLINE_ICON_COLOR = "\u001B[33m";
     public static final String TODO_ICON_COLOR = "\u001B[34m";
     public static final String ESCAPE_COLOR = "\u001B[0m";
-    private static Map<LocalDate, List<List<String>>> allWrappedTaskLines = new HashMap<>();
+    public static final int DEFAULT_TASKS_PER_DAY = 10;
+    public static final int MAX_LINES_PER_TASK = 4;
     private static Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
     private static final String[] WEEK_DAYS = {"Sunday", "Monday", "Tuesday",
         "Wednesday", "Thursday", "Friday", "Saturday"};
     private static final String SINGLE_HORIZONTAL_DIVIDER = "+" + "-".repeat(SPACE_COUNT);
+    private static final String HEADER_ROW = buildHeaderRow();
     private static final int numberOfDaysInWeek = 7;
+    private final Map<LocalDate, Integer> dayScrollOffsets = new HashMap<>();
+    private int tasksPerDay = DEFAULT_TASKS_PER_DAY;
 
     /**
      * Prints the header row with the surrounding horizontal dividers.
@@ -64,10 +70,20 @@ public class UiRenderer {
      * Prints the header row with the days of the week.
      */
     private static void printHeaderRow() {
+        System.out.println(HEADER_ROW);
+    }
+
+    /**
+     * Builds the header row with the days of the week, which is the same for every frame.
+     *
+     * @return The header row.
+     */
+    private static String buildHeaderRow() {
+        StringBuilder headerRow = new StringBuilder();
         for (String day : WEEK_DAYS) {
-            System.out.printf(ENTRY_FORMAT, day);
+            headerRow.append(String.format(ENTRY_FORMAT, day));
         }
-        System.out.println(VERTICAL_DIVIDER);
+        return headerRow.append(VERTICAL_DIVIDER).toString();
     }
 
     /**
@@ -76,7 +92,7 @@ public class UiRenderer {
      * @param startOfWeek The date of the start of the week.
      * @param taskManager The task manager to get the tasks from.
      */
-    public static void printWeekBody(LocalDate startOfWeek, TaskManager taskManager) {
+    public void printWeekBody(LocalDate startOfWeek, TaskManager taskManager) {
         printTasksInWeek(startOfWeek, taskManager);
         printHorizontalDivider();
     }
@@ -98,33 +114,142 @@ public class UiRenderer {
         System.out.println(VERTICAL_DIVIDER);
     }
 
+    /**
+     * Sets the number of tasks shown for each day before the rest are collapsed into a "+N more" row.
+     *
+     * @param numberOfTasks The number of tasks to show per day, at least 1.
+     */
+    public void setTasksPerDay(int numberOfTasks) {
+        assert numberOfTasks > 0 : "Tasks per day must be positive";
+        tasksPerDay = numberOfTasks;
+    }
+
+    /**
+     * Returns the number of tasks shown for each day.
+     *
+     * @return The number of tasks shown per day.
+     */
+    public int getTasksPerDay() {
+        return tasksPerDay;
+    }
+
+    /**
+     * Scrolls the tasks shown for a day by the given number of tasks.
+     * The offset is kept within the tasks of that day, so scrolling past either end stops at the end.
+     *
+     * @param date The date whose tasks to scroll.
+     * @param numberOfTasks The number of tasks to scroll by, negative to scroll back up.
+     * @param taskCount The number of tasks on the date.
+     * @return The index of the first task shown for the day after scrolling.
+     */
+    public int scrollDay(LocalDate date, int numberOfTasks, int taskCount) {
+        int offset = getFirstVisibleTaskIndex(date, taskCount) + numberOfTasks;
+        int maxOffset = Math.max(0, taskCount - tasksPerDay);
+        offset = Math.max(0, Math.min(offset, maxOffset));
+        if (offset == 0) {
+            dayScrollOffsets.remove(date);
+        } else {
+            dayScrollOffsets.put(date, offset);
+        }
+        return offset;
+    }
+
+    /**
+     * Returns the index of the first task shown for a day.
+     *
+     * @param date The date to check.
+     * @param taskCount The number of tasks on the date.
+     * @return The index of the first visible task.
+     */
+    public int getFirstVisibleTaskIndex(LocalDate date, int taskCount) {
+        int offset = dayScrollOffsets.getOrDefault(date, 0);
+        return Math.max(0, Math.min(offset, taskCount - 1));
+    }
+
+    /**
+     * Returns the number of tasks shown for a day, starting from its first visible task.
+     *
+     * @param firstVisibleTaskIndex The index of the first visible task.
+     * @param taskCount The number of tasks on the date.
+     * @return The number of visible tasks.
+     */
+    public int getVisibleTaskCount(int firstVisibleTaskIndex, int taskCount) {
+        return Math.max(0, Math.min(tasksPerDay, taskCount - firstVisibleTaskIndex));
+    }
+
     /**
      * Prints the tasks in the week.
+     * Only the tasks inside each day's window are wrapped and printed, so the cost of a frame is bounded by
+     * the window size rather than by the number of tasks on the busiest day.
+     * Each day's tasks are taken once and counted from what was taken, so that a change made meanwhile by
+     * another thread cannot leave the count and the tasks printed out of step.
      *
      * @param startOfWeek The date of the start of the week.
      * @param taskManager The task manager to get the tasks from.
      */
-    public static void printTasksInWeek(LocalDate startOfWeek, TaskManager taskManager) {
-        storeWrappedLines(startOfWeek, taskManager);
-        int maxNumberOfTasksInDay = getMaxNumberOfTasksInDay(allWrappedTaskLines);
-        int maxNumberOfLinesPerTask = getMaxNumberOfLinesPerTask(allWrappedTaskLines);
-        printTasksInGrid(startOfWeek, maxNumberOfTasksInDay, maxNumberOfLinesPerTask);
+    public void printTasksInWeek(LocalDate startOfWeek, TaskManager taskManager) {
+        List<List<Task>> dayTaskLists = new ArrayList<>(numberOfDaysInWeek);
+        int[] taskCounts = new int[numberOfDaysInWeek];
+        int[] firstVisibleTaskIndexes = new int[numberOfDaysInWeek];
+        for (int dayIndex = 0; dayIndex < numberOfDaysInWeek; dayIndex++) {
+            LocalDate currentDate = startOfWeek.plusDays(dayIndex);
+            dayTaskLists.add(taskManager.getTaskSnapshotForDate(currentDate));
+            taskCounts[dayIndex] = dayTaskLists.get(dayIndex).size();
+            firstVisibleTaskIndexes[dayIndex] = getFirstVisibleTaskIndex(currentDate, taskCounts[dayIndex]);
+        }
+
+        List<List<List<String>>> wrappedTaskLines = getVisibleWrappedLines(dayTaskLists, firstVisibleTaskIndexes);
+        int maxNumberOfTasksInDay = getMaxNumberOfTasksInDay(wrappedTaskLines);
+        int maxNumberOfLinesPerTask = getMaxNumberOfLinesPerTask(wrappedTaskLines);
+
+        printHiddenTasksRow(firstVisibleTaskIndexes, "^ %d more");
+        printTasksInGrid(wrappedTaskLines, maxNumberOfTasksInDay, maxNumberOfLinesPerTask);
+
+        int[] hiddenTasksBelow = new int[numberOfDaysInWeek];
+        for (int dayIndex = 0; dayIndex < numberOfDaysInWeek; dayIndex++) {
+            hiddenTasksBelow[dayIndex] = taskCounts[dayIndex] - firstVisibleTaskIndexes[dayIndex]
+                    - wrappedTaskLines.get(dayIndex).size();
+        }
+        printHiddenTasksRow(hiddenTasksBelow, "+%d more");
     }
 
     /**
-     * Returns the maximum number of tasks in a day.
+     * Prints a row showing how many tasks of each day are hidden, if any day has hidden tasks.
      *
-     * @param allWrappedTaskLines The map of wrapped task lines.
-     * @return The maximum number of tasks in a day.
+     * @param hiddenTaskCounts The number of hidden tasks for each day of the week.
+     * @param format The format of the message, taking the number of hidden tasks.
      */
-    private static int getMaxNumberOfTasksInDay(Map<LocalDate, List<List<String>>> allWrappedTaskLines) {
-        int maxNumberOfTasksInDay = 0;
+    public static void printHiddenTasksRow(int[] hiddenTaskCounts, String format) {
+        boolean hasHiddenTasks = false;
+        for (int hiddenTaskCount : hiddenTaskCounts) {
+            hasHiddenTasks |= hiddenTaskCount > 0;
+        }
+        if (!hasHiddenTasks) {
+            return;
+        }
 
-        for (List<List<String>> dayTasks : allWrappedTaskLines.values()) {
-            if (dayTasks.size() > maxNumberOfTasksInDay) {
-                maxNumberOfTasksInDay = dayTasks.size();
+        for (int hiddenTaskCount : hiddenTaskCounts) {
+            if (hiddenTaskCount > 0) {
+                RenderCache.printTaskEntry(String.format(format, hiddenTaskCount));
+            } else {
+                System.out.print(EMPTY_TASK_DISPLAY_FORMAT);
             }
         }
+        System.out.println(VERTICAL_DIVIDER);
+    }
+
+    /**
+     * Returns the maximum number of tasks shown in a day.
+     *
+     * @param wrappedTaskLines The wrapped lines of the visible tasks for each day.
+     * @return The maximum number of tasks shown in a day.
+     */
+    private static int getMaxNumberOfTasksInDay(List<List<List<String>>> wrappedTaskLines) {
+        int maxNumberOfTasksInDay = 0;
+
+        for (List<List<String>> dayTasks : wrappedTaskLines) {
+            maxNumberOfTasksInDay = Math.max(maxNumberOfTasksInDay, dayTasks.size());
+        }
 
         return maxNumberOfTasksInDay;
     }
@@ -132,13 +257,13 @@ public class UiRenderer {
     /**
      * Returns the maximum number of lines per task.
      *
-     * @param allWrappedTaskLines The map of wrapped task lines.
+     * @param wrappedTaskLines The wrapped lines of the visible tasks for each day.
      * @return The maximum number of lines per task.
      */
-    private static int getMaxNumberOfLinesPerTask(Map<LocalDate, List<List<String>>> allWrappedTaskLines) {
+    private static int getMaxNumberOfLinesPerTask(List<List<List<String>>> wrappedTaskLines) {
         int maxNumberOfLinesPerTask = 0;
 
-        for (List<List<String>> dayTasks : allWrappedTaskLines.values()) {
+        for (List<List<String>> dayTasks : wrappedTaskLines) {
             for (List<String> taskLines : dayTasks) {
                 if (taskLines.size() > maxNumberOfLinesPerTask) {
                     maxNumberOfLinesPerTask = taskLines.size();
@@ -152,15 +277,15 @@ public class UiRenderer {
     /**
      * Prints the tasks in a grid format for the week. The tasks across different days are aligned in the same row.
      *
-     * @param startOfWeek The date of the start of the week.
+     * @param wrappedTaskLines The wrapped lines of the visible tasks for each day.
      * @param maxNumberOfTasksInDay The maximum number of tasks in a day.
      * @param maxNumberOfLinesPerTask The maximum number of lines per task.
      */
-    private static void printTasksInGrid(LocalDate startOfWeek, int maxNumberOfTasksInDay,
+    private static void printTasksInGrid(List<List<List<String>>> wrappedTaskLines, int maxNumberOfTasksInDay,
             int maxNumberOfLinesPerTask) {
         for (int taskIndex = 0; taskIndex < maxNumberOfTasksInDay; taskIndex++) {
             for (int lineIndex = 0; lineIndex < maxNumberOfLinesPerTask; lineIndex++) {
-                printTaskSubstringInRow(startOfWeek, taskIndex, lineIndex);
+                printTaskSubstringInRow(wrappedTaskLines, taskIndex, lineIndex);
             }
         }
     }
@@ -168,21 +293,19 @@ public class UiRenderer {
     /**
      * Prints the substring of the task in the row.
      *
-     * @param startOfWeek The date of the start of the week.
-     * @param taskIndex The index of the task.
+     * @param wrappedTaskLines The wrapped lines of the visible tasks for each day.
+     * @param taskIndex The index of the task among the visible tasks.
      * @param lineIndex The index of the line in the task.
      */
-    private static void printTaskSubstringInRow(LocalDate startOfWeek, int taskIndex, int lineIndex) {
+    private static void printTaskSubstringInRow(List<List<List<String>>> wrappedTaskLines, int taskIndex,
+            int lineIndex) {
         for (int dayIndex = 0; dayIndex < numberOfDaysInWeek; dayIndex++) {
-            LocalDate currentDate = startOfWeek.plusDays(dayIndex);
-
-            List<List<String>> tasksWrappedLinesForDay =
-                    allWrappedTaskLines.getOrDefault(currentDate, Collections.emptyList());
+            List<List<String>> tasksWrappedLinesForDay = wrappedTaskLines.get(dayIndex);
 
             if (taskIndex < tasksWrappedLinesForDay.size() &&
                     lineIndex < tasksWrappedLinesForDay.get(taskIndex).size()) {
                 String taskLine = tasksWrappedLinesForDay.get(taskIndex).get(lineIndex);
-                System.out.printf(TASK_DISPLAY_FORMAT, taskLine);
+                RenderCache.printTaskEntry(taskLine);
             } else {
                 System.out.print(EMPTY_TASK_DISPLAY_FORMAT);
             }
@@ -192,41 +315,50 @@ public class UiRenderer {
     }
 
     /**
-     * Stores the wrapped lines for the tasks in the week.
+     * Returns the wrapped lines for the visible tasks of each day in the week.
      *
-     * @param startOfWeek The date of the start of the week.
-     * @param taskManager The task manager to get the tasks from.
+     * @param dayTaskLists The tasks of each day, as taken once for the frame.
+     * @param firstVisibleTaskIndexes The index of the first visible task for each day.
+     * @return The wrapped lines of the visible tasks, one list per day.
      */
-    private static void storeWrappedLines(LocalDate startOfWeek, TaskManager taskManager) {
+    private List<List<List<String>>> getVisibleWrappedLines(List<List<Task>> dayTaskLists,
+            int[] firstVisibleTaskIndexes) {
+        List<List<List<String>>> wrappedTaskLines = new ArrayList<>(numberOfDaysInWeek);
         for (int dayIndex = 0; dayIndex < numberOfDaysInWeek; dayIndex++) {
-            LocalDate currentDate = startOfWeek.plusDays(dayIndex);
-            List<Task> dayTasks = taskManager.getTasksForDate(currentDate);
-            List<List<String>> wrappedTasksForDay = new ArrayList<>();
-
-            for (Task task : dayTasks) {
-                String taskDescription = task.getName();
-                String displayString =
-                        (dayTasks.indexOf(task) + 1) + "." +
-                        task.getDisplayFormat() +
-                        taskDescription;
-                List<String> wrappedLines = wrapText(displayString, SPACE_COUNT);
-                wrappedTasksForDay.add(wrappedLines);
+            List<Task> dayTasks = dayTaskLists.get(dayIndex);
+            int firstVisibleTaskIndex = firstVisibleTaskIndexes[dayIndex];
+            int visibleTaskCount = getVisibleTaskCount(firstVisibleTaskIndex, dayTasks.size());
+            List<List<String>> wrappedTasksForDay = new ArrayList<>(visibleTaskCount);
+
+            if (visibleTaskCount > 0) {
+                for (int taskIndex = firstVisibleTaskIndex; taskIndex < firstVisibleTaskIndex + visibleTaskCount;
+                        taskIndex++) {
+                    Task task = dayTasks.get(taskIndex);
+                    String displayString =
+                            RenderCache.getTaskNumberPrefix(taskIndex + 1) +
+                            task.getDisplayFormat() +
+                            task.getName();
+                    wrappedTasksForDay.add(wrapText(displayString, SPACE_COUNT, MAX_LINES_PER_TASK));
+                }
             }
 
-            allWrappedTaskLines.put(currentDate, wrappedTasksForDay);
+            wrappedTaskLines.add(wrappedTasksForDay);
         }
+        return wrappedTaskLines;
     }
 
     /**
      * Wraps the text to fit the given maximum length.
+     * Text that does not fit within the maximum number of lines is cut off, ending with "..".
      *
      * @param text The text to wrap.
      * @param maxLengthToOccupy The maximum length to occupy.
+     * @param maxNumberOfLines The maximum number of lines to return.
      * @return The list of wrapped lines.
      */
-    private static List<String> wrapText(String text, int maxLengthToOccupy) {
+    private static List<String> wrapText(String text, int maxLengthToOccupy, int maxNumberOfLines) {
         List<String> lines = new ArrayList<>();
-        while (text.length() > maxLengthToOccupy) {
+        while (text.length() > maxLengthToOccupy && lines.size() < maxNumberOfLines) {
             int breakPointIndex = text.lastIndexOf(' ', maxLengthToOccupy);
             if (breakPointIndex == -1) {
                 breakPointIndex = maxLengthToOccupy;
@@ -234,13 +366,16 @@ public class UiRenderer {
             lines.add(text.substring(0, breakPointIndex));
             text = text.substring(breakPointIndex).trim();
         }
-        if (!text.isEmpty()) {
+        if (lines.size() == maxNumberOfLines && !text.isEmpty()) {
+            String lastLine = lines.get(maxNumberOfLines - 1);
+            int cutOffIndex = Math.min(lastLine.length(), maxLengthToOccupy - 2);
+            lines.set(maxNumberOfLines - 1, lastLine.substring(0, cutOffIndex) + "..");
+        } else if (!text.isEmpty()) {
             lines.add(text);
         }
         return lines;
     }
 
-
     /**
      * Prints the task for the day.
      *
@@ -269,15 +404,7 @@ public class UiRenderer {
      * @return The maximum number of tasks of a day in a week.
      */
     public static int getMaxTasks(LocalDate startOfWeek, TaskManager taskManager) {
-        int maxTasks = 0;
-        for (int i = 0; i < numberOfDaysInWeek; i++) {
-            LocalDate currentDate = startOfWeek.plusDays(i);
-            int tasksSize = taskManager.getTasksForDate(currentDate).size();
-            if (tasksSize > maxTasks) {
-                maxTasks = tasksSize;
-            }
-        }
-        return maxTasks;
+        return taskManager.getMaxTaskCountForDayInWeek(startOfWeek);
     }
 
     /**
@@ -290,6 +417,23 @@ public class UiRenderer {
         System.out.println(END_HORIZONTAL_DIVIDER);
     }
 
+    /**
+     * Prints the task statistics for a period.
+     *
+     * @param periodDescription The description of the period, such as "week starting 14/04/2024".
+     * @param taskCounts The task counts for the period.
+     */
+    public static void printStatistics(String periodDescription, TaskCounts taskCounts) {
+        System.out.println("Statistics for " + periodDescription + ":");
+        System.out.println("Total tasks: " + taskCounts.getTotal() + " (" + taskCounts.getCompleted() + " completed)");
+        System.out.println("Todo: " + taskCounts.getCountOfType(TaskType.TODO)
+                + ", Event: " + taskCounts.getCountOfType(TaskType.EVENT)
+                + ", Deadline: " + taskCounts.getCountOfType(TaskType.DEADLINE));
+        System.out.println("High: " + taskCounts.getCountOfPriority(TaskPriorityLevel.HIGH)
+                + ", Medium: " + taskCounts.getCountOfPriority(TaskPriorityLevel.MEDIUM)
+                + ", Low: " + taskCounts.getCountOfPriority(TaskPriorityLevel.LOW));
+    }
+
     /**
      * Prints the help message for the user.
      */
@@ -304,11 +448,34 @@ public class UiRenderer {
         System.out.println("| - 'prev': Move to the previous week or month view.                            |");
         System.out.println("| - 'update, <day>, <taskIndex>, <newDescription>': Update a task description.  |");
         System.out.println("| - 'add, <day>, <taskType>, <taskDescription>': Add a new task.                |");
+        System.out.println("|   Both take the dates of a deadline or event at the end, as dd/MM/yyyy HHmm,  |");
+        System.out.println("|   e.g. 'add, 5, E, talk, 05/04/2024 1200, 05/04/2024 1400', or ask for them.  |");
         System.out.println("| - 'delete, <day>, <taskIndex>': Delete a task.                                |");
         System.out.println("| - 'mark, <day>, <taskIndex>': Mark a task as complete or not complete.        |");
         System.out.println("| - 'priority, <day>, <taskIndex>, <priority>': Set priority level for a task.  |");
+        System.out.println("| - 'bulk, <action>, <startDate>, <endDate>, [<filter>...]': Delete, mark,      |");
+        System.out.println("|   unmark or set priority=<H/M/L> of all matching tasks between two dates.     |");
+        System.out.println("|   Filters: type=<T/E/D>, priority=<H/M/L>, done=<yes/no>, name=<text>.        |");
         System.out.println("| - 'month': Switch to month view.                                              |");
         System.out.println("| - 'week': Switch to week view.                                                |");
+        System.out.println("| - 'year': Switch to year view.                                                |");
+        System.out.println("| - 'stats': Show task statistics for the current view.                         |");
+        System.out.println("| - 'window, <tasksPerDay>': Set how many tasks are shown for each day.         |");
+        System.out.println("| - 'scroll, <day>, <numberOfTasks>': Scroll through the tasks of a busy day.   |");
+        System.out.println("| - 'output, <full/compact/quiet>': Choose how much is printed before prompts.  |");
+        System.out.println("| - 'show': Show the current week, month or year view.                          |");
+        System.out.println("| - 'overlay, <saveFile>, [<saveFile>...]': Show other calendars with yours and |");
+        System.out.println("|   find free times across all of them. 'overlay, off' shows only yours again.  |");
+        System.out.println("| - 'ics, export, <fileName>, [<startDate>, <endDate>]': Export events and      |");
+        System.out.println("|   deadlines, of all dates or of the dates between two dates, to an ICS file.  |");
+        System.out.println("| - 'ics, import, <fileName>': Add the events and to-dos of an ICS file.        |");
+        System.out.println("| - 'csv, export, <fileName>, [<startDate>, <endDate>]': Export tasks, of all   |");
+        System.out.println("|   dates or of the dates between two dates, to a CSV file for spreadsheets.    |");
+        System.out.println("| - 'csv, import, <fileName>': Add the tasks of a CSV file.                     |");
+        System.out.println("| - 'begin': Start a transaction. Changes are saved together on 'commit', or    |");
+        System.out.println("|   'rollback' undoes every change made since 'begin'.                          |");
+        System.out.println("| - 'undo', 'redo': Undo the last command's changes, or redo what was undone.   |");
+        System.out.println("| - 'latency': Show how long commands have taken, from typing to the result.    |");
         System.out.println("| - 'quit': Exit the calendar application.                                      |");
         System.out.println(emptyLine);
         System.out.println(horizontalLine);
@@ -0,0 +1,64 @@
+package benchmark;
+
+import commandparser.CommandHandler;
+import commandparser.CommandRegistry;
+import data.TaskManager;
+import data.exceptions.TaskManagerException;
+import time.MonthView;
+import time.WeekView;
+import time.YearView;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Scanner;
+
+/**
+ * Measures the time taken to tokenize and parse each kind of command, without running the commands.
+ * Run with {@code ./gradlew benchmark -Pbenchmark=CommandParseBenchmark}.
+ */
+public class CommandParseBenchmark {
+    private static final int WARMUP_ROUNDS = 50_000;
+    private static final int MEASURED_ROUNDS = 500_000;
+    private static final String[] COMMANDS = {
+        "next",
+        "add, 15, T, Buy groceries for the week",
+        "update, 15, 1, Buy groceries and snacks",
+        "delete, 15, 1",
+        "mark, 15, 2",
+        "priority, 15, 1, H",
+        "bulk, delete, 01/01/2024, 31/03/2024, type=T, done=yes",
+        "scroll, 15, 5",
+        "window, 8",
+    };
+
+    public static void main(String[] args) throws TaskManagerException {
+        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        LocalDate startOfMonth = LocalDate.of(2024, 4, 1);
+        CommandHandler commandHandler = new CommandHandler(new Scanner(""), new TaskManager(),
+                new WeekView(startOfMonth, dateFormatter), new MonthView(startOfMonth, dateFormatter),
+                new YearView(startOfMonth, dateFormatter));
+
+        CommandRegistry warmupRegistry = new CommandHandler(new Scanner(""), new TaskManager(),
+                new WeekView(startOfMonth, dateFormatter), new MonthView(startOfMonth, dateFormatter),
+                new YearView(startOfMonth, dateFormatter)).getCommandRegistry();
+        parseAll(warmupRegistry, WARMUP_ROUNDS);
+
+        CommandRegistry registry = commandHandler.getCommandRegistry();
+        parseAll(registry, MEASURED_ROUNDS);
+
+        System.out.printf("Parsed each command %d times%n", MEASURED_ROUNDS);
+        for (String command : COMMANDS) {
+            String commandWord = command.split(",")[0];
+            System.out.printf("%-10s %6d ns per parse%n", commandWord,
+                    registry.getParseCost(commandWord).getAverageNanos());
+        }
+    }
+
+    private static void parseAll(CommandRegistry registry, int rounds) throws TaskManagerException {
+        for (int i = 0; i < rounds; i++) {
+            for (String command : COMMANDS) {
+                registry.parse(command);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package benchmark;
+
+import data.Task;
+import data.TaskManager;
+import data.TaskType;
+import data.exceptions.TaskManagerException;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static data.TaskManager.deleteAllTasksOnDate;
+
+/**
+ * Measures the throughput of the task store under a mixed load of reads and writes from several threads,
+ * as made by the API server alongside the user. Nine in ten operations read the counts of a month and the
+ * tasks of a day, and the rest add or delete a task.
+ * Run with {@code ./gradlew benchmark -Pbenchmark=ConcurrentTaskStoreBenchmark}.
+ */
+public class ConcurrentTaskStoreBenchmark {
+    private static final YearMonth MONTH = YearMonth.of(2032, 1);
+    private static final int TASKS_PER_DAY = 20;
+    private static final int WRITE_PERCENTAGE = 10;
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8};
+    private static final long WARMUP_MILLIS = 1_000;
+    private static final long MEASURED_MILLIS = 3_000;
+
+    public static void main(String[] args) throws Exception {
+        TaskManager taskManager = new TaskManager();
+        taskManager.deferSaving();
+        try {
+            for (int day = 1; day <= MONTH.lengthOfMonth(); day++) {
+                for (int i = 0; i < TASKS_PER_DAY; i++) {
+                    addTodo(taskManager, MONTH.atDay(day), "task " + i);
+                }
+            }
+            run(taskManager, Runtime.getRuntime().availableProcessors(), WARMUP_MILLIS);
+
+            System.out.printf("Mixed load with %d%% writes, %d ms per run%n", WRITE_PERCENTAGE, MEASURED_MILLIS);
+            for (int threadCount : THREAD_COUNTS) {
+                long operations = run(taskManager, threadCount, MEASURED_MILLIS);
+                System.out.printf("%2d threads %,12d operations per second%n", threadCount,
+                        operations * 1000 / MEASURED_MILLIS);
+            }
+        } finally {
+            for (int day = 1; day <= MONTH.lengthOfMonth(); day++) {
+                deleteAllTasksOnDate(taskManager, MONTH.atDay(day));
+            }
+            taskManager.resumeSaving();
+        }
+    }
+
+    private static void addTodo(TaskManager taskManager, LocalDate date, String name) throws TaskManagerException {
+        taskManager.addTask(date, name, TaskType.TODO, new String[]{null}, new String[]{null});
+    }
+
+    /**
+     * Runs the mixed load on the given number of threads for the given time.
+     *
+     * @return the number of operations carried out by all threads together.
+     */
+    private static long run(TaskManager taskManager, int threadCount, long millis) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            results.add(executor.submit(() -> {
+                startGate.await();
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+                long operations = 0;
+                long checksum = 0;
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    LocalDate date = MONTH.atDay(random.nextInt(1, MONTH.lengthOfMonth() + 1));
+                    if (random.nextInt(100) < WRITE_PERCENTAGE) {
+                        if (random.nextBoolean()) {
+                            addTodo(taskManager, date, "extra");
+                        } else {
+                            taskManager.deleteTask(date, TASKS_PER_DAY, true);
+                        }
+                    } else {
+                        checksum += taskManager.getTaskCountsForMonth(MONTH).getTotal();
+                        for (Task task : taskManager.getTasksForDate(date)) {
+                            checksum += task.getName().length();
+                        }
+                    }
+                    operations++;
+                }
+                return checksum == Long.MIN_VALUE ? 0 : operations;
+            }));
+        }
+        startGate.countDown();
+        long totalOperations = 0;
+        for (Future<Long> result : results) {
+            totalOperations += result.get();
+        }
+        executor.shutdown();
+        return totalOperations;
+    }
+}
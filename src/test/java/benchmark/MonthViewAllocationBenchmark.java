@@ -0,0 +1,76 @@
+package benchmark;
+
+import data.TaskManager;
+import data.TaskPriorityLevel;
+import data.TaskType;
+import data.exceptions.TaskManagerException;
+import time.MonthView;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+/**
+ * Measures the bytes allocated and the time taken to render a full month view.
+ * The month is filled with a mix of task types, completion states and priority levels,
+ * and the output is discarded so that only the rendering itself is measured.
+ * Run with {@code ./gradlew benchmark -Pbenchmark=MonthViewAllocationBenchmark}.
+ */
+public class MonthViewAllocationBenchmark {
+    private static final LocalDate START_OF_MONTH = LocalDate.of(2024, 4, 1);
+    private static final int TASKS_PER_DAY = 6;
+    private static final int WARMUP_RENDERS = 2_000;
+    private static final int MEASURED_RENDERS = 10_000;
+
+    public static void main(String[] args) throws TaskManagerException {
+        Logger.getLogger(Logger.GLOBAL_LOGGER_NAME).setLevel(Level.WARNING);
+        TaskManager taskManager = new TaskManager();
+        fillMonth(taskManager);
+        MonthView monthView = new MonthView(START_OF_MONTH, DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            for (int i = 0; i < WARMUP_RENDERS; i++) {
+                monthView.printView(taskManager);
+            }
+
+            long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+            long startTime = System.nanoTime();
+            for (int i = 0; i < MEASURED_RENDERS; i++) {
+                monthView.printView(taskManager);
+            }
+            long elapsedNanos = System.nanoTime() - startTime;
+            long allocatedBytes = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+            System.setOut(originalOut);
+            System.out.printf("Rendered %d month views with %d tasks per day%n", MEASURED_RENDERS, TASKS_PER_DAY);
+            System.out.printf("Allocated: %d bytes per render%n", allocatedBytes / MEASURED_RENDERS);
+            System.out.printf("Time: %.1f microseconds per render%n", elapsedNanos / 1000.0 / MEASURED_RENDERS);
+        } finally {
+            System.setOut(originalOut);
+        }
+    }
+
+    private static void fillMonth(TaskManager taskManager) throws TaskManagerException {
+        TaskType[] taskTypes = {TaskType.TODO, TaskType.EVENT, TaskType.DEADLINE};
+        TaskPriorityLevel[] priorityLevels = TaskPriorityLevel.values();
+        for (int day = 0; day < START_OF_MONTH.lengthOfMonth(); day++) {
+            LocalDate date = START_OF_MONTH.plusDays(day);
+            for (int i = 0; i < TASKS_PER_DAY; i++) {
+                TaskType taskType = taskTypes[i % taskTypes.length];
+                taskManager.addTask(date, "Task " + i, taskType, new String[]{"01/04/2024", "01/04/2024"},
+                        new String[]{"0900", "1000"});
+                taskManager.setTaskStatuses(date, i, i % 2 == 0, priorityLevels[i % priorityLevels.length]);
+            }
+        }
+    }
+}
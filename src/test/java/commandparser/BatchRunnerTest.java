@@ -0,0 +1,109 @@
+package commandparser;
+
+import data.Deadline;
+import data.Task;
+import data.TaskManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import time.MonthView;
+import time.WeekView;
+import time.YearView;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchRunnerTest {
+    private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final LocalDate START_OF_MONTH = LocalDate.of(2031, 6, 1);
+
+    private final PrintStream originalOut = System.out;
+    private final ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+    private TaskManager taskManager;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    public void setUpStreams() {
+        System.setOut(new PrintStream(outContent));
+        taskManager = new TaskManager(tempDir.resolve("tasks.txt"), TaskManager.NO_TASK_LIMIT);
+    }
+
+    @AfterEach
+    public void restoreStreams() {
+        System.setOut(originalOut);
+    }
+
+    private int runBatch(String commands, int checkpointInterval) {
+        Scanner scanner = new Scanner(commands);
+        CommandHandler commandHandler = new CommandHandler(scanner, taskManager,
+                new WeekView(START_OF_MONTH, dateFormatter), new MonthView(START_OF_MONTH, dateFormatter),
+                new YearView(START_OF_MONTH, dateFormatter));
+        return new BatchRunner(scanner, commandHandler, checkpointInterval).run();
+    }
+
+    @Test
+    void run_validAndInvalidCommands_reportsEachCommandAndCountsErrors() {
+        String commands = "month\n"
+                + "# comment lines and blank lines are skipped\n"
+                + "\n"
+                + "add, 3, T, first\n"
+                + "add, 4, D, second\n"
+                + "03/06/2031 1200\n"
+                + "delete, 40, 1\n"
+                + "bogus\n";
+
+        int errorCount = runBatch(commands, 0);
+
+        assertEquals(2, errorCount);
+        assertEquals(1, taskManager.getTaskCountForDate(START_OF_MONTH.withDayOfMonth(3)));
+        assertEquals(1, taskManager.getTaskCountForDate(START_OF_MONTH.withDayOfMonth(4)));
+        String output = outContent.toString();
+        assertTrue(output.contains("ok 2: add, 3, T, first"));
+        assertTrue(output.contains("ok 3: add, 4, D, second"));
+        assertTrue(output.contains("error 4: delete, 40, 1: Invalid day number"));
+        assertTrue(output.contains("error 5: bogus: Invalid input."));
+        assertTrue(output.contains("Batch finished: 5 commands, 2 errors, 0 checkpoints."));
+        assertFalse(output.contains("Month View"));
+    }
+
+    @Test
+    void run_checkpointInterval_savesAfterEveryInterval() {
+        String commands = "month\nadd, 3, T, a\nadd, 3, T, b\nadd, 3, T, c\nquit\nadd, 3, T, ignored\n";
+
+        int errorCount = runBatch(commands, 2);
+
+        assertEquals(0, errorCount);
+        assertEquals(3, taskManager.getTaskCountForDate(START_OF_MONTH.withDayOfMonth(3)));
+        assertFalse(taskManager.hasUnsavedChanges());
+        assertTrue(outContent.toString().contains("Batch finished: 5 commands, 0 errors, 2 checkpoints."));
+    }
+
+    @Test
+    void run_updateWithoutDates_keepsDatesAndRunsNextLine() {
+        LocalDate day = START_OF_MONTH.withDayOfMonth(3);
+        String commands = "month\n"
+                + "add, 3, D, report, 03/06/2031 1700\n"
+                + "update, 3, 1, final report\n"
+                + "add, 3, T, after\n";
+
+        int errorCount = runBatch(commands, 0);
+
+        assertEquals(0, errorCount);
+        assertEquals(2, taskManager.getTaskCountForDate(day));
+        Task updated = taskManager.getTasksForDate(day).get(0);
+        assertEquals("final report", updated.getName());
+        assertEquals(new Deadline("report", "03/06/2031", "1700").getByTime(), updated.getByTime());
+        assertTrue(outContent.toString().contains("ok 4: add, 3, T, after"));
+    }
+}
@@ -0,0 +1,188 @@
+package commandparser;
+
+import data.TaskManager;
+import data.exceptions.TaskManagerException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import time.MonthView;
+import time.WeekView;
+import time.YearView;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommandHandlerTest {
+    private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final LocalDate START_OF_MONTH = LocalDate.of(2031, 7, 1);
+    private static final LocalDate DAY_TWO = START_OF_MONTH.withDayOfMonth(2);
+
+    private final PrintStream originalOut = System.out;
+    private final ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+    private TaskManager taskManager;
+    private CommandHandler commandHandler;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    public void setUp() {
+        System.setOut(new PrintStream(outContent));
+        taskManager = new TaskManager(tempDir.resolve("tasks.txt"), TaskManager.NO_TASK_LIMIT);
+        commandHandler = new CommandHandler(new Scanner(""), taskManager,
+                new WeekView(START_OF_MONTH, dateFormatter), new MonthView(START_OF_MONTH, dateFormatter),
+                new YearView(START_OF_MONTH, dateFormatter));
+    }
+
+    @AfterEach
+    public void restoreStreams() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    void executeCommand_pipelinedCommands_runsAllAndSavesOnce() throws TaskManagerException {
+        commandHandler.executeCommand("month; add, 2, T, first; add, 2, T, second ;; mark, 2, 1");
+
+        assertEquals(2, taskManager.getTaskCountForDate(DAY_TWO));
+        assertTrue(taskManager.getTasksForDate(DAY_TWO).get(0).isCompleted());
+        assertFalse(taskManager.hasUnsavedChanges());
+    }
+
+    @Test
+    void executeCommand_invalidCommandInPipeline_runsNoCommands() throws TaskManagerException {
+        commandHandler.executeCommand("month");
+
+        TaskManagerException e = assertThrows(TaskManagerException.class,
+                () -> commandHandler.executeCommand("add, 2, T, first; delete, 2"));
+
+        assertTrue(e.getMessage().startsWith("Command 2 of 2 (delete, 2) failed"));
+        assertEquals(0, taskManager.getTaskCountForDate(DAY_TWO));
+    }
+
+    @Test
+    void executeCommand_failingCommandInPipeline_skipsRemainingCommands() throws TaskManagerException {
+        commandHandler.executeCommand("month");
+
+        TaskManagerException e = assertThrows(TaskManagerException.class,
+                () -> commandHandler.executeCommand("add, 2, T, first; update, 2, 5, new; add, 2, T, second"));
+
+        assertTrue(e.getMessage().contains("The commands after it were skipped."));
+        assertEquals(1, taskManager.getTaskCountForDate(DAY_TWO));
+        assertFalse(taskManager.hasUnsavedChanges());
+    }
+
+    @Test
+    void executeCommand_transactionCommands_rollBackOrCommitChanges() throws TaskManagerException {
+        commandHandler.executeCommand("month; begin; add, 2, T, first; add, 2, T, second");
+        assertEquals(2, taskManager.getTaskCountForDate(DAY_TWO));
+        assertTrue(taskManager.hasUnsavedChanges());
+
+        commandHandler.executeCommand("rollback");
+        assertEquals(0, taskManager.getTaskCountForDate(DAY_TWO));
+
+        commandHandler.executeCommand("begin; add, 2, T, kept; commit");
+        assertEquals(1, taskManager.getTaskCountForDate(DAY_TWO));
+        assertFalse(taskManager.hasUnsavedChanges());
+
+        commandHandler.executeCommand("begin; delete, 2, 1; quit");
+        assertEquals(1, taskManager.getTaskCountForDate(DAY_TWO));
+        assertFalse(taskManager.isInTransaction());
+        assertTrue(outContent.toString().contains("its changes were rolled back"));
+    }
+
+    @Test
+    void executeCommand_undoAndRedo_undoWholeCommands() throws TaskManagerException {
+        commandHandler.executeCommand("month; add, 2, T, first; add, 2, T, second; next; prev");
+
+        commandHandler.executeCommand("undo");
+        assertEquals(1, taskManager.getTaskCountForDate(DAY_TWO));
+        assertTrue(outContent.toString().contains("Undone: add, 2, T, second"));
+
+        commandHandler.executeCommand("redo; undo; undo");
+        assertEquals(0, taskManager.getTaskCountForDate(DAY_TWO));
+
+        commandHandler.executeCommand("redo; begin");
+        assertThrows(TaskManagerException.class, () -> commandHandler.executeCommand("undo"));
+        assertThrows(TaskManagerException.class, () -> commandHandler.executeCommand("redo"));
+        commandHandler.executeCommand("add, 2, T, third; undo; redo");
+        assertEquals(2, taskManager.getTaskCountForDate(DAY_TWO));
+
+        commandHandler.executeCommand("rollback; undo");
+        assertEquals(0, taskManager.getTaskCountForDate(DAY_TWO));
+    }
+
+    @Test
+    void executeCommand_inlineDatesAndTimes_addsAndUpdatesWithoutPrompts() throws TaskManagerException {
+        commandHandler.executeCommand("month; add, 2, E, meeting, 02/07/2031 0900, 02/07/2031 1000; "
+                + "add, 2, D, report, 03/07/2031 1800");
+
+        assertEquals("1000", taskManager.getTasksForDate(DAY_TWO).get(0).getEndTime());
+        assertEquals("03/07/2031", taskManager.getTasksForDate(DAY_TWO).get(1).getByDate());
+
+        commandHandler.executeCommand("update, 2, 1, moved meeting, 02/07/2031 1400, 02/07/2031 1500; "
+                + "update, 2, 2, final report, 04/07/2031 0900");
+
+        assertEquals("moved meeting", taskManager.getTasksForDate(DAY_TWO).get(0).getName());
+        assertEquals("1400", taskManager.getTasksForDate(DAY_TWO).get(0).getStartTime());
+        assertEquals("0900", taskManager.getTasksForDate(DAY_TWO).get(1).getByTime());
+        assertFalse(outContent.toString().contains("Enter the"));
+        assertThrows(TaskManagerException.class, () -> commandHandler.executeCommand("update, 2, 2, x, "
+                + "04/07/2031 0900, 04/07/2031 1000"));
+        assertThrows(TaskManagerException.class,
+                () -> commandHandler.executeCommand("add, 2, E, meeting, 02/07/2031 0900"));
+        assertEquals(2, taskManager.getTaskCountForDate(DAY_TWO));
+    }
+
+    @Test
+    void executeCommand_csvFileWithMixedCaseName_keepsCaseOfNameAndTasks() throws TaskManagerException {
+        Path csvFile = tempDir.resolve("MyTasks.csv");
+
+        commandHandler.executeCommand("month; add, 2, T, Buy Milk; CSV, Export, " + csvFile);
+        commandHandler.executeCommand("csv, import, " + csvFile);
+
+        assertTrue(Files.exists(csvFile));
+        assertEquals(2, taskManager.getTaskCountForDate(DAY_TWO));
+        assertEquals("Buy Milk", taskManager.getTasksForDate(DAY_TWO).get(1).getName());
+    }
+
+    @Test
+    void executeCommand_icsImportFromMixedCaseName_readsThatFile() throws IOException, TaskManagerException {
+        Path icsFile = tempDir.resolve("Cal.ics");
+        Files.writeString(icsFile, "BEGIN:VCALENDAR\r\nBEGIN:VEVENT\r\nDTSTART:20310702T090000\r\n"
+                + "DTEND:20310702T100000\r\nSUMMARY:Team Sync\r\nEND:VEVENT\r\nEND:VCALENDAR\r\n");
+
+        commandHandler.executeCommand("ics, import, " + icsFile);
+
+        assertEquals("Team Sync", taskManager.getTasksForDate(DAY_TWO).get(0).getName());
+    }
+
+    @Test
+    void executeCommand_icsExportToMixedCaseName_writesThatFile() throws IOException, TaskManagerException {
+        Path icsFile = tempDir.resolve("Work Calendar.ics");
+
+        commandHandler.executeCommand("month; add, 2, D, Send Report, 02/07/2031 1700; ics, export, " + icsFile);
+
+        assertTrue(Files.readString(icsFile).contains("SUMMARY:Send Report"));
+    }
+
+    @Test
+    void executeCommand_overlayOfMixedCaseName_loadsThatCalendar() throws IOException, TaskManagerException {
+        Path saveFile = Files.createFile(tempDir.resolve("Alice.txt"));
+
+        commandHandler.executeCommand("overlay, " + saveFile);
+
+        assertTrue(outContent.toString().contains("Overlaying Alice on your calendar."));
+    }
+}
@@ -0,0 +1,29 @@
+package commandparser;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class CommandTokenizerTest {
+
+    @Test
+    void tokenize_spacesAroundSeparators_trimsPartsAndLowercasesCommandWord() {
+        assertArrayEquals(new String[]{"add", "3", "T", "Buy Milk"},
+                CommandTokenizer.tokenize("  Add , 3,T,   Buy Milk  "));
+    }
+
+    @Test
+    void tokenize_trailingSeparators_dropsEmptyParts() {
+        assertArrayEquals(new String[]{"delete", "3", "1"}, CommandTokenizer.tokenize("delete, 3, 1, ,"));
+    }
+
+    @Test
+    void tokenize_emptyPartInMiddle_keepsEmptyPart() {
+        assertArrayEquals(new String[]{"update", "", "1"}, CommandTokenizer.tokenize("update,, 1"));
+    }
+
+    @Test
+    void tokenize_blankInput_returnsEmptyCommandWord() {
+        assertArrayEquals(new String[]{""}, CommandTokenizer.tokenize("   "));
+    }
+}
@@ -0,0 +1,44 @@
+package commandparser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InputQueueTest {
+
+    private static InputQueue startQueue(String input) {
+        InputQueue inputQueue = new InputQueue(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+        inputQueue.start();
+        return inputQueue;
+    }
+
+    @Test
+    void take_linesThenEndOfInput_returnsLinesInOrderThenNull() {
+        InputQueue inputQueue = startQueue("first\nsecond\n");
+
+        InputQueue.ReceivedLine firstLine = inputQueue.take();
+        assertEquals("first", firstLine.getText());
+        assertTrue(firstLine.getReceivedNanos() <= System.nanoTime());
+        assertEquals("second", inputQueue.take().getText());
+        assertNull(inputQueue.take());
+        assertNull(inputQueue.take());
+    }
+
+    @Test
+    void asReader_scannerBetweenTakes_readsOnlyTheNextLine() {
+        InputQueue inputQueue = startQueue("add, 3, D, report\n03/06/2031 1200\nmonth\n");
+        Scanner scanner = new Scanner(inputQueue.asReader());
+
+        assertEquals("add, 3, D, report", inputQueue.take().getText());
+        assertEquals("03/06/2031 1200", scanner.nextLine());
+        assertEquals("month", inputQueue.take().getText());
+        assertNull(inputQueue.take());
+        assertEquals(0, inputQueue.getQueuedLineCount());
+    }
+}
@@ -0,0 +1,81 @@
+package commandparser;
+
+import data.TaskManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import time.MonthView;
+import time.WeekView;
+import time.YearView;
+import ui.OutputProfile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InteractiveRunnerTest {
+    private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final LocalDate START_OF_MONTH = LocalDate.of(2031, 10, 1);
+    private static final LocalDate DAY_THREE = START_OF_MONTH.withDayOfMonth(3);
+
+    private final PrintStream originalOut = System.out;
+    private final ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+    private TaskManager taskManager;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    public void setUpStreams() {
+        System.setOut(new PrintStream(outContent));
+        taskManager = new TaskManager(tempDir.resolve("tasks.txt"), TaskManager.NO_TASK_LIMIT);
+    }
+
+    @AfterEach
+    public void restoreStreams() {
+        System.setOut(originalOut);
+    }
+
+    private CommandHandler runInteractively(String input) {
+        InputQueue inputQueue = new InputQueue(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+        CommandHandler commandHandler = new CommandHandler(new Scanner(inputQueue.asReader()), taskManager,
+                new WeekView(START_OF_MONTH, dateFormatter), new MonthView(START_OF_MONTH, dateFormatter),
+                new YearView(START_OF_MONTH, dateFormatter));
+        commandHandler.setOutputProfile(OutputProfile.QUIET);
+        new InteractiveRunner(inputQueue, commandHandler).run();
+        return commandHandler;
+    }
+
+    @Test
+    void run_commandsWithPromptsAndQuit_runsInOrderAndRecordsLatency() {
+        String input = "month\nadd, 3, D, report\n03/10/2031 1200\nbogus\nlatency\nquit\nadd, 3, T, ignored\n";
+
+        CommandHandler commandHandler = runInteractively(input);
+
+        assertEquals(1, taskManager.getTaskCountForDate(DAY_THREE));
+        assertEquals("1200", taskManager.getTasksForDate(DAY_THREE).get(0).getByTime());
+        assertEquals(5, commandHandler.getCommandLatency().getCount());
+        String output = outContent.toString();
+        assertTrue(output.contains("Invalid input."));
+        assertTrue(output.contains("Command latency over 3 commands"));
+        assertTrue(output.contains("Exiting Calendar..."));
+    }
+
+    @Test
+    void run_inputEndsInTransaction_rollsBackAndStops() {
+        CommandHandler commandHandler = runInteractively("month\nbegin\nadd, 3, T, uncommitted\n");
+
+        assertEquals(0, taskManager.getTaskCountForDate(DAY_THREE));
+        assertEquals(3, commandHandler.getCommandLatency().getCount());
+        assertTrue(outContent.toString().contains("its changes were rolled back"));
+    }
+}
@@ -1,5 +1,8 @@
 package commandparser;
 
+import data.Task;
+import data.TaskFilter;
+import data.Todo;
 import data.exceptions.TaskManagerException;
 import org.junit.jupiter.api.Test;
 import time.MonthView;
@@ -7,10 +10,13 @@ import time.WeekView;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 class StringParserTest {
@@ -127,6 +133,16 @@ class StringParserTest {
         assertThrows(TaskManagerException.class, () -> StringParser.validateUpdateCommand(invalidParts));
     }
 
+    @Test
+    void parseDateTimes_inlineDatesAndTimes_returnsTrimmedDatesAndTimes() throws TaskManagerException {
+        String[] parts = {"add", "3", "e", "meeting", " 03/06/2031 0900", "03/06/2031 1000 "};
+
+        assertEquals(List.of("03/06/2031 0900", "03/06/2031 1000"), StringParser.parseDateTimes(parts, 4));
+        assertTrue(StringParser.parseDateTimes(new String[]{"add", "3", "t", "todo"}, 4).isEmpty());
+        assertThrows(TaskManagerException.class,
+                () -> StringParser.parseDateTimes(new String[]{"add", "3", "d", "report", "03/06/2031"}, 4));
+    }
+
     @Test
     void validateDeleteCommandValidFormat() {
         String[] validParts = {"delete", "15/03/2023", "1"};
@@ -162,4 +178,24 @@ class StringParserTest {
         String[] invalidParts = {"priority", "15/03/2023", "1"};
         assertThrows(TaskManagerException.class, () -> StringParser.validatePriorityCommand(invalidParts));
     }
+
+    @Test
+    void parseTaskFilterValidFilters() throws TaskManagerException {
+        String[] parts = {"bulk", "delete", "01/01/2024", "31/03/2024", "type=t", "done=yes", "name=Rent"};
+        TaskFilter filter = StringParser.parseTaskFilter(parts, 4);
+
+        Task completedRent = new Todo("Pay rent");
+        completedRent.setCompleteness(true);
+        assertTrue(filter.test(completedRent));
+        assertFalse(filter.test(new Todo("Pay rent")));
+        assertFalse(filter.test(new Todo("Pay bills")));
+    }
+
+    @Test
+    void parseTaskFilterInvalidFilter() {
+        String[] unknownKey = {"bulk", "delete", "01/01/2024", "31/03/2024", "colour=red"};
+        String[] missingValue = {"bulk", "delete", "01/01/2024", "31/03/2024", "done"};
+        assertThrows(TaskManagerException.class, () -> StringParser.parseTaskFilter(unknownKey, 4));
+        assertThrows(TaskManagerException.class, () -> StringParser.parseTaskFilter(missingValue, 4));
+    }
 }
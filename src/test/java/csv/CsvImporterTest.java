@@ -0,0 +1,137 @@
+package csv;
+
+import data.Task;
+import data.TaskManager;
+import data.TaskPriorityLevel;
+import data.TaskType;
+import data.exceptions.TaskManagerException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import storage.Storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvImporterTest {
+    private static final LocalDate DATE = LocalDate.of(2032, 5, 7);
+    private static final String HEADER = String.join(",", CsvExporter.HEADER) + "\r\n";
+
+    private Path saveFilePath;
+    private TaskManager taskManager;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        saveFilePath = Files.createTempDirectory("csv").resolve("tasks.txt");
+        taskManager = new TaskManager(saveFilePath, TaskManager.NO_TASK_LIMIT);
+    }
+
+    private CsvImporter importCsv(TaskManager calendar, byte[] csv) throws IOException, TaskManagerException {
+        CsvImporter importer = new CsvImporter(calendar);
+        importer.importFrom(new ByteArrayInputStream(csv));
+        return importer;
+    }
+
+    @Test
+    void importFrom_allTaskTypes_addsTasksWithStatuses() throws IOException, TaskManagerException {
+        // Arrange
+        String csv = HEADER
+                + "07/05/2032,TODO,\"Buy milk, eggs\",TRUE,HIGH,,,,,,\r\n"
+                + "07/05/2032,E,\"Say \"\"hi\"\"\nto the team\",false,m,07/05/2032,0900,07/05/2032,1000,,\r\n"
+                + "07/05/2032,DEADLINE,Report,,,,,,,08/05/2032,1700\r\n";
+
+        // Act
+        CsvImporter importer = importCsv(taskManager, csv.getBytes(StandardCharsets.UTF_8));
+
+        // Assert
+        List<Task> dayTasks = taskManager.getDayTasks(DATE);
+        assertEquals(3, importer.getImportedCount());
+        assertEquals(0, importer.getInvalidCount());
+        assertEquals("Buy milk, eggs", dayTasks.get(0).getName());
+        assertTrue(dayTasks.get(0).isCompleted());
+        assertEquals(TaskPriorityLevel.HIGH, dayTasks.get(0).getPriorityLevel());
+        assertEquals("Say \"hi\" to the team", dayTasks.get(1).getName());
+        assertEquals("1000", dayTasks.get(1).getEndTime());
+        assertEquals(TaskPriorityLevel.MEDIUM, dayTasks.get(1).getPriorityLevel());
+        assertEquals("08/05/2032", dayTasks.get(2).getByDate());
+        assertFalse(dayTasks.get(2).isCompleted());
+        assertEquals(TaskPriorityLevel.LOW, dayTasks.get(2).getPriorityLevel());
+    }
+
+    @Test
+    void importFrom_invalidRecords_skipsAndCountsThem() throws IOException, TaskManagerException {
+        // Arrange
+        String csv = "07/05/2032,TODO,Valid,,\r\n"
+                + "2032-05-07,TODO,Wrong date,,\r\n"
+                + "07/05/2032,MEETING,Wrong type,,\r\n"
+                + "07/05/2032,EVENT,No times,,,07/05/2032,,07/05/2032,,,\r\n"
+                + "\r\n";
+
+        // Act
+        CsvImporter importer = importCsv(taskManager, csv.getBytes(StandardCharsets.UTF_8));
+
+        // Assert
+        assertEquals(1, importer.getImportedCount());
+        assertEquals(3, importer.getInvalidCount());
+        assertEquals("Valid", taskManager.getDayTasks(DATE).get(0).getName());
+    }
+
+    @Test
+    void importFrom_manyChunks_keepsRecordOrderAndSaves() throws IOException, TaskManagerException {
+        // Arrange
+        int recordCount = CsvImporter.CHUNK_SIZE * 10 + 3;
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < recordCount; i++) {
+            LocalDate date = DATE.plusDays(i % 3);
+            csv.append(CsvExporter.TASK_DATE_FORMATTER.format(date)).append(",TODO,Task ").append(i).append("\r\n");
+        }
+
+        // Act
+        CsvImporter importer = importCsv(taskManager, csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        // Assert
+        assertEquals(recordCount, importer.getImportedCount());
+        List<Task> dayTasks = taskManager.getDayTasks(DATE);
+        for (int i = 0; i < dayTasks.size(); i++) {
+            assertEquals("Task " + (i * 3), dayTasks.get(i).getName());
+        }
+        assertEquals(dayTasks.size(), Storage.loadCalendar(saveFilePath).getDayTasks(DATE).size());
+    }
+
+    @Test
+    void importFrom_exportedCalendar_restoresTasks() throws IOException, TaskManagerException {
+        // Arrange
+        taskManager.addTask(DATE, "Plan, then review", TaskType.EVENT, new String[]{"07/05/2032", "08/05/2032"},
+                new String[]{"2200", "0130"});
+        taskManager.addTask(DATE, "Report", TaskType.DEADLINE, new String[]{"09/05/2032"}, new String[]{"1700"});
+        taskManager.addTask(DATE.plusDays(1), "Stretch", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.setTaskStatuses(DATE, 1, true, TaskPriorityLevel.HIGH);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        int exportedCount = CsvExporter.export(taskManager, LocalDate.MIN, LocalDate.MAX, outputStream);
+        TaskManager otherTaskManager = new TaskManager(Files.createTempDirectory("csv").resolve("tasks.txt"),
+                TaskManager.NO_TASK_LIMIT);
+
+        // Act
+        importCsv(otherTaskManager, outputStream.toByteArray());
+
+        // Assert
+        assertEquals(3, exportedCount);
+        for (LocalDate date : List.of(DATE, DATE.plusDays(1))) {
+            List<Task> expectedTasks = taskManager.getDayTasks(date);
+            List<Task> actualTasks = otherTaskManager.getDayTasks(date);
+            assertEquals(expectedTasks.size(), actualTasks.size());
+            for (int i = 0; i < expectedTasks.size(); i++) {
+                assertEquals(expectedTasks.get(i).getSaveFormat(), actualTasks.get(i).getSaveFormat());
+            }
+        }
+    }
+}
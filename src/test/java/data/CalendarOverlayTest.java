@@ -0,0 +1,111 @@
+package data;
+
+import data.exceptions.TaskManagerException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CalendarOverlayTest {
+    private static final LocalDate DATE = LocalDate.of(2032, 3, 5);
+
+    private TaskManager own;
+    private TaskManager alice;
+    private TaskManager bob;
+    private CalendarOverlay overlay;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path directory = Files.createTempDirectory("overlay");
+        own = new TaskManager(directory.resolve("own.txt"), TaskManager.NO_TASK_LIMIT);
+        alice = new TaskManager(directory.resolve("alice.txt"), TaskManager.NO_TASK_LIMIT);
+        bob = new TaskManager(directory.resolve("bob.txt"), TaskManager.NO_TASK_LIMIT);
+        overlay = new CalendarOverlay(own);
+        overlay.addCalendar("alice", alice);
+        overlay.addCalendar("bob", bob);
+    }
+
+    private static void addEvent(TaskManager calendar, String name, String startTime, String endTime)
+            throws TaskManagerException {
+        calendar.addTask(DATE, name, TaskType.EVENT, new String[]{"05/03/2032", "05/03/2032"},
+                new String[]{startTime, endTime});
+    }
+
+    @Test
+    void getFreeTimeSlots_overlappingEventsInSeveralCalendars_returnsCommonFreeTimes() throws TaskManagerException {
+        // Arrange
+        addEvent(own, "standup", "0900", "0930");
+        addEvent(own, "review", "1400", "1500");
+        addEvent(alice, "workshop", "0915", "1200");
+        addEvent(alice, "lunch", "1200", "1230");
+        addEvent(bob, "call", "1000", "1100");
+        addEvent(bob, "travel", "1430", "1700");
+
+        // Act
+        List<String> freeTimeSlots = overlay.getFreeTimeSlots(DATE);
+
+        // Assert
+        assertEquals(List.of("00:00 - 09:00", "12:30 - 14:00", "17:00 - 23:59"), freeTimeSlots);
+    }
+
+    @Test
+    void getFreeTimeSlots_noEvents_returnsWholeDay() {
+        assertEquals(List.of("00:00 - 23:59"), overlay.getFreeTimeSlots(DATE));
+    }
+
+    @Test
+    void combineTasksInRange_ownTasksFirst_otherTasksNamedAfterCalendar() throws TaskManagerException {
+        // Arrange
+        own.addTask(DATE, "report", TaskType.TODO, new String[]{null}, new String[]{null});
+        addEvent(bob, "call", "1000", "1100");
+        alice.addTask(DATE.plusDays(1), "slides", TaskType.TODO, new String[]{null}, new String[]{null});
+        alice.addTask(DATE.plusDays(30), "later", TaskType.TODO, new String[]{null}, new String[]{null});
+
+        // Act
+        TaskManager combined = overlay.combineTasksInRange(DATE, DATE.plusDays(6));
+
+        // Assert
+        assertEquals("report", combined.getTasksForDate(DATE).get(0).getName());
+        assertEquals("bob: call", combined.getTasksForDate(DATE).get(1).getName());
+        assertEquals("alice: slides", combined.getTasksForDate(DATE.plusDays(1)).get(0).getName());
+        assertEquals(0, combined.getTaskCountForDate(DATE.plusDays(30)));
+        assertEquals("call", bob.getTasksForDate(DATE).get(0).getName());
+        assertEquals(1, own.getTaskCountForDate(DATE));
+    }
+
+    @Test
+    void combineTasksInRange_calledAgain_reusesCalendarWithOnlyNewRange() throws TaskManagerException {
+        // Arrange
+        alice.addTask(DATE, "slides", TaskType.TODO, new String[]{null}, new String[]{null});
+        alice.addTask(DATE.plusDays(30), "later", TaskType.TODO, new String[]{null}, new String[]{null});
+        TaskManager firstCombined = overlay.combineTasksInRange(DATE, DATE.plusDays(6));
+
+        // Act
+        TaskManager secondCombined = overlay.combineTasksInRange(DATE.plusDays(28), DATE.plusDays(34));
+
+        // Assert
+        assertSame(firstCombined, secondCombined);
+        assertEquals(0, secondCombined.getTaskCountForDate(DATE));
+        assertEquals(0, secondCombined.getTaskCountForMonth(YearMonth.from(DATE)));
+        assertEquals("alice: later", secondCombined.getTasksForDate(DATE.plusDays(30)).get(0).getName());
+    }
+
+    @Test
+    void combineTasksInRange_anyRange_returnsCalendarWithNoSaveFile() {
+        // Act
+        TaskManager combined = overlay.combineTasksInRange(DATE, DATE.plusDays(6));
+
+        // Assert
+        assertNull(combined.getSaveFilePath());
+        assertNull(combined.getJournal());
+    }
+}
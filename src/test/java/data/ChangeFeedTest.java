@@ -0,0 +1,128 @@
+package data;
+
+import data.exceptions.TaskManagerException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Queue;
+import java.util.Scanner;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChangeFeedTest {
+    private static final LocalDate DATE = LocalDate.of(2032, 4, 6);
+
+    private TaskManager taskManager;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        taskManager = new TaskManager(Files.createTempDirectory("feed").resolve("tasks.txt"),
+                TaskManager.NO_TASK_LIMIT);
+    }
+
+    private void addTodo(String name) throws TaskManagerException {
+        taskManager.addTask(DATE, name, TaskType.TODO, new String[]{null}, new String[]{null});
+    }
+
+    @Test
+    void subscribe_eachKindOfChange_deliveredInOrderWithSequenceNumbers() throws Exception {
+        // Arrange
+        addTodo("before subscribing");
+        Queue<TaskChange> changes = new ConcurrentLinkedQueue<>();
+        try (ChangeFeed.Subscription subscription = taskManager.subscribe(changes::add, 16)) {
+            // Act
+            addTodo("draft");
+            taskManager.updateTask(DATE, 1, "report", List.of(), new Scanner(""));
+            taskManager.setTaskStatuses(DATE, 1, true, TaskPriorityLevel.LOW);
+            taskManager.setTaskStatuses(DATE, 1, true, TaskPriorityLevel.HIGH);
+            taskManager.deleteTask(DATE, 0, true);
+            assertTrue(subscription.awaitDelivery(taskManager.getLastChangeSequenceNumber(), 5_000));
+        }
+
+        // Assert
+        List<TaskChange.Kind> expectedKinds = List.of(TaskChange.Kind.ADDED, TaskChange.Kind.UPDATED,
+                TaskChange.Kind.MARKED, TaskChange.Kind.REPRIORITIZED, TaskChange.Kind.DELETED);
+        assertEquals(expectedKinds.size(), changes.size());
+        long sequenceNumber = 2;
+        for (TaskChange.Kind expectedKind : expectedKinds) {
+            TaskChange change = changes.poll();
+            assertEquals(expectedKind, change.getKind());
+            assertEquals(sequenceNumber++, change.getSequenceNumber());
+            assertEquals(DATE, change.getDate());
+        }
+    }
+
+    @Test
+    void subscribe_undoAndRollback_publishChangesBack() throws Exception {
+        // Arrange
+        Queue<TaskChange> changes = new ConcurrentLinkedQueue<>();
+        try (ChangeFeed.Subscription subscription = taskManager.subscribe(changes::add, 16)) {
+            // Act
+            taskManager.beginUndoableChange("add");
+            addTodo("draft");
+            taskManager.endUndoableChange();
+            taskManager.undo();
+            taskManager.beginTransaction();
+            addTodo("notes");
+            taskManager.rollbackTransaction();
+            assertTrue(subscription.awaitDelivery(taskManager.getLastChangeSequenceNumber(), 5_000));
+        }
+
+        // Assert
+        assertEquals(4, changes.size());
+        assertEquals(TaskChange.Kind.ADDED, changes.poll().getKind());
+        TaskChange undone = changes.poll();
+        assertEquals(TaskChange.Kind.DELETED, undone.getKind());
+        assertEquals("draft", undone.getTaskBefore().getName());
+        assertEquals(TaskChange.Kind.ADDED, changes.poll().getKind());
+        assertEquals(TaskChange.Kind.DELETED, changes.poll().getKind());
+    }
+
+    @Test
+    void subscribe_slowListener_holdsUpWritersButNotReaders() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try (ChangeFeed.Subscription subscription = taskManager.subscribe(change -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 1)) {
+            // Act
+            Future<?> writes = writer.submit(() -> {
+                for (int i = 0; i < 5; i++) {
+                    addTodo("task " + i);
+                }
+                return null;
+            });
+
+            // Assert
+            assertThrows(TimeoutException.class, () -> writes.get(300, TimeUnit.MILLISECONDS));
+            assertFalse(writes.isDone());
+            int tasksAdded = taskManager.getTaskCountForDate(DATE);
+            assertTrue(tasksAdded >= 2 && tasksAdded < 5, "Added " + tasksAdded);
+            release.countDown();
+            writes.get(5, TimeUnit.SECONDS);
+            assertTrue(subscription.awaitDelivery(taskManager.getLastChangeSequenceNumber(), 5_000));
+            assertEquals(5, taskManager.getTaskCountForDate(DATE));
+        } finally {
+            writer.shutdown();
+        }
+    }
+}
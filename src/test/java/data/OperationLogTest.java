@@ -0,0 +1,77 @@
+package data;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class OperationLogTest {
+    private static final LocalDate DATE = LocalDate.of(2031, 9, 1);
+
+    private static void recordEntry(OperationLog operationLog, String description) {
+        operationLog.openEntry(description);
+        operationLog.record(TaskOperation.added(DATE, 0, new Todo(description)));
+        operationLog.closeEntry();
+    }
+
+    @Test
+    void closeEntry_moreEntriesThanCapacity_dropsOldestEntries() {
+        OperationLog operationLog = new OperationLog(2);
+
+        recordEntry(operationLog, "first");
+        recordEntry(operationLog, "second");
+        recordEntry(operationLog, "third");
+
+        assertEquals(2, operationLog.getUndoCount());
+        assertEquals("third", operationLog.takeUndo().getDescription());
+        assertEquals("second", operationLog.takeUndo().getDescription());
+        assertNull(operationLog.takeUndo());
+        assertEquals(2, operationLog.getRedoCount());
+    }
+
+    @Test
+    void closeEntry_emptyEntry_keepsEntriesToRedo() {
+        OperationLog operationLog = new OperationLog(OperationLog.DEFAULT_CAPACITY);
+        recordEntry(operationLog, "first");
+        operationLog.takeUndo();
+
+        operationLog.openEntry("next");
+        operationLog.closeEntry();
+
+        assertEquals(0, operationLog.getUndoCount());
+        assertEquals("first", operationLog.takeRedo().getDescription());
+
+        recordEntry(operationLog, "second");
+        assertEquals(0, operationLog.getRedoCount());
+    }
+
+    @Test
+    void discardEntriesAfter_sequenceNumber_dropsLaterEntriesOnly() {
+        OperationLog operationLog = new OperationLog(OperationLog.DEFAULT_CAPACITY);
+        recordEntry(operationLog, "kept");
+        long sequenceNumber = operationLog.getLastSequenceNumber();
+        recordEntry(operationLog, "dropped");
+        recordEntry(operationLog, "also dropped");
+
+        operationLog.discardEntriesAfter(sequenceNumber);
+
+        assertEquals(1, operationLog.getUndoCount());
+        assertEquals("kept", operationLog.peekUndo().getDescription());
+    }
+
+    @Test
+    void inverse_replacedTask_swapsTasks() {
+        Task before = new Todo("before");
+        Task after = new Todo("after");
+        after.setCompleteness(true);
+
+        TaskOperation inverse = TaskOperation.replaced(DATE, 3, before, after).inverse();
+
+        assertEquals("after", inverse.getTaskBefore().getName());
+        assertEquals("before", inverse.getTaskAfter().getName());
+        assertEquals(3, inverse.getTaskIndex());
+        assertEquals(DATE, inverse.getDate());
+    }
+}
@@ -0,0 +1,187 @@
+package data;
+
+import data.exceptions.TaskManagerException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import time.MonthView;
+import time.WeekView;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskManagerConcurrencyTest {
+    private static final YearMonth MONTH = YearMonth.of(2031, 12);
+    private static final LocalDate SHARED_DATE = MONTH.atDay(31);
+    private static final int WRITER_COUNT = 4;
+    private static final int READER_COUNT = 4;
+    private static final int TASKS_PER_WRITER = 300;
+
+    private TaskManager taskManager;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        taskManager = new TaskManager(tempDir.resolve("tasks.txt"), TaskManager.NO_TASK_LIMIT);
+    }
+
+    private void addTodo(LocalDate date, String name) throws TaskManagerException {
+        taskManager.addTask(date, name, TaskType.TODO, new String[]{null}, new String[]{null});
+    }
+
+    /**
+     * Each writer adds tasks to a date of its own and to a date shared by all writers, marking and deleting
+     * some of its own, while readers keep checking that the counts they read are never halfway through a change.
+     */
+    @Test
+    void concurrentReadersAndWriters_countsStayConsistent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITER_COUNT + READER_COUNT);
+        CountDownLatch startGate = new CountDownLatch(1);
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        Queue<String> inconsistencies = new ConcurrentLinkedQueue<>();
+        List<Future<?>> writers = new ArrayList<>();
+        List<Future<?>> readers = new ArrayList<>();
+
+        for (int w = 0; w < WRITER_COUNT; w++) {
+            LocalDate ownDate = MONTH.atDay(w + 1);
+            writers.add(executor.submit(() -> {
+                startGate.await();
+                for (int i = 0; i < TASKS_PER_WRITER; i++) {
+                    addTodo(ownDate, "own " + i);
+                    addTodo(SHARED_DATE, "shared " + i);
+                    int lastIndex = taskManager.getTasksForDate(ownDate).size() - 1;
+                    taskManager.setTaskStatuses(ownDate, lastIndex, true, TaskPriorityLevel.HIGH);
+                    if (i % 3 == 0) {
+                        taskManager.deleteTask(ownDate, 0, true);
+                    }
+                }
+                return null;
+            }));
+        }
+        for (int r = 0; r < READER_COUNT; r++) {
+            readers.add(executor.submit(() -> {
+                startGate.await();
+                while (isWriting.get()) {
+                    TaskCounts counts = taskManager.getTaskCountsForMonth(MONTH);
+                    int typeTotal = counts.getCountOfType(TaskType.TODO) + counts.getCountOfType(TaskType.EVENT)
+                            + counts.getCountOfType(TaskType.DEADLINE);
+                    int priorityTotal = counts.getCountOfPriority(TaskPriorityLevel.HIGH)
+                            + counts.getCountOfPriority(TaskPriorityLevel.MEDIUM)
+                            + counts.getCountOfPriority(TaskPriorityLevel.LOW);
+                    if (typeTotal != counts.getTotal() || priorityTotal != counts.getTotal()
+                            || counts.getCompleted() > counts.getTotal()) {
+                        inconsistencies.add("Torn counts: total " + counts.getTotal() + ", by type " + typeTotal
+                                + ", by priority " + priorityTotal);
+                    }
+                    for (Task task : taskManager.getTasksForDate(SHARED_DATE)) {
+                        if (task.getName() == null) {
+                            inconsistencies.add("Task without a name");
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+
+        startGate.countDown();
+        for (Future<?> writer : writers) {
+            writer.get(60, TimeUnit.SECONDS);
+        }
+        isWriting.set(false);
+        for (Future<?> reader : readers) {
+            reader.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertTrue(inconsistencies.isEmpty(), String.valueOf(inconsistencies.peek()));
+        int deletedPerWriter = (TASKS_PER_WRITER + 2) / 3;
+        for (int w = 0; w < WRITER_COUNT; w++) {
+            LocalDate ownDate = MONTH.atDay(w + 1);
+            assertEquals(TASKS_PER_WRITER - deletedPerWriter, taskManager.getTasksForDate(ownDate).size());
+            assertEquals(TASKS_PER_WRITER - deletedPerWriter, taskManager.getTaskCountForDate(ownDate));
+            assertEquals(TASKS_PER_WRITER - deletedPerWriter, taskManager.getTaskCountsForDate(ownDate).getCompleted());
+        }
+        assertEquals(WRITER_COUNT * TASKS_PER_WRITER, taskManager.getTasksForDate(SHARED_DATE).size());
+        assertEquals(WRITER_COUNT * TASKS_PER_WRITER, taskManager.getTaskCountForDate(SHARED_DATE));
+        assertEquals(WRITER_COUNT * (2 * TASKS_PER_WRITER - deletedPerWriter),
+                taskManager.getTaskCountForMonth(MONTH));
+    }
+
+    @Test
+    void getTaskCountsForDate_laterChange_returnedCountsUnchanged() throws TaskManagerException {
+        LocalDate date = MONTH.atDay(10);
+        addTodo(date, "report");
+        TaskCounts counts = taskManager.getTaskCountsForDate(date);
+
+        addTodo(date, "slides");
+
+        assertEquals(1, counts.getTotal());
+        assertEquals(2, taskManager.getTaskCountsForDate(date).getTotal());
+    }
+
+    @Test
+    void getTaskSnapshotForDate_laterDelete_snapshotUnchanged() throws TaskManagerException {
+        LocalDate date = MONTH.atDay(10);
+        addTodo(date, "report");
+        addTodo(date, "slides");
+        List<Task> snapshot = taskManager.getTaskSnapshotForDate(date);
+
+        taskManager.deleteTask(date, 1, true);
+
+        assertEquals(2, snapshot.size());
+        assertEquals("slides", snapshot.get(1).getName());
+        assertEquals(1, taskManager.getTasksForDate(date).size());
+    }
+
+    /**
+     * Another thread deletes a task of the date right after each count of its tasks is read, which must not
+     * leave the views printing a task number the date no longer has.
+     */
+    @Test
+    void printView_deleteBetweenReads_printsFrame() throws TaskManagerException {
+        LocalDate date = MONTH.atDay(10);
+        TaskManager racingTaskManager = new TaskManager(tempDir.resolve("racing.txt"), TaskManager.NO_TASK_LIMIT) {
+            @Override
+            public int getTaskCountForDate(LocalDate countedDate) {
+                int taskCount = super.getTaskCountForDate(countedDate);
+                if (taskCount > 0) {
+                    deleteTask(countedDate, 0, true);
+                }
+                return taskCount;
+            }
+        };
+        for (int i = 0; i < 3; i++) {
+            racingTaskManager.addTask(date, "task " + i, TaskType.TODO, new String[]{null}, new String[]{null});
+        }
+        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            new MonthView(MONTH.atDay(1), dateFormatter).printView(racingTaskManager);
+            new WeekView(date, dateFormatter).printView(racingTaskManager);
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        assertEquals(3, racingTaskManager.getTasksForDate(date).size());
+    }
+}
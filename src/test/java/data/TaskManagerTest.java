@@ -4,19 +4,19 @@ import data.exceptions.TaskManagerException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
-import time.WeekView;
+import storage.Storage;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Scanner;
 import java.util.ArrayList;
 
 
-import static data.TaskManager.addTask;
-import static data.TaskManager.updateTask;
 import static data.TaskManager.deleteAllTasksOnDate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -50,7 +50,7 @@ class TaskManagerTest {
         String[] dummyTestDates = new String[]{null};
         String[] dummyTestTimes = new String[]{null};
 
-        addTask(date, taskDescription, testTaskType, dummyTestDates, dummyTestTimes);
+        taskManager.addTask(date, taskDescription, testTaskType, dummyTestDates, dummyTestTimes);
         Task addedTask = taskManager.getTasksForDate(date).get(0);
 
         // Assert
@@ -70,7 +70,7 @@ class TaskManagerTest {
 
         // Assert
         TaskManagerException thrown = assertThrows(TaskManagerException.class, () ->
-                addTask(date, taskDescription, testInvalidTaskType, dummyTestDates, dummyTestTimes));
+                taskManager.addTask(date, taskDescription, testInvalidTaskType, dummyTestDates, dummyTestTimes));
 
         assertEquals("Invalid task type given. T for Todo, E for event, D for deadline.", thrown.getMessage());
     }
@@ -87,13 +87,10 @@ class TaskManagerTest {
 
         Scanner scanner = new Scanner(System.in);
 
-        boolean inMonthView = false;
-        WeekView weekView = new WeekView(LocalDate.now(), DateTimeFormatter.ofPattern("dd/MM/yyyy"));
-
-        addTask(date, initialTaskDescription, testTaskType, dummyTestDates, dummyTestTimes);
+        taskManager.addTask(date, initialTaskDescription, testTaskType, dummyTestDates, dummyTestTimes);
 
         // Act
-        updateTask(date, 0, updatedTaskDescription, scanner,inMonthView, weekView);
+        taskManager.updateTask(date, 0, updatedTaskDescription, List.of(), scanner);
 
         // Assert
         assertEquals(updatedTaskDescription, taskManager.getTasksForDate(date).get(0).getName());
@@ -108,7 +105,7 @@ class TaskManagerTest {
         String[] dummyTestDates = new String[]{null};
         String[] dummyTestTimes = new String[]{null};
 
-        addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes);
+        taskManager.addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes);
 
         // Act
         List<Task> tasksForDate = taskManager.getTasksForDate(date);
@@ -118,22 +115,6 @@ class TaskManagerTest {
         assertEquals(createdTask, tasksForDate.get(0));
     }
 
-    @Test
-    void addTodoFromFile_validInput_addsTasks() throws TaskManagerException {
-        // Arrange
-        LocalDate date = LocalDate.now();
-        Map<LocalDate, List<Task>> tasksFromFile = new HashMap<>();
-        String taskDescription = "Test todo task";
-        Task testTodoTask = new Todo(taskDescription);
-        tasksFromFile.put(date, List.of(testTodoTask));
-
-        // Act
-        taskManager.addTasksFromFile(tasksFromFile);
-
-        // Assert
-        assertEquals(testTodoTask.getName(), taskManager.getTasksForDate(date).get(0).getName());
-    }
-
     @Test
     void addDeadline_validInput_addsTask() throws TaskManagerException {
         // Arrange
@@ -148,7 +129,7 @@ class TaskManagerTest {
         String[] dummyTestDates = new String[]{byDate};
         String[] dummyTestTimes = new String[]{byTime};
 
-        addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes);
+        taskManager.addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes);
         Task addedTask = taskManager.getTasksForDate(date).get(0);
         String addedTaskByDate = addedTask.getByDate();
         String addedTaskByTime = addedTask.getByTime();
@@ -174,7 +155,7 @@ class TaskManagerTest {
 
         // Assert
         TaskManagerException thrown = assertThrows(TaskManagerException.class, () ->
-                addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes));
+                taskManager.addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes));
         assertEquals("Invalid task type given. T for Todo, E for event, D for deadline.", thrown.getMessage());
     }
 
@@ -193,13 +174,10 @@ class TaskManagerTest {
 
         Scanner scanner = new Scanner(simulatedUserInput);
 
-        boolean inMonthView = false;
-        WeekView weekView = new WeekView(LocalDate.now(), DateTimeFormatter.ofPattern("dd/MM/yyyy"));
-
-        addTask(date, initialTaskDescription, testTaskType, dummyTestDates, dummyTestTimes);
+        taskManager.addTask(date, initialTaskDescription, testTaskType, dummyTestDates, dummyTestTimes);
 
         // Act
-        updateTask(date, 0, updatedTaskDescription, scanner,inMonthView, weekView);
+        taskManager.updateTask(date, 0, updatedTaskDescription, List.of(), scanner);
 
         // Assert
         assertEquals(updatedTaskDescription, taskManager.getTasksForDate(date).get(0).getName());
@@ -224,14 +202,10 @@ class TaskManagerTest {
 
         Scanner scanner = new Scanner(simulatedUserInput);
 
-        boolean inMonthView = false;
-
-        WeekView weekView = new WeekView(LocalDate.now(), DateTimeFormatter.ofPattern("dd/MM/yyyy"));
-
-        addTask(date, initialTaskDescription, testTaskType, dummyTestDates, dummyTestTimes);
+        taskManager.addTask(date, initialTaskDescription, testTaskType, dummyTestDates, dummyTestTimes);
 
         // Act
-        updateTask(date, 0, updatedTaskDescription, scanner,inMonthView, weekView);
+        taskManager.updateTask(date, 0, updatedTaskDescription, List.of(), scanner);
 
         // Assert
         assertEquals(updatedTaskDescription, taskManager.getTasksForDate(date).get(0).getName());
@@ -255,7 +229,7 @@ class TaskManagerTest {
         String[] dummyTestDates = new String[]{startDate, endDate};
         String[] dummyTestTimes = new String[]{startTime, endTime};
 
-        addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes);
+        taskManager.addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes);
         Task addedTask = taskManager.getTasksForDate(date).get(0);
         String addedTaskStartDate = addedTask.getStartDate();
         String addedTaskEndDate = addedTask.getEndDate();
@@ -287,7 +261,7 @@ class TaskManagerTest {
 
         // Assert
         TaskManagerException thrown = assertThrows(TaskManagerException.class, () ->
-                addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes));
+                taskManager.addTask(date, taskDescription, testTaskType, dummyTestDates,dummyTestTimes));
         assertEquals("Invalid task type given. T for Todo, E for event, D for deadline.", thrown.getMessage());
     }
 
@@ -309,14 +283,10 @@ class TaskManagerTest {
 
         Scanner scanner = new Scanner(simulatedUserInput);
 
-        boolean inMonthView = false;
-
-        WeekView weekView = new WeekView(LocalDate.now(), DateTimeFormatter.ofPattern("dd/MM/yyyy"));
-
-        addTask(date, initialTaskDescription, testTaskType, dummyTestDates, dummyTestTimes);
+        taskManager.addTask(date, initialTaskDescription, testTaskType, dummyTestDates, dummyTestTimes);
 
         // Act
-        updateTask(date, 0, updatedTaskDescription, scanner, inMonthView, weekView);
+        taskManager.updateTask(date, 0, updatedTaskDescription, List.of(), scanner);
 
         // Assert
         assertEquals(updatedTaskDescription, taskManager.getTasksForDate(date).get(0).getName());
@@ -347,14 +317,10 @@ class TaskManagerTest {
 
         Scanner scanner = new Scanner(simulatedUserInput);
 
-        boolean inMonthView = false;
-
-        WeekView weekView = new WeekView(LocalDate.now(), DateTimeFormatter.ofPattern("dd/MM/yyyy"));
-
-        addTask(date, initialTaskDescription, testTaskType, dummyTestDates, dummyTestTimes);
+        taskManager.addTask(date, initialTaskDescription, testTaskType, dummyTestDates, dummyTestTimes);
 
         // Act
-        updateTask(date, 0, updatedTaskDescription, scanner, inMonthView, weekView);
+        taskManager.updateTask(date, 0, updatedTaskDescription, List.of(), scanner);
 
         // Assert
         assertEquals(updatedTaskDescription, taskManager.getTasksForDate(date).get(0).getName());
@@ -378,8 +344,8 @@ class TaskManagerTest {
         String[] testTimes = new String[]{startTime, endTime};
 
         // Act
-        addTask(date, taskDescription, testTaskType, testDates, testTimes);
-        List<String> freeTimeSlots = taskManager.getFreeTimeSlots(TaskManager.getEventsForDate(date), date);
+        taskManager.addTask(date, taskDescription, testTaskType, testDates, testTimes);
+        List<String> freeTimeSlots = taskManager.getFreeTimeSlots(taskManager.getEventsForDate(date), date);
 
         // Assert
         assertEquals(2, freeTimeSlots.size());
@@ -413,8 +379,8 @@ class TaskManagerTest {
         String[] testTimes = new String[]{startTime, endTime};
 
         // Act
-        addTask(date, taskDescription, testTaskType, testDates, testTimes);
-        List<Task> eventsForDate = TaskManager.getEventsForDate(date);
+        taskManager.addTask(date, taskDescription, testTaskType, testDates, testTimes);
+        List<Task> eventsForDate = taskManager.getEventsForDate(date);
 
         // Assert
         assertEquals(1, eventsForDate.size());
@@ -431,7 +397,7 @@ class TaskManagerTest {
         LocalDate date = LocalDate.now(); // No events added for this date
 
         // Act
-        List<Task> eventsForDate = TaskManager.getEventsForDate(date);
+        List<Task> eventsForDate = taskManager.getEventsForDate(date);
 
         // Assert
         assertTrue(eventsForDate.isEmpty());
@@ -441,7 +407,7 @@ class TaskManagerTest {
     void markTaskAsCompleted_validIndex_marksTask() throws TaskManagerException {
         // Arrange
         LocalDate date = LocalDate.now();
-        addTask(date, "Complete project report", TaskType.TODO, 
+        taskManager.addTask(date, "Complete project report", TaskType.TODO, 
                 new String[]{null}, new String[]{null});
 
         // Act
@@ -456,7 +422,7 @@ class TaskManagerTest {
     void markTaskAsCompleted_invalidIndex_throwsException() throws TaskManagerException {
         // Arrange
         LocalDate date = LocalDate.now();
-        addTask(date, "Write unit test", TaskType.TODO, 
+        taskManager.addTask(date, "Write unit test", TaskType.TODO, 
                 new String[]{null}, new String[]{null});
 
         // Act & Assert
@@ -475,7 +441,7 @@ class TaskManagerTest {
     void markTaskAsNotCompleted_validIndex_marksTaskNotCompleted() throws TaskManagerException {
         // Arrange
         LocalDate date = LocalDate.now();
-        addTask(date, "Complete project report", TaskType.TODO, 
+        taskManager.addTask(date, "Complete project report", TaskType.TODO, 
                 new String[]{null}, new String[]{null});
         taskManager.markTaskAsCompleted(date, 0); 
 
@@ -491,7 +457,7 @@ class TaskManagerTest {
     void markTaskAsNotCompleted_invalidIndex_throwsException() throws TaskManagerException {
         // Arrange
         LocalDate date = LocalDate.now();
-        addTask(date, "Write unit test", TaskType.TODO, 
+        taskManager.addTask(date, "Write unit test", TaskType.TODO, 
                 new String[]{null}, new String[]{null});
 
         // Act & Assert
@@ -510,15 +476,317 @@ class TaskManagerTest {
     void getDayTasks_withMultipleTasks_returnsAllTasks() throws TaskManagerException {
         // Arrange
         LocalDate date = LocalDate.now();
-        addTask(date, "Task 1", TaskType.TODO, new String[]{null}, new String[]{null});
-        addTask(date, "Task 2", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(date, "Task 1", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(date, "Task 2", TaskType.TODO, new String[]{null}, new String[]{null});
 
         // Act
-        List<Task> tasksForDay = TaskManager.getDayTasks(date);
+        List<Task> tasksForDay = taskManager.getDayTasks(date);
 
         // Assert
         assertEquals(2, tasksForDay.size(), "Should return all tasks for the day.");
     }
 
+    @Test
+    void getTaskCountForDate_afterAddAndDelete_tracksCounts() throws TaskManagerException {
+        // Arrange
+        LocalDate date = LocalDate.now();
+        int initialMonthCount = taskManager.getTaskCountForMonth(YearMonth.from(date));
+        taskManager.addTask(date, "Task 1", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(date, "Task 2", TaskType.TODO, new String[]{null}, new String[]{null});
+
+        // Act
+        taskManager.deleteTask(date, 0, true);
+
+        // Assert
+        assertEquals(1, taskManager.getTaskCountForDate(date));
+        assertEquals(initialMonthCount + 1, taskManager.getTaskCountForMonth(YearMonth.from(date)));
+    }
+
+    @Test
+    void getTaskCountsForDate_afterMarkAndPriorityChanges_tracksBreakdown() throws TaskManagerException {
+        // Arrange
+        LocalDate date = LocalDate.now();
+        taskManager.addTask(date, "Todo task", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(date, "Deadline task", TaskType.DEADLINE, new String[]{"01/01/2024"}, new String[]{"1800"});
+
+        // Act
+        taskManager.markTaskAsCompleted(date, 0);
+        taskManager.setTaskStatuses(date, 1, false, TaskPriorityLevel.HIGH);
+        TaskCounts counts = taskManager.getTaskCountsForDate(date);
+
+        // Assert
+        assertEquals(2, counts.getTotal());
+        assertEquals(1, counts.getCompleted());
+        assertEquals(1, counts.getCountOfType(TaskType.TODO));
+        assertEquals(1, counts.getCountOfType(TaskType.DEADLINE));
+        assertEquals(1, counts.getCountOfPriority(TaskPriorityLevel.HIGH));
+        assertEquals(1, counts.getCountOfPriority(TaskPriorityLevel.LOW));
+    }
+
+    @Test
+    void getTaskCountsForDate_afterUpdate_resetsStatusCounts() throws TaskManagerException {
+        // Arrange
+        LocalDate date = LocalDate.now();
+        taskManager.addTask(date, "Initial todo", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.markTaskAsCompleted(date, 0);
+
+        // Act
+        taskManager.updateTask(date, 0, "Updated todo", List.of(), new Scanner(""));
+        TaskCounts counts = taskManager.getTaskCountsForDate(date);
 
+        // Assert
+        assertEquals(1, counts.getTotal());
+        assertEquals(0, counts.getCompleted());
+        assertEquals(1, taskManager.getMaxTaskCountForDayInWeek(date));
+    }
+
+    @Test
+    void bulkOperations_quarterRange_changeOnlyMatchingTasksInRange() throws TaskManagerException {
+        // Arrange
+        LocalDate january = LocalDate.of(2031, 1, 15);
+        LocalDate march = LocalDate.of(2031, 3, 31);
+        LocalDate april = LocalDate.of(2031, 4, 1);
+        taskManager.addTask(january, "Pay rent", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(january, "Report", TaskType.DEADLINE, new String[]{"15/01/2031"}, new String[]{"1800"});
+        taskManager.addTask(march, "Pay bills", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(april, "Pay rent", TaskType.TODO, new String[]{null}, new String[]{null});
+        LocalDate startOfQuarter = LocalDate.of(2031, 1, 1);
+        TaskFilter payTodos = new TaskFilter(TaskType.TODO, null, null, "pay");
+
+        try {
+            // Act
+            int markedCount = taskManager.setCompletenessOfTasksInRange(startOfQuarter, march, payTodos, true);
+            int prioritisedCount = taskManager.setPriorityLevelOfTasksInRange(startOfQuarter, march,
+                    TaskFilter.matchingAll(), TaskPriorityLevel.HIGH);
+            int deletedCount = taskManager.deleteTasksInRange(startOfQuarter, march,
+                    new TaskFilter(null, null, true, null));
+
+            // Assert
+            assertEquals(2, markedCount);
+            assertEquals(3, prioritisedCount);
+            assertEquals(2, deletedCount);
+            assertEquals(1, taskManager.getTasksForDate(january).size());
+            assertEquals("Report", taskManager.getTasksForDate(january).get(0).getName());
+            assertEquals(TaskPriorityLevel.HIGH, taskManager.getTasksForDate(january).get(0).getPriorityLevel());
+            assertTrue(taskManager.getTasksForDate(march).isEmpty());
+            assertFalse(taskManager.getTasksForDate(april).get(0).isCompleted());
+            assertEquals(1, taskManager.getTaskCountsForYear(2031).getCountOfPriority(TaskPriorityLevel.HIGH));
+            assertEquals(0, taskManager.getTaskCountsForYear(2031).getCompleted());
+        } finally {
+            deleteAllTasksOnDate(taskManager, january);
+            deleteAllTasksOnDate(taskManager, march);
+            deleteAllTasksOnDate(taskManager, april);
+        }
+    }
+
+    @Test
+    void rollbackTransaction_afterChanges_restoresTasksAndStatistics() throws TaskManagerException {
+        // Arrange
+        LocalDate firstDate = LocalDate.of(2031, 8, 4);
+        LocalDate secondDate = LocalDate.of(2031, 8, 5);
+        taskManager.addTask(firstDate, "Keep", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(firstDate, "Delete", TaskType.DEADLINE, new String[]{"04/08/2031"}, new String[]{"1800"});
+
+        try {
+            // Act
+            taskManager.beginTransaction();
+            taskManager.markTaskAsCompleted(firstDate, 0);
+            taskManager.deleteTask(firstDate, 1, true);
+            taskManager.addTask(secondDate, "New", TaskType.TODO, new String[]{null}, new String[]{null});
+            int restoredDateCount = taskManager.rollbackTransaction();
+
+            // Assert
+            assertEquals(2, restoredDateCount);
+            assertFalse(taskManager.isInTransaction());
+            List<Task> firstDateTasks = taskManager.getTasksForDate(firstDate);
+            assertEquals(2, firstDateTasks.size());
+            assertFalse(firstDateTasks.get(0).isCompleted());
+            assertEquals("Delete", firstDateTasks.get(1).getName());
+            assertEquals("1800", firstDateTasks.get(1).getByTime());
+            assertTrue(taskManager.getTasksForDate(secondDate).isEmpty());
+            assertEquals(2, taskManager.getTaskCountForMonth(YearMonth.of(2031, 8)));
+            assertEquals(0, taskManager.getTaskCountsForDate(firstDate).getCompleted());
+        } finally {
+            deleteAllTasksOnDate(taskManager, firstDate);
+            deleteAllTasksOnDate(taskManager, secondDate);
+        }
+    }
+
+    @Test
+    void commitTransaction_afterChanges_keepsChangesAndSaves() throws TaskManagerException {
+        // Arrange
+        LocalDate date = LocalDate.of(2031, 8, 11);
+
+        try {
+            // Act
+            taskManager.beginTransaction();
+            taskManager.addTask(date, "First", TaskType.TODO, new String[]{null}, new String[]{null});
+            taskManager.addTask(date, "Second", TaskType.TODO, new String[]{null}, new String[]{null});
+            assertThrows(TaskManagerException.class, taskManager::beginTransaction);
+            int changedDateCount = taskManager.commitTransaction();
+
+            // Assert
+            assertEquals(1, changedDateCount);
+            assertEquals(2, taskManager.getTaskCountForDate(date));
+            assertFalse(taskManager.hasUnsavedChanges());
+            assertThrows(TaskManagerException.class, taskManager::commitTransaction);
+            assertThrows(TaskManagerException.class, taskManager::rollbackTransaction);
+        } finally {
+            deleteAllTasksOnDate(taskManager, date);
+        }
+    }
+
+    @Test
+    void undoAndRedo_afterBulkDeleteAndMark_restoreTasksAndStatistics() throws TaskManagerException {
+        // Arrange
+        LocalDate date = LocalDate.of(2031, 9, 8);
+        taskManager.addTask(date, "First", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(date, "Second", TaskType.DEADLINE, new String[]{"08/09/2031"}, new String[]{"0900"});
+        taskManager.addTask(date, "Third", TaskType.TODO, new String[]{null}, new String[]{null});
+
+        try {
+            taskManager.beginUndoableChange("mark");
+            taskManager.markTaskAsCompleted(date, 2);
+            taskManager.endUndoableChange();
+            taskManager.beginUndoableChange("bulk");
+            taskManager.deleteTasksInRange(date, date, new TaskFilter(TaskType.TODO, null, null, null));
+            taskManager.endUndoableChange();
+
+            // Act
+            String undoneBulk = taskManager.undo();
+            String undoneMark = taskManager.undo();
+
+            // Assert
+            assertEquals("bulk", undoneBulk);
+            assertEquals("mark", undoneMark);
+            List<Task> dayTasks = taskManager.getTasksForDate(date);
+            assertEquals(3, dayTasks.size());
+            assertEquals("First", dayTasks.get(0).getName());
+            assertEquals("0900", dayTasks.get(1).getByTime());
+            assertFalse(dayTasks.get(2).isCompleted());
+            assertEquals(0, taskManager.getTaskCountsForDate(date).getCompleted());
+
+            // Act
+            taskManager.redo();
+
+            // Assert
+            assertTrue(taskManager.getTasksForDate(date).get(2).isCompleted());
+            assertEquals(1, taskManager.getTaskCountsForDate(date).getCompleted());
+            assertEquals("bulk", taskManager.redo());
+            assertEquals(1, taskManager.getTaskCountForDate(date));
+            assertThrows(TaskManagerException.class, taskManager::redo);
+        } finally {
+            deleteAllTasksOnDate(taskManager, date);
+        }
+    }
+
+    @Test
+    void deleteAndMarkTasksInRange_interleavedMatches_installNewDayListAndUndoRestoresOrder()
+            throws TaskManagerException {
+        // Arrange
+        LocalDate date = LocalDate.of(2031, 9, 9);
+        String[] names = {"A", "B", "C", "D", "E"};
+        for (int i = 0; i < names.length; i++) {
+            if (i % 2 == 0) {
+                taskManager.addTask(date, names[i], TaskType.TODO, new String[]{null}, new String[]{null});
+            } else {
+                taskManager.addTask(date, names[i], TaskType.DEADLINE, new String[]{"09/09/2031"},
+                        new String[]{"0900"});
+            }
+        }
+        List<Task> dayTasksBeforeMark = taskManager.getDayTasks(date);
+
+        try {
+            // Act
+            taskManager.setCompletenessOfTasksInRange(date, date, task -> true, true);
+            List<Task> dayTasksBeforeDelete = taskManager.getDayTasks(date);
+            taskManager.beginUndoableChange("bulk");
+            taskManager.deleteTasksInRange(date, date, new TaskFilter(TaskType.TODO, null, null, null));
+            taskManager.endUndoableChange();
+
+            // Assert
+            assertFalse(dayTasksBeforeMark.get(4).isCompleted());
+            assertEquals(5, dayTasksBeforeDelete.size());
+            List<Task> dayTasks = taskManager.getTasksForDate(date);
+            assertEquals(2, dayTasks.size());
+            assertEquals("B", dayTasks.get(0).getName());
+            assertEquals("D", dayTasks.get(1).getName());
+
+            // Act
+            taskManager.undo();
+
+            // Assert
+            dayTasks = taskManager.getTasksForDate(date);
+            assertEquals(names.length, dayTasks.size());
+            for (int i = 0; i < names.length; i++) {
+                assertEquals(names[i], dayTasks.get(i).getName());
+                assertTrue(dayTasks.get(i).isCompleted());
+            }
+            assertEquals(5, taskManager.getTaskCountsForDate(date).getCompleted());
+        } finally {
+            deleteAllTasksOnDate(taskManager, date);
+        }
+    }
+
+    @Test
+    void separateTaskManagers_changesInOne_leaveOtherUnchanged() throws TaskManagerException, IOException {
+        // Arrange
+        Path directory = Files.createTempDirectory("calendars");
+        TaskManager work = new TaskManager(directory.resolve("work.txt"), TaskManager.NO_TASK_LIMIT);
+        TaskManager home = new TaskManager(directory.resolve("home.txt"), TaskManager.NO_TASK_LIMIT);
+        LocalDate date = LocalDate.of(2032, 2, 3);
+
+        // Act
+        work.addTaskOnDate(date, TaskType.TODO, "Standup", List.of());
+        home.beginTransaction();
+        home.addTask(date, "Groceries", TaskType.TODO, new String[]{null}, new String[]{null});
+        home.rollbackTransaction();
+
+        // Assert
+        assertEquals(1, work.getTaskCountForDate(date));
+        assertEquals(0, home.getTaskCountForDate(date));
+        assertFalse(work.isInTransaction());
+        TaskManager savedWork = Storage.loadCalendar(directory.resolve("work.txt"));
+        assertEquals("Standup", savedWork.getDayTasks(date).get(0).getName());
+        assertFalse(Files.exists(directory.resolve("home.txt")));
+    }
+
+    @Test
+    void addAndUpdateTaskOnDate_descriptionWithSeparator_throwsAndKeepsTask() throws TaskManagerException,
+            IOException {
+        // Arrange
+        Path saveFile = Files.createTempDirectory("calendars").resolve("tasks.txt");
+        TaskManager calendar = new TaskManager(saveFile, TaskManager.NO_TASK_LIMIT);
+        LocalDate date = LocalDate.of(2032, 2, 3);
+        calendar.addTaskOnDate(date, TaskType.TODO, "Standup", List.of());
+
+        // Act
+        TaskManagerException addThrown = assertThrows(TaskManagerException.class, () ->
+                calendar.addTaskOnDate(date, TaskType.DEADLINE, "a|b", List.of("03/02/2032 1700")));
+        TaskManagerException updateThrown = assertThrows(TaskManagerException.class, () ->
+                calendar.updateTaskOnDate(date, 1, "two\nlines", List.of()));
+
+        // Assert
+        assertEquals(TaskManagerException.INVALID_DESCRIPTION_MESSAGE, addThrown.getMessage());
+        assertEquals(TaskManagerException.INVALID_DESCRIPTION_MESSAGE, updateThrown.getMessage());
+        assertEquals(1, calendar.getTaskCountForDate(date));
+        assertEquals("Standup", calendar.getTasksForDate(date).get(0).getName());
+    }
+
+    @Test
+    void addTask_calendarFull_throwsTaskManagerException() throws TaskManagerException, IOException {
+        // Arrange
+        Path saveFile = Files.createTempDirectory("calendars").resolve("small.txt");
+        TaskManager small = new TaskManager(saveFile, 2);
+        LocalDate date = LocalDate.of(2032, 2, 4);
+        small.addTask(date, "First", TaskType.TODO, new String[]{null}, new String[]{null});
+        small.addTask(date, "Second", TaskType.TODO, new String[]{null}, new String[]{null});
+
+        // Act and Assert
+        assertThrows(TaskManagerException.class, () -> small.addTask(date, "Third", TaskType.TODO,
+                new String[]{null}, new String[]{null}));
+        small.deleteTask(date, 0, true);
+        small.addTask(date, "Third", TaskType.TODO, new String[]{null}, new String[]{null});
+        assertEquals(2, small.getTaskCountForDate(date));
+    }
 }
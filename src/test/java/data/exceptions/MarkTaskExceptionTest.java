@@ -10,9 +10,7 @@ import org.junit.jupiter.api.Test;
 import java.time.LocalDate;
 import java.util.List;
 
-import static data.TaskManager.addTask;
 import static data.TaskManager.deleteAllTasksOnDate;
-import static data.TaskManager.getDayTasks;
 import static data.exceptions.MarkTaskException.checkIfTaskIndexIsValidForMarkingTask;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -45,8 +43,8 @@ public class MarkTaskExceptionTest {
         TaskType testTaskType = TaskType.TODO;
         String[] dummyTestDates = new String[]{null};
         String[] dummyTestTimes = new String[]{null};
-        addTask(date, taskDescription, testTaskType, dummyTestDates, dummyTestTimes);
-        List<Task> dayTasks = getDayTasks(date);
+        taskManager.addTask(date, taskDescription, testTaskType, dummyTestDates, dummyTestTimes);
+        List<Task> dayTasks = taskManager.getDayTasks(date);
 
         // Assert
         assertDoesNotThrow(() -> checkIfTaskIndexIsValidForMarkingTask(dayTasks, 1));
@@ -65,8 +63,8 @@ public class MarkTaskExceptionTest {
         TaskType testTaskType = TaskType.TODO;
         String[] dummyTestDates = new String[]{null};
         String[] dummyTestTimes = new String[]{null};
-        addTask(date, taskDescription, testTaskType, dummyTestDates, dummyTestTimes);
-        List<Task> dayTasks = getDayTasks(date);
+        taskManager.addTask(date, taskDescription, testTaskType, dummyTestDates, dummyTestTimes);
+        List<Task> dayTasks = taskManager.getDayTasks(date);
 
         // Assert
         MarkTaskException thrown = assertThrows(MarkTaskException.class, () ->
@@ -83,7 +81,7 @@ public class MarkTaskExceptionTest {
         LocalDate date = LocalDate.now();
 
         // Act
-        List<Task> dayTasks = getDayTasks(date);
+        List<Task> dayTasks = taskManager.getDayTasks(date);
 
         // Assert
         MarkTaskException thrown = assertThrows(MarkTaskException.class, () ->
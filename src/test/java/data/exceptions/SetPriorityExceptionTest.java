@@ -10,9 +10,7 @@ import org.junit.jupiter.api.Test;
 import java.time.LocalDate;
 import java.util.List;
 
-import static data.TaskManager.addTask;
 import static data.TaskManager.deleteAllTasksOnDate;
-import static data.TaskManager.getDayTasks;
 import static data.exceptions.SetPriorityException.checkIfPriorityIsValid;
 import static data.exceptions.SetPriorityException.checkIfTaskIndexIsValidForPriority;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -46,8 +44,8 @@ public class SetPriorityExceptionTest {
         TaskType testTaskType = TaskType.TODO;
         String[] dummyTestDates = new String[]{null};
         String[] dummyTestTimes = new String[]{null};
-        addTask(date, taskDescription, testTaskType, dummyTestDates, dummyTestTimes);
-        List<Task> dayTasks = getDayTasks(date);
+        taskManager.addTask(date, taskDescription, testTaskType, dummyTestDates, dummyTestTimes);
+        List<Task> dayTasks = taskManager.getDayTasks(date);
 
         // Assert
         assertDoesNotThrow(() -> checkIfTaskIndexIsValidForPriority(dayTasks, 1));
@@ -66,8 +64,8 @@ public class SetPriorityExceptionTest {
         TaskType testTaskType = TaskType.TODO;
         String[] dummyTestDates = new String[]{null};
         String[] dummyTestTimes = new String[]{null};
-        addTask(date, taskDescription, testTaskType, dummyTestDates, dummyTestTimes);
-        List<Task> dayTasks = getDayTasks(date);
+        taskManager.addTask(date, taskDescription, testTaskType, dummyTestDates, dummyTestTimes);
+        List<Task> dayTasks = taskManager.getDayTasks(date);
 
         // Assert
         SetPriorityException thrown = assertThrows(SetPriorityException.class, () ->
@@ -84,7 +82,7 @@ public class SetPriorityExceptionTest {
         LocalDate date = LocalDate.now();
 
         // Act
-        List<Task> dayTasks = getDayTasks(date);
+        List<Task> dayTasks = taskManager.getDayTasks(date);
 
         // Assert
         SetPriorityException thrown = assertThrows(SetPriorityException.class, () ->
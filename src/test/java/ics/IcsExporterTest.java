@@ -0,0 +1,92 @@
+package ics;
+
+import data.TaskManager;
+import data.TaskPriorityLevel;
+import data.TaskType;
+import data.exceptions.TaskManagerException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IcsExporterTest {
+    private static final LocalDate DATE = LocalDate.of(2032, 5, 7);
+
+    private TaskManager taskManager;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        taskManager = new TaskManager(Files.createTempDirectory("ics").resolve("tasks.txt"),
+                TaskManager.NO_TASK_LIMIT);
+    }
+
+    private String export(LocalDate startDate, LocalDate endDate) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        IcsExporter.export(taskManager, startDate, endDate, outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void export_eventsAndDeadlines_writesComponents() throws TaskManagerException, IOException {
+        // Arrange
+        taskManager.addTask(DATE, "Todo only", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(DATE, "Sync, planning; review", TaskType.EVENT,
+                new String[]{"07/05/2032", "07/05/2032"}, new String[]{"0900", "1030"});
+        taskManager.addTask(DATE, "Report", TaskType.DEADLINE, new String[]{"07/05/2032"}, new String[]{"1700"});
+        taskManager.setTaskStatuses(DATE, 2, true, TaskPriorityLevel.HIGH);
+
+        // Act
+        String ics = export(DATE, DATE);
+
+        // Assert
+        assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"));
+        assertTrue(ics.endsWith("END:VCALENDAR\r\n"));
+        assertTrue(ics.contains("BEGIN:VEVENT\r\nUID:20320507-2@clinton\r\n"));
+        assertTrue(ics.contains("DTSTART:20320507T090000\r\nDTEND:20320507T103000\r\n"));
+        assertTrue(ics.contains("SUMMARY:Sync\\, planning\\; review\r\n"));
+        assertTrue(ics.contains("BEGIN:VTODO\r\nUID:20320507-3@clinton\r\n"));
+        assertTrue(ics.contains("DUE:20320507T170000\r\nSTATUS:COMPLETED\r\n"));
+        assertTrue(ics.contains("PRIORITY:1\r\n"));
+        assertFalse(ics.contains("Todo only"));
+    }
+
+    @Test
+    void export_datesOutsideRange_notWritten() throws TaskManagerException, IOException {
+        // Arrange
+        taskManager.addTask(DATE, "Inside", TaskType.DEADLINE, new String[]{"07/05/2032"}, new String[]{"1700"});
+        taskManager.addTask(DATE.plusDays(1), "Outside", TaskType.DEADLINE, new String[]{"08/05/2032"},
+                new String[]{"1700"});
+
+        // Act
+        String ics = export(DATE.minusDays(3), DATE);
+
+        // Assert
+        assertTrue(ics.contains("SUMMARY:Inside"));
+        assertFalse(ics.contains("Outside"));
+    }
+
+    @Test
+    void export_longSummary_foldsLinesAt75Bytes() throws TaskManagerException, IOException {
+        // Arrange
+        String longName = "\u00e9".repeat(60);
+        taskManager.addTask(DATE, longName, TaskType.DEADLINE, new String[]{"07/05/2032"}, new String[]{"1700"});
+
+        // Act
+        String ics = export(DATE, DATE);
+
+        // Assert
+        for (String line : ics.split("\r\n")) {
+            assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, line);
+        }
+        assertTrue(ics.replace("\r\n ", "").contains("SUMMARY:" + longName + "\r\n"));
+        assertEquals(2, ics.split("\r\n ").length);
+    }
+}
@@ -0,0 +1,131 @@
+package ics;
+
+import data.TaskManager;
+import data.TaskType;
+import data.exceptions.TaskManagerException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import storage.Storage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IcsFeedTest {
+    private static final LocalDate MAY = LocalDate.of(2032, 5, 7);
+    private static final LocalDate JUNE = LocalDate.of(2032, 6, 7);
+    private static final LocalDate JULY = LocalDate.of(2032, 7, 7);
+
+    private TaskManager taskManager;
+    private IcsFeed icsFeed;
+
+    @BeforeEach
+    void setUp() throws IOException, TaskManagerException {
+        taskManager = new TaskManager(Files.createTempDirectory("ics").resolve("tasks.txt"),
+                TaskManager.NO_TASK_LIMIT);
+        for (LocalDate date : new LocalDate[]{MAY, JUNE, JULY}) {
+            addDeadline(date, "Report " + date.getMonthValue());
+        }
+        icsFeed = new IcsFeed(taskManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        icsFeed.close();
+    }
+
+    private void addDeadline(LocalDate date, String name) throws TaskManagerException {
+        String taskDate = IcsExporter.TASK_DATE_FORMATTER.format(date);
+        taskManager.addTask(date, name, TaskType.DEADLINE, new String[]{taskDate}, new String[]{"1700"});
+    }
+
+    private static String toText(IcsFeed.Snapshot snapshot) {
+        return new String(snapshot.getBody(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void getSnapshot_unchangedTasks_returnsCachedFeed() {
+        // Arrange
+        IcsFeed.Snapshot firstSnapshot = icsFeed.getSnapshot();
+        int renderedSegmentCount = icsFeed.getRenderedSegmentCount();
+
+        // Act
+        IcsFeed.Snapshot secondSnapshot = icsFeed.getSnapshot();
+
+        // Assert
+        assertSame(firstSnapshot, secondSnapshot);
+        assertEquals(3, renderedSegmentCount);
+        assertEquals(renderedSegmentCount, icsFeed.getRenderedSegmentCount());
+        String feed = toText(firstSnapshot);
+        assertTrue(feed.startsWith("BEGIN:VCALENDAR\r\n"));
+        assertTrue(feed.endsWith("END:VCALENDAR\r\n"));
+        assertTrue(feed.indexOf("Report 5") < feed.indexOf("Report 6"));
+        assertTrue(feed.indexOf("Report 6") < feed.indexOf("Report 7"));
+    }
+
+    @Test
+    void getSnapshot_oneMonthChanged_rendersOnlyThatMonth() throws TaskManagerException {
+        // Arrange
+        IcsFeed.Snapshot firstSnapshot = icsFeed.getSnapshot();
+        int renderedSegmentCount = icsFeed.getRenderedSegmentCount();
+
+        // Act
+        addDeadline(JUNE.plusDays(1), "Review");
+        IcsFeed.Snapshot secondSnapshot = icsFeed.getSnapshot();
+
+        // Assert
+        assertEquals(renderedSegmentCount + 1, icsFeed.getRenderedSegmentCount());
+        assertNotEquals(firstSnapshot.getEntityTag(), secondSnapshot.getEntityTag());
+        String feed = toText(secondSnapshot);
+        assertTrue(feed.contains("SUMMARY:Review"));
+        assertTrue(feed.contains("SUMMARY:Report 5"));
+        assertTrue(feed.contains("SUMMARY:Report 7"));
+    }
+
+    @Test
+    void getSnapshot_monthEmptied_dropsItsSegment() {
+        // Arrange
+        icsFeed.getSnapshot();
+
+        // Act
+        taskManager.deleteTask(JULY, 0, true);
+        IcsFeed.Snapshot snapshot = icsFeed.getSnapshot();
+
+        // Assert
+        assertFalse(toText(snapshot).contains("Report 7"));
+        assertTrue(toText(snapshot).contains("Report 6"));
+    }
+
+    @Test
+    void getSnapshot_archivedMonth_rendersItWithoutLoadingIt() throws IOException, TaskManagerException {
+        // Arrange
+        Path saveFilePath = Files.createTempDirectory("ics").resolve("tasks.txt");
+        Storage.createNewFile(saveFilePath);
+        TaskManager firstRun = Storage.loadCalendar(saveFilePath);
+        LocalDate oldDate = LocalDate.of(2020, 3, 5);
+        firstRun.addTaskOnDate(oldDate, TaskType.DEADLINE, "Pay rent", List.of("05/03/2020 1200"));
+        firstRun.compactJournal();
+        TaskManager secondRun = Storage.loadCalendar(saveFilePath);
+        IcsFeed archiveFeed = new IcsFeed(secondRun);
+
+        // Act
+        String feed = toText(archiveFeed.getSnapshot());
+        archiveFeed.close();
+
+        // Assert
+        assertTrue(feed.contains("SUMMARY:Pay rent"));
+        assertEquals(Map.of(YearMonth.from(oldDate), 1), secondRun.getUnloadedMonths());
+    }
+}
@@ -0,0 +1,133 @@
+package ics;
+
+import data.Task;
+import data.TaskManager;
+import data.TaskPriorityLevel;
+import data.TaskType;
+import data.exceptions.TaskManagerException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import storage.Storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IcsImporterTest {
+    private static final LocalDate DATE = LocalDate.of(2032, 5, 7);
+
+    private Path saveFilePath;
+    private TaskManager taskManager;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        saveFilePath = Files.createTempDirectory("ics").resolve("tasks.txt");
+        taskManager = new TaskManager(saveFilePath, TaskManager.NO_TASK_LIMIT);
+    }
+
+    private IcsImporter importCalendar(String body, ZoneId localZone) throws IOException, TaskManagerException {
+        String ics = "BEGIN:VCALENDAR\r\nVERSION:2.0\r\n" + body + "END:VCALENDAR\r\n";
+        IcsImporter importer = new IcsImporter(taskManager, localZone);
+        importer.importFrom(new ByteArrayInputStream(ics.getBytes(StandardCharsets.UTF_8)));
+        return importer;
+    }
+
+    @Test
+    void importFrom_eventsAndToDos_addsEventsAndDeadlines() throws IOException, TaskManagerException {
+        // Arrange
+        String body = "BEGIN:VEVENT\r\nDTSTART:20320507T090000\r\nDTEND:20320507T103000\r\n"
+                + "SUMMARY:Sync\\, planning\r\nPRIORITY:2\r\n"
+                + "BEGIN:VALARM\r\nSUMMARY:Reminder\r\nEND:VALARM\r\nEND:VEVENT\r\n"
+                + "BEGIN:VTODO\r\nDUE;VALUE=DATE:20320507\r\nSTATUS:COMPLETED\r\n"
+                + "SUMMARY:A very long report name that was\r\n  folded\r\nEND:VTODO\r\n"
+                + "BEGIN:VJOURNAL\r\nSUMMARY:Notes\r\nEND:VJOURNAL\r\n";
+
+        // Act
+        IcsImporter importer = importCalendar(body, ZoneOffset.UTC);
+
+        // Assert
+        List<Task> dayTasks = taskManager.getDayTasks(DATE);
+        assertEquals(2, importer.getImportedCount());
+        assertEquals(1, importer.getSkippedCount());
+        assertEquals("E", dayTasks.get(0).getTaskType());
+        assertEquals("Sync, planning", dayTasks.get(0).getName());
+        assertEquals("0900", dayTasks.get(0).getStartTime());
+        assertEquals("1030", dayTasks.get(0).getEndTime());
+        assertEquals(TaskPriorityLevel.HIGH, dayTasks.get(0).getPriorityLevel());
+        assertEquals("D", dayTasks.get(1).getTaskType());
+        assertEquals("A very long report name that was folded", dayTasks.get(1).getName());
+        assertEquals("2359", dayTasks.get(1).getByTime());
+        assertTrue(dayTasks.get(1).isCompleted());
+    }
+
+    @Test
+    void importFrom_utcAndInvalidTimes_convertsAndCountsInvalid() throws IOException, TaskManagerException {
+        // Arrange
+        String body = "BEGIN:VEVENT\r\nDTSTART:20320507T230000Z\r\nDURATION:PT2H\r\nSUMMARY:Call\r\nEND:VEVENT\r\n"
+                + "BEGIN:VEVENT\r\nDTSTART:not a date\r\nSUMMARY:Broken\r\nEND:VEVENT\r\n";
+
+        // Act
+        IcsImporter importer = importCalendar(body, ZoneOffset.ofHours(8));
+
+        // Assert
+        List<Task> dayTasks = taskManager.getDayTasks(DATE.plusDays(1));
+        assertEquals(1, importer.getImportedCount());
+        assertEquals(1, importer.getInvalidCount());
+        assertEquals("0700", dayTasks.get(0).getStartTime());
+        assertEquals("0900", dayTasks.get(0).getEndTime());
+    }
+
+    @Test
+    void importFrom_manyEvents_addsAllInBatchesAndSaves() throws IOException, TaskManagerException {
+        // Arrange
+        int eventCount = IcsImporter.BATCH_SIZE * 3 + 7;
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < eventCount; i++) {
+            body.append("BEGIN:VEVENT\r\nDTSTART:20320507T090000\r\nDTEND:20320507T100000\r\nSUMMARY:Event ")
+                    .append(i).append("\r\nEND:VEVENT\r\n");
+        }
+
+        // Act
+        IcsImporter importer = importCalendar(body.toString(), ZoneOffset.UTC);
+
+        // Assert
+        assertEquals(eventCount, importer.getImportedCount());
+        assertEquals(eventCount, taskManager.getDayTasks(DATE).size());
+        assertEquals("Event " + (eventCount - 1), taskManager.getDayTasks(DATE).get(eventCount - 1).getName());
+        assertEquals(eventCount, Storage.loadCalendar(saveFilePath).getDayTasks(DATE).size());
+    }
+
+    @Test
+    void importFrom_exportedCalendar_restoresTasks() throws IOException, TaskManagerException {
+        // Arrange
+        taskManager.addTask(DATE, "Review", TaskType.EVENT, new String[]{"07/05/2032", "08/05/2032"},
+                new String[]{"2200", "0130"});
+        taskManager.addTask(DATE, "Report", TaskType.DEADLINE, new String[]{"07/05/2032"}, new String[]{"1700"});
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        IcsExporter.export(taskManager, DATE, DATE, outputStream);
+        TaskManager otherTaskManager = new TaskManager(Files.createTempDirectory("ics").resolve("tasks.txt"),
+                TaskManager.NO_TASK_LIMIT);
+
+        // Act
+        new IcsImporter(otherTaskManager, ZoneOffset.UTC)
+                .importFrom(new ByteArrayInputStream(outputStream.toByteArray()));
+
+        // Assert
+        List<Task> dayTasks = otherTaskManager.getDayTasks(DATE);
+        assertEquals(2, dayTasks.size());
+        assertEquals("Review", dayTasks.get(0).getName());
+        assertEquals("08/05/2032", dayTasks.get(0).getEndDate());
+        assertEquals("Report", dayTasks.get(1).getName());
+        assertEquals("1700", dayTasks.get(1).getByTime());
+    }
+}
@@ -1,12 +1,30 @@
 package seedu.duke;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
+import ui.OutputProfile;
 
 class DukeTest {
     @Test
     public void sampleTest() {
         assertTrue(true);
     }
+
+    @Test
+    public void parseOutputProfile_noArguments_fullProfile() {
+        assertEquals(OutputProfile.FULL, Main.parseOutputProfile(new String[0]));
+    }
+
+    @Test
+    public void parseOutputProfile_separateOrJoinedValue_selectedProfile() {
+        assertEquals(OutputProfile.QUIET, Main.parseOutputProfile(new String[]{"--output", "quiet"}));
+        assertEquals(OutputProfile.COMPACT, Main.parseOutputProfile(new String[]{"--output=Compact"}));
+    }
+
+    @Test
+    public void parseOutputProfile_unknownProfile_fullProfile() {
+        assertEquals(OutputProfile.FULL, Main.parseOutputProfile(new String[]{"--output=loud"}));
+    }
 }
@@ -0,0 +1,170 @@
+package server;
+
+import data.TaskManager;
+import data.TaskType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApiServerTest {
+    private static final LocalDate DAY_FIVE = LocalDate.of(2031, 11, 5);
+    private static final LocalDate DAY_SIX = LocalDate.of(2031, 11, 6);
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private TaskManager taskManager;
+    private ApiServer apiServer;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        taskManager = new TaskManager(tempDir.resolve("tasks.txt"), TaskManager.NO_TASK_LIMIT);
+        apiServer = new ApiServer(taskManager, 0);
+        apiServer.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        apiServer.stop(0);
+    }
+
+    private HttpResponse<String> send(String method, String pathAndQuery, String form) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + apiServer.getPort()
+                        + pathAndQuery))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .method(method, HttpRequest.BodyPublishers.ofString(form))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void post_addMarkAndPriority_changesTasksAndListsThem() throws Exception {
+        HttpResponse<String> added = send("POST", "/tasks/add",
+                "date=2031-11-05&type=E&name=team+sync&start=05%2F11%2F2031+0900&end=05%2F11%2F2031+1000");
+        assertEquals(200, added.statusCode());
+        assertTrue(added.body().contains("\"name\":\"team sync\""));
+        assertTrue(added.body().contains("\"start\":\"05/11/2031 0900\""));
+
+        assertEquals(200, send("POST", "/tasks/mark?date=2031-11-05&task=1&done=yes", "").statusCode());
+        assertEquals(200, send("POST", "/tasks/priority", "date=2031-11-05&task=1&level=h").statusCode());
+        assertTrue(taskManager.getTasksForDate(DAY_FIVE).get(0).isCompleted());
+
+        HttpResponse<String> listed = send("GET", "/tasks?from=2031-11-01&to=2031-11-30", "");
+        assertEquals(200, listed.statusCode());
+        assertTrue(listed.body().startsWith("{\"days\":[{\"date\":\"2031-11-05\",\"tasks\":[{\"number\":1,"));
+        assertTrue(listed.body().contains("\"done\":true,\"priority\":\"H\""));
+
+        HttpResponse<String> free = send("GET", "/free?date=2031-11-05", "");
+        assertTrue(free.body().contains("\"free\":["));
+    }
+
+    @Test
+    void post_updateAndDelete_changesTasks() throws Exception {
+        taskManager.addTaskOnDate(DAY_SIX, TaskType.TODO, "draft", List.of());
+
+        HttpResponse<String> updated = send("POST", "/tasks/update", "date=2031-11-06&task=1&name=final+draft");
+        assertEquals(200, updated.statusCode());
+        assertEquals("final draft", taskManager.getTasksForDate(DAY_SIX).get(0).getName());
+
+        HttpResponse<String> deleted = send("POST", "/tasks/delete", "date=2031-11-06&task=1");
+        assertEquals("{\"date\":\"2031-11-06\",\"remaining\":0}", deleted.body());
+    }
+
+    @Test
+    void get_icsFeedPolledTwice_returnsNotModifiedUntilTasksChange() throws Exception {
+        taskManager.addTaskOnDate(DAY_FIVE, TaskType.DEADLINE, "report", List.of("05/11/2031 1700"));
+
+        HttpResponse<String> feed = send("GET", "/calendar.ics", "");
+        assertEquals(200, feed.statusCode());
+        assertTrue(feed.headers().firstValue("Content-Type").orElse("").startsWith("text/calendar"));
+        assertTrue(feed.body().contains("SUMMARY:report"));
+        String entityTag = feed.headers().firstValue("ETag").orElseThrow();
+
+        HttpRequest poll = HttpRequest.newBuilder(URI.create("http://localhost:" + apiServer.getPort()
+                        + "/calendar.ics"))
+                .header("If-None-Match", entityTag)
+                .build();
+        assertEquals(304, client.send(poll, HttpResponse.BodyHandlers.ofString()).statusCode());
+
+        taskManager.addTaskOnDate(DAY_SIX, TaskType.DEADLINE, "review", List.of("06/11/2031 1700"));
+        HttpResponse<String> changedFeed = client.send(poll, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, changedFeed.statusCode());
+        assertTrue(changedFeed.body().contains("SUMMARY:review"));
+    }
+
+    @Test
+    void request_invalid_returnsJsonErrors() throws Exception {
+        assertEquals(400, send("POST", "/tasks/add", "date=2031-11-05&type=D&name=report").statusCode());
+        assertEquals(400, send("POST", "/tasks/delete", "date=2031-11-05&task=3").statusCode());
+        assertEquals(400, send("GET", "/tasks?from=05/11/2031", "").statusCode());
+        assertEquals(405, send("POST", "/tasks?from=2031-11-05", "").statusCode());
+        assertEquals(404, send("GET", "/tasks/unknown", "").statusCode());
+        assertEquals(400, send("POST", "/tasks/add", "date=2031-11-05&type=T&name=a%7Cb").statusCode());
+        HttpResponse<String> missing = send("GET", "/free", "");
+        assertEquals("{\"error\":\"Missing parameter 'date'.\"}", missing.body());
+        assertEquals(0, taskManager.getTaskCountForDate(DAY_FIVE));
+    }
+
+    @Test
+    void post_duringTransactionOrCommand_refusedAndLeftOutOfRollback() throws Exception {
+        // Arrange
+        taskManager.beginTransaction();
+        taskManager.addTask(DAY_FIVE, "draft", TaskType.TODO, new String[]{null}, new String[]{null});
+
+        // Act
+        HttpResponse<String> duringTransaction = send("POST", "/tasks/add", "date=2031-11-05&type=T&name=report");
+        taskManager.rollbackTransaction();
+        taskManager.beginUndoableChange("update");
+        HttpResponse<String> duringCommand = send("POST", "/tasks/add", "date=2031-11-05&type=T&name=report");
+        taskManager.endUndoableChange();
+        HttpResponse<String> afterwards = send("POST", "/tasks/add", "date=2031-11-05&type=T&name=report");
+
+        // Assert
+        assertEquals(409, duringTransaction.statusCode());
+        assertEquals(409, duringCommand.statusCode());
+        assertEquals(200, afterwards.statusCode());
+        assertEquals("report", taskManager.getTasksForDate(DAY_FIVE).get(0).getName());
+        assertEquals(1, taskManager.getTaskCountForDate(DAY_FIVE));
+    }
+
+    @Test
+    void post_malformedPercentEncoding_returnsJsonError() throws Exception {
+        HttpResponse<String> response = send("POST", "/tasks/add", "date=2031-11-05&type=T&name=50%zz");
+
+        assertEquals(400, response.statusCode());
+        assertEquals("{\"error\":\"Invalid percent-encoding in '50%zz'.\"}", response.body());
+        assertEquals(0, taskManager.getTaskCountForDate(DAY_FIVE));
+    }
+
+    @Test
+    void post_manyConcurrentAdds_allApplied() throws Exception {
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + apiServer.getPort()
+                            + "/tasks/add?date=2031-11-06&type=T&name=task" + i))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(200, response.get().statusCode());
+        }
+        assertEquals(50, taskManager.getTaskCountForDate(DAY_SIX));
+    }
+}
@@ -0,0 +1,129 @@
+package storage;
+
+import data.Task;
+import data.TaskManager;
+import data.TaskType;
+import data.exceptions.TaskManagerException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JournalTest {
+    private static final LocalDate DATE = LocalDate.of(2032, 5, 7);
+
+    private Path saveFilePath;
+    private TaskManager taskManager;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        saveFilePath = Files.createTempDirectory("journal").resolve("tasks.txt");
+        Storage.createNewFile(saveFilePath);
+        taskManager = Storage.loadCalendar(saveFilePath);
+    }
+
+    private static List<String> getSaveFormats(TaskManager calendar, LocalDate date) {
+        List<String> saveFormats = new ArrayList<>();
+        for (Task task : calendar.getDayTasks(date)) {
+            saveFormats.add(task.getSaveFormat());
+        }
+        return saveFormats;
+    }
+
+    private void makeChanges() throws TaskManagerException {
+        taskManager.addTaskOnDate(DATE, TaskType.TODO, "Stretch", List.of());
+        taskManager.addTaskOnDate(DATE, TaskType.DEADLINE, "Report", List.of("09/05/2032 1700"));
+        taskManager.addTaskOnDate(DATE, TaskType.TODO, "Call home", List.of());
+        taskManager.setCompletenessOfTaskOnDate(DATE, 2, true);
+        taskManager.deleteTaskOnDate(DATE, 1);
+    }
+
+    @Test
+    void save_loadedCalendar_appendsOnlyChangesToJournal() throws IOException, TaskManagerException {
+        // Act
+        makeChanges();
+
+        // Assert
+        Path journalPath = taskManager.getJournal().getJournalPath();
+        assertEquals(0, Files.size(saveFilePath));
+        assertEquals(5, Files.readAllLines(journalPath).size());
+        TaskManager reloadedTaskManager = Storage.loadCalendar(saveFilePath);
+        assertEquals(getSaveFormats(taskManager, DATE), getSaveFormats(reloadedTaskManager, DATE));
+        assertEquals(2, reloadedTaskManager.getDayTasks(DATE).size());
+    }
+
+    @Test
+    void compactJournal_journaledChanges_movesThemIntoSaveFile() throws IOException, TaskManagerException {
+        // Arrange
+        makeChanges();
+
+        // Act
+        boolean isCompacted = taskManager.compactJournal();
+        taskManager.addTaskOnDate(DATE.plusDays(1), TaskType.TODO, "Water plants", List.of());
+
+        // Assert
+        assertTrue(isCompacted);
+        assertTrue(Files.readAllLines(saveFilePath).get(0).startsWith(Storage.SNAPSHOT_HEADER + "5"));
+        List<String> journalLines = Files.readAllLines(taskManager.getJournal().getJournalPath());
+        assertEquals(1, journalLines.size());
+        assertTrue(journalLines.get(0).startsWith("6|A|"));
+        TaskManager reloadedTaskManager = Storage.loadCalendar(saveFilePath);
+        assertEquals(getSaveFormats(taskManager, DATE), getSaveFormats(reloadedTaskManager, DATE));
+        assertEquals("Water plants", reloadedTaskManager.getDayTasks(DATE.plusDays(1)).get(0).getName());
+    }
+
+    @Test
+    void load_tornLastLine_keepsEarlierChangesAndSavesInFull() throws IOException, TaskManagerException {
+        // Arrange
+        makeChanges();
+        Path journalPath = taskManager.getJournal().getJournalPath();
+        Files.writeString(journalPath, "6|A|2032-05", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        // Act
+        TaskManager reloadedTaskManager = Storage.loadCalendar(saveFilePath);
+        boolean isJournalOpen = reloadedTaskManager.getJournal().isOpen();
+        reloadedTaskManager.addTaskOnDate(DATE, TaskType.TODO, "Water plants", List.of());
+
+        // Assert
+        assertFalse(isJournalOpen);
+        assertEquals(3, reloadedTaskManager.getDayTasks(DATE).size());
+        assertFalse(Files.exists(journalPath));
+        assertEquals(getSaveFormats(reloadedTaskManager, DATE),
+                getSaveFormats(Storage.loadCalendar(saveFilePath), DATE));
+    }
+
+    @Test
+    void save_journalReachesThreshold_compactsInBackground() throws IOException, TaskManagerException,
+            InterruptedException {
+        // Arrange
+        Path journalPath = taskManager.getJournal().getJournalPath();
+
+        // Act
+        for (int i = 0; i < Journal.COMPACTION_THRESHOLD; i++) {
+            taskManager.addTaskOnDate(DATE.plusDays(i % 7), TaskType.TODO, "Task " + i, List.of());
+        }
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (Files.exists(journalPath) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Assert
+        assertFalse(Files.exists(journalPath));
+        TaskManager reloadedTaskManager = Storage.loadCalendar(saveFilePath);
+        for (int i = 0; i < 7; i++) {
+            assertEquals(getSaveFormats(taskManager, DATE.plusDays(i)),
+                    getSaveFormats(reloadedTaskManager, DATE.plusDays(i)));
+        }
+    }
+}
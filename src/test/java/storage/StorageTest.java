@@ -1,12 +1,40 @@
 package storage;
 
+import data.Task;
+import data.TaskManager;
+import data.TaskPriorityLevel;
+import data.TaskType;
+import data.exceptions.TaskManagerException;
+import org.junit.jupiter.api.Test;
+import time.MonthView;
+import time.WeekView;
+
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class StorageTest {
 
     private static final Path TEST_FILE_PATH = Path.of("save", "test_tasks.txt");
+    private static final LocalDate MAY_DATE = LocalDate.of(2032, 5, 7);
+    private static final LocalDate JUNE_DATE = LocalDate.of(2032, 6, 7);
+    private static final YearMonth MAY = YearMonth.from(MAY_DATE);
+    private static final YearMonth JUNE = YearMonth.from(JUNE_DATE);
+    private static final LocalDate OLD_DATE = LocalDate.of(2020, 3, 5);
+    private static final YearMonth OLD_MONTH = YearMonth.from(OLD_DATE);
 
     void setUp() throws IOException {
         // Delete the test file before each test
@@ -18,4 +46,308 @@ class StorageTest {
         Files.deleteIfExists(TEST_FILE_PATH);
     }
 
+    private static Path createSaveFile() throws IOException {
+        Path saveFilePath = Files.createTempDirectory("storage").resolve("tasks.txt");
+        Storage.createNewFile(saveFilePath);
+        return saveFilePath;
+    }
+
+    private static void addTodo(TaskManager taskManager, LocalDate date, String name) throws TaskManagerException {
+        taskManager.addTaskOnDate(date, TaskType.TODO, name, List.of());
+    }
+
+    @Test
+    void getShardPath_saveFile_placesMonthInYearDirectory() {
+        // Act
+        Path shardPath = Storage.getShardPath(Path.of("save", "tasks.txt"), YearMonth.of(2026, 10));
+
+        // Assert
+        assertEquals(Path.of("save", "tasks", "2026", "10.tasks"), shardPath);
+    }
+
+    @Test
+    void compactJournal_tasksInTwoMonths_writesOneFilePerMonth() throws IOException, TaskManagerException {
+        // Arrange
+        Path saveFilePath = createSaveFile();
+        TaskManager taskManager = new TaskManager(saveFilePath, TaskManager.NO_TASK_LIMIT);
+
+        // Act
+        addTodo(taskManager, MAY_DATE, "Stretch");
+        addTodo(taskManager, JUNE_DATE, "Water plants");
+        addTodo(taskManager, JUNE_DATE, "Call home");
+        taskManager.compactJournal();
+
+        // Assert
+        assertEquals(List.of(Storage.SNAPSHOT_HEADER + "2", "2032-05|1", "2032-06|2"),
+                Files.readAllLines(saveFilePath));
+        assertTrue(Files.readString(Storage.getShardPath(saveFilePath, MAY)).contains("Stretch"));
+        assertFalse(Files.readString(Storage.getShardPath(saveFilePath, JUNE)).contains("Stretch"));
+        TaskManager reloadedTaskManager = Storage.loadCalendar(saveFilePath);
+        assertEquals(2, reloadedTaskManager.getDayTasks(JUNE_DATE).size());
+        assertEquals("Stretch", reloadedTaskManager.getDayTasks(MAY_DATE).get(0).getName());
+    }
+
+    @Test
+    void compactJournal_oneMonthChanged_rewritesOnlyItsFile() throws IOException, TaskManagerException {
+        // Arrange
+        Path saveFilePath = createSaveFile();
+        TaskManager taskManager = Storage.loadCalendar(saveFilePath);
+        addTodo(taskManager, MAY_DATE, "Stretch");
+        addTodo(taskManager, JUNE_DATE, "Water plants");
+        taskManager.compactJournal();
+        String juneShard = Files.readString(Storage.getShardPath(saveFilePath, JUNE));
+
+        // Act
+        addTodo(taskManager, MAY_DATE, "Call home");
+        boolean isCompacted = taskManager.compactJournal();
+
+        // Assert
+        assertTrue(isCompacted);
+        assertEquals(juneShard, Files.readString(Storage.getShardPath(saveFilePath, JUNE)));
+        String mayShard = Files.readString(Storage.getShardPath(saveFilePath, MAY));
+        assertTrue(mayShard.startsWith(Storage.SNAPSHOT_HEADER + "3"));
+        assertEquals(List.of(Storage.SNAPSHOT_HEADER + "3", "2032-05|2", "2032-06|1"),
+                Files.readAllLines(saveFilePath));
+        assertEquals(2, Storage.loadCalendar(saveFilePath).getDayTasks(MAY_DATE).size());
+    }
+
+    @Test
+    void compactJournal_monthEmptied_deletesItsFile() throws IOException, TaskManagerException {
+        // Arrange
+        Path saveFilePath = createSaveFile();
+        TaskManager taskManager = Storage.loadCalendar(saveFilePath);
+        addTodo(taskManager, MAY_DATE, "Stretch");
+        addTodo(taskManager, JUNE_DATE, "Water plants");
+        taskManager.compactJournal();
+
+        // Act
+        taskManager.deleteTaskOnDate(MAY_DATE, 1);
+        taskManager.compactJournal();
+
+        // Assert
+        assertFalse(Files.exists(Storage.getShardPath(saveFilePath, MAY)));
+        assertEquals(List.of(Storage.SNAPSHOT_HEADER + "3", "2032-06|1"), Files.readAllLines(saveFilePath));
+        assertEquals(0, Storage.loadCalendar(saveFilePath).getTaskCountForDate(MAY_DATE));
+    }
+
+    @Test
+    void loadTasksFromFile_monthFileNewerThanSaveFile_skipsChangesItHolds() throws IOException,
+            TaskManagerException {
+        // Arrange
+        Path saveFilePath = createSaveFile();
+        TaskManager taskManager = Storage.loadCalendar(saveFilePath);
+        addTodo(taskManager, MAY_DATE, "Stretch");
+        taskManager.compactJournal();
+        addTodo(taskManager, MAY_DATE, "Call home");
+        Map<LocalDate, Iterator<Task>> mayTasks = new LinkedHashMap<>();
+        mayTasks.put(MAY_DATE, taskManager.getDayTasks(MAY_DATE).iterator());
+        Map<YearMonth, Path> writtenShards = Storage.writeShards(saveFilePath, 2, Map.of(MAY, mayTasks),
+                Set.of());
+        Files.move(writtenShards.get(MAY), Storage.getShardPath(saveFilePath, MAY),
+                StandardCopyOption.REPLACE_EXISTING);
+
+        // Act
+        TaskManager reloadedTaskManager = Storage.loadCalendar(saveFilePath);
+
+        // Assert
+        assertEquals(2, reloadedTaskManager.getDayTasks(MAY_DATE).size());
+        assertEquals("Call home", reloadedTaskManager.getDayTasks(MAY_DATE).get(1).getName());
+    }
+
+    @Test
+    void compactJournal_tasksSavedByOlderVersion_givesEveryMonthItsFile() throws IOException,
+            TaskManagerException {
+        // Arrange
+        Path saveFilePath = createSaveFile();
+        Files.write(saveFilePath, List.of(MAY_DATE + "|T| |L|Stretch", JUNE_DATE + "|T| |L|Water plants"));
+        TaskManager taskManager = Storage.loadCalendar(saveFilePath);
+
+        // Act
+        addTodo(taskManager, JUNE_DATE, "Call home");
+        taskManager.compactJournal();
+        TaskManager reloadedTaskManager = Storage.loadCalendar(saveFilePath);
+
+        // Assert
+        assertEquals(List.of(Storage.SNAPSHOT_HEADER + "1", "2032-05|1", "2032-06|2"),
+                Files.readAllLines(saveFilePath));
+        assertTrue(Files.exists(Storage.getShardPath(saveFilePath, MAY)));
+        assertEquals("Stretch", reloadedTaskManager.getDayTasks(MAY_DATE).get(0).getName());
+        assertEquals(2, reloadedTaskManager.getTaskCountForDate(JUNE_DATE));
+    }
+
+    @Test
+    void compactJournal_monthOlderThanArchiveAge_compressesItWithoutLoadingIt() throws IOException,
+            TaskManagerException {
+        // Arrange
+        Path saveFilePath = createSaveFile();
+        TaskManager taskManager = Storage.loadCalendar(saveFilePath);
+        addTodo(taskManager, OLD_DATE, "Pay rent");
+        addTodo(taskManager, MAY_DATE, "Stretch");
+
+        // Act
+        taskManager.compactJournal();
+        TaskManager reloadedTaskManager = Storage.loadCalendar(saveFilePath);
+
+        // Assert
+        assertEquals(List.of(Storage.SNAPSHOT_HEADER + "2", "2020-03|1|archived", "2032-05|1"),
+                Files.readAllLines(saveFilePath));
+        assertTrue(Files.exists(Storage.getArchivePath(saveFilePath, OLD_MONTH)));
+        assertFalse(Files.exists(Storage.getShardPath(saveFilePath, OLD_MONTH)));
+        assertEquals(Map.of(OLD_MONTH, 1), reloadedTaskManager.getUnloadedMonths());
+        assertEquals(1, reloadedTaskManager.getTaskCountForMonth(MAY));
+    }
+
+    @Test
+    void getDayTasks_archivedMonth_loadsItOnDemand() throws IOException, TaskManagerException {
+        // Arrange
+        Path saveFilePath = createSaveFile();
+        TaskManager taskManager = Storage.loadCalendar(saveFilePath);
+        addTodo(taskManager, OLD_DATE, "Pay rent");
+        taskManager.compactJournal();
+        TaskManager reloadedTaskManager = Storage.loadCalendar(saveFilePath);
+
+        // Act
+        List<Task> oldTasks = reloadedTaskManager.getDayTasks(OLD_DATE);
+        addTodo(reloadedTaskManager, OLD_DATE, "File taxes");
+        reloadedTaskManager.compactJournal();
+
+        // Assert
+        assertEquals("Pay rent", oldTasks.get(0).getName());
+        assertTrue(reloadedTaskManager.getUnloadedMonths().isEmpty());
+        assertEquals(List.of(Storage.SNAPSHOT_HEADER + "2", "2020-03|2|archived"), Files.readAllLines(saveFilePath));
+        assertEquals(2, Storage.loadCalendar(saveFilePath).getTaskCountForDate(OLD_DATE));
+    }
+
+    @Test
+    void loadCalendar_journaledChangeToArchivedMonth_loadsItAtStartup() throws IOException, TaskManagerException {
+        // Arrange
+        Path saveFilePath = createSaveFile();
+        TaskManager taskManager = Storage.loadCalendar(saveFilePath);
+        addTodo(taskManager, OLD_DATE, "Pay rent");
+        taskManager.compactJournal();
+        addTodo(taskManager, OLD_DATE, "File taxes");
+
+        // Act
+        TaskManager reloadedTaskManager = Storage.loadCalendar(saveFilePath);
+
+        // Assert
+        assertTrue(reloadedTaskManager.getUnloadedMonths().isEmpty());
+        assertEquals(2, reloadedTaskManager.getDayTasks(OLD_DATE).size());
+        assertEquals("File taxes", reloadedTaskManager.getDayTasks(OLD_DATE).get(1).getName());
+    }
+
+    @Test
+    void archiveOldMonths_monthSavedBeforeArchiving_compressesIt() throws IOException, TaskManagerException {
+        // Arrange
+        Path saveFilePath = createSaveFile();
+        TaskManager taskManager = Storage.loadCalendar(saveFilePath);
+        taskManager.setArchiveAge(0);
+        addTodo(taskManager, OLD_DATE, "Pay rent");
+        taskManager.compactJournal();
+        TaskManager reloadedTaskManager = Storage.loadCalendar(saveFilePath);
+
+        // Act
+        int archivedMonthCount = reloadedTaskManager.archiveOldMonths();
+        reloadedTaskManager.compactJournal();
+
+        // Assert
+        assertEquals(1, archivedMonthCount);
+        assertTrue(Files.exists(Storage.getArchivePath(saveFilePath, OLD_MONTH)));
+        assertFalse(Files.exists(Storage.getShardPath(saveFilePath, OLD_MONTH)));
+        assertEquals("Pay rent", Storage.loadCalendar(saveFilePath).getDayTasks(OLD_DATE).get(0).getName());
+    }
+
+    @Test
+    void archiveOldMonths_tasksSavedByOlderVersion_keepsEveryTaskAcrossRestarts() throws IOException {
+        // Arrange
+        Path saveFilePath = createSaveFile();
+        Files.write(saveFilePath, List.of(OLD_DATE + "|T| |L|Pay rent", MAY_DATE + "|T| |L|Stretch"));
+
+        // Act
+        TaskManager firstRun = Storage.loadCalendar(saveFilePath);
+        firstRun.archiveOldMonths();
+        firstRun.compactJournal();
+        TaskManager secondRun = Storage.loadCalendar(saveFilePath);
+        Map<YearMonth, Integer> unloadedMonths = secondRun.getUnloadedMonths();
+
+        // Assert
+        assertTrue(Files.exists(Storage.getArchivePath(saveFilePath, OLD_MONTH)));
+        assertTrue(Files.exists(Storage.getShardPath(saveFilePath, MAY)));
+        assertEquals(Map.of(OLD_MONTH, 1), unloadedMonths);
+        assertEquals(1, secondRun.getTaskCountForMonth(MAY));
+        assertEquals("Stretch", secondRun.getDayTasks(MAY_DATE).get(0).getName());
+        assertEquals("Pay rent", secondRun.getDayTasks(OLD_DATE).get(0).getName());
+    }
+
+    @Test
+    void compactJournal_archiveUnreadableWhenLookedAt_keepsMonthInManifest() throws IOException,
+            TaskManagerException {
+        // Arrange
+        Path saveFilePath = createSaveFile();
+        TaskManager taskManager = Storage.loadCalendar(saveFilePath);
+        addTodo(taskManager, OLD_DATE, "Pay rent");
+        taskManager.compactJournal();
+        Path archivePath = Storage.getArchivePath(saveFilePath, OLD_MONTH);
+        byte[] archive = Files.readAllBytes(archivePath);
+        Files.writeString(archivePath, "not an archive");
+        TaskManager reloadedTaskManager = Storage.loadCalendar(saveFilePath);
+
+        // Act
+        int oldTaskCount = reloadedTaskManager.getTaskCountForDate(OLD_DATE);
+        addTodo(reloadedTaskManager, MAY_DATE, "Stretch");
+        reloadedTaskManager.compactJournal();
+        Files.write(archivePath, archive);
+
+        // Assert
+        assertEquals(0, oldTaskCount);
+        assertEquals(Map.of(OLD_MONTH, 1), reloadedTaskManager.getUnloadedMonths());
+        assertEquals(List.of(Storage.SNAPSHOT_HEADER + "2", "2020-03|1|archived", "2032-05|1"),
+                Files.readAllLines(saveFilePath));
+        assertEquals("Pay rent", Storage.loadCalendar(saveFilePath).getDayTasks(OLD_DATE).get(0).getName());
+    }
+
+    @Test
+    void compactJournal_changeToUnreadableArchivedMonth_keepsChangeInJournal() throws IOException,
+            TaskManagerException {
+        // Arrange
+        Path saveFilePath = createSaveFile();
+        TaskManager taskManager = Storage.loadCalendar(saveFilePath);
+        addTodo(taskManager, OLD_DATE, "Pay rent");
+        taskManager.compactJournal();
+        Path archivePath = Storage.getArchivePath(saveFilePath, OLD_MONTH);
+        byte[] archive = Files.readAllBytes(archivePath);
+        Files.writeString(archivePath, "not an archive");
+        TaskManager reloadedTaskManager = Storage.loadCalendar(saveFilePath);
+
+        // Act
+        addTodo(reloadedTaskManager, OLD_DATE, "File taxes");
+        boolean isCompacted = reloadedTaskManager.compactJournal();
+        Files.write(archivePath, archive);
+
+        // Assert
+        assertFalse(isCompacted);
+        assertEquals(2, Storage.loadCalendar(saveFilePath).getTaskCountForDate(OLD_DATE));
+    }
+
+    @Test
+    void markAndPriorityManager_archivedMonthNotLookedAt_changeItsTask() throws IOException, TaskManagerException {
+        // Arrange
+        Path saveFilePath = createSaveFile();
+        TaskManager taskManager = Storage.loadCalendar(saveFilePath);
+        addTodo(taskManager, OLD_DATE, "Pay rent");
+        taskManager.compactJournal();
+        TaskManager reloadedTaskManager = Storage.loadCalendar(saveFilePath);
+        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        WeekView weekView = new WeekView(OLD_DATE, dateFormatter);
+        MonthView monthView = new MonthView(OLD_MONTH.atDay(1), dateFormatter);
+
+        // Act
+        reloadedTaskManager.markManager(weekView, monthView, true, OLD_DATE.getDayOfMonth(), 1);
+        reloadedTaskManager.priorityManager(weekView, monthView, true, OLD_DATE.getDayOfMonth(), 1, "H");
+
+        // Assert
+        Task task = reloadedTaskManager.getDayTasks(OLD_DATE).get(0);
+        assertTrue(task.isCompleted());
+        assertEquals(TaskPriorityLevel.HIGH, task.getPriorityLevel());
+    }
 }
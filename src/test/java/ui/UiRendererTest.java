@@ -1,15 +1,22 @@
 package ui;
 
 import data.Task;
+import data.TaskManager;
+import data.TaskType;
+import data.exceptions.TaskManagerException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import static data.TaskManager.deleteAllTasksOnDate;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static ui.UiRenderer.printTaskForDay;
 
 public class UiRendererTest {
@@ -20,7 +27,10 @@ public class UiRendererTest {
     private static final int SPACE_COUNT = 15;
     private static final String VERTICAL_DIVIDER = "|";
     private static final String EMPTY_TASK_DISPLAY_FORMAT = VERTICAL_DIVIDER + " ".repeat(SPACE_COUNT);
+    private static final LocalDate BUSY_DATE = LocalDate.of(2031, 5, 4);
     
+    private final TaskManager taskManager = new TaskManager();
+    private final UiRenderer uiRenderer = new UiRenderer();
     private final PrintStream originalOut = System.out;
     private final ByteArrayOutputStream outContent = new ByteArrayOutputStream();
     
@@ -32,6 +42,7 @@ public class UiRendererTest {
     @AfterEach
     public void restoreStreams() {
         System.setOut(originalOut);
+        deleteAllTasksOnDate(taskManager, BUSY_DATE);
     }
 
     @Test
@@ -39,5 +50,37 @@ public class UiRendererTest {
         printTaskForDay(emptyTaskList, 0);
         assertEquals(outContent.toString(), EMPTY_TASK_DISPLAY_FORMAT);
     }
-    
+
+    @Test
+    void printTasksInWeek_busyDay_showsWindowAndHiddenCount() throws TaskManagerException {
+        for (int i = 1; i <= 12; i++) {
+            taskManager.addTask(BUSY_DATE, "t" + i, TaskType.TODO, new String[]{null}, new String[]{null});
+        }
+        uiRenderer.setTasksPerDay(3);
+
+        uiRenderer.printTasksInWeek(BUSY_DATE, taskManager);
+        String output = outContent.toString();
+
+        assertTrue(output.contains("3.[T][O][L] t3"));
+        assertFalse(output.contains("4.[T][O][L] t4"));
+        assertTrue(output.contains("+9 more"));
+    }
+
+    @Test
+    void scrollDay_pastEnd_stopsAtLastWindow() throws TaskManagerException {
+        for (int i = 1; i <= 12; i++) {
+            taskManager.addTask(BUSY_DATE, "t" + i, TaskType.TODO, new String[]{null}, new String[]{null});
+        }
+        uiRenderer.setTasksPerDay(5);
+
+        assertEquals(7, uiRenderer.scrollDay(BUSY_DATE, 100, 12));
+        uiRenderer.printTasksInWeek(BUSY_DATE, taskManager);
+        String output = outContent.toString();
+
+        assertTrue(output.contains("^ 7 more"));
+        assertTrue(output.contains("12.[T][O][L]"));
+        assertFalse(output.contains("6.[T][O][L] t6"));
+        assertFalse(output.contains("+0 more"));
+        assertEquals(0, uiRenderer.scrollDay(BUSY_DATE, -100, 12));
+    }
 }
@@ -0,0 +1,69 @@
+package ui;
+
+import data.TaskManager;
+import data.TaskType;
+import data.exceptions.TaskManagerException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import time.YearView;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import static data.TaskManager.deleteAllTasksOnDate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class YearViewTest {
+
+    private static final LocalDate BUSY_DATE = LocalDate.of(2031, 3, 10);
+
+    private final PrintStream originalOut = System.out;
+    private final ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+    private YearView yearView;
+    private TaskManager taskManager;
+
+    @BeforeEach
+    public void setUp() {
+        yearView = new YearView(LocalDate.of(2031, 6, 15), DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+        taskManager = new TaskManager();
+        System.setOut(new PrintStream(outContent));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.setOut(originalOut);
+        deleteAllTasksOnDate(taskManager, BUSY_DATE);
+    }
+
+    @Test
+    public void testYearViewStartsAtFirstDayOfYear() {
+        assertEquals(LocalDate.of(2031, 1, 1), yearView.getStartOfView());
+    }
+
+    @Test
+    public void testNextAndPreviousYear() {
+        yearView.next();
+        assertEquals(LocalDate.of(2032, 1, 1), yearView.getStartOfView());
+        yearView.previous();
+        yearView.previous();
+        assertEquals(LocalDate.of(2030, 1, 1), yearView.getStartOfView());
+    }
+
+    @Test
+    public void printView_withTasks_showsCountsAndHeatMarker() throws TaskManagerException {
+        taskManager.addTask(BUSY_DATE, "first", TaskType.TODO, new String[]{null}, new String[]{null});
+        taskManager.addTask(BUSY_DATE, "second", TaskType.TODO, new String[]{null}, new String[]{null});
+
+        yearView.printView(taskManager);
+        String output = outContent.toString();
+
+        assertTrue(output.contains("Year View: 2031 (2 tasks)"));
+        assertTrue(output.contains("MARCH (2)"));
+        assertTrue(output.contains("10@"));
+        assertTrue(output.contains("of the busiest day (2 tasks)"));
+    }
+}